@@ -0,0 +1,74 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * Runs the benchmarks and writes the results as JSON under benchmarks/results
+ * <p>
+ * Accepts the usual JMH command line, so one benchmark or scale can be run on its own,
+ * e.g. {@code QueryBenchmark -p scale=10}. A -rff option replaces the default result file.
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+public class BenchmarkMain {
+    /**
+     * Runs the benchmarks
+     *
+     * @param args JMH command line options
+     * @throws CommandLineOptionException if the options are invalid
+     * @throws RunnerException if a benchmark fails
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        File results = new File("benchmarks/results");
+        results.mkdirs();
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(commandLine)
+                .resultFormat(ResultFormatType.JSON)
+                .result(commandLine.getResult().orElse(
+                        new File(results, "jmh-" + stamp + ".json").getPath()));
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include(BenchmarkMain.class.getPackage().getName() + ".*Benchmark");
+        }
+        new Runner(options.build()).run();
+    }
+}
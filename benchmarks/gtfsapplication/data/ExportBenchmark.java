@@ -0,0 +1,108 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import gtfsapplication.GTFSException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures exporting all four tables of an imported feed
+ * <p>
+ * Feeds are exported from both stop time stores, since the PatternTable the columnar
+ * default uses rebuilds each StopTime row as it is written.
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class ExportBenchmark {
+    @Param({"1", "10", "100"})
+    private int scale;
+
+    @Param({"true", "false"})
+    private boolean columnar;
+
+    private GTFS gtfs;
+    private File output;
+
+    /**
+     * Imports the scaled feed and creates a directory to export into
+     *
+     * @throws IOException if the feed cannot be written
+     * @throws GTFSException if the feed is invalid
+     */
+    @Setup
+    public void setUp() throws IOException, GTFSException {
+        gtfs = new GTFS(columnar);
+        gtfs.importFeed(ScaledFeed.get(scale));
+        output = Files.createTempDirectory("gtfs-export").toFile();
+    }
+
+    /**
+     * Deletes the exported files
+     */
+    @TearDown
+    public void tearDown() {
+        for (String filename : ScaledFeed.FILE_NAMES) {
+            new File(output, filename).delete();
+        }
+        output.delete();
+    }
+
+    /**
+     * Exports the feed, overwriting the previous export
+     *
+     * @throws GTFSException if the files cannot be written
+     */
+    @Benchmark
+    public void export() throws GTFSException {
+        gtfs.export(output);
+    }
+}
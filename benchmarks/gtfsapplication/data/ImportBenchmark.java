@@ -0,0 +1,114 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import gtfsapplication.GTFSException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures importing each table of the feed on its own, and the whole feed at once,
+ * at several multiples of the bundled feed's size
+ * <p>
+ * A filename of "all" imports all four tables and builds the indexes.
+ * <p>
+ * Every scale is run with columnar true, the default, which keeps stop times by trip
+ * pattern, and false, which keeps a StopTime object for each stop time.
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class ImportBenchmark {
+    @Param({"1", "10", "100", "1000"})
+    private int scale;
+
+    @Param({"true", "false"})
+    private boolean columnar;
+
+    @Param({"routes.txt", "stops.txt", "trips.txt", "stop_times.txt", "all"})
+    private String filename;
+
+    private File directory;
+    private GTFS gtfs;
+
+    /**
+     * Writes the scaled feed if it has not been written yet
+     *
+     * @throws IOException if the feed cannot be written
+     */
+    @Setup(Level.Trial)
+    public void writeFeed() throws IOException {
+        directory = ScaledFeed.get(scale);
+    }
+
+    /**
+     * Starts every import from an empty feed
+     */
+    @Setup(Level.Invocation)
+    public void clear() {
+        gtfs = new GTFS(columnar);
+    }
+
+    /**
+     * Imports a single table, or the whole feed
+     *
+     * @return the feed, so the import is not eliminated
+     * @throws GTFSException if the feed is invalid
+     */
+    @Benchmark
+    public GTFS importFile() throws GTFSException {
+        if ("all".equals(filename)) {
+            gtfs.importFeed(directory);
+        } else {
+            gtfs.importFiles(Collections.singletonList(new File(directory, filename)));
+        }
+        return gtfs;
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import gtfsapplication.GTFSException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the searches behind the stop and route search boxes, and journey planning,
+ * on an imported feed
+ * <p>
+ * Each call looks up the next of a fixed, seeded sample of stops or routes, so every
+ * run queries the same mix of busy and quiet ones.
+ * <p>
+ * The columnar parameter compares queries over the default PatternTable with queries
+ * over StopTime objects.
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class QueryBenchmark {
+    private static final int SAMPLES = 1024;
+
+    @Param({"1", "10", "100"})
+    private int scale;
+
+    @Param({"true", "false"})
+    private boolean columnar;
+
+    private GTFS gtfs;
+    private Stop[] stops;
+    private Route[] routes;
+    private int next;
+
+    /**
+     * Imports the scaled feed and picks the stops and routes to search for
+     *
+     * @param blackhole consumes everything the searches send to observers
+     * @throws IOException if the feed cannot be written
+     * @throws GTFSException if the feed is invalid
+     */
+    @Setup
+    public void setUp(Blackhole blackhole) throws IOException, GTFSException {
+        gtfs = new GTFS(columnar);
+        gtfs.importFeed(ScaledFeed.get(scale));
+        gtfs.addObserver(blackhole::consume);
+        List<Route> allRoutes = gtfs.getRoutes();
+        Set<Stop> allStops = new LinkedHashSet<>();
+        for (Route route : allRoutes) {
+            allStops.addAll(gtfs.getStopsOnRoute(route));
+        }
+        List<Stop> stopList = new ArrayList<>(allStops);
+        Random random = new Random(42);
+        stops = new Stop[SAMPLES];
+        routes = new Route[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            stops[i] = stopList.get(random.nextInt(stopList.size()));
+            routes[i] = allRoutes.get(random.nextInt(allRoutes.size()));
+        }
+        gtfs.getDepartureBoard();
+        gtfs.getJourneyPlanner();
+        gtfs.getRaptorRouter();
+    }
+
+    /**
+     * Searches for a stop, as the stop search box does
+     */
+    @Benchmark
+    public void searchByStop() {
+        gtfs.searchByStop(stops[next++ & (SAMPLES - 1)]);
+    }
+
+    /**
+     * Searches for a route, as the route search box does
+     */
+    @Benchmark
+    public void searchByRoute() {
+        gtfs.searchByRoute(routes[next++ & (SAMPLES - 1)]);
+    }
+
+    /**
+     * Gets the stops a route visits
+     *
+     * @return the stops
+     */
+    @Benchmark
+    public List<Stop> getStopsOnRoute() {
+        return gtfs.getStopsOnRoute(routes[next++ & (SAMPLES - 1)]);
+    }
+
+    /**
+     * Gets the routes that visit a stop
+     *
+     * @return the routes
+     */
+    @Benchmark
+    public List<Route> getRoutesContainingStop() {
+        return gtfs.getRoutesContainingStop(stops[next++ & (SAMPLES - 1)]);
+    }
+
+    /**
+     * Gets the next trip of each route leaving a stop
+     *
+     * @return the trips
+     */
+    @Benchmark
+    public List<Trip> getUpcomingTrips() {
+        return gtfs.getUpcomingTrips(stops[next++ & (SAMPLES - 1)]);
+    }
+
+    /**
+     * Plans a journey between two sampled stops leaving in the morning
+     *
+     * @return the legs of the journey
+     */
+    @Benchmark
+    public List<Leg> planJourney() {
+        int from = next++ & (SAMPLES - 1);
+        return gtfs.planJourney(stops[from], stops[(from + 1) & (SAMPLES - 1)], 7 * 3600, 120);
+    }
+
+    /**
+     * Plans the journeys between two sampled stops leaving in a two hour morning window
+     *
+     * @return the journeys
+     */
+    @Benchmark
+    public List<Journey> planJourneys() {
+        int from = next++ & (SAMPLES - 1);
+        return gtfs.planJourneys(stops[from], stops[(from + 1) & (SAMPLES - 1)],
+                7 * 3600, 9 * 3600, 4, 120);
+    }
+
+    /**
+     * Gets the ten stops nearest to a point beside a sampled stop
+     *
+     * @return the stops
+     */
+    @Benchmark
+    public List<Stop> getNearestStops() {
+        Stop stop = stops[next++ & (SAMPLES - 1)];
+        return gtfs.getNearestStops(stop.getLatitude() + 0.001, stop.getLongitude(), 10);
+    }
+}
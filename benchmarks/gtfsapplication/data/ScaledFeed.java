@@ -0,0 +1,196 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.FileOutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes copies of the bundled GTFS_MCTS feed scaled up by a whole factor
+ * <p>
+ * Copy k of every route, stop and trip has "_k" appended to its ids (copy 0 keeps the
+ * original ids), so a scaled feed has the shape of the original with more of everything.
+ * The bundled feed has no stop_times.txt, so stop times are generated: every trip with
+ * the same shape_id visits the same {@value #STOPS_PER_TRIP} stops, two minutes apart.
+ * <p>
+ * Feeds are written under java.io.tmpdir and reused by later runs, since the largest
+ * take minutes to write. The source feed can be changed with -Dgtfs.feed=directory.
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+final class ScaledFeed {
+    static final int STOPS_PER_TRIP = 12;
+    static final List<String> FILE_NAMES =
+            Arrays.asList("routes.txt", "stops.txt", "trips.txt", "stop_times.txt");
+
+    private static final String COMPLETE = ".complete";
+
+    private ScaledFeed() {
+    }
+
+    /**
+     * Gets the directory of the bundled feed
+     *
+     * @return the source feed directory
+     */
+    static File source() {
+        return new File(System.getProperty("gtfs.feed", "GTFS_MCTS"));
+    }
+
+    /**
+     * Gets a scaled copy of the source feed, writing it if it has not been written yet
+     *
+     * @param scale number of copies of the source feed
+     * @return directory containing routes.txt, stops.txt, trips.txt and stop_times.txt
+     * @throws IOException if the feed cannot be read or written
+     */
+    static File get(int scale) throws IOException {
+        File directory = new File(System.getProperty("java.io.tmpdir"),
+                "gtfs-" + source().getName().toLowerCase() + "-x" + scale);
+        if (new File(directory, COMPLETE).exists()) {
+            return directory;
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+        List<String> stopIds = copy("stops.txt", directory, scale, "stop_id");
+        copy("routes.txt", directory, scale, "route_id");
+        copy("trips.txt", directory, scale, "route_id", "trip_id", "block_id", "shape_id");
+        writeStopTimes(directory, scale, stopIds);
+        if (!new File(directory, COMPLETE).createNewFile()) {
+            throw new IOException("Could not mark " + directory + " as complete");
+        }
+        return directory;
+    }
+
+    /*
+     * Writes scale copies of a file, appending the copy number to the id columns,
+     * and returns the values of the first id column of the source file.
+     */
+    private static List<String> copy(String filename, File directory, int scale,
+                                     String... idFields) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        String header;
+        try (CsvTokenizer reader = new CsvTokenizer(new File(source(), filename))) {
+            reader.next();
+            header = reader.line();
+            while (reader.next()) {
+                rows.add(reader.toList());
+            }
+        }
+        List<String> fields = CsvTokenizer.parseRow(header).toList();
+        List<Integer> idColumns = new ArrayList<>();
+        for (String idField : idFields) {
+            if (fields.contains(idField)) {
+                idColumns.add(fields.indexOf(idField));
+            }
+        }
+        try (Writer out = open(directory, filename)) {
+            out.write(header);
+            out.write('\n');
+            for (int copy = 0; copy < scale; copy++) {
+                String suffix = copy == 0 ? "" : "_" + copy;
+                for (List<String> row : rows) {
+                    for (int i = 0; i < row.size(); i++) {
+                        String value = row.get(i);
+                        if (idColumns.contains(i) && !value.isEmpty()) {
+                            value += suffix;
+                        }
+                        if (i > 0) {
+                            out.write(',');
+                        }
+                        out.write(quote(value));
+                    }
+                    out.write('\n');
+                }
+            }
+        }
+        List<String> ids = new ArrayList<>();
+        for (List<String> row : rows) {
+            ids.add(row.get(idColumns.get(0)));
+        }
+        return ids;
+    }
+
+    private static void writeStopTimes(File directory, int scale, List<String> stopIds)
+            throws IOException {
+        List<String[]> trips = new ArrayList<>();
+        try (CsvTokenizer reader = new CsvTokenizer(new File(source(), "trips.txt"))) {
+            reader.next();
+            List<String> fields = CsvTokenizer.parseRow(reader.line()).toList();
+            int tripColumn = fields.indexOf("trip_id");
+            int shapeColumn = fields.indexOf("shape_id");
+            while (reader.next()) {
+                trips.add(new String[] {reader.get(tripColumn),
+                        shapeColumn < 0 ? reader.get(tripColumn) : reader.get(shapeColumn)});
+            }
+        }
+        try (Writer out = open(directory, "stop_times.txt")) {
+            out.write("trip_id,arrival_time,departure_time,stop_id,stop_sequence\n");
+            for (int copy = 0; copy < scale; copy++) {
+                String suffix = copy == 0 ? "" : "_" + copy;
+                for (int t = 0; t < trips.size(); t++) {
+                    String tripId = trips.get(t)[0] + suffix;
+                    int shape = trips.get(t)[1].hashCode() & Integer.MAX_VALUE;
+                    int first = shape % stopIds.size();
+                    int step = 1 + (shape >>> 8) % 7;
+                    int start = 5 * 3600 + (t * 137 % (18 * 60)) * 60;
+                    for (int sequence = 1; sequence <= STOPS_PER_TRIP; sequence++) {
+                        String stopId = stopIds.get((first + sequence * step) % stopIds.size());
+                        String time = ServiceTime.format(start + sequence * 120);
+                        out.write(tripId + "," + time + "," + time + "," + quote(stopId + suffix)
+                                + "," + sequence + "\n");
+                    }
+                }
+            }
+        }
+    }
+
+    private static Writer open(File directory, String filename) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(new File(directory, filename)), StandardCharsets.UTF_8),
+                1 << 16);
+    }
+
+    private static String quote(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures tokenizing the rows of the bundled trips.txt, one row at a time
+ * and as a whole file through each reader
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenizerBenchmark {
+    private File file;
+    private String contents;
+    private String[] lines;
+
+    /**
+     * Reads the trips file into memory
+     *
+     * @throws IOException if the file cannot be read
+     */
+    @Setup
+    public void setUp() throws IOException {
+        file = new File(ScaledFeed.source(), "trips.txt");
+        contents = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        lines = contents.split("\n");
+    }
+
+    /**
+     * Splits every line with a single-row tokenizer
+     *
+     * @param blackhole consumes each row
+     */
+    @Benchmark
+    public void parseRow(Blackhole blackhole) {
+        for (String line : lines) {
+            CsvTokenizer row = CsvTokenizer.parseRow(line);
+            for (int i = 0; i < row.size(); i++) {
+                blackhole.consume(row.get(i));
+            }
+        }
+    }
+
+    /**
+     * Splits every line into a list, the way the header is parsed
+     *
+     * @param blackhole consumes each row
+     */
+    @Benchmark
+    public void parseLine(Blackhole blackhole) {
+        for (String line : lines) {
+            List<String> values = ImportHelper.parseLine(line);
+            blackhole.consume(values);
+        }
+    }
+
+    /**
+     * Streams the whole file through a tokenizer
+     *
+     * @param blackhole consumes each value
+     * @throws IOException never, the input is in memory
+     */
+    @Benchmark
+    public void streamTokenizer(Blackhole blackhole) throws IOException {
+        try (CsvTokenizer reader = new CsvTokenizer(new StringReader(contents))) {
+            consumeAll(reader, blackhole);
+        }
+    }
+
+    /**
+     * Streams the whole file through a memory-mapped reader
+     *
+     * @param blackhole consumes each value
+     * @throws IOException if the file cannot be read
+     */
+    @Benchmark
+    public void mappedReader(Blackhole blackhole) throws IOException {
+        try (MappedCsvReader reader = new MappedCsvReader(file)) {
+            consumeAll(reader, blackhole);
+        }
+    }
+
+    private static void consumeAll(RowReader reader, Blackhole blackhole) throws IOException {
+        while (reader.next()) {
+            for (int i = 0; i < reader.size(); i++) {
+                blackhole.consume(reader.get(i));
+            }
+        }
+    }
+}
@@ -29,12 +29,17 @@
 package gtfsapplication;
 
 import gtfsapplication.data.GTFS;
+import gtfsapplication.data.ImportReport;
 import gtfsapplication.data.Route;
 import gtfsapplication.data.Stop;
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
 import javafx.scene.control.ChoiceDialog;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.control.TextInputDialog;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
@@ -45,9 +50,13 @@ import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Controller for the user interface
@@ -75,6 +84,14 @@ public class Controller {
     private Stage secStage;
     private SecondController secondController;
 
+    // Imports wait for their files on these threads, so several can be queued at once
+    private final ExecutorService importer = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "GTFS import");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private VBox importBox;
+
     /**
      * Sets up the controller of the second window
      * @param secondController the controller of the second window
@@ -108,10 +125,9 @@ public class Controller {
     }
 
     /**
-     * Hides the second window
+     * Hides the second window. Observers were already notified by the edit, if any.
      */
     public void hideSecondStage(){
-        gtfs.updateObservers();
         secStage.hide();
     }
 
@@ -122,7 +138,7 @@ public class Controller {
     public void initialize() {
         gtfs = new GTFS();
 
-        listView = new ListView(gtfs);
+        listView = new ListView();
         VBox.setVgrow(listView, Priority.ALWAYS);
         vbox.getChildren().add(listView);
 
@@ -131,8 +147,20 @@ public class Controller {
         HBox.setHgrow(mapView, Priority.ALWAYS);
         vbox1.getChildren().add(mapView);
 
-        gtfs.addObserver(listView);
-        gtfs.addObserver(mapView);
+        importBox = new VBox();
+        borderPane.setBottom(importBox);
+
+        // Imports run in the background, and changes made within a frame are shown together
+        gtfs.addObserver(listView, Platform::runLater);
+        gtfs.addObserver(mapView, Platform::runLater);
+
+        // Shows the route or stop selected in the list on the map
+        listView.getSelectionModel().selectedItemProperty().addListener(
+                (observable, oldValue, newValue) -> {
+                    if (newValue instanceof Route || newValue instanceof Stop) {
+                        mapView.update(Collections.singletonList(newValue));
+                    }
+                });
     }
 
     @FXML
@@ -146,7 +174,10 @@ public class Controller {
                     "routes.txt",
                     "stops.txt",
                     "stop_times.txt",
-                    "trips.txt"
+                    "trips.txt",
+                    "calendar.txt",
+                    "calendar_dates.txt",
+                    "*.zip"
                 )
         );
         List<File> files = fileChooser.showOpenMultipleDialog(stage);
@@ -154,13 +185,63 @@ public class Controller {
             // User cancelled import
             return;
         }
+        // Each zip archive is a feed of its own, and text files are published together
+        List<File> textFiles = new ArrayList<>();
         for (File file : files) {
-            try {
-                gtfs.importFile(file);
-            } catch (GTFSException ex) {
-                showErrorMessage(ex.getMessage());
+            if (file.getName().toLowerCase().endsWith(".zip")) {
+                startImport(Collections.singletonList(file));
+            } else {
+                textFiles.add(file);
+            }
+        }
+        if (!textFiles.isEmpty()) {
+            startImport(textFiles);
+        }
+    }
+
+    /**
+     * Imports files in the background, showing their progress until they are published
+     * @param files text files or one zip archive
+     */
+    private void startImport(List<File> files) {
+        ImportTask task = new ImportTask(gtfs, files);
+        ProgressBar progressBar = new ProgressBar();
+        progressBar.progressProperty().bind(task.progressProperty());
+        Label rows = new Label();
+        rows.textProperty().bind(task.messageProperty());
+        Button cancel = new Button("Cancel");
+        cancel.setOnAction(event -> task.cancel());
+        HBox status = new HBox(10, new Label(task.getDescription()), progressBar, rows, cancel);
+        importBox.getChildren().add(status);
+
+        task.setOnSucceeded(event -> {
+            importBox.getChildren().remove(status);
+            showSkippedRows(task.getValue(), task.getFileNames());
+        });
+        task.setOnFailed(event -> {
+            importBox.getChildren().remove(status);
+            Throwable ex = task.getException();
+            showErrorMessage(ex instanceof GTFSException ? ex.getMessage()
+                    : "An error occurred importing " + task.getDescription() + ".");
+        });
+        task.setOnCancelled(event -> importBox.getChildren().remove(status));
+        importer.execute(task);
+    }
+
+    private void showSkippedRows(ImportReport report, List<String> filenames) {
+        StringBuilder skipped = new StringBuilder();
+        for (String filename : filenames) {
+            String summary = report.getSummary(filename);
+            if (!summary.isEmpty()) {
+                skipped.append('\n').append(summary);
             }
         }
+        if (skipped.length() > 0) {
+            new Alert(
+                    Alert.AlertType.WARNING,
+                    "Some rows were not valid and were skipped:" + skipped
+            ).showAndWait();
+        }
     }
 
     @FXML
@@ -175,6 +256,38 @@ public class Controller {
         }
     }
 
+    @FXML
+    private void handleOpenSnapshot(ActionEvent event) {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Select a GTFS snapshot to open");
+        fileChooser.getExtensionFilters().add(
+                new FileChooser.ExtensionFilter("GTFS Snapshots", "*.gtfsbin"));
+        File file = fileChooser.showOpenDialog(stage);
+        if (file != null) {
+            try {
+                gtfs.loadSnapshot(file);
+            } catch (GTFSException ex) {
+                showErrorMessage(ex.getMessage());
+            }
+        }
+    }
+
+    @FXML
+    private void handleSaveSnapshot(ActionEvent event) {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Save a snapshot of the loaded GTFS files");
+        fileChooser.getExtensionFilters().add(
+                new FileChooser.ExtensionFilter("GTFS Snapshots", "*.gtfsbin"));
+        File file = fileChooser.showSaveDialog(stage);
+        if (file != null) {
+            try {
+                gtfs.saveSnapshot(file);
+            } catch (GTFSException ex) {
+                showErrorMessage(ex.getMessage());
+            }
+        }
+    }
+
     @FXML
     private void handleExportStops(ActionEvent event) {
         if (!gtfs.hasStops()) {
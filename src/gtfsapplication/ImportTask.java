@@ -0,0 +1,132 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication;
+
+import gtfsapplication.data.GTFS;
+import gtfsapplication.data.ImportProgress;
+import gtfsapplication.data.ImportReport;
+import javafx.concurrent.Task;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Imports GTFS files on a background thread
+ * <p>
+ * Progress is the fraction of bytes read, and the message is the number of rows read.
+ * The files are published to the GTFS object in one step once all of them are read, and
+ * cancelling the task stops reading them without replacing anything. The value of the
+ * task is the report of its own files, unaffected by any other import.
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+public class ImportTask extends Task<ImportReport> {
+    private static final List<String> ZIP_FILE_NAMES = Arrays.asList("routes.txt", "stops.txt",
+            "trips.txt", "stop_times.txt", "calendar.txt", "calendar_dates.txt");
+
+    private final GTFS gtfs;
+    private final List<File> files;
+    private final ImportProgress progress = new ImportProgress(this::progressed);
+
+    /**
+     * Creates a task that imports text files together, or a single zip archive
+     *
+     * @param gtfs GTFS object to import into
+     * @param files GTFS text files, or one zip archive
+     */
+    public ImportTask(GTFS gtfs, List<File> files) {
+        this.gtfs = gtfs;
+        this.files = new ArrayList<>(files);
+    }
+
+    @Override
+    protected ImportReport call() throws GTFSException {
+        if (isZip()) {
+            return gtfs.importZip(files.get(0), progress);
+        }
+        return gtfs.importFiles(files, progress);
+    }
+
+    /**
+     * Stops the import. Files that were already published are not removed.
+     *
+     * @param mayInterruptIfRunning whether the thread running the task is interrupted
+     * @return false if the task had already finished
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        progress.cancel();
+        return super.cancel(mayInterruptIfRunning);
+    }
+
+    /**
+     * Gets the names of the files imported, for finding them in the import report
+     *
+     * @return GTFS file names such as stops.txt
+     */
+    public List<String> getFileNames() {
+        if (isZip()) {
+            return ZIP_FILE_NAMES;
+        }
+        List<String> names = new ArrayList<>();
+        for (File file : files) {
+            names.add(file.getName().toLowerCase());
+        }
+        return names;
+    }
+
+    /**
+     * Describes the files for the user
+     *
+     * @return the names of the files chosen
+     */
+    public String getDescription() {
+        List<String> names = new ArrayList<>();
+        for (File file : files) {
+            names.add(file.getName());
+        }
+        return String.join(", ", names);
+    }
+
+    private boolean isZip() {
+        return files.size() == 1 && files.get(0).getName().toLowerCase().endsWith(".zip");
+    }
+
+    /*
+     * Called on the threads reading the files; the Task passes the latest values to the
+     * JavaFX thread, so frequent calls are cheap
+     */
+    private void progressed(ImportProgress progress) {
+        updateProgress(progress.getFraction(), 1);
+        updateMessage(String.format("%,d rows", progress.getRowsRead()));
+    }
+}
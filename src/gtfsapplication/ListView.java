@@ -28,56 +28,47 @@
  */
 package gtfsapplication;
 
-import gtfsapplication.data.GTFS;
+import gtfsapplication.data.FeedChange;
 import gtfsapplication.data.Route;
 import gtfsapplication.data.Stop;
 import gtfsapplication.data.StopTime;
 import gtfsapplication.data.Trip;
+import javafx.scene.control.ListCell;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Observer Pattern ListView
+ * <p>
+ * The rows are the objects themselves. Text is made only for the cells on screen, so a
+ * search that finds thousands of stops or trips formats only the rows that are shown.
  *
  * @author Kenneth McDonough
  * @version 10/25/2020
  */
-public class ListView extends javafx.scene.control.ListView<String> implements Observer {
+public class ListView extends javafx.scene.control.ListView<Object> implements Observer {
 
-    private GTFS gtfs;
+    private boolean showingRoutes;
 
     /**
      * Creates a new listview
-     * @param gtfs gtfs object to observe
      */
-    public ListView(GTFS gtfs) {
-        this.gtfs = gtfs;
-
-        getSelectionModel().selectedItemProperty().addListener((observable, oldValue, newValue) -> {
-            if (newValue != null && !newValue.equals(oldValue)) {
-                handleClickedCell(newValue);
+    public ListView() {
+        setCellFactory(view -> new ListCell<Object>() {
+            @Override
+            protected void updateItem(Object item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty || item == null ? null : describe(item));
             }
         });
     }
 
-    private void handleClickedCell(String cell) {
-        MapView mapView = new MapView(gtfs);
-        List<Object> obj = new ArrayList<>();
-        String id = cell.substring(cell.indexOf(":") + 1, cell.indexOf("(")).replace(" ", "");
-        if(cell.contains("Route")){
-            Route route = gtfs.getRoute(id);
-            obj.add(route);
-            System.out.println(obj);
-            mapView.update(obj);
-        }
-        if(cell.contains("Stop")){
-            Stop stop = gtfs.getStop(id);
-            obj.add(stop);
-            mapView.update(obj);
-        }
-    }
-
     /**
      * Notify the observer that it should update itself from the GTFS object.
      * @param items A list of String, Stop, Trip, StopTime or Route objects;
@@ -88,33 +79,97 @@ public class ListView extends javafx.scene.control.ListView<String> implements O
         if (items.size() < 1) {
             return;
         }
-        getItems().clear();
+        List<Object> rows = new ArrayList<>(items.size());
         for (Object o : items) {
-            if (o instanceof String) {
-                getItems().add((String) o);
-            } else if (o instanceof Route) {
-                // o is a route, display the id and name if it exists
-                Route route = (Route) o;
-                getItems().add("Route: " + route.getId() +
-                               (route.getShortName() != null ?
-                                       String.format(" (%s)", route.getLongName()) : ""));
-            } else if (o instanceof Stop) {
-                // o is a stop, display the id and name
-                Stop stop = (Stop) o;
-                getItems().add("Stop: " + stop.getId() + " (" + stop.getName() + ")");
-            } else if (o instanceof Trip) {
-                // o is a trip, display the id
-                Trip trip = (Trip) o;
-                getItems().add(
-                        "Trip: " + trip.getId() + " (" +
-                        (trip.getDirectionId() == 0 ? "Outbound" : "Inbound") + ")"
-                );
-            } else if (o instanceof StopTime) {
-                // o is a stoptime, display the stop id and trip id
-                StopTime stopTime = (StopTime) o;
-                getItems().add("Stop Time: " + stopTime.getStopId() + ", " + stopTime.getTripId() +
-                               "(" + stopTime.getArrivalTime() + ")");
+            if (o instanceof String || o instanceof Route || o instanceof Stop
+                    || o instanceof Trip || o instanceof StopTime) {
+                rows.add(o);
             }
         }
+        showingRoutes = "All Routes:".equals(items.get(0));
+        // Replaces the rows at once, so the list is laid out once rather than once per row
+        getItems().setAll(rows);
+    }
+
+    /**
+     * Updates only the rows of the routes that changed when all routes are shown, and
+     * shows all routes otherwise
+     * @param change what changed since the last notification
+     */
+    @Override
+    public void feedChanged(FeedChange change) {
+        if (!showingRoutes) {
+            Observer.super.feedChanged(change);
+            return;
+        }
+        // Routes replaced by an import take the rows of the routes they replace
+        List<Route> changed = change.getChangedRoutes();
+        if (!changed.isEmpty()) {
+            Map<String, Integer> rowOf = new HashMap<>();
+            for (int i = 0; i < getItems().size(); i++) {
+                Object item = getItems().get(i);
+                if (item instanceof Route) {
+                    rowOf.put(((Route) item).getId(), i);
+                }
+            }
+            for (Route route : changed) {
+                Integer row = rowOf.get(route.getId());
+                if (row != null && getItems().get(row) != route) {
+                    getItems().set(row, route);
+                }
+            }
+        }
+        // Rows whose route is no longer in the feed under its id were removed, or renamed
+        // and added again under the new id
+        Set<Route> shown = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Object> rows = new ArrayList<>(getItems().size());
+        boolean rowsChanged = false;
+        for (Object item : getItems()) {
+            if (!(item instanceof Route)) {
+                rows.add(item);
+            } else if (change.getRoute(((Route) item).getId()) == item) {
+                rows.add(item);
+                shown.add((Route) item);
+            } else {
+                rowsChanged = true;
+            }
+        }
+        for (Route route : change.getAddedRoutes()) {
+            if (shown.add(route)) {
+                rows.add(route);
+                rowsChanged = true;
+            }
+        }
+        if (rowsChanged) {
+            getItems().setAll(rows);
+        }
+        // Routes changed in place are the same objects, so their cells must be told
+        refresh();
+    }
+
+    private static String describe(Object o) {
+        if (o instanceof String) {
+            return (String) o;
+        } else if (o instanceof Route) {
+            // o is a route, display the id and name if it exists
+            Route route = (Route) o;
+            return "Route: " + route.getId() +
+                   (route.getShortName() != null ? " (" + route.getLongName() + ")" : "");
+        } else if (o instanceof Stop) {
+            // o is a stop, display the id and name
+            Stop stop = (Stop) o;
+            return "Stop: " + stop.getId() + " (" + stop.getName() + ")";
+        } else if (o instanceof Trip) {
+            // o is a trip, display the id
+            Trip trip = (Trip) o;
+            return "Trip: " + trip.getId() + " (" +
+                   (trip.getDirectionId() == 0 ? "Outbound" : "Inbound") + ")";
+        } else if (o instanceof StopTime) {
+            // o is a stoptime, display the stop id and trip id
+            StopTime stopTime = (StopTime) o;
+            return "Stop Time: " + stopTime.getStopId() + ", " + stopTime.getTripId() +
+                   "(" + stopTime.getArrivalTime() + ")";
+        }
+        return String.valueOf(o);
     }
 }
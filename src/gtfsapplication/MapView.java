@@ -7,25 +7,50 @@
  */
 package gtfsapplication;
 
-// import com.sun.org.apache.xml.internal.resolver.readers.ExtendedXMLCatalogReader;
+import gtfsapplication.data.FeedChange;
 import gtfsapplication.data.GTFS;
 import gtfsapplication.data.Route;
 import gtfsapplication.data.Stop;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Priority;
+import javafx.scene.paint.Color;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
- * Shows and Plots information on Google Maps
+ * Shows and Plots stops on a map drawn locally
+ * <p>
+ * Stops are projected once when they are shown, and every redraw skips the stops outside
+ * the map and merges stops that would overlap into clusters, so panning and zooming a
+ * feed of thousands of stops needs no network and redraws within a frame. Scrolling
+ * zooms around the mouse, dragging pans, and double-clicking zooms in.
  *
  * @author Kenneth McDonough, Thy Le
  * @version 11/3/2020
  */
 public class MapView extends javafx.scene.layout.HBox implements Observer {
+    private static final double CELL_SIZE = 14;
+    private static final double MARGIN = 24;
+    // Stop names are drawn only when this few points are on the map
+    private static final int LABEL_LIMIT = 40;
+    private static final double ZOOM_STEP = 1.25;
+    private static final Color BACKGROUND = Color.rgb(232, 238, 242);
+    private static final Color STOPS = Color.rgb(33, 102, 172);
+    private static final Color FADED_STOPS = Color.rgb(160, 170, 180);
+    private static final Color HIGHLIGHTED = Color.rgb(214, 39, 40);
+
     private GTFS gtfs;
-    
-    private ImageView image;
+
+    private final Canvas canvas;
+    private final MapViewport viewport = new MapViewport(539, 585);
+    private StopLayer allStops = new StopLayer(Collections.<Stop>emptyList());
+    private StopLayer highlighted = new StopLayer(Collections.<Stop>emptyList());
+    private double dragX;
+    private double dragY;
 
     /**
      * Creates a new mapview
@@ -34,8 +59,41 @@ public class MapView extends javafx.scene.layout.HBox implements Observer {
      */
     public MapView(GTFS gtfs) {
         this.gtfs = gtfs;
-        image = new ImageView("https://i.imgur.com/XUgOR4D.png");
-        this.getChildren().add(image);
+        canvas = new Canvas();
+        // A Pane does not size the canvas to itself, so the canvas follows the pane
+        Pane pane = new Pane();
+        pane.setPrefSize(539, 585);
+        pane.setMinSize(0, 0);
+        pane.getChildren().add(canvas);
+        canvas.widthProperty().bind(pane.widthProperty());
+        canvas.heightProperty().bind(pane.heightProperty());
+        canvas.widthProperty().addListener((observable, oldValue, newValue) -> draw());
+        canvas.heightProperty().addListener((observable, oldValue, newValue) -> draw());
+        setHgrow(pane, Priority.ALWAYS);
+        this.getChildren().add(pane);
+
+        canvas.setOnScroll(event -> {
+            viewport.zoom(event.getDeltaY() > 0 ? ZOOM_STEP : 1 / ZOOM_STEP,
+                    event.getX(), event.getY());
+            draw();
+        });
+        canvas.setOnMousePressed(event -> {
+            dragX = event.getX();
+            dragY = event.getY();
+        });
+        canvas.setOnMouseDragged(event -> {
+            viewport.pan(event.getX() - dragX, event.getY() - dragY);
+            dragX = event.getX();
+            dragY = event.getY();
+            draw();
+        });
+        canvas.setOnMouseClicked(event -> {
+            if (event.getClickCount() == 2) {
+                viewport.zoom(2, event.getX(), event.getY());
+                draw();
+            }
+        });
+        draw();
     }
 
     /**
@@ -51,32 +109,93 @@ public class MapView extends javafx.scene.layout.HBox implements Observer {
             return;
         }
 
-        String url = "https://www.mapquestapi.com/staticmap/v5/map?key=G6QM4Zn4lJlXZHnGc2BedjV7KxAZQPZY";
-
         Object o = objects.get(0);
-        System.out.println("object in update map: " + o);
-
         if (o instanceof String) {
-            url += "&center=" +
-                gtfs.getMeanLatitude() + "," + gtfs.getMeanLongitude() +
-                "&zoom=12&type=map&size=539,585";
+            // All routes are shown, so show every stop in the feed
+            allStops = new StopLayer(gtfs.getStops());
+            highlighted = new StopLayer(Collections.<Stop>emptyList());
+            viewport.fit(allStops, MARGIN);
+        } else if (o instanceof Route) {
+            highlighted = new StopLayer(gtfs.getStopsOnRoute((Route) o));
+            viewport.fit(highlighted, MARGIN);
+        } else if (o instanceof Stop) {
+            highlighted = new StopLayer(Collections.singletonList((Stop) o));
+            viewport.fit(highlighted, MARGIN);
         } else {
-            url += "&size=539,585";
+            return;
         }
+        draw();
+    }
 
-        url += "&locations=";
+    /**
+     * Moves the stops on the map if stops were moved, since the map does not show the
+     * routes themselves. The highlighted stops and the part of the map shown are kept,
+     * so an edit does not lose the user's place; the map is fitted to the stops only when
+     * it had none before.
+     * @param change what changed since the last notification
+     */
+    @Override
+    public void feedChanged(FeedChange change) {
+        if (!change.isStopPositionsChanged()) {
+            return;
+        }
+        boolean empty = allStops.size() == 0;
+        allStops = new StopLayer(gtfs.getStops());
+        if (empty) {
+            viewport.fit(allStops, MARGIN);
+        }
+        if (highlighted.size() > 0) {
+            // Highlighted stops are found again by id, dropping any that were removed
+            List<Stop> stops = new ArrayList<>();
+            for (Stop stop : highlighted.getStops()) {
+                Stop current = gtfs.getStop(stop.getId());
+                if (current != null) {
+                    stops.add(current);
+                }
+            }
+            highlighted = new StopLayer(stops);
+        }
+        draw();
+    }
 
-        if (o instanceof Route) {
-            Route route = (Route) o;
-            for (Stop stop : gtfs.getStopsOnRoute(route)) {
-                url += stop.getLatitude() + "," + stop.getLongitude() + "|marker-sm" + "||";
+    private void draw() {
+        viewport.setSize(canvas.getWidth(), canvas.getHeight());
+        GraphicsContext graphics = canvas.getGraphicsContext2D();
+        graphics.setFill(BACKGROUND);
+        graphics.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        if (highlighted.size() == 0) {
+            drawStops(graphics, allStops, STOPS, true);
+        } else {
+            drawStops(graphics, allStops, FADED_STOPS, false);
+            drawStops(graphics, highlighted, HIGHLIGHTED, true);
+        }
+    }
 
+    private void drawStops(GraphicsContext graphics, StopLayer layer, Color color,
+                           boolean labels) {
+        List<StopLayer.Cluster> clusters = layer.cluster(viewport, CELL_SIZE);
+        boolean showNames = labels && clusters.size() <= LABEL_LIMIT;
+        graphics.setFill(color);
+        graphics.setStroke(Color.WHITE);
+        graphics.setLineWidth(1);
+        for (StopLayer.Cluster cluster : clusters) {
+            // Clusters grow with the number of stops they hold, but stay within a cell
+            double radius = cluster.getSize() == 1 ? 4
+                    : Math.min(CELL_SIZE / 2 + 2, 5 + Math.log(cluster.getSize()));
+            graphics.fillOval(cluster.getX() - radius, cluster.getY() - radius,
+                    2 * radius, 2 * radius);
+            graphics.strokeOval(cluster.getX() - radius, cluster.getY() - radius,
+                    2 * radius, 2 * radius);
+        }
+        graphics.setFill(Color.BLACK);
+        for (StopLayer.Cluster cluster : clusters) {
+            if (cluster.getSize() > 1 && labels) {
+                graphics.fillText(String.valueOf(cluster.getSize()),
+                        cluster.getX() + CELL_SIZE / 2 + 2, cluster.getY() + 4);
+            } else if (showNames && cluster.getStop().getName() != null) {
+                graphics.fillText(cluster.getStop().getName(),
+                        cluster.getX() + 6, cluster.getY() + 4);
             }
-        } else if (o instanceof Stop) {
-            Stop stop = (Stop) o;
-            url += stop.getLatitude() + "," + stop.getLongitude() + "|marker-sm" + "||" ;
         }
-        image.setImage(new Image(url));
     }
-
 }
@@ -0,0 +1,200 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication;
+
+/**
+ * The part of the world shown in a map of a given size in pixels
+ * <p>
+ * Positions are projected with the Web Mercator projection, the one used by web maps, into
+ * world coordinates from 0 to 1 with y increasing to the south. The viewport is a centre
+ * in world coordinates and a scale in pixels per world unit, so zooming and panning only
+ * change those three numbers and never reproject a stop.
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+public class MapViewport {
+    // Mercator is undefined at the poles, so latitudes are clamped as web maps do
+    private static final double MAX_LATITUDE = 85.05112878;
+    private static final double MIN_SCALE = 256;
+    // About 2 cm per pixel at the equator
+    private static final double MAX_SCALE = 256 * Math.pow(2, 22);
+    // Scale that shows about a kilometre around a single point
+    private static final double POINT_SCALE = 256 * Math.pow(2, 16);
+
+    private double width;
+    private double height;
+    private double centerX = 0.5;
+    private double centerY = 0.5;
+    private double scale = MIN_SCALE;
+
+    /**
+     * Creates a viewport showing the whole world
+     *
+     * @param width width of the map in pixels
+     * @param height height of the map in pixels
+     */
+    public MapViewport(double width, double height) {
+        setSize(width, height);
+    }
+
+    /**
+     * Projects a longitude into world coordinates
+     *
+     * @param longitude longitude in degrees
+     * @return x from 0 at 180 degrees west to 1 at 180 degrees east
+     */
+    public static double projectX(double longitude) {
+        return (longitude + 180) / 360;
+    }
+
+    /**
+     * Projects a latitude into world coordinates
+     *
+     * @param latitude latitude in degrees
+     * @return y from 0 in the far north to 1 in the far south
+     */
+    public static double projectY(double latitude) {
+        double clamped = Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude));
+        double sin = Math.sin(Math.toRadians(clamped));
+        return 0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI);
+    }
+
+    /**
+     * Changes the size of the map, keeping the same centre and scale
+     *
+     * @param width width of the map in pixels
+     * @param height height of the map in pixels
+     */
+    public void setSize(double width, double height) {
+        this.width = Math.max(1, width);
+        this.height = Math.max(1, height);
+    }
+
+    public double getWidth() {
+        return width;
+    }
+
+    public double getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets the scale, which doubles with each zoom level of a web map
+     *
+     * @return pixels per world unit
+     */
+    public double getScale() {
+        return scale;
+    }
+
+    /**
+     * Shows all of the given stops, leaving a margin around them. A single stop, or stops
+     * at one place, are shown with the streets around them.
+     *
+     * @param layer stops to show
+     * @param margin margin in pixels on each side
+     */
+    public void fit(StopLayer layer, double margin) {
+        if (layer.size() == 0) {
+            return;
+        }
+        centerX = (layer.getMinX() + layer.getMaxX()) / 2;
+        centerY = (layer.getMinY() + layer.getMaxY()) / 2;
+        double spanX = layer.getMaxX() - layer.getMinX();
+        double spanY = layer.getMaxY() - layer.getMinY();
+        double usableWidth = Math.max(1, width - 2 * margin);
+        double usableHeight = Math.max(1, height - 2 * margin);
+        if (spanX == 0 && spanY == 0) {
+            scale = POINT_SCALE;
+        } else {
+            scale = Math.min(spanX == 0 ? MAX_SCALE : usableWidth / spanX,
+                    spanY == 0 ? MAX_SCALE : usableHeight / spanY);
+        }
+        scale = clampScale(scale);
+    }
+
+    /**
+     * Zooms in or out, keeping the world position under a pixel at that pixel
+     *
+     * @param factor how many times larger things become; less than 1 zooms out
+     * @param screenX x of the pixel to zoom around
+     * @param screenY y of the pixel to zoom around
+     */
+    public void zoom(double factor, double screenX, double screenY) {
+        double worldX = toWorldX(screenX);
+        double worldY = toWorldY(screenY);
+        scale = clampScale(scale * factor);
+        centerX = worldX - (screenX - width / 2) / scale;
+        centerY = worldY - (screenY - height / 2) / scale;
+    }
+
+    /**
+     * Moves the map with the mouse
+     *
+     * @param dx pixels moved to the right
+     * @param dy pixels moved down
+     */
+    public void pan(double dx, double dy) {
+        centerX -= dx / scale;
+        centerY -= dy / scale;
+    }
+
+    /**
+     * Converts a world x to a pixel
+     *
+     * @param worldX x in world coordinates
+     * @return x in pixels from the left of the map
+     */
+    public double toScreenX(double worldX) {
+        return (worldX - centerX) * scale + width / 2;
+    }
+
+    /**
+     * Converts a world y to a pixel
+     *
+     * @param worldY y in world coordinates
+     * @return y in pixels from the top of the map
+     */
+    public double toScreenY(double worldY) {
+        return (worldY - centerY) * scale + height / 2;
+    }
+
+    double toWorldX(double screenX) {
+        return centerX + (screenX - width / 2) / scale;
+    }
+
+    double toWorldY(double screenY) {
+        return centerY + (screenY - height / 2) / scale;
+    }
+
+    private static double clampScale(double scale) {
+        return Math.max(MIN_SCALE, Math.min(MAX_SCALE, scale));
+    }
+}
@@ -28,6 +28,9 @@
  */
 package gtfsapplication;
 
+import gtfsapplication.data.FeedChange;
+
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -43,4 +46,16 @@ public interface Observer {
      *                all other types ignored
      */
     void update(List<Object> objects);
+
+    /**
+     * Notify the observer that routes, stops or trips changed. Observers that can update
+     * only what changed should override this; by default all routes are shown again.
+     * @param change what changed since the last notification
+     */
+    default void feedChanged(FeedChange change) {
+        List<Object> objects = new ArrayList<>();
+        objects.add("All Routes:");
+        objects.addAll(change.getRoutes());
+        update(objects);
+    }
 }
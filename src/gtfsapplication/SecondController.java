@@ -39,8 +39,6 @@ import javafx.stage.Stage;
 
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 
 /**
  * Controller for updating attributes interface
@@ -79,6 +77,7 @@ public class SecondController {
 
     @FXML private Button updateButton;
 
+    private GTFS gtfs;
     private Route route;
     private Trip trip;
     private Stop stop;
@@ -112,6 +111,7 @@ public class SecondController {
      * @param id the id of the instance
      */
     public void handle(GTFS gtfs, String instance, String id) {
+        this.gtfs = gtfs;
         this.instance = instance;
         if(instance.equalsIgnoreCase("Route")){
             route = gtfs.getRoute(id);
@@ -177,30 +177,44 @@ public class SecondController {
      */
     private void updateRoute() {
         try{
-            if(!fieldTwo.getText().isEmpty()){
-                route.setAgencyId(fieldTwo.getText());
-            }
-            if(!fieldThree.getText().isEmpty()){
-                route.setShortName(fieldThree.getText());
-            }
-            if(!fieldFour.getText().isEmpty()){
-                route.setLongName(fieldFour.getText());
-            }
-            if(!fieldFive.getText().isEmpty()){
-                route.setDescription(fieldFive.getText());
-            }
-            if(!fieldSix.getText().isEmpty()){
-                route.setType(Integer.parseInt(fieldSix.getText()));
-            }
-            if(!fieldSeven.getText().isEmpty()){
-                route.setUrl(new URL(fieldSeven.getText()));
-            }
-            if(!fieldEight.getText().isEmpty()){
-                route.setColor(Color.web("#" + fieldEight.getText()));
-            }
-            if(!fieldNine.getText().isEmpty()){
-                route.setTextColor(Color.web("#" + fieldNine.getText()));
-            }
+            // Parse every field first so that a bad value leaves the route unchanged
+            String agencyId = fieldTwo.getText();
+            String shortName = fieldThree.getText();
+            String longName = fieldFour.getText();
+            String description = fieldFive.getText();
+            Integer type = fieldSix.getText().isEmpty() ?
+                    null : Integer.parseInt(fieldSix.getText());
+            URL url = fieldSeven.getText().isEmpty() ? null : new URL(fieldSeven.getText());
+            Color color = fieldEight.getText().isEmpty() ?
+                    null : Color.web("#" + fieldEight.getText());
+            Color textColor = fieldNine.getText().isEmpty() ?
+                    null : Color.web("#" + fieldNine.getText());
+            gtfs.edit(edit -> route = edit.updateRoute(route, changed -> {
+                if(!agencyId.isEmpty()){
+                    changed.setAgencyId(agencyId);
+                }
+                if(!shortName.isEmpty()){
+                    changed.setShortName(shortName);
+                }
+                if(!longName.isEmpty()){
+                    changed.setLongName(longName);
+                }
+                if(!description.isEmpty()){
+                    changed.setDescription(description);
+                }
+                if(type != null){
+                    changed.setType(type);
+                }
+                if(url != null){
+                    changed.setUrl(url);
+                }
+                if(color != null){
+                    changed.setColor(color);
+                }
+                if(textColor != null){
+                    changed.setTextColor(textColor);
+                }
+            }));
             successAlert();
         } catch (NumberFormatException ex) {
             failAlert(six.getText() + " needs to be a valid integer. "
@@ -250,29 +264,41 @@ public class SecondController {
      */
     private void updateTrip(){
         try{
-            if(!fieldTwo.getText().isEmpty()){
-                trip.setServiceId(fieldTwo.getText());
-            }
-            if(!fieldThree.getText().isEmpty()){
-                trip.setId(fieldThree.getText());
-            }
-            if(!fieldFour.getText().isEmpty()){
-                trip.setHeadSign(fieldFour.getText());
-            }
-            if(!fieldFive.getText().isEmpty()){
-                trip.setDirectionId(Integer.parseInt(fieldFive.getText()));
-            }
-            if(!fieldSix.getText().isEmpty()){
-                trip.setBlockID(fieldSix.getText());
-            }
-            if(!fieldSeven.getText().isEmpty()){
-                trip.setShapeId(fieldSeven.getText());
-            }
+            String serviceId = fieldTwo.getText();
+            String id = fieldThree.getText();
+            String headSign = fieldFour.getText();
+            Integer directionId = fieldFive.getText().isEmpty() ?
+                    null : Integer.parseInt(fieldFive.getText());
+            String blockId = fieldSix.getText();
+            String shapeId = fieldSeven.getText();
+            gtfs.edit(edit -> trip = edit.updateTrip(trip, changed -> {
+                if(!serviceId.isEmpty()){
+                    changed.setServiceId(serviceId);
+                }
+                if(!id.isEmpty()){
+                    changed.setId(id);
+                }
+                if(!headSign.isEmpty()){
+                    changed.setHeadSign(headSign);
+                }
+                if(directionId != null){
+                    changed.setDirectionId(directionId);
+                }
+                if(!blockId.isEmpty()){
+                    changed.setBlockID(blockId);
+                }
+                if(!shapeId.isEmpty()){
+                    changed.setShapeId(shapeId);
+                }
+            }));
             successAlert();
         } catch (NumberFormatException ex) {
             failAlert("direction_id needs to be an integer. "
                     + "\nGot: " + fieldFive.getText()
                     + "\nFail to update " + instance + " attributes");
+        } catch (IllegalArgumentException ex) {
+            failAlert(ex.getMessage()
+                    + "\nFail to update " + instance + " attributes");
         }
 
 
@@ -313,22 +339,26 @@ public class SecondController {
      */
     private void updateStop() {
         try{
-            if(!fieldTwo.getText().isEmpty()){
-                stop.setName(fieldTwo.getText());
-            } else {
-                stop.setName(stop.getName());
-            }
-            if(!fieldThree.getText().isEmpty()){
-                stop.setDescription(fieldThree.getText());
-            } else{
-                stop.setDescription(stop.getDescription());
-            }
-            if(!fieldFour.getText().isEmpty()){
-                stop.setLatitude(Double.parseDouble(fieldFour.getText()));
-            }
-            if(!fieldFive.getText().isEmpty()){
-                stop.setLongitude(Double.parseDouble(fieldFour.getText()));
-            }
+            String name = fieldTwo.getText();
+            String description = fieldThree.getText();
+            Double latitude = fieldFour.getText().isEmpty() ?
+                    null : Double.parseDouble(fieldFour.getText());
+            Double longitude = fieldFive.getText().isEmpty() ?
+                    null : Double.parseDouble(fieldFive.getText());
+            gtfs.edit(edit -> stop = edit.updateStop(stop, changed -> {
+                if(!name.isEmpty()){
+                    changed.setName(name);
+                }
+                if(!description.isEmpty()){
+                    changed.setDescription(description);
+                }
+                if(latitude != null){
+                    changed.setLatitude(latitude);
+                }
+                if(longitude != null){
+                    changed.setLongitude(longitude);
+                }
+            }));
             successAlert();
         } catch (NumberFormatException ex) {
             failAlert("stop_lat and stop_lon needs to be a valid double. "
@@ -371,31 +401,37 @@ public class SecondController {
      */
     private void updateStopTime() {
         try{
-            if(!fieldTwo.getText().isEmpty()){
-                SimpleDateFormat time = new SimpleDateFormat("HH:mm:ss");
-                time.parse(fieldTwo.getText());
-                stopTime.setArrivalTime(fieldTwo.getText());
-            }
-            if(!fieldThree.getText().isEmpty()){
-                SimpleDateFormat time = new SimpleDateFormat("HH:mm:ss");
-                time.parse(fieldThree.getText());
-                stopTime.setDepartureTime(fieldThree.getText());
-            }
-            if(!fieldFour.getText().isEmpty()){
-                stopTime.setStopId(fieldFour.getText());
-            }
-            if(!fieldFive.getText().isEmpty()){
-                stopTime.setStopSequence(Integer.parseInt(fieldFive.getText()));
-            }
-            if(!fieldSix.getText().isEmpty()){
-                stopTime.setStopHeadsign(fieldSix.getText());
-            }
-            if(!fieldSeven.getText().isEmpty()){
-                stopTime.setPickupType(Integer.parseInt(fieldSeven.getText()));
-            }
-            if(!fieldEight.getText().isEmpty()){
-                stopTime.setDropOffType(Integer.parseInt(fieldEight.getText()));
-            }
+            int arrival = fieldTwo.getText().isEmpty() ?
+                    stopTime.getArrivalSeconds() : ServiceTime.parse(fieldTwo.getText());
+            int departure = fieldThree.getText().isEmpty() ?
+                    stopTime.getDepartureSeconds() : ServiceTime.parse(fieldThree.getText());
+            String stopId = fieldFour.getText();
+            Integer stopSequence = fieldFive.getText().isEmpty() ?
+                    null : Integer.parseInt(fieldFive.getText());
+            String stopHeadsign = fieldSix.getText();
+            Integer pickupType = fieldSeven.getText().isEmpty() ?
+                    null : Integer.parseInt(fieldSeven.getText());
+            Integer dropOffType = fieldEight.getText().isEmpty() ?
+                    null : Integer.parseInt(fieldEight.getText());
+            gtfs.edit(edit -> stopTime = edit.updateStopTime(stopTime, changed -> {
+                changed.setArrivalSeconds(arrival);
+                changed.setDepartureSeconds(departure);
+                if(!stopId.isEmpty()){
+                    changed.setStopId(stopId);
+                }
+                if(stopSequence != null){
+                    changed.setStopSequence(stopSequence);
+                }
+                if(!stopHeadsign.isEmpty()){
+                    changed.setStopHeadsign(stopHeadsign);
+                }
+                if(pickupType != null){
+                    changed.setPickupType(pickupType);
+                }
+                if(dropOffType != null){
+                    changed.setDropOffType(dropOffType);
+                }
+            }));
             successAlert();
         } catch (NumberFormatException ex) {
             failAlert("stop_sequence, pickup_type, drop_off type " +
@@ -404,7 +440,7 @@ public class SecondController {
                     + " pickup_type: " + fieldSeven.getText() + ","
                     + " drop_off_type: " + fieldEight.getText()
                     + "\nFail to update " + instance + " attributes");
-        } catch (ParseException ex){
+        } catch (IllegalArgumentException ex){
             failAlert("arrival_time, departure_time needs to be in " +
                     "HH:mm:ss format. "
                     + "\nGot: arrival_time: " + fieldTwo.getText() + ","
@@ -0,0 +1,181 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication;
+
+import gtfsapplication.data.Stop;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Stops to draw on a map, projected once into world coordinates so that zooming and
+ * panning only scale and shift them
+ * <p>
+ * Each redraw skips the stops outside the viewport and merges the stops that would be
+ * drawn on top of each other into clusters. Clusters are cells of a grid of a fixed size
+ * in pixels, anchored to the world rather than to the screen so that panning does not
+ * change which stops are merged. As the map is zoomed in the clusters break up into
+ * single stops.
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+public class StopLayer {
+    private final List<Stop> stops;
+    private final double[] x;
+    private final double[] y;
+    private double minX = Double.POSITIVE_INFINITY;
+    private double minY = Double.POSITIVE_INFINITY;
+    private double maxX = Double.NEGATIVE_INFINITY;
+    private double maxY = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Creates a layer of stops, projecting their positions
+     *
+     * @param stops stops to draw
+     */
+    public StopLayer(Collection<Stop> stops) {
+        this.stops = new ArrayList<>(stops);
+        x = new double[this.stops.size()];
+        y = new double[this.stops.size()];
+        for (int i = 0; i < x.length; i++) {
+            Stop stop = this.stops.get(i);
+            x[i] = MapViewport.projectX(stop.getLongitude());
+            y[i] = MapViewport.projectY(stop.getLatitude());
+            minX = Math.min(minX, x[i]);
+            minY = Math.min(minY, y[i]);
+            maxX = Math.max(maxX, x[i]);
+            maxY = Math.max(maxY, y[i]);
+        }
+    }
+
+    public int size() {
+        return x.length;
+    }
+
+    public List<Stop> getStops() {
+        return Collections.unmodifiableList(stops);
+    }
+
+    double getMinX() {
+        return minX;
+    }
+
+    double getMinY() {
+        return minY;
+    }
+
+    double getMaxX() {
+        return maxX;
+    }
+
+    double getMaxY() {
+        return maxY;
+    }
+
+    /**
+     * Groups the stops in the viewport into clusters
+     *
+     * @param viewport part of the world that is shown
+     * @param cellSize size in pixels of the cells that stops are merged in; stops closer
+     *                 than this may be drawn as one
+     * @return a cluster for each cell with a stop in it, positioned in pixels
+     */
+    public List<Cluster> cluster(MapViewport viewport, double cellSize) {
+        double cellWorld = cellSize / viewport.getScale();
+        // Stops a cell outside the map may still be partly visible
+        long firstColumn = (long) Math.floor(viewport.toWorldX(0) / cellWorld) - 1;
+        long firstRow = (long) Math.floor(viewport.toWorldY(0) / cellWorld) - 1;
+        int columns = (int) Math.ceil(viewport.getWidth() / cellSize) + 3;
+        int rows = (int) Math.ceil(viewport.getHeight() / cellSize) + 3;
+        Cluster[] cells = new Cluster[columns * rows];
+        List<Cluster> clusters = new ArrayList<>();
+        for (int i = 0; i < x.length; i++) {
+            long column = (long) Math.floor(x[i] / cellWorld) - firstColumn;
+            long row = (long) Math.floor(y[i] / cellWorld) - firstRow;
+            if (column < 0 || column >= columns || row < 0 || row >= rows) {
+                continue;
+            }
+            int cell = (int) (row * columns + column);
+            Cluster cluster = cells[cell];
+            if (cluster == null) {
+                cluster = new Cluster(stops.get(i));
+                cells[cell] = cluster;
+                clusters.add(cluster);
+            }
+            cluster.size++;
+            cluster.sumX += x[i];
+            cluster.sumY += y[i];
+        }
+        for (Cluster cluster : clusters) {
+            cluster.screenX = viewport.toScreenX(cluster.sumX / cluster.size);
+            cluster.screenY = viewport.toScreenY(cluster.sumY / cluster.size);
+        }
+        return clusters;
+    }
+
+    /**
+     * Stops drawn as one point, at the mean of their positions
+     */
+    public static final class Cluster {
+        private final Stop first;
+        private int size;
+        private double sumX;
+        private double sumY;
+        private double screenX;
+        private double screenY;
+
+        private Cluster(Stop first) {
+            this.first = first;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * Gets a stop in the cluster, which is its only stop if it has just one
+         *
+         * @return the first stop found in the cluster
+         */
+        public Stop getStop() {
+            return first;
+        }
+
+        public double getX() {
+            return screenX;
+        }
+
+        public double getY() {
+            return screenY;
+        }
+    }
+}
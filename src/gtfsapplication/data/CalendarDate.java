@@ -0,0 +1,173 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import gtfsapplication.GTFSException;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A date a service is added on or removed from, from one row of calendar_dates.txt
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+public class CalendarDate {
+    /**
+     * exception_type of a date the service runs on
+     */
+    public static final int ADDED = 1;
+    /**
+     * exception_type of a date the service does not run on
+     */
+    public static final int REMOVED = 2;
+
+    private static String[] requiredFields = {"service_id", "date", "exception_type"};
+
+    private String serviceId;
+    private LocalDate date;
+    private int exceptionType;
+
+    /**
+     * Constructor for a CalendarDate that already exists
+     * @param serviceId identifies the service
+     * @param date date of the exception
+     * @param exceptionType ADDED or REMOVED
+     */
+    public CalendarDate(String serviceId, LocalDate date, int exceptionType) {
+        this.serviceId = serviceId;
+        this.date = date;
+        this.exceptionType = exceptionType;
+    }
+
+    /**
+     * Creates a calendar date from the current row of a calendar_dates.txt file
+     * @param fields list of fields retrieved from CalendarDate.validateHeader
+     * @param row row from calendar_dates.txt
+     * @throws RejectedRowException if the row is not valid
+     */
+    public CalendarDate(List<String> fields, RowCursor row) throws RejectedRowException {
+        if (fields.size() != row.size()) {
+            throw new RejectedRowException("calendar_dates.txt", row, null,
+                    "Expected " + fields.size() + " values, " +
+                    "got " + row.size());
+        }
+
+        for (int i = 0; i < fields.size(); i++) {
+            String field = fields.get(i);
+
+            try {
+                switch (field) {
+                    case "service_id":
+                        if (row.isEmpty(i)) {
+                            throw new RejectedRowException("calendar_dates.txt", row,
+                                    "service_id", "service_id is required");
+                        }
+                        serviceId = row.getSymbol(i);
+                        break;
+                    case "date":
+                        date = ServiceCalendar.parseDate(row.get(i));
+                        break;
+                    case "exception_type":
+                        exceptionType = row.getInt(i);
+                        if (exceptionType != ADDED && exceptionType != REMOVED) {
+                            throw new NumberFormatException();
+                        }
+                        break;
+                }
+            } catch (NumberFormatException ex) {
+                throw new RejectedRowException("calendar_dates.txt", row, field,
+                        field + " needs to be 1 or 2. Got: " + row.get(i));
+            } catch (IllegalArgumentException ex) {
+                throw new RejectedRowException("calendar_dates.txt", row, field,
+                        field + " needs to be a date as YYYYMMDD. Got: " + row.get(i));
+            }
+        }
+    }
+
+    /**
+     * Validates that the format of a header is valid
+     * @param header the header to validate
+     * @return the variables included in the header
+     * @throws GTFSException if the error occurs while reading the first line
+     */
+    public static List<String> validateHeader(String header) throws GTFSException {
+        return ImportHelper.validateHeader(
+                "calendar_dates.txt",
+                Arrays.asList(requiredFields),
+                Collections.<String>emptyList(),
+                header
+        );
+    }
+
+    /**
+     * Creates a calendar date from the current row of calendar_dates.txt, validating it in
+     * the same pass
+     * @param fields list of fields retrieved from CalendarDate.validateHeader
+     * @param row row from calendar_dates.txt
+     * @param report report that a rejected row is added to
+     * @return the calendar date, or null if the row was rejected
+     */
+    public static CalendarDate fromRow(List<String> fields, RowCursor row, ImportReport report) {
+        try {
+            return new CalendarDate(fields, row);
+        } catch (RejectedRowException ex) {
+            report.reject(ex.getRejection());
+            return null;
+        }
+    }
+
+    /**
+     * Gets the header of the calendar_dates.txt files that toString writes rows of
+     * @return the header
+     */
+    static String header() {
+        return String.join(",", requiredFields);
+    }
+
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public int getExceptionType() {
+        return exceptionType;
+    }
+
+    @Override
+    public String toString() {
+        return serviceId + "," + ServiceCalendar.formatDate(date) + "," + exceptionType;
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * The RFC 4180 state machine shared by {@link CsvTokenizer} and {@link MappedCsvReader}
+ * <p>
+ * A reader owns the characters and passes them in one at a time with their position;
+ * the scanner records where each value starts and ends and whether it has doubled
+ * quotes to remove. A quoted value may contain commas, doubled quotes and line breaks,
+ * and whitespace around every value is trimmed. Characters are ints, so readers of
+ * bytes pass them signed: bytes of multi-byte UTF-8 characters are negative and never
+ * whitespace.
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+final class CsvFieldScanner {
+    private static final int DEFAULT_FIELD_COUNT = 16;
+
+    // Character at a position of the reader's buffer, used to trim values
+    private final IntUnaryOperator charAt;
+
+    int count;
+    int[] starts = new int[DEFAULT_FIELD_COUNT];
+    int[] ends = new int[DEFAULT_FIELD_COUNT];
+    boolean[] escaped = new boolean[DEFAULT_FIELD_COUNT];
+
+    private long rowNumber;
+    private boolean inQuotes;
+    private boolean blank;
+    private int fieldStart;
+    private int quoteStart;
+    private int quoteEnd;
+    private boolean fieldEscaped;
+
+    /**
+     * Creates a scanner for the buffer of one reader
+     *
+     * @param charAt gets the character at a position of the buffer
+     */
+    CsvFieldScanner(IntUnaryOperator charAt) {
+        this.charAt = charAt;
+    }
+
+    /**
+     * Starts a row, dropping the values of the last one
+     *
+     * @param start position of the first character of the row
+     * @param rowNumber number of the row, used in error messages
+     */
+    void startRow(int start, long rowNumber) {
+        this.rowNumber = rowNumber;
+        count = 0;
+        inQuotes = false;
+        startField(start);
+    }
+
+    /**
+     * Scans the next character of the row
+     *
+     * @param c the character
+     * @param pos its position
+     * @return true if it is a line break that ends the row
+     * @throws IllegalArgumentException if a value has characters after its closing quote
+     */
+    boolean scan(int c, int pos) {
+        if (inQuotes) {
+            if (c == '"') {
+                inQuotes = false;
+                quoteEnd = pos;
+            }
+        } else if (c == ',') {
+            endField(pos);
+            startField(pos + 1);
+        } else if (c == '\n' || c == '\r') {
+            endField(pos);
+            return true;
+        } else if (c == '"' && quoteEnd >= 0 && quoteEnd == pos - 1) {
+            // Doubled quote inside a quoted value
+            inQuotes = true;
+            fieldEscaped = true;
+        } else if (c == '"' && blank) {
+            inQuotes = true;
+            quoteStart = pos;
+            blank = false;
+        } else if (!isSpace(c)) {
+            if (quoteEnd >= 0) {
+                throw new IllegalArgumentException(
+                        "Row " + rowNumber + " has characters after a closing \"");
+            }
+            blank = false;
+        }
+        return false;
+    }
+
+    /**
+     * Ends the row at the end of the input
+     *
+     * @param pos position after the last character
+     * @throws IllegalArgumentException if a quoted value is still open
+     */
+    void endRow(int pos) {
+        if (inQuotes) {
+            throw new IllegalArgumentException("Row " + rowNumber + " is missing a closing \"");
+        }
+        endField(pos);
+    }
+
+    /**
+     * Moves every position back when the reader moves the row to the front of its buffer
+     *
+     * @param shift how far the characters moved
+     */
+    void shift(int shift) {
+        fieldStart -= shift;
+        quoteStart = quoteStart >= 0 ? quoteStart - shift : -1;
+        quoteEnd = quoteEnd >= 0 ? quoteEnd - shift : -1;
+        for (int i = 0; i < count; i++) {
+            starts[i] -= shift;
+            ends[i] -= shift;
+        }
+    }
+
+    private void startField(int start) {
+        fieldStart = start;
+        quoteStart = -1;
+        quoteEnd = -1;
+        fieldEscaped = false;
+        blank = true;
+    }
+
+    private void endField(int pos) {
+        if (count == starts.length) {
+            starts = Arrays.copyOf(starts, count * 2);
+            ends = Arrays.copyOf(ends, count * 2);
+            escaped = Arrays.copyOf(escaped, count * 2);
+        }
+        int start = quoteStart >= 0 ? quoteStart + 1 : fieldStart;
+        int end = quoteStart >= 0 ? quoteEnd : pos;
+        while (start < end && isSpace(charAt.applyAsInt(start))) {
+            start++;
+        }
+        while (end > start && isSpace(charAt.applyAsInt(end - 1))) {
+            end--;
+        }
+        starts[count] = start;
+        ends[count] = end;
+        escaped[count] = fieldEscaped;
+        count++;
+    }
+
+    private static boolean isSpace(int c) {
+        return c >= 0 && c <= ' ';
+    }
+}
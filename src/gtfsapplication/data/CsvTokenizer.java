@@ -0,0 +1,310 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 tokenizer for GTFS files
+ * <p>
+ * Rows are read into a reusable character buffer and only the start and end
+ * offset of each value is recorded by a {@link CsvFieldScanner}, so no Strings are
+ * created unless
+ * {@link #get(int)} is called. Quoted values may contain commas, doubled quotes
+ * and line breaks. Surrounding whitespace is trimmed from every value and blank
+ * lines are skipped.
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+public class CsvTokenizer implements RowReader {
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final Reader reader;
+    private char[] buffer;
+    private int limit;
+    private int pos;
+    private boolean eof;
+
+    private long rowNumber;
+    private int rowStart;
+    private int rowEnd;
+
+    private final CsvFieldScanner fields = new CsvFieldScanner(index -> buffer[index]);
+    private SymbolTable.Local symbols;
+
+    /**
+     * Creates a tokenizer that reads from a reader
+     *
+     * @param reader reader to tokenize; closed when the tokenizer is closed
+     */
+    public CsvTokenizer(Reader reader) {
+        this(reader, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a tokenizer that reads a UTF-8 encoded file
+     *
+     * @param file file to tokenize
+     * @throws FileNotFoundException if the file cannot be opened
+     */
+    public CsvTokenizer(File file) throws FileNotFoundException {
+        this(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8));
+    }
+
+    CsvTokenizer(Reader reader, int bufferSize) {
+        this.reader = reader;
+        this.buffer = new char[Math.max(bufferSize, 1)];
+    }
+
+    private CsvTokenizer(char[] chars) {
+        this.reader = null;
+        this.buffer = chars;
+        this.limit = chars.length;
+        this.eof = true;
+    }
+
+    /**
+     * Tokenizes a single line that has already been read
+     *
+     * @param line line to tokenize
+     * @return a cursor positioned on the line; it has no values if the line is blank
+     * @throws IllegalArgumentException if a quoted value is never closed
+     */
+    public static CsvTokenizer parseRow(String line) {
+        CsvTokenizer tokenizer = new CsvTokenizer(line.toCharArray());
+        try {
+            tokenizer.next();
+        } catch (IOException ex) {
+            // Unreachable, the characters are already in memory
+            throw new IllegalStateException(ex);
+        }
+        return tokenizer;
+    }
+
+    /**
+     * Advances to the next row
+     *
+     * @return true if a row was read, false at the end of the input
+     * @throws IOException if the underlying reader fails
+     * @throws IllegalArgumentException if the row is not valid CSV
+     */
+    @Override
+    public boolean next() throws IOException {
+        fields.count = 0;
+        while (true) {
+            rowStart = pos;
+            if (pos == limit && !fill()) {
+                return false;
+            }
+            char c = buffer[pos];
+            if (c != '\n' && c != '\r') {
+                break;
+            }
+            pos++;
+        }
+        rowStart = pos;
+        rowNumber++;
+        fields.startRow(pos, rowNumber);
+        while (true) {
+            if (pos == limit && !fill()) {
+                fields.endRow(pos);
+                rowEnd = pos;
+                return true;
+            }
+            if (fields.scan(buffer[pos], pos)) {
+                rowEnd = pos++;
+                return true;
+            }
+            pos++;
+        }
+    }
+
+    @Override
+    public void setRowNumber(long rowNumber) {
+        this.rowNumber = rowNumber;
+    }
+
+    @Override
+    public void setSymbols(SymbolTable symbols) {
+        this.symbols = symbols == null ? null : symbols.local();
+    }
+
+    @Override
+    public int size() {
+        return fields.count;
+    }
+
+    @Override
+    public String get(int index) {
+        checkIndex(index);
+        int start = fields.starts[index];
+        String value = new String(buffer, start, fields.ends[index] - start);
+        return fields.escaped[index] ? value.replace("\"\"", "\"") : value;
+    }
+
+    @Override
+    public String getSymbol(int index) {
+        checkIndex(index);
+        if (symbols == null) {
+            return get(index);
+        }
+        if (fields.escaped[index]) {
+            return symbols.intern(get(index));
+        }
+        return symbols.intern(buffer, fields.starts[index], fields.ends[index]);
+    }
+
+    @Override
+    public boolean isEmpty(int index) {
+        checkIndex(index);
+        return fields.starts[index] == fields.ends[index];
+    }
+
+    @Override
+    public int getInt(int index) {
+        checkIndex(index);
+        int i = fields.starts[index];
+        int end = fields.ends[index];
+        boolean negative = false;
+        if (i < end && (buffer[i] == '-' || buffer[i] == '+')) {
+            negative = buffer[i] == '-';
+            i++;
+        }
+        if (i == end) {
+            throw new NumberFormatException("For input string: \"" + get(index) + "\"");
+        }
+        long result = 0;
+        for (; i < end; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9 || result > Integer.MAX_VALUE) {
+                throw new NumberFormatException("For input string: \"" + get(index) + "\"");
+            }
+            result = result * 10 + digit;
+        }
+        result = negative ? -result : result;
+        if (result < Integer.MIN_VALUE || result > Integer.MAX_VALUE) {
+            throw new NumberFormatException("For input string: \"" + get(index) + "\"");
+        }
+        return (int) result;
+    }
+
+    @Override
+    public double getDouble(int index) {
+        return Double.parseDouble(get(index));
+    }
+
+    @Override
+    public int getTime(int index) {
+        checkIndex(index);
+        return ServiceTime.parse(buffer, fields.starts[index], fields.ends[index]);
+    }
+
+    @Override
+    public long getRowNumber() {
+        return rowNumber;
+    }
+
+    /**
+     * Gets the current row exactly as it appeared in the input
+     *
+     * @return the raw row, without its line break
+     */
+    @Override
+    public String line() {
+        return new String(buffer, rowStart, rowEnd - rowStart);
+    }
+
+    /**
+     * Copies all values of the current row into a list
+     *
+     * @return a list of all values in the row
+     */
+    public List<String> toList() {
+        List<String> values = new ArrayList<>(fields.count);
+        for (int i = 0; i < fields.count; i++) {
+            values.add(get(i));
+        }
+        return values;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (reader != null) {
+            reader.close();
+        }
+    }
+
+    /*
+     * Reads more characters, first moving the current row to the front of the
+     * buffer (or growing it if the row fills it) and shifting every offset.
+     */
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        if (rowStart > 0) {
+            int shift = rowStart;
+            System.arraycopy(buffer, shift, buffer, 0, limit - shift);
+            limit -= shift;
+            pos -= shift;
+            rowStart = 0;
+            fields.shift(shift);
+        }
+        if (limit > buffer.length / 2) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        int read = reader.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            eof = true;
+            return false;
+        }
+        if (rowNumber == 0 && limit == 0 && read > 0 && buffer[0] == BYTE_ORDER_MARK) {
+            pos = 1;
+        }
+        limit += read;
+        return true;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= fields.count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + fields.count);
+        }
+    }
+}
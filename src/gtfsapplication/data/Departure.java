@@ -0,0 +1,97 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+/**
+ * A trip leaving a stop, as found on a departure board
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+public class Departure {
+    private final String stopId;
+    private final String tripId;
+    private final String routeId;
+    private final int time;
+    private final int serviceDayOffset;
+
+    /**
+     * Creates a departure
+     * @param stopId stop the trip leaves from
+     * @param tripId trip that departs
+     * @param routeId route of the trip, or null if the trip is unknown
+     * @param time departure time in seconds since the start of its service day
+     * @param serviceDayOffset -1 if the departure belongs to the previous service day
+     *                         (a time past 24:00:00), 0 if it belongs to the queried day
+     */
+    Departure(String stopId, String tripId, String routeId, int time, int serviceDayOffset) {
+        this.stopId = stopId;
+        this.tripId = tripId;
+        this.routeId = routeId;
+        this.time = time;
+        this.serviceDayOffset = serviceDayOffset;
+    }
+
+    public String getStopId() {
+        return stopId;
+    }
+
+    public String getTripId() {
+        return tripId;
+    }
+
+    public String getRouteId() {
+        return routeId;
+    }
+
+    /**
+     * Gets the departure time as written in stop_times.txt
+     * @return seconds since the start of the service day, may be 24:00:00 or later
+     */
+    public int getTime() {
+        return time;
+    }
+
+    public int getServiceDayOffset() {
+        return serviceDayOffset;
+    }
+
+    /**
+     * Gets the departure time relative to the start of the queried day
+     * @return seconds since the start of the queried day
+     */
+    public int getClockTime() {
+        return time + serviceDayOffset * DepartureBoard.SECONDS_PER_DAY;
+    }
+
+    @Override
+    public String toString() {
+        return tripId + " (" + routeId + ") at " + ServiceTime.format(getClockTime());
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-stop departures sorted by time, for answering "next departures" queries
+ * with a binary search instead of a scan over every stop time at the stop
+ * <p>
+ * Service days may run past midnight, so a query at 00:30 also returns departures
+ * written as 24:30:00 or later on the previous service day.
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+public class DepartureBoard {
+    /**
+     * Number of seconds in a day
+     */
+    public static final int SECONDS_PER_DAY = 86400;
+
+    private final Map<String, StopDepartures> departuresByStop;
+
+    /**
+     * Builds the departure board for every stop
+     *
+     * @param stopTimesByStop stop times at each stop
+     * @param trips trips by trip id, used to find the route of each departure
+     */
+    DepartureBoard(Map<String, List<StopTime>> stopTimesByStop, Map<String, Trip> trips) {
+        HashMap<String, StopDepartures> map = new HashMap<>();
+        for (Map.Entry<String, List<StopTime>> entry : stopTimesByStop.entrySet()) {
+            StopDepartures departures = new StopDepartures(entry.getValue(), trips);
+            if (departures.times.length > 0) {
+                map.put(entry.getKey(), departures);
+            }
+        }
+        departuresByStop = map;
+    }
+
+    private DepartureBoard(Map<String, StopDepartures> departuresByStop) {
+        this.departuresByStop = departuresByStop;
+    }
+
+    /**
+     * Creates a board with the departures of some stops rebuilt and the rest shared
+     * with this board
+     *
+     * @param stopIds stops whose stop times, or the trips of their stop times, changed
+     * @param stopTimesByStop stop times at each stop after the change
+     * @param trips trips by trip id after the change
+     * @return the new board
+     */
+    DepartureBoard update(Set<String> stopIds, Map<String, List<StopTime>> stopTimesByStop,
+                          Map<String, Trip> trips) {
+        Map<String, StopDepartures> replaced = new HashMap<>();
+        Set<String> removed = new HashSet<>();
+        for (String stopId : stopIds) {
+            StopDepartures departures = new StopDepartures(
+                    stopTimesByStop.getOrDefault(stopId, Collections.emptyList()), trips);
+            if (departures.times.length > 0) {
+                replaced.put(stopId, departures);
+            } else {
+                removed.add(stopId);
+            }
+        }
+        return new DepartureBoard(OverlayMap.with(departuresByStop, replaced, removed));
+    }
+
+    /**
+     * Gets the next departures from a stop
+     *
+     * @param stopId stop to search
+     * @param routeId route to filter on, or null for every route
+     * @param time earliest departure time, in seconds since midnight
+     * @param count maximum number of departures to return
+     * @return departures in the order they leave
+     */
+    public List<Departure> getNextDepartures(String stopId, String routeId, int time, int count) {
+        return getNextDepartures(stopId, routeId, time, count, null);
+    }
+
+    /**
+     * Gets the next departures from a stop of the trips that pass a filter. Departures
+     * that fail are skipped before a Departure is created for them.
+     *
+     * @param stopId stop to search
+     * @param routeId route to filter on, or null for every route
+     * @param time earliest departure time, in seconds since midnight
+     * @param count maximum number of departures to return
+     * @param filter trips to include, or null for every trip
+     * @return departures in the order they leave
+     */
+    List<Departure> getNextDepartures(String stopId, String routeId, int time, int count,
+                                      TripFilter filter) {
+        StopDepartures departures = departuresByStop.get(stopId);
+        if (departures == null || count <= 0) {
+            return Collections.emptyList();
+        }
+        int[] positions = null;
+        int size = departures.times.length;
+        if (routeId != null) {
+            positions = departures.positionsByRoute.get(routeId);
+            if (positions == null) {
+                return Collections.emptyList();
+            }
+            size = positions.length;
+        }
+
+        // Two sorted runs are merged: departures after midnight that belong to the
+        // previous service day, and departures of the queried service day
+        int overnight = departures.lowerBound(positions, size, time + SECONDS_PER_DAY);
+        int today = departures.lowerBound(positions, size, time);
+        List<Departure> result = new ArrayList<>(Math.min(count, size));
+        while (result.size() < count && (overnight < size || today < size)) {
+            boolean fromPreviousDay = overnight < size && (today == size
+                    || departures.timeAt(positions, overnight) - SECONDS_PER_DAY
+                    <= departures.timeAt(positions, today));
+            int index = fromPreviousDay ? overnight++ : today++;
+            int offset = fromPreviousDay ? -1 : 0;
+            if (filter == null || filter.test(departures.tripAt(positions, index), offset)) {
+                result.add(departures.departure(stopId, positions, index, offset));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the routes that depart from a stop
+     *
+     * @param stopId stop to search
+     * @return route ids with at least one departure from the stop
+     */
+    public Set<String> getRouteIds(String stopId) {
+        StopDepartures departures = departuresByStop.get(stopId);
+        return departures == null ? Collections.emptySet()
+                : Collections.unmodifiableSet(departures.positionsByRoute.keySet());
+    }
+
+    /**
+     * Chooses the trips whose departures are returned
+     */
+    interface TripFilter {
+        /**
+         * Checks if a departure of a trip is included
+         *
+         * @param tripId trip of the departure
+         * @param serviceDayOffset 0 for the queried service day, -1 for the day before
+         * @return true to include the departure
+         */
+        boolean test(String tripId, int serviceDayOffset);
+    }
+
+    /**
+     * Departures from one stop as parallel arrays sorted by time
+     */
+    private static final class StopDepartures {
+        private final int[] times;
+        private final String[] tripIds;
+        private final String[] routeIds;
+        private final HashMap<String, int[]> positionsByRoute = new HashMap<>();
+
+        StopDepartures(List<StopTime> stopTimes, Map<String, Trip> trips) {
+            long[] sorted = new long[stopTimes.size()];
+            int size = 0;
+            for (int i = 0; i < stopTimes.size(); i++) {
+                int time = departureTime(stopTimes.get(i));
+                if (time != ServiceTime.NONE) {
+                    sorted[size++] = ((long) time << 32) | i;
+                }
+            }
+            Arrays.sort(sorted, 0, size);
+
+            times = new int[size];
+            tripIds = new String[size];
+            routeIds = new String[size];
+            HashMap<String, Integer> routeCounts = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                StopTime stopTime = stopTimes.get((int) sorted[i]);
+                Trip trip = trips.get(stopTime.getTripId());
+                times[i] = (int) (sorted[i] >>> 32);
+                tripIds[i] = stopTime.getTripId();
+                routeIds[i] = trip == null ? null : trip.getRouteId();
+                if (routeIds[i] != null) {
+                    routeCounts.merge(routeIds[i], 1, Integer::sum);
+                }
+            }
+            HashMap<String, Integer> filled = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                if (routeIds[i] != null) {
+                    int[] positions = positionsByRoute.computeIfAbsent(routeIds[i],
+                            key -> new int[routeCounts.get(key)]);
+                    positions[filled.merge(routeIds[i], 1, Integer::sum) - 1] = i;
+                }
+            }
+        }
+
+        private static int departureTime(StopTime stopTime) {
+            int time = stopTime.getDepartureSeconds();
+            return time == ServiceTime.NONE ? stopTime.getArrivalSeconds() : time;
+        }
+
+        int timeAt(int[] positions, int index) {
+            return times[positions == null ? index : positions[index]];
+        }
+
+        String tripAt(int[] positions, int index) {
+            return tripIds[positions == null ? index : positions[index]];
+        }
+
+        int lowerBound(int[] positions, int size, int time) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (timeAt(positions, middle) < time) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        Departure departure(String stopId, int[] positions, int index, int serviceDayOffset) {
+            int i = positions == null ? index : positions[index];
+            return new Departure(stopId, tripIds[i], routeIds[i], times[i], serviceDayOffset);
+        }
+    }
+}
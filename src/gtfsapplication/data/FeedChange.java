@@ -0,0 +1,226 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * What changed in a feed between two notifications: the routes that were added, removed
+ * or changed, whether any stop was moved, and whether anything else changed
+ * <p>
+ * Changes published while an observer is still waiting for the last one are merged, so a
+ * change may cover several imports and edits. A route that was added and then removed in
+ * the same change is not reported at all.
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+public class FeedChange {
+    private enum Kind { ADDED, REMOVED, CHANGED }
+
+    private final Map<String, Kind> routeChanges;
+    private final Map<String, Route> routes;
+    private final boolean stopPositionsChanged;
+    private final boolean stopsOrTripsChanged;
+
+    private FeedChange(Map<String, Kind> routeChanges, Map<String, Route> routes,
+                       boolean stopPositionsChanged, boolean stopsOrTripsChanged) {
+        this.routeChanges = routeChanges;
+        this.routes = routes;
+        this.stopPositionsChanged = stopPositionsChanged;
+        this.stopsOrTripsChanged = stopsOrTripsChanged;
+    }
+
+    /**
+     * Finds the changes between two states by comparing every route
+     *
+     * @param before state before the change
+     * @param after state after the change
+     * @return the change
+     */
+    static FeedChange between(FeedState before, FeedState after) {
+        Map<String, Kind> changes = new HashMap<>();
+        if (before.routes != after.routes) {
+            for (Map.Entry<String, Route> entry : before.routes.entrySet()) {
+                Route route = after.routes.get(entry.getKey());
+                if (route == null) {
+                    changes.put(entry.getKey(), Kind.REMOVED);
+                } else if (route != entry.getValue()) {
+                    changes.put(entry.getKey(), Kind.CHANGED);
+                }
+            }
+            for (String id : after.routes.keySet()) {
+                if (!before.routes.containsKey(id)) {
+                    changes.put(id, Kind.ADDED);
+                }
+            }
+        }
+        return new FeedChange(changes, after.routes, before.stops != after.stops,
+                before.stops != after.stops || before.trips != after.trips
+                        || before.stopTimesByTrip != after.stopTimesByTrip
+                        || before.calendar != after.calendar);
+    }
+
+    /**
+     * Finds the changes made by a transaction of edits. Only the routes the edits touched
+     * are compared.
+     *
+     * @param before state before the edits
+     * @param after state published by the edits
+     * @param edit the edits
+     * @return the change
+     */
+    static FeedChange of(FeedState before, FeedState after, FeedEdit edit) {
+        Map<String, Kind> changes = new HashMap<>();
+        for (String id : edit.changedRoutes) {
+            boolean wasThere = before.routes.containsKey(id);
+            boolean isThere = after.routes.containsKey(id);
+            if (wasThere || isThere) {
+                changes.put(id, !wasThere ? Kind.ADDED : !isThere ? Kind.REMOVED
+                        : Kind.CHANGED);
+            }
+        }
+        return new FeedChange(changes, after.routes, !edit.movedStops.isEmpty(),
+                edit.hasOtherChanges());
+    }
+
+    /**
+     * Merges a later change into this one
+     *
+     * @param later change published after this one
+     * @return a change covering both
+     */
+    FeedChange then(FeedChange later) {
+        Map<String, Kind> changes = new HashMap<>(routeChanges);
+        for (Map.Entry<String, Kind> entry : later.routeChanges.entrySet()) {
+            Kind first = changes.get(entry.getKey());
+            Kind second = entry.getValue();
+            if (first == null) {
+                changes.put(entry.getKey(), second);
+            } else if (first == Kind.ADDED && second == Kind.REMOVED) {
+                changes.remove(entry.getKey());
+            } else if (first == Kind.REMOVED && second == Kind.ADDED) {
+                changes.put(entry.getKey(), Kind.CHANGED);
+            } else if (first != Kind.ADDED) {
+                changes.put(entry.getKey(), second);
+            }
+        }
+        return new FeedChange(changes, later.routes,
+                stopPositionsChanged || later.stopPositionsChanged,
+                stopsOrTripsChanged || later.stopsOrTripsChanged);
+    }
+
+    /**
+     * Checks if nothing an observer shows has changed
+     *
+     * @return true if nothing changed
+     */
+    public boolean isEmpty() {
+        return routeChanges.isEmpty() && !stopPositionsChanged && !stopsOrTripsChanged;
+    }
+
+    public List<Route> getAddedRoutes() {
+        return routesOf(Kind.ADDED);
+    }
+
+    public List<Route> getChangedRoutes() {
+        return routesOf(Kind.CHANGED);
+    }
+
+    /**
+     * Gets the routes that no longer exist
+     *
+     * @return ids of the removed routes
+     */
+    public Set<String> getRemovedRouteIds() {
+        Set<String> ids = new HashSet<>();
+        for (Map.Entry<String, Kind> entry : routeChanges.entrySet()) {
+            if (entry.getValue() == Kind.REMOVED) {
+                ids.add(entry.getKey());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Gets every route after the change
+     *
+     * @return all routes
+     */
+    public Collection<Route> getRoutes() {
+        return Collections.unmodifiableCollection(routes.values());
+    }
+
+    /**
+     * Gets a route after the change
+     *
+     * @param id route id
+     * @return the route with the id, or null if there is none
+     */
+    public Route getRoute(String id) {
+        return routes.get(id);
+    }
+
+    /**
+     * Checks if the stop table was replaced or a stop was moved, which moves the centre
+     * of the feed
+     *
+     * @return true if stop positions may have changed
+     */
+    public boolean isStopPositionsChanged() {
+        return stopPositionsChanged;
+    }
+
+    /**
+     * Checks if any stop, trip, stop time or service date changed, which search results
+     * may show
+     *
+     * @return true if anything other than the routes may have changed
+     */
+    public boolean isStopsOrTripsChanged() {
+        return stopsOrTripsChanged;
+    }
+
+    private List<Route> routesOf(Kind kind) {
+        List<Route> list = new ArrayList<>();
+        for (Map.Entry<String, Kind> entry : routeChanges.entrySet()) {
+            if (entry.getValue() == kind) {
+                list.add(routes.get(entry.getKey()));
+            }
+        }
+        return list;
+    }
+}
@@ -0,0 +1,548 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Changes made to the routes, stops, trips and stop times of a feed in one transaction
+ * <p>
+ * Objects of a published feed are never changed: each update copies the object the first
+ * time the transaction changes it, changes the copy through its setters and puts the copy
+ * in place of the original in the maps and index lists of the transaction. Only the map
+ * and index entries whose keys changed are updated: renaming a trip moves its entry in the
+ * trip map and the trip's stop times to the new id, and moving a stop time to another
+ * stop removes it from one stop's list and inserts it into the other's at its
+ * stop_sequence. Departures are rebuilt only for the stops that were touched. Nothing is
+ * seen by queries until GTFS publishes the whole transaction.
+ * <p>
+ * Obtained from {@link GTFS#edit}.
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+public final class FeedEdit {
+    final Pending<Route> routes;
+    final Pending<Stop> stops;
+    final Pending<Trip> trips;
+    final Pending<List<StopTime>> stopTimesByStop;
+    final Pending<List<StopTime>> stopTimesByTrip;
+    final Pending<List<Trip>> tripsByRoute;
+    final Set<String> changedStops = new HashSet<>();
+    final Set<String> movedStops = new HashSet<>();
+    // Stops replaced by copies, including both ids of a renamed stop
+    final Set<String> replacedStops = new HashSet<>();
+    // Routes that were changed, including both ids of a renamed route
+    final Set<String> changedRoutes = new HashSet<>();
+
+    // Copies made by this transaction by the object they replace. Views of the same row
+    // of a table are equal, so a row is copied once however it was found.
+    private final Map<Object, Object> copies = new HashMap<>();
+    // Copies and index lists made by this transaction, which may be changed in place
+    private final Set<Object> owned = Collections.newSetFromMap(new IdentityHashMap<>());
+    private boolean changed;
+    private boolean otherChanged;
+    private boolean routingChanged;
+    // Sum of how far the stops that were moved have moved, to move the centre of the feed
+    private double latitudeShift;
+    private double longitudeShift;
+
+    FeedEdit(FeedState state) {
+        routes = new Pending<>(state.routes);
+        stops = new Pending<>(state.stops);
+        trips = new Pending<>(state.trips);
+        stopTimesByStop = new Pending<>(state.stopTimesByStop);
+        stopTimesByTrip = new Pending<>(state.stopTimesByTrip);
+        tripsByRoute = new Pending<>(state.tripsByRoute);
+    }
+
+    /**
+     * Changes a route. If its id changes, its trips are moved to the new id.
+     *
+     * @param route route to change
+     * @param change sets the new values on a copy of the route
+     * @return the changed copy, which replaces the route in the feed
+     * @throws IllegalArgumentException if the new id belongs to another route
+     */
+    public Route updateRoute(Route route, Consumer<? super Route> change) {
+        Route updated = own(route, Route::new);
+        String oldId = updated.getId();
+        change.accept(updated);
+        changed = true;
+        changedRoutes.add(oldId);
+        routes.put(oldId, updated);
+        String newId = updated.getId();
+        if (Objects.equals(oldId, newId)) {
+            return updated;
+        }
+        if (routes.get(newId) != null) {
+            updated.setId(oldId);
+            throw new IllegalArgumentException("route_id " + newId + " is already used");
+        }
+        changedRoutes.add(newId);
+        routes.remove(oldId);
+        routes.put(newId, updated);
+        if (tripsByRoute.get(oldId) != null) {
+            otherChanged = true;
+            routingChanged = true;
+            List<Trip> routeTrips = copy(tripsByRoute, oldId);
+            tripsByRoute.remove(oldId);
+            tripsByRoute.put(newId, routeTrips);
+            for (int i = 0; i < routeTrips.size(); i++) {
+                Trip trip = own(routeTrips.get(i), Trip::new);
+                trip.setRouteId(newId);
+                routeTrips.set(i, trip);
+                trips.put(trip.getId(), trip);
+                addStopsOf(trip.getId());
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Changes a stop. If its id changes, its stop times are moved to the new id, and if its
+     * id or position changes, it is moved in the stop index.
+     *
+     * @param stop stop to change
+     * @param change sets the new values on a copy of the stop
+     * @return the changed copy, which replaces the stop in the feed
+     * @throws IllegalArgumentException if the new id belongs to another stop
+     */
+    public Stop updateStop(Stop stop, Consumer<? super Stop> change) {
+        Stop updated = own(stop, Stop::new);
+        String oldId = updated.getId();
+        double oldLatitude = updated.getLatitude();
+        double oldLongitude = updated.getLongitude();
+        change.accept(updated);
+        changed = true;
+        otherChanged = true;
+        // The stop index keeps the stop objects, so the copy replaces the original there
+        replacedStops.add(oldId);
+        stops.put(oldId, updated);
+        if (oldLatitude != updated.getLatitude() || oldLongitude != updated.getLongitude()) {
+            movedStops.add(oldId);
+            latitudeShift += updated.getLatitude() - oldLatitude;
+            longitudeShift += updated.getLongitude() - oldLongitude;
+        }
+        String newId = updated.getId();
+        if (Objects.equals(oldId, newId)) {
+            return updated;
+        }
+        if (stops.get(newId) != null) {
+            updated.setId(oldId);
+            throw new IllegalArgumentException("stop_id " + newId + " is already used");
+        }
+        movedStops.add(oldId);
+        movedStops.add(newId);
+        replacedStops.add(newId);
+        stops.remove(oldId);
+        stops.put(newId, updated);
+        if (stopTimesByStop.get(oldId) != null) {
+            routingChanged = true;
+            List<StopTime> stopStopTimes = ownAll(stopTimesByStop, oldId, stopTimesByTrip, true);
+            stopTimesByStop.remove(oldId);
+            stopTimesByStop.put(newId, stopStopTimes);
+            for (StopTime stopTime : stopStopTimes) {
+                stopTime.setStopId(newId);
+            }
+        }
+        changedStops.add(oldId);
+        changedStops.add(newId);
+        return updated;
+    }
+
+    /**
+     * Changes a trip. If its id changes, its stop times are moved to the new id,
+     * and if its route changes, it is moved to the new route's trips.
+     *
+     * @param trip trip to change
+     * @param change sets the new values on a copy of the trip
+     * @return the changed copy, which replaces the trip in the feed
+     * @throws IllegalArgumentException if the new id belongs to another trip
+     */
+    public Trip updateTrip(Trip trip, Consumer<? super Trip> change) {
+        Trip updated = ownTrip(trip);
+        String oldId = updated.getId();
+        String oldRouteId = updated.getRouteId();
+        change.accept(updated);
+        changed = true;
+        otherChanged = true;
+        String newId = updated.getId();
+        if (!Objects.equals(oldId, newId)) {
+            if (trips.get(newId) != null) {
+                updated.setId(oldId);
+                throw new IllegalArgumentException("trip_id " + newId + " is already used");
+            }
+            routingChanged = true;
+            trips.remove(oldId);
+            trips.put(newId, updated);
+            if (stopTimesByTrip.get(oldId) != null) {
+                List<StopTime> tripStopTimes =
+                        ownAll(stopTimesByTrip, oldId, stopTimesByStop, false);
+                stopTimesByTrip.remove(oldId);
+                stopTimesByTrip.put(newId, tripStopTimes);
+                for (StopTime stopTime : tripStopTimes) {
+                    stopTime.setTripId(newId);
+                }
+            }
+            addStopsOf(newId);
+        }
+        String newRouteId = updated.getRouteId();
+        if (!Objects.equals(oldRouteId, newRouteId)) {
+            routingChanged = true;
+            List<Trip> oldList = copy(tripsByRoute, oldRouteId);
+            oldList.removeIf(other -> other == updated);
+            if (oldList.isEmpty()) {
+                tripsByRoute.remove(oldRouteId);
+            }
+            copy(tripsByRoute, newRouteId).add(updated);
+            addStopsOf(newId);
+        }
+        return updated;
+    }
+
+    /**
+     * Changes a stop time, moving it in the stop and trip indexes if its stop, trip
+     * or stop_sequence changes
+     *
+     * @param stopTime stop time to change
+     * @param change sets the new values on a copy of the stop time
+     * @return the changed copy, which replaces the stop time in the feed
+     */
+    public StopTime updateStopTime(StopTime stopTime, Consumer<? super StopTime> change) {
+        StopTime updated = ownStopTime(stopTime);
+        String oldStopId = updated.getStopId();
+        String oldTripId = updated.getTripId();
+        int oldSequence = updated.getStopSequence();
+        String oldArrival = updated.getArrivalTime();
+        String oldDeparture = updated.getDepartureTime();
+        int oldPickup = updated.getPickupType();
+        int oldDropOff = updated.getDropOffType();
+        change.accept(updated);
+        changed = true;
+        otherChanged = true;
+        routingChanged |= !Objects.equals(oldStopId, updated.getStopId())
+                || !Objects.equals(oldTripId, updated.getTripId())
+                || oldSequence != updated.getStopSequence()
+                || !Objects.equals(oldArrival, updated.getArrivalTime())
+                || !Objects.equals(oldDeparture, updated.getDepartureTime())
+                || oldPickup != updated.getPickupType()
+                || oldDropOff != updated.getDropOffType();
+        String newStopId = updated.getStopId();
+        String newTripId = updated.getTripId();
+        boolean moved = oldSequence != updated.getStopSequence();
+        if (moved || !Objects.equals(oldStopId, newStopId)) {
+            move(stopTimesByStop, updated, oldStopId, oldSequence, newStopId);
+        }
+        if (moved || !Objects.equals(oldTripId, newTripId)) {
+            move(stopTimesByTrip, updated, oldTripId, oldSequence, newTripId);
+        }
+        // Departure times and trips may have changed, which only the stop's departures use
+        changedStops.add(oldStopId);
+        changedStops.add(newStopId);
+        return updated;
+    }
+
+    /**
+     * Checks whether anything was updated
+     *
+     * @return true if any update was made
+     */
+    boolean hasChanges() {
+        return changed;
+    }
+
+    /**
+     * Checks whether a stop, trip or stop time was updated, including trips moved to a
+     * renamed route
+     *
+     * @return true if anything other than a route was updated
+     */
+    boolean hasOtherChanges() {
+        return otherChanged;
+    }
+
+    /**
+     * Checks whether anything the journey planners are built from was updated: the trip
+     * and route ids of trips, or the trip, stop, stop_sequence, times, pickup or drop-off
+     * of stop times
+     *
+     * @return true if the journey planners must be built again
+     */
+    boolean hasRoutingChanges() {
+        return routingChanged;
+    }
+
+    /**
+     * Gets how far the stops that were moved have moved north in total
+     *
+     * @return the sum of the changes in latitude
+     */
+    double getLatitudeShift() {
+        return latitudeShift;
+    }
+
+    /**
+     * Gets how far the stops that were moved have moved east in total
+     *
+     * @return the sum of the changes in longitude
+     */
+    double getLongitudeShift() {
+        return longitudeShift;
+    }
+
+    /**
+     * Stops the stop times this transaction changed from being changed again, once the
+     * state holding them is about to be published
+     */
+    void publishCopies() {
+        for (Object object : owned) {
+            if (object instanceof StopTime) {
+                ((StopTime) object).publish();
+            }
+        }
+    }
+
+    private void addStopsOf(String tripId) {
+        for (StopTime stopTime : stopTimesByTrip.get(tripId) == null
+                ? Collections.<StopTime>emptyList() : stopTimesByTrip.get(tripId)) {
+            changedStops.add(stopTime.getStopId());
+        }
+    }
+
+    /*
+     * Gets the copy of an object that this transaction may change, copying it the first
+     * time.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T own(T object, UnaryOperator<T> copier) {
+        if (owned.contains(object)) {
+            return object;
+        }
+        T copy = (T) copies.get(object);
+        if (copy == null) {
+            copy = copier.apply(object);
+            copies.put(object, copy);
+            owned.add(copy);
+        }
+        return copy;
+    }
+
+    /*
+     * Gets the copy of a trip, putting it in place of the trip in the trip map and its
+     * route's trips the first time.
+     */
+    private Trip ownTrip(Trip trip) {
+        if (owned.contains(trip) || copies.containsKey(trip)) {
+            return own(trip, Trip::new);
+        }
+        Trip copy = own(trip, Trip::new);
+        trips.put(copy.getId(), copy);
+        if (tripsByRoute.get(copy.getRouteId()) != null) {
+            List<Trip> routeTrips = copy(tripsByRoute, copy.getRouteId());
+            for (int i = 0; i < routeTrips.size(); i++) {
+                if (routeTrips.get(i) == trip) {
+                    routeTrips.set(i, copy);
+                }
+            }
+        }
+        return copy;
+    }
+
+    /*
+     * Gets the copy of a stop time, putting it in place of the stop time in the lists of
+     * its stop and its trip the first time.
+     */
+    private StopTime ownStopTime(StopTime stopTime) {
+        if (owned.contains(stopTime) || copies.containsKey(stopTime)) {
+            return own(stopTime, StopTime::new);
+        }
+        StopTime copy = own(stopTime, StopTime::new);
+        replace(stopTimesByStop, copy.getStopId(), stopTime, copy);
+        replace(stopTimesByTrip, copy.getTripId(), stopTime, copy);
+        return copy;
+    }
+
+    /*
+     * Copies every stop time in the list of a key, putting each copy in place of the stop
+     * time in the other index too, and returns the list, which this transaction may change.
+     */
+    private List<StopTime> ownAll(Pending<List<StopTime>> index, String key,
+                                  Pending<List<StopTime>> other, boolean otherByTrip) {
+        List<StopTime> list = copy(index, key);
+        for (int i = 0; i < list.size(); i++) {
+            StopTime stopTime = list.get(i);
+            if (!owned.contains(stopTime)) {
+                StopTime copy = own(stopTime, StopTime::new);
+                list.set(i, copy);
+                replace(other, otherByTrip ? copy.getTripId() : copy.getStopId(),
+                        stopTime, copy);
+            }
+        }
+        return list;
+    }
+
+    private void replace(Pending<List<StopTime>> index, String key, StopTime stopTime,
+                         StopTime copy) {
+        if (index.get(key) == null) {
+            return;
+        }
+        List<StopTime> list = copy(index, key);
+        int position = find(list, stopTime, stopTime.getStopSequence());
+        if (position >= 0) {
+            list.set(position, copy);
+        }
+    }
+
+    /*
+     * Finds a stop time by binary search on its stop_sequence, which may already have
+     * been changed on the stop time itself, or -1 if it is not in the list.
+     */
+    private static int find(List<StopTime> list, StopTime stopTime, int sequence) {
+        int low = 0;
+        int high = list.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            StopTime other = list.get(middle);
+            int otherSequence = other.equals(stopTime) ? sequence : other.getStopSequence();
+            if (otherSequence < sequence) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        for (int position = low; position < list.size(); position++) {
+            if (list.get(position).equals(stopTime)) {
+                return position;
+            }
+        }
+        // Not at its sorted position, which only happens if the list was unsorted
+        return list.indexOf(stopTime);
+    }
+
+    /*
+     * Removes a stop time from the list of its old key, found by its old stop_sequence,
+     * and inserts it into the list of its new key after the stop times with the same or
+     * a lower stop_sequence.
+     */
+    private void move(Pending<List<StopTime>> index, StopTime stopTime,
+                      String oldKey, int oldSequence, String newKey) {
+        List<StopTime> oldList = copy(index, oldKey);
+        int position = find(oldList, stopTime, oldSequence);
+        if (position >= 0) {
+            oldList.remove(position);
+        }
+        if (oldList.isEmpty()) {
+            index.remove(oldKey);
+        }
+
+        List<StopTime> newList = copy(index, newKey);
+        int sequence = stopTime.getStopSequence();
+        int low = 0;
+        int high = newList.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (newList.get(middle).getStopSequence() <= sequence) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        newList.add(low, stopTime);
+    }
+
+    /*
+     * Gets the list of a key that this transaction may change, copying it the first time.
+     */
+    private <T> List<T> copy(Pending<List<T>> index, String key) {
+        List<T> list = index.get(key);
+        if (list == null || !owned.contains(list)) {
+            list = list == null ? new ArrayList<>() : new ArrayList<>(list);
+            owned.add(list);
+            index.put(key, list);
+        }
+        return list;
+    }
+
+    /**
+     * Entries of a map replaced or removed by this transaction
+     *
+     * @param <V> value type
+     */
+    static final class Pending<V> {
+        private final Map<String, V> base;
+        private final Map<String, V> replaced = new HashMap<>();
+        private final Set<String> removed = new HashSet<>();
+
+        Pending(Map<String, V> base) {
+            this.base = base;
+        }
+
+        V get(String key) {
+            if (replaced.containsKey(key)) {
+                return replaced.get(key);
+            }
+            return removed.contains(key) ? null : base.get(key);
+        }
+
+        void put(String key, V value) {
+            replaced.put(key, value);
+            removed.remove(key);
+        }
+
+        void remove(String key) {
+            replaced.remove(key);
+            removed.add(key);
+        }
+
+        boolean isEmpty() {
+            return replaced.isEmpty() && removed.isEmpty();
+        }
+
+        /**
+         * Creates a map with the changes applied
+         *
+         * @param map map the transaction started from
+         * @return the changed map, sharing every unchanged entry with map
+         */
+        Map<String, V> applyTo(Map<String, V> map) {
+            return OverlayMap.with(map, replaced, removed);
+        }
+    }
+}
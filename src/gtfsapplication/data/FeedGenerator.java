@@ -0,0 +1,360 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Writes a synthetic GTFS feed of any size for load testing
+ * <p>
+ * Stops lie on a square grid and every route runs straight across it, turning back at the
+ * edges, so routes cross and share stops the way a real network does. Each route runs the
+ * same number of trips in both directions for every service, spread evenly from 5:00 to
+ * 25:00 so that some trips run past midnight. The same seed and settings always give
+ * byte-for-byte the same feed.
+ * <p>
+ * Rows are written as they are generated, so feeds far larger than the heap can be written.
+ * Usage: {@code java gtfsapplication.data.FeedGenerator <directory> [-routes n]
+ * [-stopsPerRoute n] [-tripsPerDay n] [-services n] [-seed n]}
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+public class FeedGenerator {
+    private static final String[] SERVICE_DAYS = {
+            "1111100", "0000010", "0000001", "1111000", "0000100", "1111111", "0000011"
+    };
+    private static final String[] SERVICE_NAMES = {
+            "WEEKDAY", "SATURDAY", "SUNDAY", "MON_THU", "FRIDAY", "DAILY", "WEEKEND"
+    };
+    private static final double CENTER_LAT = 43.0389;
+    private static final double CENTER_LON = -87.9065;
+    private static final double SPACING_DEGREES = 0.004;
+    private static final int FIRST_DEPARTURE = 5 * 3600;
+    private static final int LAST_DEPARTURE = 25 * 3600;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final long seed;
+    private int routes = 50;
+    private int stopsPerRoute = 30;
+    private int tripsPerDay = 40;
+    private int services = 3;
+
+    /**
+     * Creates a generator for a small feed
+     *
+     * @param seed seed for the layout and timetable
+     */
+    public FeedGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Sets the number of routes
+     *
+     * @param routes number of routes, at least 1
+     */
+    public void setRoutes(int routes) {
+        this.routes = requirePositive(routes, "routes");
+    }
+
+    /**
+     * Sets how many stops each trip visits
+     *
+     * @param stopsPerRoute stops on each route, at least 2
+     */
+    public void setStopsPerRoute(int stopsPerRoute) {
+        if (stopsPerRoute < 2) {
+            throw new IllegalArgumentException("stopsPerRoute must be at least 2");
+        }
+        this.stopsPerRoute = stopsPerRoute;
+    }
+
+    /**
+     * Sets how many trips each route runs in each direction on each service
+     *
+     * @param tripsPerDay trips per direction per service, at least 1
+     */
+    public void setTripsPerDay(int tripsPerDay) {
+        this.tripsPerDay = requirePositive(tripsPerDay, "tripsPerDay");
+    }
+
+    /**
+     * Sets the number of service patterns, such as weekday, Saturday and Sunday
+     *
+     * @param services number of services, from 1 to 7
+     */
+    public void setServices(int services) {
+        if (services < 1 || services > SERVICE_NAMES.length) {
+            throw new IllegalArgumentException(
+                    "services must be from 1 to " + SERVICE_NAMES.length);
+        }
+        this.services = services;
+    }
+
+    /**
+     * Gets the number of stops on the grid
+     *
+     * @return number of rows stops.txt will have
+     */
+    public int getStopCount() {
+        int side = getGridSide();
+        return side * side;
+    }
+
+    /**
+     * Gets the number of trips
+     *
+     * @return number of rows trips.txt will have
+     */
+    public long getTripCount() {
+        return 2L * routes * services * tripsPerDay;
+    }
+
+    /**
+     * Gets the number of stop times
+     *
+     * @return number of rows stop_times.txt will have
+     */
+    public long getStopTimeCount() {
+        return getTripCount() * stopsPerRoute;
+    }
+
+    /**
+     * Writes agency.txt, calendar.txt, routes.txt, stops.txt, trips.txt and stop_times.txt
+     *
+     * @param directory directory to write to, created if it does not exist
+     * @throws IOException if a file cannot be written
+     */
+    public void write(File directory) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+        int side = getGridSide();
+        Random random = new Random(seed);
+        int[][] patterns = new int[routes][];
+        int[][] runningTimes = new int[routes][];
+        for (int r = 0; r < routes; r++) {
+            patterns[r] = pattern(random, side);
+            runningTimes[r] = new int[stopsPerRoute];
+            for (int i = 1; i < stopsPerRoute; i++) {
+                runningTimes[r][i] = runningTimes[r][i - 1] + 60 + random.nextInt(5) * 30;
+            }
+        }
+
+        try (Writer out = open(directory, "agency.txt")) {
+            out.write("agency_id,agency_name,agency_url,agency_timezone\n");
+            out.write("SYN,Synthetic Transit,http://example.com,America/Chicago\n");
+        }
+        try (Writer out = open(directory, "calendar.txt")) {
+            out.write("service_id,monday,tuesday,wednesday,thursday,friday,saturday,sunday,"
+                    + "start_date,end_date\n");
+            for (int s = 0; s < services; s++) {
+                out.write(SERVICE_NAMES[s]);
+                for (char day : SERVICE_DAYS[s].toCharArray()) {
+                    out.write(',');
+                    out.write(day);
+                }
+                out.write(",20260101,20261231\n");
+            }
+        }
+        try (Writer out = open(directory, "routes.txt")) {
+            out.write("route_id,agency_id,route_short_name,route_long_name,route_type,"
+                    + "route_color\n");
+            for (int r = 0; r < routes; r++) {
+                out.write("R" + r + ",SYN," + r + ",Route " + r + ",3,"
+                        + String.format(Locale.ROOT, "%06X", random.nextInt(1 << 24)) + "\n");
+            }
+        }
+        try (Writer out = open(directory, "stops.txt")) {
+            out.write("stop_id,stop_name,stop_lat,stop_lon\n");
+            for (int stop = 0; stop < side * side; stop++) {
+                int row = stop / side;
+                int column = stop % side;
+                out.write("S" + stop + ",Street " + row + " & Avenue " + column + ","
+                        + coordinate(CENTER_LAT + (row - side / 2) * SPACING_DEGREES) + ","
+                        + coordinate(CENTER_LON + (column - side / 2) * SPACING_DEGREES)
+                        + "\n");
+            }
+        }
+        try (Writer trips = open(directory, "trips.txt");
+             Writer stopTimes = open(directory, "stop_times.txt")) {
+            trips.write("route_id,service_id,trip_id,trip_headsign,direction_id,shape_id\n");
+            stopTimes.write("trip_id,arrival_time,departure_time,stop_id,stop_sequence\n");
+            int headway = Math.max(1, (LAST_DEPARTURE - FIRST_DEPARTURE) / tripsPerDay);
+            for (int r = 0; r < routes; r++) {
+                int[] pattern = patterns[r];
+                Random timetable = new Random(seed * 31 + r);
+                for (int s = 0; s < services; s++) {
+                    for (int direction = 0; direction < 2; direction++) {
+                        int last = pattern[direction == 0 ? pattern.length - 1 : 0];
+                        String headsign = "To S" + last;
+                        String shape = "R" + r + "_" + direction;
+                        for (int t = 0; t < tripsPerDay; t++) {
+                            String tripId = "R" + r + "_" + SERVICE_NAMES[s] + "_"
+                                    + direction + "_" + t;
+                            trips.write("R" + r + "," + SERVICE_NAMES[s] + "," + tripId + ","
+                                    + headsign + "," + direction + "," + shape + "\n");
+                            int start = FIRST_DEPARTURE + t * headway
+                                    + timetable.nextInt(Math.min(headway, 300));
+                            writeStopTimes(stopTimes, tripId, pattern, runningTimes[r],
+                                    direction == 1, start);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+     * Walks straight across the grid from a random stop in one of eight directions,
+     * turning back at the edges.
+     */
+    private int[] pattern(Random random, int side) {
+        int row = random.nextInt(side);
+        int column = random.nextInt(side);
+        int rowStep;
+        int columnStep;
+        do {
+            rowStep = random.nextInt(3) - 1;
+            columnStep = random.nextInt(3) - 1;
+        } while (rowStep == 0 && columnStep == 0);
+        int[] stops = new int[stopsPerRoute];
+        for (int i = 0; i < stopsPerRoute; i++) {
+            stops[i] = row * side + column;
+            if (side > 1) {
+                if (row + rowStep < 0 || row + rowStep >= side) {
+                    rowStep = -rowStep;
+                }
+                if (column + columnStep < 0 || column + columnStep >= side) {
+                    columnStep = -columnStep;
+                }
+            }
+            row = Math.max(0, Math.min(side - 1, row + rowStep));
+            column = Math.max(0, Math.min(side - 1, column + columnStep));
+        }
+        return stops;
+    }
+
+    private void writeStopTimes(Writer out, String tripId, int[] pattern, int[] runningTimes,
+                                boolean reverse, int start) throws IOException {
+        int end = runningTimes[pattern.length - 1];
+        for (int i = 0; i < pattern.length; i++) {
+            int stop = reverse ? pattern[pattern.length - 1 - i] : pattern[i];
+            int time = start + (reverse ? end - runningTimes[pattern.length - 1 - i]
+                    : runningTimes[i]);
+            String formatted = ServiceTime.format(time);
+            out.write(tripId + "," + formatted + "," + formatted + ",S" + stop + ","
+                    + (i + 1) + "\n");
+        }
+    }
+
+    /*
+     * Sizes the grid so that each stop is visited by about two routes.
+     */
+    private int getGridSide() {
+        long visits = (long) routes * stopsPerRoute;
+        return (int) Math.max(2, Math.ceil(Math.sqrt(visits / 2.0)));
+    }
+
+    private static String coordinate(double degrees) {
+        return String.format(Locale.ROOT, "%.6f", degrees);
+    }
+
+    private static Writer open(File directory, String filename) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(new File(directory, filename)), StandardCharsets.UTF_8),
+                BUFFER_SIZE);
+    }
+
+    private static int requirePositive(int value, String name) {
+        if (value < 1) {
+            throw new IllegalArgumentException(name + " must be at least 1");
+        }
+        return value;
+    }
+
+    /**
+     * Writes a feed
+     *
+     * @param args output directory, followed by any of -routes, -stopsPerRoute,
+     *             -tripsPerDay, -services and -seed, each with a number
+     * @throws IOException if the feed cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0 || args.length % 2 == 0) {
+            System.err.println("Usage: FeedGenerator <directory> [-routes n] [-stopsPerRoute n]"
+                    + " [-tripsPerDay n] [-services n] [-seed n]");
+            System.exit(2);
+        }
+        long seed = 1;
+        for (int i = 1; i < args.length; i += 2) {
+            if (args[i].equals("-seed")) {
+                seed = Long.parseLong(args[i + 1]);
+            }
+        }
+        FeedGenerator generator = new FeedGenerator(seed);
+        for (int i = 1; i < args.length; i += 2) {
+            int value = args[i].equals("-seed") ? 0 : Integer.parseInt(args[i + 1]);
+            switch (args[i]) {
+                case "-routes":
+                    generator.setRoutes(value);
+                    break;
+                case "-stopsPerRoute":
+                    generator.setStopsPerRoute(value);
+                    break;
+                case "-tripsPerDay":
+                    generator.setTripsPerDay(value);
+                    break;
+                case "-services":
+                    generator.setServices(value);
+                    break;
+                case "-seed":
+                    break;
+                default:
+                    System.err.println("Unknown option " + args[i]);
+                    System.exit(2);
+            }
+        }
+        File directory = new File(args[0]);
+        long start = System.nanoTime();
+        generator.write(directory);
+        System.out.printf("wrote %d stops, %d trips and %d stop times to %s in %.1f s%n",
+                generator.getStopCount(), generator.getTripCount(),
+                generator.getStopTimeCount(), directory, (System.nanoTime() - start) / 1e9);
+    }
+}
@@ -0,0 +1,551 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import gtfsapplication.GTFSException;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Reads GTFS files on a fork-join pool
+ * <p>
+ * Each file is read by its own task, and large files are split into byte ranges
+ * that are tokenized in parallel. Every range is read by a {@link MappedCsvReader},
+ * so rows are tokenized straight from a memory mapping of the file. Ranges are split
+ * on line breaks, which are only row boundaries if they are not inside a quoted value.
+ * A range that ends inside a quoted value will fail to tokenize, so if any range fails
+ * the file is read again from start to end and the result is the same as a sequential
+ * read.
+ * <p>
+ * Entries of a zip archive are inflated by one task each, streaming straight into a
+ * {@link CsvTokenizer}. Compressed entries cannot be split, but separate entries of a
+ * {@link ZipFile} can be read at the same time.
+ * <p>
+ * Progress is added to an {@link ImportProgress} after every batch of rows, which is also
+ * where a cancelled import stops.
+ * <p>
+ * Nothing is stored in a GTFS object; the rows of each file are returned so the
+ * caller can store them once every file has been read.
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+class FeedImporter {
+    private static final long DEFAULT_CHUNK_BYTES = 1 << 22;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int PROGRESS_ROWS = 4096;
+
+    private final ForkJoinPool pool;
+    private final SymbolTable symbols;
+    private final long minChunkBytes;
+    private final ImportProgress progress;
+
+    /**
+     * Validates the header of a GTFS file
+     */
+    interface HeaderValidator {
+        List<String> validateHeader(String header) throws GTFSException;
+    }
+
+    /**
+     * Creates an object from a row of a GTFS file
+     *
+     * @param <T> type of object created
+     */
+    interface RowParser<T> {
+        T fromRow(List<String> fields, RowCursor row, ImportReport report);
+    }
+
+    /**
+     * A GTFS file on disk or inside a zip archive
+     */
+    static final class Source {
+        private final File file;
+        private final ZipFile zip;
+        private final ZipEntry entry;
+
+        private Source(File file, ZipFile zip, ZipEntry entry) {
+            this.file = file;
+            this.zip = zip;
+            this.entry = entry;
+        }
+
+        static Source of(File file) {
+            return new Source(file, null, null);
+        }
+
+        static Source of(ZipFile zip, ZipEntry entry) {
+            return new Source(null, zip, entry);
+        }
+
+        /**
+         * Gets the number of bytes that will be read
+         *
+         * @return size of the file or uncompressed entry, or -1 if it is not known
+         */
+        long size() {
+            return entry == null ? file.length() : entry.getSize();
+        }
+    }
+
+    /**
+     * Creates an importer that splits files into ranges of at least 4 MiB
+     *
+     * @param pool pool to read files on
+     * @param symbols symbol table shared by every file of the feed, or null to not share values
+     */
+    FeedImporter(ForkJoinPool pool, SymbolTable symbols) {
+        this(pool, symbols, DEFAULT_CHUNK_BYTES);
+    }
+
+    FeedImporter(ForkJoinPool pool, SymbolTable symbols, long minChunkBytes) {
+        this(pool, symbols, minChunkBytes, new ImportProgress());
+    }
+
+    /**
+     * Creates an importer that splits files into ranges of at least 4 MiB
+     *
+     * @param pool pool to read files on
+     * @param symbols symbol table shared by every file of the feed, or null to not share values
+     * @param progress progress that every file read is added to
+     */
+    FeedImporter(ForkJoinPool pool, SymbolTable symbols, ImportProgress progress) {
+        this(pool, symbols, DEFAULT_CHUNK_BYTES, progress);
+    }
+
+    FeedImporter(ForkJoinPool pool, SymbolTable symbols, long minChunkBytes,
+                 ImportProgress progress) {
+        this.pool = pool;
+        this.symbols = symbols;
+        this.minChunkBytes = Math.max(minChunkBytes, 1);
+        this.progress = progress;
+    }
+
+    /**
+     * Starts reading a file
+     *
+     * @param source file to read
+     * @param filename name used in messages and the import report, such as stops.txt
+     * @param validator validates the header and returns the field names
+     * @param parser creates an object from each row, or returns null and reports the row
+     * @param listFactory creates the lists that rows are stored in
+     * @param <T> type of object stored
+     * @return task that reads the file, to be passed to {@link #join(TableTask)}
+     */
+    <T> TableTask<T> submit(Source source, String filename, HeaderValidator validator,
+                            RowParser<T> parser, Supplier<List<T>> listFactory) {
+        TableTask<T> task = new TableTask<>(source, filename, validator, parser, listFactory);
+        progress.addTotalBytes(source.size());
+        pool.execute(task);
+        return task;
+    }
+
+    /**
+     * Waits for every task to finish, whether or not it succeeds
+     *
+     * @param tasks tasks returned by submit; null tasks are ignored
+     */
+    static void awaitAll(TableTask<?>... tasks) {
+        for (TableTask<?> task : tasks) {
+            if (task != null) {
+                task.quietlyJoin();
+            }
+        }
+    }
+
+    /**
+     * Waits for a file to be read
+     *
+     * @param task task returned by submit
+     * @param <T> type of object stored
+     * @return the rows of the file
+     * @throws GTFSException if the file could not be read or is not valid
+     */
+    static <T> Table<T> join(TableTask<T> task) throws GTFSException {
+        Table<T> table = task.join();
+        if (table.error != null) {
+            throw table.error;
+        }
+        return table;
+    }
+
+    /**
+     * Rows read from one GTFS file
+     *
+     * @param <T> type of object stored
+     */
+    static class Table<T> {
+        private final String header;
+        private final List<List<T>> parts;
+        private final ImportReport report;
+        private final GTFSException error;
+
+        private Table(String header, List<List<T>> parts, ImportReport report) {
+            this.header = header;
+            this.parts = parts;
+            this.report = report;
+            this.error = null;
+        }
+
+        private Table(GTFSException error) {
+            this.header = null;
+            this.parts = null;
+            this.report = null;
+            this.error = error;
+        }
+
+        String getHeader() {
+            return header;
+        }
+
+        /**
+         * Gets the rows of the file as consecutive lists, one for each range of the file
+         *
+         * @return lists of rows, in file order
+         */
+        List<List<T>> getParts() {
+            return parts;
+        }
+
+        ImportReport getReport() {
+            return report;
+        }
+    }
+
+    /**
+     * Reads one GTFS file, splitting it into ranges if it is large
+     *
+     * @param <T> type of object stored
+     */
+    class TableTask<T> extends RecursiveTask<Table<T>> {
+        private final Source source;
+        private final String filename;
+        private final HeaderValidator validator;
+        private final RowParser<T> parser;
+        private final Supplier<List<T>> listFactory;
+
+        private TableTask(Source source, String filename, HeaderValidator validator,
+                          RowParser<T> parser, Supplier<List<T>> listFactory) {
+            this.source = source;
+            this.filename = filename;
+            this.validator = validator;
+            this.parser = parser;
+            this.listFactory = listFactory;
+        }
+
+        @Override
+        protected Table<T> compute() {
+            try {
+                return source.entry == null ? read(source.file) : read(source.zip, source.entry);
+            } catch (GTFSException ex) {
+                return new Table<>(ex);
+            } catch (FileNotFoundException | NoSuchFileException ex) {
+                return new Table<>(new GTFSException("The " + filename + " file did not exist."));
+            } catch (IOException ex) {
+                return new Table<>(new GTFSException(
+                        "An error occurred reading the " + filename + " file."));
+            } catch (IllegalArgumentException ex) {
+                // The file is not valid CSV
+                return new Table<>(new GTFSException(ex.getMessage()));
+            } catch (CancellationException ex) {
+                return new Table<>(new GTFSException("The import was cancelled."));
+            }
+        }
+
+        private Table<T> read(File file) throws IOException, GTFSException {
+            long size = file.length();
+            long dataStart;
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                dataStart = nextLineStart(channel, 0, size);
+            }
+            String header;
+            try (MappedCsvReader reader = new MappedCsvReader(file, 0, dataStart)) {
+                header = readHeader(reader);
+            }
+            List<String> fields = validator.validateHeader(header);
+            progress.add(0, dataStart);
+
+            long[] bounds = split(file, dataStart, size);
+            List<ChunkTask> chunks = new ArrayList<>();
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                chunks.add(new ChunkTask(file, fields, bounds[i], bounds[i + 1], i == 0));
+            }
+            invokeAll(chunks);
+            for (ChunkTask chunk : chunks) {
+                if (chunk.invalid != null && chunks.size() > 1) {
+                    // A range may have started inside a quoted value, so read the file in order
+                    chunks = new ArrayList<>();
+                    chunks.add(new ChunkTask(file, fields, dataStart, size, true));
+                    chunks.get(0).invoke();
+                    break;
+                }
+            }
+
+            List<List<T>> parts = new ArrayList<>();
+            ImportReport report = new ImportReport();
+            report.start(filename);
+            long rowOffset = 0;
+            for (ChunkTask chunk : chunks) {
+                if (chunk.cancelled) {
+                    throw new CancellationException();
+                }
+                if (chunk.error != null) {
+                    throw chunk.error;
+                }
+                if (chunk.invalid != null) {
+                    throw new GTFSException(chunk.invalid.getMessage());
+                }
+                parts.add(chunk.rows);
+                report.merge(chunk.report, rowOffset);
+                rowOffset += chunk.rowCount;
+            }
+            return new Table<>(header, parts, report);
+        }
+
+        private Table<T> read(ZipFile zip, ZipEntry entry) throws IOException, GTFSException {
+            CountingInputStream in = new CountingInputStream(zip.getInputStream(entry));
+            try (CsvTokenizer reader = new CsvTokenizer(new InputStreamReader(
+                    in, StandardCharsets.UTF_8))) {
+                reader.setSymbols(symbols);
+                String header = readHeader(reader);
+                List<String> fields = validator.validateHeader(header);
+                ImportReport report = new ImportReport();
+                report.start(filename);
+                List<T> rows = listFactory.get();
+                readRows(reader, fields, rows, report, in::getCount);
+                report.finish(filename, rows.size());
+                List<List<T>> parts = new ArrayList<>();
+                parts.add(rows);
+                return new Table<>(header, parts, report);
+            }
+        }
+
+        private String readHeader(RowReader reader) throws IOException, GTFSException {
+            if (!reader.next()) {
+                throw new GTFSException(filename + "\nThe file is empty.");
+            }
+            return reader.line();
+        }
+
+        /*
+         * Parses every remaining row of a reader, reporting rows that are not valid,
+         * and adds the rows and bytes read to the progress after every batch of rows
+         */
+        private void readRows(RowReader reader, List<String> fields, List<T> rows,
+                              ImportReport report, LongSupplier bytesRead) throws IOException {
+            int batch = 0;
+            long reported = 0;
+            while (reader.next()) {
+                if (++batch == PROGRESS_ROWS) {
+                    long bytes = bytesRead.getAsLong();
+                    progress.add(batch, bytes - reported);
+                    reported = bytes;
+                    batch = 0;
+                    if (progress.isCancelled()) {
+                        throw new CancellationException();
+                    }
+                }
+                T row = parser.fromRow(fields, reader, report);
+                if (row != null) {
+                    try {
+                        rows.add(row);
+                    } catch (IllegalArgumentException ex) {
+                        // StopTimeTable stores pickup and drop off types as bytes
+                        report.reject(new Rejection(filename,
+                                reader.getRowNumber(), null, ex.getMessage()));
+                    }
+                }
+            }
+            progress.add(batch, bytesRead.getAsLong() - reported);
+        }
+
+        /**
+         * Splits the rows of a file into ranges that start at the beginning of a line
+         *
+         * @param file file to split
+         * @param start offset of the first row after the header
+         * @param size size of the file
+         * @return offsets where each range starts, followed by the size of the file
+         */
+        private long[] split(File file, long start, long size) throws IOException {
+            long length = size - start;
+            int count = (int) Math.max(1, Math.min(length / minChunkBytes,
+                    (long) pool.getParallelism() * CHUNKS_PER_THREAD));
+            long[] bounds = new long[count + 1];
+            bounds[0] = start;
+            bounds[count] = size;
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                for (int i = 1; i < count; i++) {
+                    long nominal = start + length * i / count;
+                    bounds[i] = Math.max(bounds[i - 1], nextLineStart(channel, nominal - 1, size));
+                }
+            }
+            return bounds;
+        }
+
+        /**
+         * Tokenizes one range of a file
+         * <p>
+         * Rows are numbered from the start of the range, except in the first range
+         * where the header is counted so that row numbers match the file.
+         */
+        private class ChunkTask extends RecursiveAction {
+            private final File file;
+            private final List<String> fields;
+            private final long start;
+            private final long end;
+            private final boolean first;
+            private final ImportReport report = new ImportReport();
+            private List<T> rows;
+            private long rowCount;
+            private GTFSException error;
+            private IllegalArgumentException invalid;
+            private boolean cancelled;
+
+            private ChunkTask(File file, List<String> fields, long start, long end,
+                              boolean first) {
+                this.file = file;
+                this.fields = fields;
+                this.start = start;
+                this.end = end;
+                this.first = first;
+            }
+
+            @Override
+            protected void compute() {
+                rows = listFactory.get();
+                report.start(filename);
+                try (MappedCsvReader reader = new MappedCsvReader(file, start, end)) {
+                    if (first) {
+                        reader.setRowNumber(1);
+                    }
+                    reader.setSymbols(symbols);
+                    readRows(reader, fields, rows, report, () -> reader.getOffset() - start);
+                    rowCount = reader.getRowNumber();
+                    report.finish(filename, rows.size());
+                } catch (IOException ex) {
+                    error = new GTFSException("An error occurred reading the " + filename + " file.");
+                } catch (IllegalArgumentException ex) {
+                    invalid = ex;
+                } catch (CancellationException ex) {
+                    cancelled = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts the bytes read from a zip entry, whose rows are tokenized from chars
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+
+    /**
+     * Finds the start of the line after an offset
+     *
+     * @param channel file to search
+     * @param position offset to start searching at
+     * @param size size of the file
+     * @return offset after the first line feed at or after position, or size if there is none
+     * @throws IOException if the file cannot be read
+     */
+    static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long offset = Math.max(position, 0);
+        while (offset < size) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+        return size;
+    }
+}
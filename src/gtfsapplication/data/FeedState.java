@@ -0,0 +1,461 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Everything imported from one version of a feed: the tables, their indexes and headers
+ * <p>
+ * A state is never changed once it is built. An import builds a new state beside the
+ * current one, reusing the tables it does not replace, and GTFS publishes it with a single
+ * volatile write, so a query that reads the current state once sees one consistent feed
+ * however many imports happen while it runs.
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+final class FeedState {
+    final Map<String, Route> routes;
+    final Map<String, Stop> stops;
+    final Map<String, Trip> trips;
+
+    final Map<String, List<StopTime>> stopTimesByStop;
+    final Map<String, List<StopTime>> stopTimesByTrip;
+    final Map<String, List<Trip>> tripsByRoute;
+
+    final String routesHeader;
+    final String stopsHeader;
+    final String tripsHeader;
+    final String stopTimesHeader;
+    final double meanLatitude;
+    final double meanLongitude;
+    final StopIndex stopIndex;
+    final ServiceCalendar calendar;
+    final ImportReport importReport;
+
+    // Built on first use; two threads may both build it, and either result is correct
+    private volatile List<StopTime> stopTimes;
+    private volatile DepartureBoard departureBoard;
+    private volatile JourneyPlanner journeyPlanner;
+    private volatile RaptorRouter raptorRouter;
+
+    private FeedState(Builder builder) {
+        routes = builder.routes;
+        stops = builder.stops;
+        trips = builder.trips;
+        stopTimes = builder.stopTimes;
+        stopTimesByStop = builder.stopTimesByStop;
+        stopTimesByTrip = builder.stopTimesByTrip;
+        tripsByRoute = builder.tripsByRoute;
+        routesHeader = builder.routesHeader;
+        stopsHeader = builder.stopsHeader;
+        tripsHeader = builder.tripsHeader;
+        stopTimesHeader = builder.stopTimesHeader;
+        meanLatitude = builder.meanLatitude;
+        meanLongitude = builder.meanLongitude;
+        stopIndex = builder.stopIndex;
+        calendar = builder.calendar;
+        importReport = builder.importReport;
+        // Trips and stop times are the only tables the board depends on
+        DepartureBoard board = builder.base == null ? null : builder.base.departureBoard;
+        if (board != null && builder.base.trips == trips
+                && builder.base.stopTimesByStop == stopTimesByStop) {
+            departureBoard = board;
+        } else if (board != null && builder.changedStops != null) {
+            departureBoard = board.update(builder.changedStops, stopTimesByStop, trips);
+        }
+        // The planners keep only ids, times and pickup and drop-off types
+        if (builder.base != null && (builder.keepPlanners || builder.base.trips == trips
+                && builder.base.stopTimesByTrip == stopTimesByTrip)) {
+            journeyPlanner = builder.base.journeyPlanner;
+            raptorRouter = builder.base.raptorRouter;
+        }
+    }
+
+    /**
+     * Gets every stop time, in the order they were imported unless they have been edited
+     * since, in which case they are collected trip by trip the first time they are needed
+     *
+     * @return the stop times of this state
+     */
+    List<StopTime> getStopTimes() {
+        List<StopTime> list = stopTimes;
+        if (list == null) {
+            list = new ArrayList<>();
+            for (List<StopTime> tripStopTimes : stopTimesByTrip.values()) {
+                list.addAll(tripStopTimes);
+            }
+            list = Collections.unmodifiableList(list);
+            stopTimes = list;
+        }
+        return list;
+    }
+
+    /**
+     * Gets the departure board, building it the first time it is needed
+     *
+     * @return the departure board of this state
+     */
+    DepartureBoard getDepartureBoard() {
+        DepartureBoard board = departureBoard;
+        if (board == null) {
+            board = new DepartureBoard(stopTimesByStop, trips);
+            departureBoard = board;
+        }
+        return board;
+    }
+
+    /**
+     * Gets the journey planner, building its connections the first time it is needed
+     *
+     * @return the journey planner of this state
+     */
+    JourneyPlanner getJourneyPlanner() {
+        JourneyPlanner planner = journeyPlanner;
+        if (planner == null) {
+            planner = new JourneyPlanner(stopTimesByTrip, trips);
+            journeyPlanner = planner;
+        }
+        return planner;
+    }
+
+    /**
+     * Gets the RAPTOR router, building its patterns the first time it is needed
+     *
+     * @return the RAPTOR router of this state
+     */
+    RaptorRouter getRaptorRouter() {
+        RaptorRouter router = raptorRouter;
+        if (router == null) {
+            router = new RaptorRouter(stopTimesByTrip, trips);
+            raptorRouter = router;
+        }
+        return router;
+    }
+
+    /**
+     * Collects the parts of a new state. Tables that are not set are taken from the
+     * state the builder starts from, and indexes are rebuilt only for tables that were set.
+     */
+    static final class Builder {
+        private final FeedState base;
+        private final boolean columnar;
+
+        private Map<String, Route> routes;
+        private Map<String, Stop> stops;
+        private Map<String, Trip> trips;
+        private List<StopTime> stopTimes;
+        private Map<String, List<StopTime>> stopTimesByStop;
+        private Map<String, List<StopTime>> stopTimesByTrip;
+        private Map<String, List<Trip>> tripsByRoute;
+
+        private String routesHeader;
+        private String stopsHeader;
+        private String tripsHeader;
+        private String stopTimesHeader;
+        private double meanLatitude;
+        private double meanLongitude;
+        private StopIndex stopIndex;
+        private ServiceCalendar calendar;
+        private ImportReport importReport;
+        private Set<String> changedStops;
+        private boolean keepPlanners;
+
+        /**
+         * Starts a state that replaces some of the tables of another
+         *
+         * @param base state to take the tables that are not replaced from, or null
+         *             to start from an empty feed
+         * @param columnar true to keep stop times that are set in a StopTimeTable
+         */
+        Builder(FeedState base, boolean columnar) {
+            this.base = base;
+            this.columnar = columnar;
+            if (base != null) {
+                routes = base.routes;
+                stops = base.stops;
+                trips = base.trips;
+                stopTimes = base.stopTimes;
+                stopTimesByStop = base.stopTimesByStop;
+                stopTimesByTrip = base.stopTimesByTrip;
+                tripsByRoute = base.tripsByRoute;
+                routesHeader = base.routesHeader;
+                stopsHeader = base.stopsHeader;
+                tripsHeader = base.tripsHeader;
+                stopTimesHeader = base.stopTimesHeader;
+                meanLatitude = base.meanLatitude;
+                meanLongitude = base.meanLongitude;
+                stopIndex = base.stopIndex;
+                calendar = base.calendar;
+                importReport = base.importReport;
+            } else {
+                routes = Collections.emptyMap();
+                stops = Collections.emptyMap();
+                trips = Collections.emptyMap();
+                stopTimes = columnar ? new StopTimeTable() : Collections.<StopTime>emptyList();
+                stopTimesByStop = Collections.emptyMap();
+                stopTimesByTrip = Collections.emptyMap();
+                tripsByRoute = Collections.emptyMap();
+                stopIndex = new StopIndex(Collections.<Stop>emptyList());
+                calendar = new ServiceCalendar(Collections.<ServicePeriod>emptyList(),
+                        Collections.<CalendarDate>emptyList());
+                importReport = new ImportReport().readOnly();
+            }
+        }
+
+        /**
+         * Sets the results of the files imported, keeping the results of other files
+         */
+        Builder report(ImportReport report) {
+            importReport = importReport.replacedBy(report);
+            return this;
+        }
+
+        /**
+         * Sets the routes
+         */
+        Builder routes(String header, Iterable<? extends List<Route>> parts) {
+            Map<String, Route> map = new HashMap<>();
+            for (List<Route> part : parts) {
+                for (Route route : part) {
+                    map.put(route.getId(), route);
+                }
+            }
+            return routes(header, map);
+        }
+
+        /**
+         * Sets the routes from a map that is not changed afterwards
+         */
+        Builder routes(String header, Map<String, Route> map) {
+            routesHeader = header;
+            routes = Collections.unmodifiableMap(map);
+            return this;
+        }
+
+        /**
+         * Sets the stops and indexes their positions, and the centre of the feed shown when
+         * the map is opened
+         */
+        Builder stops(String header, Iterable<? extends List<Stop>> parts) {
+            Map<String, Stop> map = new HashMap<>();
+            for (List<Stop> part : parts) {
+                for (Stop stop : part) {
+                    map.put(stop.getId(), stop);
+                }
+            }
+            double latitude = 0;
+            double longitude = 0;
+            for (Stop stop : map.values()) {
+                latitude += stop.getLatitude();
+                longitude += stop.getLongitude();
+            }
+            stopsHeader = header;
+            stops = Collections.unmodifiableMap(map);
+            meanLatitude = map.isEmpty() ? Double.MIN_VALUE : latitude / map.size();
+            meanLongitude = map.isEmpty() ? Double.MIN_VALUE : longitude / map.size();
+            stopIndex = new StopIndex(map.values());
+            return this;
+        }
+
+        /**
+         * Sets the stops and indexes their positions, and the centre of the feed without
+         * recomputing the centre
+         */
+        Builder stops(String header, Map<String, Stop> map, double latitude, double longitude) {
+            stopsHeader = header;
+            stops = Collections.unmodifiableMap(map);
+            meanLatitude = latitude;
+            meanLongitude = longitude;
+            stopIndex = new StopIndex(map.values());
+            return this;
+        }
+
+        /**
+         * Sets the trips and rebuilds the route_id index of trips
+         */
+        Builder trips(String header, Iterable<? extends List<Trip>> parts) {
+            Map<String, Trip> map = new HashMap<>();
+            for (List<Trip> part : parts) {
+                for (Trip trip : part) {
+                    map.put(trip.getId(), trip);
+                }
+            }
+            tripsHeader = header;
+            trips = Collections.unmodifiableMap(map);
+            Map<String, List<Trip>> byRoute = new HashMap<>();
+            for (Trip trip : map.values()) {
+                byRoute.computeIfAbsent(trip.getRouteId(), key -> new ArrayList<>()).add(trip);
+            }
+            tripsByRoute = Collections.unmodifiableMap(byRoute);
+            return this;
+        }
+
+        /**
+         * Sets the rows of calendar.txt, calendar_dates.txt or both, and compiles the dates
+         * of each service again
+         */
+        Builder calendar(Iterable<? extends List<ServicePeriod>> periodParts,
+                         Iterable<? extends List<CalendarDate>> dateParts) {
+            List<ServicePeriod> periods = calendar.getPeriods();
+            if (periodParts != null) {
+                periods = new ArrayList<>();
+                for (List<ServicePeriod> part : periodParts) {
+                    periods.addAll(part);
+                }
+            }
+            List<CalendarDate> dates = calendar.getDates();
+            if (dateParts != null) {
+                dates = new ArrayList<>();
+                for (List<CalendarDate> part : dateParts) {
+                    dates.addAll(part);
+                }
+            }
+            calendar = new ServiceCalendar(periods, dates);
+            return this;
+        }
+
+        /**
+         * Sets the stop times and rebuilds the stop_id and trip_id indexes of stop times,
+         * with each list sorted by stop_sequence. Each part is released once it is copied,
+         * and columnar stop times are then stored by trip pattern.
+         */
+        Builder stopTimes(String header, List<List<StopTime>> parts) {
+            List<StopTime> table = columnar ? new StopTimeTable() : new ArrayList<>();
+            for (int i = 0; i < parts.size(); i++) {
+                table.addAll(parts.get(i));
+                // Let each part be collected once it has been copied into the table
+                parts.set(i, null);
+            }
+            stopTimesHeader = header;
+            stopTimes = table;
+            if (table instanceof StopTimeTable) {
+                // Trips are stored by pattern, and the rows are released once that is done
+                PatternTable patterns = new PatternTable(table,
+                        ((StopTimeTable) table).indexByTrip());
+                stopTimes = patterns;
+                stopTimesByStop = Collections.unmodifiableMap(patterns.indexByStop());
+                stopTimesByTrip = Collections.unmodifiableMap(patterns.indexByTrip());
+                return this;
+            }
+            Map<String, List<StopTime>> byStop = new HashMap<>();
+            Map<String, List<StopTime>> byTrip = new HashMap<>();
+            for (StopTime stopTime : table) {
+                stopTime.publish();
+                byStop.computeIfAbsent(stopTime.getStopId(), key -> new ArrayList<>())
+                        .add(stopTime);
+                byTrip.computeIfAbsent(stopTime.getTripId(), key -> new ArrayList<>())
+                        .add(stopTime);
+            }
+            Comparator<StopTime> bySequence = Comparator.comparingInt(StopTime::getStopSequence);
+            for (List<StopTime> list : byStop.values()) {
+                list.sort(bySequence);
+            }
+            for (List<StopTime> list : byTrip.values()) {
+                list.sort(bySequence);
+            }
+            stopTimesByStop = Collections.unmodifiableMap(byStop);
+            stopTimesByTrip = Collections.unmodifiableMap(byTrip);
+            return this;
+        }
+
+        /**
+         * Sets tables and indexes read from a snapshot, which are used as they are
+         */
+        Builder snapshot(Snapshot snapshot) {
+            Map<String, Route> routeMap = new HashMap<>();
+            for (Route route : snapshot.routes) {
+                routeMap.put(route.getId(), route);
+            }
+            routes(snapshot.routesHeader, routeMap);
+            Map<String, Stop> stopMap = new HashMap<>();
+            for (Stop stop : snapshot.stops) {
+                stopMap.put(stop.getId(), stop);
+            }
+            stops(snapshot.stopsHeader, stopMap, snapshot.meanLatitude, snapshot.meanLongitude);
+            Map<String, Trip> tripMap = new HashMap<>();
+            for (Trip trip : snapshot.trips) {
+                tripMap.put(trip.getId(), trip);
+            }
+            tripsHeader = snapshot.tripsHeader;
+            trips = Collections.unmodifiableMap(tripMap);
+            tripsByRoute = Collections.unmodifiableMap(snapshot.tripsByRoute);
+            stopTimesHeader = snapshot.stopTimesHeader;
+            stopTimes = snapshot.stopTimes;
+            stopTimesByStop = Collections.unmodifiableMap(snapshot.stopTimesByStop);
+            stopTimesByTrip = Collections.unmodifiableMap(snapshot.stopTimesByTrip);
+            calendar = new ServiceCalendar(snapshot.servicePeriods, snapshot.calendarDates);
+            return this;
+        }
+
+        /**
+         * Applies the changes of an edit to the tables and indexes, which must be those of
+         * the state the edit started from. Departures are rebuilt only for changed stops,
+         * the journey planners are kept unless something they are built from changed, the
+         * centre of the feed is moved by the mean of how far stops moved, and the list of
+         * all stop times is collected again only when it is needed.
+         */
+        Builder edit(FeedEdit edit) {
+            routes = edit.routes.applyTo(routes);
+            stops = edit.stops.applyTo(stops);
+            trips = edit.trips.applyTo(trips);
+            stopTimesByStop = edit.stopTimesByStop.applyTo(stopTimesByStop);
+            stopTimesByTrip = edit.stopTimesByTrip.applyTo(stopTimesByTrip);
+            tripsByRoute = edit.tripsByRoute.applyTo(tripsByRoute);
+            changedStops = edit.changedStops;
+            edit.publishCopies();
+            stopIndex = stopIndex.update(edit.replacedStops, stops);
+            keepPlanners = !edit.hasRoutingChanges();
+            if (!edit.movedStops.isEmpty() && !stops.isEmpty()) {
+                // Edits do not add or remove stops, so the mean moves by the mean shift
+                meanLatitude += edit.getLatitudeShift() / stops.size();
+                meanLongitude += edit.getLongitudeShift() / stops.size();
+            }
+            if (!edit.stopTimesByTrip.isEmpty() || !edit.stopTimesByStop.isEmpty()) {
+                // Edited stop times are copies that the imported list does not hold
+                stopTimes = null;
+            }
+            return this;
+        }
+
+        /**
+         * Creates the state
+         */
+        FeedState build() {
+            return new FeedState(this);
+        }
+    }
+}
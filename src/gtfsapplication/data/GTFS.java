@@ -36,16 +36,28 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.time.Duration;
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Scanner;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
 
 /**
  * Data implementation for GTFS
@@ -54,20 +66,59 @@ import java.util.stream.Collectors;
  * @version 10/11/2020
  */
 public class GTFS implements Subject {
-    private final HashMap<String, Route> routes = new HashMap<>();
-    private final HashMap<String, Stop> stops = new HashMap<>();
-    private final HashMap<String, Trip> trips = new HashMap<>();
-    private final List<StopTime> stopTimes = new ArrayList<>();
+    private static final List<String> TABLE_NAMES =
+            Arrays.asList("routes.txt", "stops.txt", "trips.txt", "stop_times.txt");
+    private static final Set<String> FILE_NAMES = new HashSet<>(
+            Arrays.asList("routes.txt", "stops.txt", "trips.txt", "stop_times.txt",
+                    "calendar.txt", "calendar_dates.txt"));
 
-    private final List<Observer> observers = new ArrayList<>();
+    // Everything imported, replaced as a whole by each import. Queries read it once
+    // so that an import running at the same time never shows them a half-replaced feed.
+    private volatile FeedState state;
+    private final boolean columnar;
+    // Imports build on the current state, so only one may run at a time
+    private final Object importLock = new Object();
 
-    private String routesHeader;
-    private String stopsHeader;
-    private String tripsHeader;
-    private String stopTimesHeader;
+    private final List<NotificationDispatcher> observers = new CopyOnWriteArrayList<>();
+    // Values shared by the published state, replaced along with it by an import of a
+    // whole feed so that the values of the old feed can be collected
+    private volatile SymbolTable symbols = new SymbolTable();
+    private boolean shareSymbols = true;
 
-    private double meanLatitude;
-    private double meanLongitude;
+    /**
+     * Creates an empty GTFS object that keeps imported stop times by trip pattern
+     */
+    public GTFS() {
+        this(true);
+    }
+
+    /**
+     * Creates an empty GTFS object
+     *
+     * @param columnarStopTimes true to keep imported stop times by trip pattern in a
+     *                          PatternTable, which uses far less memory for large feeds;
+     *                          false to keep StopTime objects
+     */
+    public GTFS(boolean columnarStopTimes) {
+        columnar = columnarStopTimes;
+        state = new FeedState.Builder(null, columnar).build();
+    }
+
+    private GTFS(FeedState state, boolean columnar) {
+        this.state = state;
+        this.columnar = columnar;
+    }
+
+    /**
+     * Gets a GTFS object that answers every query from the feed as it is now. Later
+     * imports and edits of this object do not change it, so several queries made on it
+     * always agree with each other.
+     *
+     * @return a GTFS object with this feed and no observers
+     */
+    public GTFS getView() {
+        return new GTFS(state, columnar);
+    }
 
     /**
      * Takes a file, determines what type of file it is,
@@ -77,150 +128,356 @@ public class GTFS implements Subject {
      * @throws GTFSException if an error is to be shown to the user
      */
     public void importFile(File file) throws GTFSException {
-        if (!file.exists()) {
-            throw new GTFSException(file.getName() + " does not exist.");
+        if (file.getName().toLowerCase().endsWith(".zip")) {
+            importZip(file);
+        } else {
+            importFiles(Collections.singletonList(file));
         }
-        try {
-            switch (file.getName().toLowerCase()) {
-                case "routes.txt":
-                    routes.clear();
-                    importRouteFile(file);
-                    break;
-                case "trips.txt":
-                    trips.clear();
-                    importTripFile(file);
-                    break;
-                case "stop_times.txt":
-                    stopTimes.clear();
-                    importStopTimesFile(file);
-                    break;
-                case "stops.txt":
-                    stops.clear();
-                    importStopFile(file);
-                    break;
-                default:
-                    throw new GTFSException("The application only accepts routes.txt," +
-                            "trips.txt, stop_times.txt, or stops.txt");
+    }
+
+    /**
+     * Imports every GTFS file in a directory
+     *
+     * @param directory directory containing routes.txt, stops.txt, trips.txt, stop_times.txt,
+     *                  calendar.txt and/or calendar_dates.txt
+     * @throws GTFSException if an error is to be shown to the user
+     */
+    public void importFeed(File directory) throws GTFSException {
+        File[] files = directory.listFiles(
+                file -> FILE_NAMES.contains(file.getName().toLowerCase()) && file.isFile());
+        if (files == null || files.length == 0) {
+            throw new GTFSException("No GTFS files were found in " + directory.getName() + ".");
+        }
+        importFiles(Arrays.asList(files));
+    }
+
+    /**
+     * Imports several GTFS files at once
+     * <p>
+     * The files are read in parallel, and large files are split into ranges that are read
+     * in parallel. Nothing is replaced unless every file is read, and indexes are rebuilt
+     * and observers notified once after all of the files are stored.
+     *
+     * @param files files to import, each named routes.txt, stops.txt, trips.txt,
+     *              stop_times.txt, calendar.txt or calendar_dates.txt
+     * @throws GTFSException if an error is to be shown to the user
+     */
+    public void importFiles(List<File> files) throws GTFSException {
+        importFiles(files, new ImportProgress());
+    }
+
+    /**
+     * Imports several GTFS files at once, reporting progress as they are read
+     * <p>
+     * This may be called from any thread, and several imports may run at once. Observers
+     * are notified through the executor they were added with.
+     *
+     * @param files files to import, each named routes.txt, stops.txt, trips.txt,
+     *              stop_times.txt, calendar.txt or calendar_dates.txt
+     * @param progress progress that the files read are added to; cancelling it stops the
+     *                 import without replacing anything
+     * @return the rows imported and rejected from these files alone
+     * @throws GTFSException if an error is to be shown to the user, or the import was cancelled
+     */
+    public ImportReport importFiles(List<File> files, ImportProgress progress)
+            throws GTFSException {
+        Map<String, FeedImporter.Source> sources = new HashMap<>();
+        for (File file : files) {
+            if (!file.exists()) {
+                throw new GTFSException(file.getName() + " does not exist.");
             }
-            List<Object> objects = new ArrayList<>();
-            objects.add("All Routes:");
-            objects.addAll(routes.values());
-            notifyObservers(objects);
-        } catch (IllegalArgumentException ex) {
-            throw new GTFSException(ex.getMessage());
-        }
-    }
-
-    /**
-     * Imports and stores a stop file
-     *
-     * @author William Lauer
-     * @param file stop file
-     * @throws GTFSException if an error should be shown to the user
-     */
-    private void importStopFile(File file) throws GTFSException {
-        try (Scanner reader = new Scanner(file)) {
-            String header = reader.nextLine();
-            List<String> fields = Stop.validateHeader(header);
-            stopsHeader = header; // Valid because validateHeader throws an exception
-            double latitude = Double.MIN_VALUE;
-            double longitude = Double.MIN_VALUE;
-            while (reader.hasNextLine()) {
-                String line = reader.nextLine();
-                if (Stop.validateLine(fields, line)) {
-                    Stop stop = new Stop(fields, line);
-                    stops.put(stop.getId(), stop);
-
-                    if (latitude == Double.MIN_VALUE || longitude == Double.MIN_VALUE) {
-                        latitude = stop.getLatitude();
-                        longitude = stop.getLongitude();
-                    } else {
-                        latitude += stop.getLatitude();
-                        latitude /= 2;
-                        longitude += stop.getLongitude();
-                        longitude /= 2;
-                    }
-                }
+            String name = file.getName().toLowerCase();
+            if (!FILE_NAMES.contains(name)) {
+                throw new GTFSException("The application only accepts routes.txt, " +
+                        "trips.txt, stop_times.txt, stops.txt, calendar.txt, " +
+                        "or calendar_dates.txt");
             }
-            this.meanLatitude = latitude;
-            this.meanLongitude = longitude;
-        } catch (FileNotFoundException ex) {
-            throw new GTFSException("The stops.txt file did not exist.");
+            sources.put(name, FeedImporter.Source.of(file));
         }
+        return importSources(sources, progress);
     }
 
     /**
-     * Imports and stores a route file
+     * Imports the GTFS files in a zip archive without extracting them
+     * <p>
+     * Entries are inflated in parallel and streamed straight into the tokenizer.
+     * Files in a folder inside the archive are found as well.
      *
-     * @author Kenneth McDonough
-     * @param file route file
-     * @throws GTFSException if an error should be shown to the user
-     */
-    private void importRouteFile(File file) throws GTFSException {
-        try (Scanner reader = new Scanner(file)) {
-            String header = reader.nextLine();
-            List<String> fields = Route.validateHeader(header);
-            routesHeader = header; // Valid because validateHeader throws an exception
-            while (reader.hasNextLine()) {
-                String line = reader.nextLine();
-                if (Route.validateLine(fields, line)) {
-                    Route route = new Route(fields, line);
-                    routes.put(route.getId(), route);
+     * @param zip zip archive containing routes.txt, stops.txt, trips.txt, stop_times.txt,
+     *            calendar.txt and/or calendar_dates.txt
+     * @throws GTFSException if an error is to be shown to the user
+     */
+    public void importZip(File zip) throws GTFSException {
+        importZip(zip, new ImportProgress());
+    }
+
+    /**
+     * Imports the GTFS files in a zip archive, reporting progress as they are read
+     * <p>
+     * This may be called from any thread, and several imports may run at once. Observers
+     * are notified through the executor they were added with.
+     *
+     * @param zip zip archive containing routes.txt, stops.txt, trips.txt, stop_times.txt,
+     *            calendar.txt and/or calendar_dates.txt
+     * @param progress progress that the entries read are added to; cancelling it stops the
+     *                 import without replacing anything
+     * @return the rows imported and rejected from the files in the archive
+     * @throws GTFSException if an error is to be shown to the user, or the import was cancelled
+     */
+    public ImportReport importZip(File zip, ImportProgress progress) throws GTFSException {
+        if (!zip.exists()) {
+            throw new GTFSException(zip.getName() + " does not exist.");
+        }
+        try (ZipFile zipFile = new ZipFile(zip, StandardCharsets.UTF_8)) {
+            Map<String, FeedImporter.Source> sources = new HashMap<>();
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                String path = entry.getName();
+                String name = path.substring(path.lastIndexOf('/') + 1).toLowerCase();
+                if (!entry.isDirectory() && !path.startsWith("__MACOSX/")
+                        && FILE_NAMES.contains(name)) {
+                    sources.putIfAbsent(name, FeedImporter.Source.of(zipFile, entry));
                 }
             }
-        } catch (FileNotFoundException ex) {
-            throw new GTFSException("The routes.txt file did not exist.");
+            if (sources.isEmpty()) {
+                throw new GTFSException("No GTFS files were found in " + zip.getName() + ".");
+            }
+            return importSources(sources, progress);
+        } catch (ZipException ex) {
+            throw new GTFSException(zip.getName() + " is not a valid zip file.");
+        } catch (IOException ex) {
+            throw new GTFSException("An error occurred reading " + zip.getName() + ".");
         }
     }
 
     /**
-     * Imports and stores a trip file
+     * Reads GTFS files in parallel, then publishes them with rebuilt indexes as a new state
+     * <p>
+     * Files are read without holding the import lock, so several imports read at the same
+     * time. Each one then builds on the state published before it.
      *
-     * @author Kenneth McDonough, Thy Le
-     * @param file trip file
-     * @throws GTFSException if error occurs while reading txt file
+     * @param sources files to read by file name, such as stops.txt
+     * @param progress progress of the import, which stops it if it is cancelled
+     * @return the rows imported and rejected from the files read
+     * @throws GTFSException if an error is to be shown to the user
      */
-    private void importTripFile(File file) throws GTFSException {
-        try (Scanner reader = new Scanner(file)) {
-            String header = reader.nextLine();
-            List<String> fields = Trip.validateHeader(header);
-            tripsHeader = header; // Valid because validateHeader throws an exception
-            while (reader.hasNextLine()) {
-                String line = reader.nextLine();
-                if (Trip.validateLine(fields, line)) {
-                    Trip trip = new Trip(fields, line);
-                    trips.put(trip.getId(), trip);
+    private ImportReport importSources(Map<String, FeedImporter.Source> sources,
+                                       ImportProgress progress) throws GTFSException {
+        // Every main table being replaced, the values of the old feed are not shared
+        boolean wholeFeed = sources.keySet().containsAll(TABLE_NAMES);
+        SymbolTable importSymbols = wholeFeed ? new SymbolTable() : new SymbolTable(symbols);
+        FeedImporter importer = new FeedImporter(ForkJoinPool.commonPool(),
+                shareSymbols ? importSymbols : null, progress);
+        FeedImporter.TableTask<Route> routeTask = sources.containsKey("routes.txt")
+                ? importer.submit(sources.get("routes.txt"), "routes.txt",
+                        Route::validateHeader, Route::fromRow, ArrayList::new)
+                : null;
+        FeedImporter.TableTask<Stop> stopTask = sources.containsKey("stops.txt")
+                ? importer.submit(sources.get("stops.txt"), "stops.txt",
+                        Stop::validateHeader, Stop::fromRow, ArrayList::new)
+                : null;
+        FeedImporter.TableTask<Trip> tripTask = sources.containsKey("trips.txt")
+                ? importer.submit(sources.get("trips.txt"), "trips.txt",
+                        Trip::validateHeader, Trip::fromRow, ArrayList::new)
+                : null;
+        FeedImporter.TableTask<StopTime> stopTimeTask = sources.containsKey("stop_times.txt")
+                ? importer.submit(sources.get("stop_times.txt"), "stop_times.txt",
+                        StopTime::validateHeader, StopTime::fromRow,
+                        () -> columnar ? new StopTimeTable() : new ArrayList<>())
+                : null;
+        FeedImporter.TableTask<ServicePeriod> periodTask = sources.containsKey("calendar.txt")
+                ? importer.submit(sources.get("calendar.txt"), "calendar.txt",
+                        ServicePeriod::validateHeader, ServicePeriod::fromRow, ArrayList::new)
+                : null;
+        FeedImporter.TableTask<CalendarDate> dateTask =
+                sources.containsKey("calendar_dates.txt")
+                ? importer.submit(sources.get("calendar_dates.txt"), "calendar_dates.txt",
+                        CalendarDate::validateHeader, CalendarDate::fromRow, ArrayList::new)
+                : null;
+
+        // Wait for every file so that nothing is replaced if one of them fails
+        FeedImporter.awaitAll(routeTask, stopTask, tripTask, stopTimeTask, periodTask,
+                dateTask);
+        FeedImporter.Table<Route> routeTable = routeTask == null
+                ? null : FeedImporter.join(routeTask);
+        FeedImporter.Table<Stop> stopTable = stopTask == null
+                ? null : FeedImporter.join(stopTask);
+        FeedImporter.Table<Trip> tripTable = tripTask == null
+                ? null : FeedImporter.join(tripTask);
+        FeedImporter.Table<StopTime> stopTimeTable = stopTimeTask == null
+                ? null : FeedImporter.join(stopTimeTask);
+        FeedImporter.Table<ServicePeriod> periodTable = periodTask == null
+                ? null : FeedImporter.join(periodTask);
+        FeedImporter.Table<CalendarDate> dateTable = dateTask == null
+                ? null : FeedImporter.join(dateTask);
+
+        ImportReport report = new ImportReport();
+        FeedChange change;
+        synchronized (importLock) {
+            if (progress.isCancelled()) {
+                throw new GTFSException("The import was cancelled.");
+            }
+            FeedState.Builder builder = new FeedState.Builder(state, columnar);
+            if (routeTable != null) {
+                builder.routes(routeTable.getHeader(), routeTable.getParts());
+                storeReport(report, "routes.txt", routeTable);
+            }
+            if (stopTable != null) {
+                builder.stops(stopTable.getHeader(), stopTable.getParts());
+                storeReport(report, "stops.txt", stopTable);
+            }
+            if (periodTable != null || dateTable != null) {
+                builder.calendar(periodTable == null ? null : periodTable.getParts(),
+                        dateTable == null ? null : dateTable.getParts());
+                if (periodTable != null) {
+                    storeReport(report, "calendar.txt", periodTable);
+                }
+                if (dateTable != null) {
+                    storeReport(report, "calendar_dates.txt", dateTable);
                 }
             }
-        } catch (FileNotFoundException ex) {
-            throw new GTFSException("The routes.txt file did not exist.");
+            // Trips and stop times are the largest tables, so index them at the same time
+            ForkJoinTask<?> tripIndex = tripTable == null ? null : ForkJoinPool.commonPool()
+                    .submit(() -> builder.trips(tripTable.getHeader(), tripTable.getParts()));
+            if (stopTimeTable != null) {
+                builder.stopTimes(stopTimeTable.getHeader(), stopTimeTable.getParts());
+                storeReport(report, "stop_times.txt", stopTimeTable);
+            }
+            if (tripIndex != null) {
+                tripIndex.join();
+                storeReport(report, "trips.txt", tripTable);
+            }
+            FeedState before = state;
+            state = builder.report(report).build();
+            if (wholeFeed) {
+                symbols = importSymbols;
+            } else {
+                symbols.merge(importSymbols);
+            }
+            change = FeedChange.between(before, state);
         }
+        publish(change);
+        return report.readOnly();
+    }
+
+    private static void storeReport(ImportReport report, String filename,
+                                    FeedImporter.Table<?> table) {
+        report.start(filename);
+        report.merge(table.getReport(), 0);
     }
 
     /**
-     * Imports and stores a stop times file
+     * Saves everything that has been imported, including the indexes, to a binary snapshot.
+     * Loading a snapshot is much faster than importing the text files again; use export
+     * to share the data with other applications.
      *
-     * @author Luke Miller
-     * @param file stop times file
-     * @throws GTFSException if an error should be shown to the user
-     */
-    private void importStopTimesFile(File file) throws GTFSException {
-        try (Scanner reader = new Scanner(file)) {
-            String header = reader.nextLine();
-            List<String> fields = StopTime.validateHeader(header);
-            stopTimesHeader = header; // Valid because validateHeader throws an exception
-            while (reader.hasNextLine()) {
-                String line = reader.nextLine();
-                if (StopTime.validateLine(fields, line)) {
-                    StopTime stopTime = new StopTime(fields, line);
-                    stopTimes.add(stopTime);
-                }
+     * @param file file to save to, replacing it if it exists
+     * @throws GTFSException if an error is to be shown to the user
+     */
+    public void saveSnapshot(File file) throws GTFSException {
+        FeedState feed = state;
+        Snapshot snapshot = new Snapshot();
+        snapshot.routesHeader = feed.routesHeader;
+        snapshot.stopsHeader = feed.stopsHeader;
+        snapshot.tripsHeader = feed.tripsHeader;
+        snapshot.stopTimesHeader = feed.stopTimesHeader;
+        snapshot.meanLatitude = feed.meanLatitude;
+        snapshot.meanLongitude = feed.meanLongitude;
+        snapshot.routes = new ArrayList<>(feed.routes.values());
+        snapshot.stops = new ArrayList<>(feed.stops.values());
+        snapshot.trips = new ArrayList<>(feed.trips.values());
+        snapshot.stopTimes = feed.getStopTimes();
+        snapshot.stopTimesByStop = feed.stopTimesByStop;
+        snapshot.stopTimesByTrip = feed.stopTimesByTrip;
+        snapshot.tripsByRoute = feed.tripsByRoute;
+        snapshot.servicePeriods = feed.calendar.getPeriods();
+        snapshot.calendarDates = feed.calendar.getDates();
+        try {
+            snapshot.write(file);
+        } catch (IOException ex) {
+            throw new GTFSException("An error occurred saving " + file.getName() + ".");
+        }
+    }
+
+    /**
+     * Replaces everything that has been imported with a snapshot saved by saveSnapshot
+     *
+     * @param file snapshot file
+     * @throws GTFSException if an error is to be shown to the user
+     */
+    public void loadSnapshot(File file) throws GTFSException {
+        if (!file.exists()) {
+            throw new GTFSException(file.getName() + " does not exist.");
+        }
+        FeedChange change;
+        synchronized (importLock) {
+            Snapshot snapshot;
+            SymbolTable snapshotSymbols = new SymbolTable();
+            try {
+                snapshot = Snapshot.read(file, columnar, shareSymbols ? snapshotSymbols : null);
+            } catch (IOException ex) {
+                throw new GTFSException("An error occurred reading " + file.getName() + ".");
             }
-        } catch (FileNotFoundException ex) {
-            throw new GTFSException("The stop_times.txt file did not exist.");
+            if (snapshot.routesHeader != null) {
+                // Routes are exported in the order of the fields of the last header imported
+                Route.setPresentFields(Route.validateHeader(snapshot.routesHeader));
+            }
+            FeedState before = state;
+            state = new FeedState.Builder(null, columnar).snapshot(snapshot).build();
+            symbols = snapshotSymbols;
+            change = FeedChange.between(before, state);
+        }
+        publish(change);
+    }
+
+    /**
+     * Changes routes, stops, trips and stop times in one transaction
+     * <p>
+     * Only the map and index entries whose keys change are updated, and departures are
+     * rebuilt only for the stops whose stop times changed. The changed maps and indexes
+     * are published together when the edits finish, and observers are notified once
+     * with the routes that changed.
+     * Edits change copies of the objects they are given, so queries running meanwhile
+     * keep seeing the feed as it was. If an edit throws, nothing is published.
+     *
+     * @param edits makes the changes through the given FeedEdit
+     */
+    public void edit(Consumer<FeedEdit> edits) {
+        FeedChange change = null;
+        synchronized (importLock) {
+            FeedEdit edit = new FeedEdit(state);
+            edits.accept(edit);
+            if (edit.hasChanges()) {
+                FeedState before = state;
+                state = new FeedState.Builder(state, columnar).edit(edit).build();
+                change = FeedChange.of(before, state, edit);
+            }
+        }
+        if (change != null) {
+            publish(change);
         }
     }
 
+    /**
+     * Sets whether equal ids and headsigns share one String. They do unless this is
+     * turned off, which is only useful to measure how much memory sharing saves.
+     *
+     * @param shareSymbols false to create a String for every value imported
+     */
+    void setShareSymbols(boolean shareSymbols) {
+        this.shareSymbols = shareSymbols;
+    }
+
+    /**
+     * Gets the number of distinct ids and headsigns shared by the imported objects
+     *
+     * @return number of shared values
+     */
+    int getSymbolCount() {
+        return symbols.size();
+    }
+
     /**
      * Gets a route by its id
      *
@@ -228,7 +485,7 @@ public class GTFS implements Subject {
      * @return the route
      */
     public Route getRoute(String routeId) {
-        return routes.get(routeId);
+        return state.routes.get(routeId);
     }
 
     /**
@@ -237,7 +494,7 @@ public class GTFS implements Subject {
      * @return all routes
      */
     public List<Route> getRoutes() {
-        return new ArrayList<>(this.routes.values());
+        return new ArrayList<>(state.routes.values());
     }
 
     /**
@@ -247,7 +504,50 @@ public class GTFS implements Subject {
      * @return the stop
      */
     public Stop getStop(String stopId) {
-        return stops.get(stopId);
+        return state.stops.get(stopId);
+    }
+
+    /**
+     * Get all stops in GTFS
+     *
+     * @return all stops
+     */
+    public List<Stop> getStops() {
+        return new ArrayList<>(state.stops.values());
+    }
+
+    /**
+     * Gets the stops nearest to a point
+     *
+     * @param latitude latitude of the point
+     * @param longitude longitude of the point
+     * @param count maximum number of stops to get
+     * @return up to count stops, nearest first
+     */
+    public List<Stop> getNearestStops(double latitude, double longitude, int count) {
+        return state.stopIndex.getNearest(latitude, longitude, count);
+    }
+
+    /**
+     * Gets the stops within a distance of a point
+     *
+     * @param latitude latitude of the point
+     * @param longitude longitude of the point
+     * @param meters greatest distance from the point
+     * @return the stops, nearest first
+     */
+    public List<Stop> getStopsWithin(double latitude, double longitude, double meters) {
+        return state.stopIndex.getWithin(latitude, longitude, meters);
+    }
+
+    /**
+     * Gets the index of stop positions, which is rebuilt when stops are imported and
+     * updated when a stop is moved
+     *
+     * @return the stop index
+     */
+    public StopIndex getStopIndex() {
+        return state.stopIndex;
     }
 
     /**
@@ -255,17 +555,30 @@ public class GTFS implements Subject {
      *
      * @param stopId stopId to search
      * @param tripId tripId to search
-     * @return the stop time
+     * @return the stop time, which cannot be changed except through edit
      */
     public StopTime getStopTime(String stopId, String tripId) {
-        for (StopTime stopTime : stopTimes) {
-            if (stopTime.getStopId().equals(stopId) && stopTime.getTripId().equals(tripId)) {
+        for (StopTime stopTime : state.stopTimesByTrip.getOrDefault(tripId,
+                Collections.emptyList())) {
+            if (stopTime.getStopId().equals(stopId)) {
                 return stopTime;
             }
         }
         return null;
     }
 
+    /**
+     * Gets the stop times of a trip
+     *
+     * @param trip trip to search
+     * @return stop times of the trip, in stop_sequence order, which cannot be changed
+     * except through edit
+     */
+    public List<StopTime> getStopTimesOnTrip(Trip trip) {
+        return Collections.unmodifiableList(
+                state.stopTimesByTrip.getOrDefault(trip.getId(), Collections.emptyList()));
+    }
+
     /**
      * Searches for a stop and shows all routes that stop there and the next trip for each route
      * Feature 5 & 8
@@ -273,9 +586,10 @@ public class GTFS implements Subject {
      * @param stop stop to search
      */
     public void searchByStop(Stop stop) {
+        GTFS feed = getView();
         List<Object> items = new ArrayList<>();
-        List<Route> routes = getRoutesContainingStop(stop);
-        List<Trip> trips = getUpcomingTrips(stop);
+        List<Route> routes = feed.getRoutesContainingStop(stop);
+        List<Trip> trips = feed.getUpcomingTrips(stop);
         items.add(stop);
         items.add("All Routes containing stop " + stop.getId());
         items.addAll(routes);
@@ -291,12 +605,13 @@ public class GTFS implements Subject {
      * @param route route to search
      */
     public void searchByRoute(Route route) {
+        GTFS feed = getView();
         List<Object> items = new ArrayList<>();
-        List<Stop> stops = getStopsOnRoute(route);
+        List<Stop> stops = feed.getStopsOnRoute(route);
         items.add(route);
         items.add("All stops on route " + route.getId() + ":");
         items.addAll(stops);
-        List<Trip> trips = getFutureTripsOnRoute(route);
+        List<Trip> trips = feed.getFutureTripsOnRoute(route);
         items.add("All future trips on route " + route.getId() + ":");
         items.addAll(trips);
         notifyObservers(items);
@@ -310,21 +625,19 @@ public class GTFS implements Subject {
      * @return all routes containing stop
      */
     public List<Route> getRoutesContainingStop(Stop stop) {
-        List<Route> routeList = new ArrayList<>();
-        for (StopTime stopTime : stopTimes) {
-            if (stopTime.getStopId().equals(stop.getId())) {
-                Trip trip = getTrip(stopTime.getTripId());
-                if (trip != null) {
-                    Route route = getRoute(trip.getRouteId());
-                    if (route != null) {
-                        if (!routeList.contains(route)) {
-                            routeList.add(route);
-                        }
-                    }
+        FeedState feed = state;
+        Set<Route> routeSet = new LinkedHashSet<>();
+        for (StopTime stopTime : feed.stopTimesByStop.getOrDefault(stop.getId(),
+                Collections.emptyList())) {
+            Trip trip = feed.trips.get(stopTime.getTripId());
+            if (trip != null) {
+                Route route = feed.routes.get(trip.getRouteId());
+                if (route != null) {
+                    routeSet.add(route);
                 }
             }
         }
-        return routeList;
+        return new ArrayList<>(routeSet);
     }
 
     /**
@@ -334,49 +647,58 @@ public class GTFS implements Subject {
      * @return list of all stops on routes
      */
     public List<Stop> getStopsOnRoute(Route route) {
-        List<Stop> stopList = new ArrayList<>();
-        for (Trip trip : trips.values()) {
-            if (trip.getRouteId().equalsIgnoreCase(route.getId())) {
+        FeedState feed = state;
+        // Trips stored by pattern share one shape, so the stops of each shape are read once
+        Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<Stop> stopSet = new LinkedHashSet<>();
+        for (Trip trip : feed.tripsByRoute.getOrDefault(route.getId(), Collections.emptyList())) {
+            List<StopTime> stopTimes = feed.stopTimesByTrip.getOrDefault(trip.getId(),
+                    Collections.emptyList());
+            Object shape = PatternTable.shapeOf(stopTimes);
+            if (shape == null || seen.add(shape)) {
                 for (StopTime stopTime : stopTimes) {
-                    if (stopTime.getTripId().equalsIgnoreCase(trip.getId())) {
-                        Stop stop = getStop(stopTime.getStopId());
-                        if (stop != null && !stopList.contains(stop)) {
-                            stopList.add(stop);
-                        }
+                    Stop stop = feed.stops.get(stopTime.getStopId());
+                    if (stop != null) {
+                        stopSet.add(stop);
                     }
                 }
             }
         }
-        return stopList;
+        return new ArrayList<>(stopSet);
     }
 
     /**
      * Gets all trips happening in the future on a route
      *
      * @param route route to search on
-     * @return list of all future trips on route
+     * @return list of all trips on the route that run today, or ran yesterday and are still
+     * running after midnight, and still arrive at a stop after the current time
      */
     public List<Trip> getFutureTripsOnRoute(Route route) {
-        LocalTime currentTime = LocalTime.now().truncatedTo(ChronoUnit.SECONDS);
-        HashMap<Trip, Boolean> tripStatuses = new HashMap<>();
-        for (Trip trip : trips.values()) {
-            if (trip.getRouteId().equalsIgnoreCase(route.getId())) {
-                for (StopTime stopTime : stopTimes) {
-                    if (stopTime.getTripId().equalsIgnoreCase(trip.getId())) {
-                        if (!getDifference(
-                                currentTime.format(DateTimeFormatter.ISO_LOCAL_TIME),
-                                stopTime.getArrivalTime()).isNegative()
-                        ) {
-                            tripStatuses.put(trip, true);
-                        }
-                    }
+        LocalDateTime dateTime = LocalDateTime.now();
+        int now = dateTime.toLocalTime().toSecondOfDay();
+        long today = dateTime.toLocalDate().toEpochDay();
+        FeedState feed = state;
+        List<Trip> tripList = new ArrayList<>();
+        for (Trip trip : feed.tripsByRoute.getOrDefault(route.getId(), Collections.emptyList())) {
+            // Trips of yesterday's service are still running if they arrive after 24:00:00
+            int earliest;
+            if (feed.calendar.isRunning(trip, today)) {
+                earliest = now;
+            } else if (feed.calendar.isRunning(trip, today - 1)) {
+                earliest = now + DepartureBoard.SECONDS_PER_DAY;
+            } else {
+                continue;
+            }
+            for (StopTime stopTime : feed.stopTimesByTrip.getOrDefault(trip.getId(),
+                    Collections.emptyList())) {
+                if (stopTime.getArrivalSeconds() >= earliest) {
+                    tripList.add(trip);
+                    break;
                 }
             }
         }
-        return tripStatuses.entrySet().stream()
-                .filter(Map.Entry::getValue) // only include true values
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toList());
+        return tripList;
     }
 
     /**
@@ -384,38 +706,170 @@ public class GTFS implements Subject {
      *
      * @author Kenneth McDonough, Luke Miller, Thy Le, William Lauer
      * @param stop stop to search
-     * @return 1 upcoming trip for each route
+     * @return the next trip to leave the stop for each route, of the trips that run today
      */
     public List<Trip> getUpcomingTrips(Stop stop) {
-        HashMap<Route, Trip> upcomingTripsByRoute = new HashMap<>();
-
-        LocalTime currentTime = LocalTime.now().truncatedTo(ChronoUnit.SECONDS);
-        for (StopTime stopTime : stopTimes) {
-            if (stopTime.getStopId().equalsIgnoreCase(stop.getId())) {
-                Trip trip = getTrip(stopTime.getTripId());
-                if (trip != null && getRoute(trip.getRouteId()) != null) {
-                    Route route = getRoute(trip.getRouteId());
-                    Duration difference = getDifference(
-                            currentTime.format(DateTimeFormatter.ISO_LOCAL_TIME),
-                            stopTime.getArrivalTime()
-                    );
-                    if (!upcomingTripsByRoute.containsKey(route) && !difference.isNegative()) {
-                        upcomingTripsByRoute.put(route, trip);
-                    } else if (upcomingTripsByRoute.containsKey(route)) {
-                        StopTime time =
-                                getStopTime(stop.getId(), upcomingTripsByRoute.get(route).getId());
-                        Duration currentDifference = getDifference(
-                                currentTime.format(DateTimeFormatter.ISO_LOCAL_TIME),
-                                time.getArrivalTime()
-                        );
-                        if (!difference.minus(currentDifference).isNegative()) {
-                            upcomingTripsByRoute.put(route, trip);
-                        }
-                    }
+        LocalDateTime dateTime = LocalDateTime.now();
+        int now = dateTime.toLocalTime().toSecondOfDay();
+        FeedState feed = state;
+        DepartureBoard board = feed.getDepartureBoard();
+        DepartureBoard.TripFilter running = runningOn(feed, dateTime.toLocalDate());
+        List<Trip> tripList = new ArrayList<>();
+        for (String routeId : board.getRouteIds(stop.getId())) {
+            if (feed.routes.get(routeId) != null) {
+                for (Departure departure : board.getNextDepartures(stop.getId(), routeId, now, 1,
+                        running)) {
+                    tripList.add(feed.trips.get(departure.getTripId()));
                 }
             }
         }
-        return new ArrayList<>(upcomingTripsByRoute.values());
+        return tripList;
+    }
+
+    /**
+     * Gets the next departures from a stop
+     *
+     * @param stop stop to search
+     * @param route route to filter on, or null for every route
+     * @param time earliest departure time, in seconds since midnight
+     * @param count maximum number of departures to return
+     * @return departures in the order they leave
+     */
+    public List<Departure> getNextDepartures(Stop stop, Route route, int time, int count) {
+        return getDepartureBoard().getNextDepartures(
+                stop.getId(), route == null ? null : route.getId(), time, count);
+    }
+
+    /**
+     * Gets the next departures from a stop of the trips that run on a date
+     *
+     * @param stop stop to search
+     * @param route route to filter on, or null for every route
+     * @param date service date, whose previous day is checked for departures after midnight
+     * @param time earliest departure time, in seconds since midnight
+     * @param count maximum number of departures to return
+     * @return departures in the order they leave
+     */
+    public List<Departure> getNextDepartures(Stop stop, Route route, LocalDate date, int time,
+                                             int count) {
+        FeedState feed = state;
+        return feed.getDepartureBoard().getNextDepartures(stop.getId(),
+                route == null ? null : route.getId(), time, count, runningOn(feed, date));
+    }
+
+    /**
+     * Gets the dates each service runs on
+     *
+     * @return the service calendar, which is empty if no calendar files were imported
+     */
+    public ServiceCalendar getServiceCalendar() {
+        return state.calendar;
+    }
+
+    private static DepartureBoard.TripFilter runningOn(FeedState feed, LocalDate date) {
+        long day = date.toEpochDay();
+        if (feed.calendar.isEmpty()) {
+            return null;
+        }
+        return (tripId, serviceDayOffset) ->
+                feed.calendar.isRunning(feed.trips.get(tripId), day + serviceDayOffset);
+    }
+
+    /**
+     * Gets the departure board, building it if stop times or trips changed since it was built
+     *
+     * @return the departure board
+     */
+    public DepartureBoard getDepartureBoard() {
+        return state.getDepartureBoard();
+    }
+
+    /**
+     * Finds the journey from one stop to another that arrives first, changing trips as needed
+     *
+     * @param from stop to leave from
+     * @param to stop to arrive at
+     * @param time earliest departure time, in seconds since midnight
+     * @param minTransferTime seconds needed to change from one trip to another
+     * @return the legs of the journey, or an empty list if there is none
+     */
+    public List<Leg> planJourney(Stop from, Stop to, int time, int minTransferTime) {
+        return getJourneyPlanner().plan(from.getId(), to.getId(), time, minTransferTime);
+    }
+
+    /**
+     * Finds the journey from one stop to another that arrives first, riding only the trips
+     * that run on a date
+     *
+     * @param from stop to leave from
+     * @param to stop to arrive at
+     * @param date service date
+     * @param time earliest departure time, in seconds since midnight
+     * @param minTransferTime seconds needed to change from one trip to another
+     * @return the legs of the journey, or an empty list if there is none
+     */
+    public List<Leg> planJourney(Stop from, Stop to, LocalDate date, int time,
+                                 int minTransferTime) {
+        FeedState feed = state;
+        return feed.getJourneyPlanner().plan(from.getId(), to.getId(), time, minTransferTime,
+                runningOn(feed, date));
+    }
+
+    /**
+     * Gets the journey planner, building it if stop times or trips changed since it was built
+     *
+     * @return the journey planner
+     */
+    public JourneyPlanner getJourneyPlanner() {
+        return state.getJourneyPlanner();
+    }
+
+    /**
+     * Finds the journeys from one stop to another leaving within a window that are not
+     * beaten on departure time, arrival time and number of transfers by any other
+     *
+     * @param from stop to leave from
+     * @param to stop to arrive at
+     * @param earliest start of the window, in seconds since midnight
+     * @param latest end of the window, in seconds since midnight
+     * @param maxTransfers most transfers a journey may make
+     * @param minTransferTime seconds needed to change from one trip to another
+     * @return the journeys in order of departure, or an empty list if there are none
+     */
+    public List<Journey> planJourneys(Stop from, Stop to, int earliest, int latest,
+                                      int maxTransfers, int minTransferTime) {
+        return getRaptorRouter().route(from.getId(), to.getId(), earliest, latest,
+                maxTransfers, minTransferTime, true);
+    }
+
+    /**
+     * Finds the journeys from one stop to another leaving within a window that are not
+     * beaten on departure time, arrival time and number of transfers by any other, riding
+     * only the trips that run on a date
+     *
+     * @param from stop to leave from
+     * @param to stop to arrive at
+     * @param date service date
+     * @param earliest start of the window, in seconds since midnight
+     * @param latest end of the window, in seconds since midnight
+     * @param maxTransfers most transfers a journey may make
+     * @param minTransferTime seconds needed to change from one trip to another
+     * @return the journeys in order of departure, or an empty list if there are none
+     */
+    public List<Journey> planJourneys(Stop from, Stop to, LocalDate date, int earliest,
+                                      int latest, int maxTransfers, int minTransferTime) {
+        FeedState feed = state;
+        return feed.getRaptorRouter().route(from.getId(), to.getId(), earliest, latest,
+                maxTransfers, minTransferTime, true, runningOn(feed, date));
+    }
+
+    /**
+     * Gets the RAPTOR router, building it if stop times or trips changed since it was built
+     *
+     * @return the RAPTOR router
+     */
+    public RaptorRouter getRaptorRouter() {
+        return state.getRaptorRouter();
     }
 
     /**
@@ -425,15 +879,27 @@ public class GTFS implements Subject {
      * @return the trip
      */
     public Trip getTrip(String tripId) {
-        return trips.get(tripId);
+        return state.trips.get(tripId);
+    }
+
+    /**
+     * Gets the rows imported and rejected by the most recent import of each file
+     * <p>
+     * Imports that run at the same time may each replace files; the report returned by
+     * importFiles or importZip holds the results of that import alone.
+     *
+     * @return a read-only copy of the import report
+     */
+    public ImportReport getImportReport() {
+        return state.importReport;
     }
 
     public double getMeanLatitude() {
-        return this.meanLatitude;
+        return state.meanLatitude;
     }
 
     public double getMeanLongitude() {
-        return this.meanLongitude;
+        return state.meanLongitude;
     }
 
     /**
@@ -442,7 +908,7 @@ public class GTFS implements Subject {
      * @return true if stops exist, false otherwise
      */
     public boolean hasStops() {
-        return stops.size() >= 1;
+        return state.stops.size() >= 1;
     }
 
     /**
@@ -451,7 +917,7 @@ public class GTFS implements Subject {
      * @return true if stop times exist, false otherwise
      */
     public boolean hasStopTimes() {
-        return stopTimes.size() >= 1;
+        return !state.stopTimesByTrip.isEmpty();
     }
 
     /**
@@ -460,7 +926,7 @@ public class GTFS implements Subject {
      * @return true if routes exist, false otherwise
      */
     public boolean hasRoutes() {
-        return routes.size() >= 1;
+        return state.routes.size() >= 1;
     }
 
     /**
@@ -469,19 +935,36 @@ public class GTFS implements Subject {
      * @return true if trips exist, false otherwise
      */
     public boolean hasTrips() {
-        return trips.size() >= 1;
+        return state.trips.size() >= 1;
     }
 
 
     /**
-     * Adds an observer to the subject
+     * Adds an observer to the subject, which is notified on the thread that made the change
      *
      * @param observer observer to add
      */
     public void addObserver(Observer observer) {
-        if (observer != null && !observers.contains(observer)) {
-            observers.add(observer);
-            observer.update(new ArrayList<>(routes.values()));
+        addObserver(observer, Runnable::run);
+    }
+
+    /**
+     * Adds an observer that is notified through the given executor. Changes made while a
+     * notification is waiting to run are merged into it, so an executor that runs tasks on
+     * the next frame, such as Platform::runLater, notifies the observer at most once per
+     * frame however many files are imported.
+     *
+     * @param observer observer to add
+     * @param executor runs the notifications, on the thread the observer must be used from
+     */
+    public void addObserver(Observer observer, Executor executor) {
+        if (observer == null || findDispatcher(observer) != null) {
+            return;
+        }
+        NotificationDispatcher dispatcher = new NotificationDispatcher(observer, executor);
+        observers.add(dispatcher);
+        if (!state.routes.isEmpty()) {
+            dispatcher.post(allRoutes());
         }
     }
 
@@ -491,8 +974,9 @@ public class GTFS implements Subject {
      * @param observer observer to remove
      */
     public void deleteObserver(Observer observer) {
-        if (observer != null & observers.contains(observer)) {
-            observers.remove(observer);
+        NotificationDispatcher dispatcher = findDispatcher(observer);
+        if (dispatcher != null) {
+            observers.remove(dispatcher);
         }
     }
 
@@ -503,9 +987,34 @@ public class GTFS implements Subject {
      *                all other types ignored
      */
     public void notifyObservers(List<Object> objects) {
-        for (Observer o : observers) {
-            o.update(objects);
+        for (NotificationDispatcher dispatcher : observers) {
+            dispatcher.post(objects);
+        }
+    }
+
+    private void publish(FeedChange change) {
+        if (change.isEmpty()) {
+            return;
         }
+        for (NotificationDispatcher dispatcher : observers) {
+            dispatcher.post(change);
+        }
+    }
+
+    private NotificationDispatcher findDispatcher(Observer observer) {
+        for (NotificationDispatcher dispatcher : observers) {
+            if (dispatcher.getObserver() == observer) {
+                return dispatcher;
+            }
+        }
+        return null;
+    }
+
+    private List<Object> allRoutes() {
+        List<Object> routes = new ArrayList<>();
+        routes.add("All Routes:");
+        routes.addAll(getRoutes());
+        return routes;
     }
 
     /**
@@ -543,6 +1052,18 @@ public class GTFS implements Subject {
                     new File(directory.getAbsolutePath() + File.separator + "trips.txt")
             );
         }
+        // Without the calendar, a re-imported feed would run every trip every day
+        ServiceCalendar calendar = state.calendar;
+        if (!calendar.getPeriods().isEmpty()) {
+            exportCalendar(
+                    new File(directory.getAbsolutePath() + File.separator + "calendar.txt")
+            );
+        }
+        if (!calendar.getDates().isEmpty()) {
+            exportCalendarDates(
+                    new File(directory.getAbsolutePath() + File.separator + "calendar_dates.txt")
+            );
+        }
     }
 
     /**
@@ -556,11 +1077,12 @@ public class GTFS implements Subject {
         if (!hasStops()) {
             throw new GTFSException("There are no stops to export.");
         }
+        FeedState feed = state;
         createIfNotExists(file);
         try (PrintWriter writer = new PrintWriter(file)) {
-            writer.println(stopsHeader);
-            for (Stop stop : stops.values()) {
-                writer.println(stop);
+            writer.println(Stop.header());
+            for (Stop stop : feed.stops.values()) {
+                writer.println(stop.toRow());
             }
         } catch (FileNotFoundException ex) {
             throw new GTFSException("An error occurred exporting the stops file.");
@@ -578,11 +1100,12 @@ public class GTFS implements Subject {
         if (!hasStopTimes()) {
             throw new GTFSException("There are no stop times to export.");
         }
+        FeedState feed = state;
         createIfNotExists(file);
         try (PrintWriter writer = new PrintWriter(file)) {
-            writer.println(stopTimesHeader);
-            for (StopTime stopTime : stopTimes) {
-                writer.println(stopTime);
+            writer.println(StopTime.header());
+            for (StopTime stopTime : feed.getStopTimes()) {
+                writer.println(stopTime.toRow());
             }
         } catch (FileNotFoundException ex) {
             throw new GTFSException("An error occurred exporting the stop times file.");
@@ -600,10 +1123,11 @@ public class GTFS implements Subject {
         if (!hasRoutes()) {
             throw new GTFSException("There are no routes to export.");
         }
+        FeedState feed = state;
         createIfNotExists(file);
         try (PrintWriter writer = new PrintWriter(file)) {
-            writer.println(routesHeader);
-            for (Route route : routes.values()) {
+            writer.println(feed.routesHeader);
+            for (Route route : feed.routes.values()) {
                 writer.println(route);
             }
         } catch (FileNotFoundException ex) {
@@ -622,11 +1146,12 @@ public class GTFS implements Subject {
         if (!hasTrips()) {
             throw new GTFSException("There are no trips to export.");
         }
+        FeedState feed = state;
         createIfNotExists(file);
         try (PrintWriter writer = new PrintWriter(file)) {
-            writer.println(tripsHeader);
-            for (Trip trip : trips.values()) {
-                writer.println(trip);
+            writer.println(Trip.header());
+            for (Trip trip : feed.trips.values()) {
+                writer.println(trip.toRow());
             }
         } catch (FileNotFoundException ex) {
             throw new GTFSException("An error occurred exporting the trips file.");
@@ -634,36 +1159,46 @@ public class GTFS implements Subject {
     }
 
     /**
-     * Gets the difference between two times
+     * Exports the service periods of calendar.txt to the specified location
      *
-     * @param time1 Format should be HH:mm:ss (may pass midnight)
-     * @param time2 Format should be HH:mm:ss (may pass midnight)
-     * @return duration between two stops
+     * @param file location; file name MUST be calendar.txt
+     * @throws GTFSException if an error is to be showed to the user
      */
-    private Duration getDifference(String time1, String time2) {
-        if (time1.split(":").length < 2 ||
-                time2.split(":").length < 2) {
-            throw new IllegalArgumentException(time1 + " and/or " + time2 + " are invalid times.");
+    public void exportCalendar(File file) throws GTFSException {
+        List<ServicePeriod> periods = state.calendar.getPeriods();
+        if (periods.isEmpty()) {
+            throw new GTFSException("There are no service periods to export.");
         }
-        try {
-            String[] tg1 = time1.split(":");
-            String[] tg2 = time2.split(":");
-
-            int hour1 = Integer.parseInt(tg1[0]);
-            int minute1 = Integer.parseInt(tg1[1]);
-            int second1 = tg1[2] == null ? 0 : Integer.parseInt(tg1[2]);
-
-            int hour2 = Integer.parseInt(tg2[0]);
-            int minute2 = Integer.parseInt(tg2[1]);
-            int second2 = tg2[2] == null ? 0 : Integer.parseInt(tg2[2]);
-
-            int hourDiff = hour1 - hour2;
-            int minuteDiff = minute1 - minute2;
-            int secondDiff = second1 - second2;
+        createIfNotExists(file);
+        try (PrintWriter writer = new PrintWriter(file)) {
+            writer.println(ServicePeriod.header());
+            for (ServicePeriod period : periods) {
+                writer.println(period);
+            }
+        } catch (FileNotFoundException ex) {
+            throw new GTFSException("An error occurred exporting the calendar file.");
+        }
+    }
 
-            return Duration.parse(String.format("PT%dH%dM%dS", hourDiff, minuteDiff, secondDiff));
-        } catch (NumberFormatException ex) {
-            throw new IllegalArgumentException(time1 + " and/or " + time2 + " are invalid times.");
+    /**
+     * Exports the added and removed dates of calendar_dates.txt to the specified location
+     *
+     * @param file location; file name MUST be calendar_dates.txt
+     * @throws GTFSException if an error is to be showed to the user
+     */
+    public void exportCalendarDates(File file) throws GTFSException {
+        List<CalendarDate> dates = state.calendar.getDates();
+        if (dates.isEmpty()) {
+            throw new GTFSException("There are no calendar dates to export.");
+        }
+        createIfNotExists(file);
+        try (PrintWriter writer = new PrintWriter(file)) {
+            writer.println(CalendarDate.header());
+            for (CalendarDate date : dates) {
+                writer.println(date);
+            }
+        } catch (FileNotFoundException ex) {
+            throw new GTFSException("An error occurred exporting the calendar dates file.");
         }
     }
 
@@ -680,17 +1215,14 @@ public class GTFS implements Subject {
     }
 
     /**
-     * Method so SecondController can remotely update Observers, does so whenever SecondController
-     * closes out of the window, making the Observers update as the window closes.
+     * Method to show the current routes in every observer again. Imports and edits notify
+     * observers of only what changed, so this is not needed after them.
      * <p>
      * This method is designed as an way to be able to update observers outside of the GTFS class.
      *
      * @author Luke Miller
      */
     public void updateObservers() {
-        List<Object> routes = new ArrayList<>();
-        routes.add("All Routes:");
-        routes.addAll(getRoutes());
-        notifyObservers(routes);
+        notifyObservers(allRoutes());
     }
 }
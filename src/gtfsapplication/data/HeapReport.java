@@ -0,0 +1,114 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import gtfsapplication.GTFSException;
+
+import java.io.File;
+
+/**
+ * Prints how much heap an imported feed uses, first with a String for every id and
+ * headsign read and then with equal values sharing one String
+ * <p>
+ * Usage: {@code java gtfsapplication.data.HeapReport <feed directory or zip> [columnar]}
+ * <p>
+ * Heap use is measured after garbage collection, so run it with the same -Xmx as the
+ * application and nothing else running in the JVM.
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+public class HeapReport {
+    private static final double BYTES_PER_MB = 1024 * 1024;
+
+    /**
+     * Runs the report
+     *
+     * @param args feed directory or zip archive, optionally followed by "columnar"
+     * @throws GTFSException if the feed cannot be imported
+     */
+    public static void main(String[] args) throws GTFSException {
+        if (args.length == 0) {
+            System.err.println("Usage: HeapReport <feed directory or zip> [columnar]");
+            System.exit(2);
+        }
+        File feed = new File(args[0]);
+        boolean columnar = args.length > 1 && args[1].equalsIgnoreCase("columnar");
+
+        // Import once first so that classes and thread pools are not counted
+        load(feed, columnar, true);
+
+        long baseline = usedHeap();
+        GTFS separate = load(feed, columnar, false);
+        long separateBytes = usedHeap() - baseline;
+        int routes = separate.getRoutes().size();
+        separate = null;
+
+        baseline = usedHeap();
+        GTFS shared = load(feed, columnar, true);
+        long sharedBytes = usedHeap() - baseline;
+        int symbols = shared.getSymbolCount();
+
+        System.out.printf("feed: %s (%d routes, %s stop times)%n", feed.getName(), routes,
+                columnar ? "columnar" : "object");
+        System.out.printf("separate Strings: %10.1f MB%n", separateBytes / BYTES_PER_MB);
+        System.out.printf("shared symbols:   %10.1f MB (%d distinct values)%n",
+                sharedBytes / BYTES_PER_MB, symbols);
+        System.out.printf("saved:            %10.1f MB (%.0f%%)%n",
+                (separateBytes - sharedBytes) / BYTES_PER_MB,
+                100.0 * (separateBytes - sharedBytes) / Math.max(separateBytes, 1));
+    }
+
+    private static GTFS load(File feed, boolean columnar, boolean shareSymbols)
+            throws GTFSException {
+        GTFS gtfs = new GTFS(columnar);
+        gtfs.setShareSymbols(shareSymbols);
+        if (feed.isDirectory()) {
+            gtfs.importFeed(feed);
+        } else {
+            gtfs.importFile(feed);
+        }
+        return gtfs;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        // Collect until the heap stops shrinking, since one System.gc() is only a request
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            long now = runtime.totalMemory() - runtime.freeMemory();
+            if (now >= used) {
+                return now;
+            }
+            used = now;
+        }
+        return used;
+    }
+}
@@ -30,7 +30,6 @@ package gtfsapplication.data;
 
 import gtfsapplication.GTFSException;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -77,45 +76,6 @@ public class ImportHelper {
      * @return a list of all values in the line
      */
     public static List<String> parseLine(String line) {
-        char[] chars = line.toCharArray();
-        List<String> values = new ArrayList<>();
-
-        String value = "";
-        for (int i = 0; i < chars.length; i++) {
-            char c = chars[i];
-            if (c == ',') {
-                if (value.startsWith("\"") && value.endsWith("\"")) {
-                    value = value.substring(0, value.length() - 1);
-                    value = value.substring(1);
-                    values.add(value.trim());
-                    value = "";
-                } else if (!value.contains("\"")) {
-                    values.add(value.trim());
-                    value = "";
-                } else if (value.length() == 0) {
-                    values.add("");
-                } else {
-                    value += c;
-                }
-                if (i == chars.length - 1) {
-                    values.add("");
-                }
-            } else {
-                value += c;
-                if (i == chars.length - 1) {
-                    if (value.startsWith("\"") && value.endsWith("\"")) {
-                        value = value.substring(0, value.length() - 1);
-                        value = value.substring(1);
-                        values.add(value.trim());
-                    } else if (!value.contains("\"")) {
-                        values.add(value.trim());
-                    } else {
-                        throw new IllegalArgumentException("Missing \" at end of header.");
-                    }
-                }
-            }
-        }
-
-        return values;
+        return CsvTokenizer.parseRow(line).toList();
     }
 }
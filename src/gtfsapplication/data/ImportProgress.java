@@ -0,0 +1,116 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Progress of an import in bytes and rows, and a way to cancel it
+ * <p>
+ * Files are read on several threads at once, so the counts are updated from any of them,
+ * in batches of rows. Cancelling stops the reading at the next batch, and nothing read by
+ * a cancelled import is published.
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+public class ImportProgress {
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final Consumer<ImportProgress> listener;
+    private volatile boolean cancelled;
+
+    /**
+     * Creates progress that is only read when asked for
+     */
+    public ImportProgress() {
+        this(null);
+    }
+
+    /**
+     * Creates progress that tells a listener whenever it changes
+     *
+     * @param listener called on the thread that read the rows after each batch, or null
+     */
+    public ImportProgress(Consumer<ImportProgress> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Gets the size of every file being imported
+     *
+     * @return bytes in total, not counting entries of a zip archive whose size is not known
+     */
+    public long getTotalBytes() {
+        return totalBytes.get();
+    }
+
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    public long getRowsRead() {
+        return rowsRead.get();
+    }
+
+    /**
+     * Gets how much of the import is done
+     *
+     * @return fraction of the bytes read from 0 to 1, or -1 if the size is not known
+     */
+    public double getFraction() {
+        long total = totalBytes.get();
+        return total == 0 ? -1 : Math.min(1.0, (double) bytesRead.get() / total);
+    }
+
+    /**
+     * Asks the import to stop. An import that already published its data is not undone.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    void addTotalBytes(long bytes) {
+        totalBytes.addAndGet(Math.max(bytes, 0));
+    }
+
+    void add(long rows, long bytes) {
+        rowsRead.addAndGet(rows);
+        bytesRead.addAndGet(bytes);
+        if (listener != null) {
+            listener.accept(this);
+        }
+    }
+}
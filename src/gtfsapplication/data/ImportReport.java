@@ -0,0 +1,258 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Summary of the rows imported and rejected for each GTFS file
+ * <p>
+ * Only the first {@value #MAX_STORED_REJECTIONS} rejections of a file are kept,
+ * but every rejection is counted.
+ * <p>
+ * The reports GTFS returns from an import, and keeps for the most recent import of
+ * each file, are read-only copies, so an import running at the same time cannot
+ * change a report while it is being shown.
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+public class ImportReport {
+    private static final int MAX_STORED_REJECTIONS = 1000;
+    private static final int MAX_SUMMARY_REJECTIONS = 10;
+
+    private final Map<String, Long> acceptedCounts = new LinkedHashMap<>();
+    private final Map<String, Long> rejectedCounts = new LinkedHashMap<>();
+    private final Map<String, List<Rejection>> rejections = new LinkedHashMap<>();
+    private final boolean readOnly;
+
+    /**
+     * Creates an empty report that rows are added to as a file is imported
+     */
+    public ImportReport() {
+        this(false);
+    }
+
+    private ImportReport(boolean readOnly) {
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * Clears any results from a previous import of a file
+     * @param filename file that is about to be imported
+     */
+    public void start(String filename) {
+        checkWritable();
+        acceptedCounts.put(filename, 0L);
+        rejectedCounts.put(filename, 0L);
+        rejections.put(filename, new ArrayList<>());
+    }
+
+    /**
+     * Records the number of rows that were imported from a file
+     * @param filename file that was imported
+     * @param accepted number of rows imported
+     */
+    public void finish(String filename, long accepted) {
+        checkWritable();
+        acceptedCounts.put(filename, accepted);
+    }
+
+    /**
+     * Records a rejected row
+     * @param rejection the rejected row
+     */
+    public void reject(Rejection rejection) {
+        checkWritable();
+        String filename = rejection.getFilename();
+        rejectedCounts.merge(filename, 1L, Long::sum);
+        List<Rejection> list = rejections.computeIfAbsent(filename, key -> new ArrayList<>());
+        if (list.size() < MAX_STORED_REJECTIONS) {
+            list.add(rejection);
+        }
+    }
+
+    /**
+     * Adds the results of another report to this one
+     * <p>
+     * Used to combine the reports of pieces of a file that were imported separately,
+     * which number their rows from the start of the piece rather than the file.
+     * @param other report to add, in file order after any results already in this report
+     * @param rowOffset number of rows in the file before the first row of the other report
+     */
+    void merge(ImportReport other, long rowOffset) {
+        checkWritable();
+        for (String filename : other.rejectedCounts.keySet()) {
+            acceptedCounts.merge(filename, other.getAcceptedCount(filename), Long::sum);
+            rejectedCounts.merge(filename, other.getRejectedCount(filename), Long::sum);
+            List<Rejection> list = rejections.computeIfAbsent(filename, key -> new ArrayList<>());
+            for (Rejection rejection : other.rejections.get(filename)) {
+                if (list.size() == MAX_STORED_REJECTIONS) {
+                    break;
+                }
+                list.add(new Rejection(filename, rejection.getRowNumber() + rowOffset,
+                        rejection.getField(), rejection.getReason()));
+            }
+        }
+    }
+
+    /**
+     * Creates a read-only copy of this report
+     *
+     * @return the copy
+     */
+    ImportReport readOnly() {
+        return replacedBy(new ImportReport());
+    }
+
+    /**
+     * Creates a read-only report with the results of this one, except for the files in
+     * a newer report, whose results replace them
+     *
+     * @param newer report of files imported after this report's
+     * @return the combined report
+     */
+    ImportReport replacedBy(ImportReport newer) {
+        ImportReport combined = new ImportReport(true);
+        for (String filename : rejectedCounts.keySet()) {
+            if (!newer.rejectedCounts.containsKey(filename)) {
+                combined.copy(this, filename);
+            }
+        }
+        for (String filename : newer.rejectedCounts.keySet()) {
+            combined.copy(newer, filename);
+        }
+        return combined;
+    }
+
+    private void copy(ImportReport from, String filename) {
+        acceptedCounts.put(filename, from.getAcceptedCount(filename));
+        rejectedCounts.put(filename, from.getRejectedCount(filename));
+        rejections.put(filename, from.getRejections(filename));
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException(
+                    "This report is a copy of a finished import and cannot be changed");
+        }
+    }
+
+    /**
+     * Gets the number of rows imported from a file
+     * @param filename file name, such as stops.txt
+     * @return number of rows imported
+     */
+    public long getAcceptedCount(String filename) {
+        return acceptedCounts.getOrDefault(filename, 0L);
+    }
+
+    /**
+     * Gets the number of rows rejected from a file
+     * @param filename file name, such as stops.txt
+     * @return number of rows rejected
+     */
+    public long getRejectedCount(String filename) {
+        return rejectedCounts.getOrDefault(filename, 0L);
+    }
+
+    /**
+     * Gets the stored rejections for a file
+     * @param filename file name, such as stops.txt
+     * @return rejected rows, in file order
+     */
+    public List<Rejection> getRejections(String filename) {
+        return new ArrayList<>(rejections.getOrDefault(filename, new ArrayList<>()));
+    }
+
+    /**
+     * Gets the stored rejections for every file
+     * @return rejected rows
+     */
+    public List<Rejection> getRejections() {
+        List<Rejection> all = new ArrayList<>();
+        for (List<Rejection> list : rejections.values()) {
+            all.addAll(list);
+        }
+        return all;
+    }
+
+    /**
+     * Checks if any rows have been rejected
+     * @return true if at least one row was rejected
+     */
+    public boolean hasRejections() {
+        for (long count : rejectedCounts.values()) {
+            if (count > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Creates a message describing the rejected rows that can be shown to the user
+     * @return summary of rejected rows for every file
+     */
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        for (String filename : rejectedCounts.keySet()) {
+            String fileSummary = getSummary(filename);
+            if (!fileSummary.isEmpty()) {
+                summary.append(fileSummary).append('\n');
+            }
+        }
+        return summary.toString().trim();
+    }
+
+    /**
+     * Creates a message describing the rejected rows of one file
+     * @param filename file name, such as stops.txt
+     * @return summary of rejected rows, or an empty String if none were rejected
+     */
+    public String getSummary(String filename) {
+        long rejected = getRejectedCount(filename);
+        if (rejected == 0) {
+            return "";
+        }
+        StringBuilder summary = new StringBuilder();
+        summary.append(filename).append(": imported ").append(getAcceptedCount(filename))
+                .append(" rows, skipped ").append(rejected).append(" rows");
+        List<Rejection> list = rejections.get(filename);
+        for (int i = 0; i < list.size() && i < MAX_SUMMARY_REJECTIONS; i++) {
+            Rejection rejection = list.get(i);
+            summary.append("\n  row ").append(rejection.getRowNumber()).append(": ")
+                    .append(rejection.getReason());
+        }
+        return summary.toString();
+    }
+}
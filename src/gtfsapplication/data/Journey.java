@@ -0,0 +1,100 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A way to travel from one stop to another: the trips ridden, one leg each
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+public class Journey {
+    private final List<Leg> legs;
+
+    /**
+     * Creates a journey
+     * @param legs legs in the order they are ridden, at least one
+     */
+    Journey(List<Leg> legs) {
+        this.legs = Collections.unmodifiableList(legs);
+    }
+
+    public List<Leg> getLegs() {
+        return legs;
+    }
+
+    /**
+     * Gets the departure time of the first leg
+     * @return seconds since the start of the service day
+     */
+    public int getDepartureTime() {
+        return legs.get(0).getDepartureTime();
+    }
+
+    /**
+     * Gets the arrival time of the last leg
+     * @return seconds since the start of the service day
+     */
+    public int getArrivalTime() {
+        return legs.get(legs.size() - 1).getArrivalTime();
+    }
+
+    /**
+     * Gets the number of times the journey changes from one trip to another
+     * @return one less than the number of legs
+     */
+    public int getTransfers() {
+        return legs.size() - 1;
+    }
+
+    /**
+     * Tests whether this journey is at least as good as another in departure time, arrival
+     * time and transfers, and better in at least one
+     *
+     * @param other journey to compare with
+     * @return true if this journey dominates the other
+     */
+    boolean dominates(Journey other) {
+        boolean noWorse = getDepartureTime() >= other.getDepartureTime()
+                && getArrivalTime() <= other.getArrivalTime()
+                && getTransfers() <= other.getTransfers();
+        return noWorse && (getDepartureTime() > other.getDepartureTime()
+                || getArrivalTime() < other.getArrivalTime()
+                || getTransfers() < other.getTransfers());
+    }
+
+    @Override
+    public String toString() {
+        return ServiceTime.format(getDepartureTime()) + " to " + ServiceTime.format(getArrivalTime())
+                + " with " + getTransfers() + " transfers: " + legs;
+    }
+}
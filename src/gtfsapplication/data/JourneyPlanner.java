@@ -0,0 +1,287 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Earliest arrival journeys between two stops, found with the Connection Scan Algorithm
+ * <p>
+ * Every trip is cut into connections, one per pair of consecutive timed stops, and the
+ * connections of the whole feed are kept in arrays sorted by departure time. A query scans
+ * them once from the departure time, marking the trips it can board and the earliest arrival
+ * at each stop, and stops as soon as no later connection can arrive sooner at the destination.
+ * <p>
+ * Times are seconds since the start of the service day. A query may be limited to the trips
+ * that run on its service day, which are checked as they are boarded; otherwise every trip
+ * is assumed to run. Changing trips takes the minimum transfer time given to the query, except at the first stop;
+ * staying on the same trip does not.
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+public class JourneyPlanner {
+    private static final int UNREACHED = Integer.MAX_VALUE;
+    private static final int NO_PICKUP = 1;
+    private static final int NO_DROP_OFF = 1;
+    // Marks a trip in boardedAt that does not run on the queried day
+    private static final int NOT_RUNNING = -2;
+
+    private final HashMap<String, Integer> stopIndexes = new HashMap<>();
+    private final String[] stopIds;
+    private final String[] tripIds;
+    private final String[] routeIds;
+
+    // Connections as parallel arrays sorted by departure time
+    private final int[] departureTimes;
+    private final int[] arrivalTimes;
+    private final int[] departureStops;
+    private final int[] arrivalStops;
+    private final int[] connectionTrips;
+    private final boolean[] canBoard;
+    private final boolean[] canAlight;
+
+    /**
+     * Builds the connections of every trip
+     *
+     * @param stopTimesByTrip stop times of each trip sorted by stop sequence
+     * @param trips trips by trip id, used to find the route of each leg
+     */
+    JourneyPlanner(Map<String, List<StopTime>> stopTimesByTrip, Map<String, Trip> trips) {
+        List<String> stops = new ArrayList<>();
+        tripIds = new String[stopTimesByTrip.size()];
+        routeIds = new String[tripIds.length];
+        int total = 0;
+        for (List<StopTime> stopTimes : stopTimesByTrip.values()) {
+            total += Math.max(0, stopTimes.size() - 1);
+        }
+        int[] unsortedDepartures = new int[total];
+        int[] unsortedArrivals = new int[total];
+        int[] fromStops = new int[total];
+        int[] toStops = new int[total];
+        int[] fromTrips = new int[total];
+        boolean[] boards = new boolean[total];
+        boolean[] alights = new boolean[total];
+
+        int size = 0;
+        int trip = 0;
+        for (Map.Entry<String, List<StopTime>> entry : stopTimesByTrip.entrySet()) {
+            Trip tripValue = trips.get(entry.getKey());
+            tripIds[trip] = entry.getKey();
+            routeIds[trip] = tripValue == null ? null : tripValue.getRouteId();
+            StopTime previous = null;
+            for (StopTime stopTime : entry.getValue()) {
+                // Stops without times are passed through and connect their timed neighbours
+                if (departureTime(stopTime) == ServiceTime.NONE) {
+                    continue;
+                }
+                if (previous != null) {
+                    unsortedDepartures[size] = departureTime(previous);
+                    unsortedArrivals[size] = arrivalTime(stopTime);
+                    fromStops[size] = stopIndex(stops, previous.getStopId());
+                    toStops[size] = stopIndex(stops, stopTime.getStopId());
+                    fromTrips[size] = trip;
+                    boards[size] = previous.getPickupType() != NO_PICKUP;
+                    alights[size] = stopTime.getDropOffType() != NO_DROP_OFF;
+                    size++;
+                }
+                previous = stopTime;
+            }
+            trip++;
+        }
+        stopIds = stops.toArray(new String[0]);
+
+        // Connections with equal departure times keep the order they were made in, so the
+        // connections of one trip stay in stop sequence
+        long[] order = new long[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = ((long) unsortedDepartures[i] << 32) | i;
+        }
+        Arrays.sort(order);
+        departureTimes = new int[size];
+        arrivalTimes = new int[size];
+        departureStops = new int[size];
+        arrivalStops = new int[size];
+        connectionTrips = new int[size];
+        canBoard = new boolean[size];
+        canAlight = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            int connection = (int) order[i];
+            departureTimes[i] = unsortedDepartures[connection];
+            arrivalTimes[i] = Math.max(unsortedArrivals[connection], departureTimes[i]);
+            departureStops[i] = fromStops[connection];
+            arrivalStops[i] = toStops[connection];
+            connectionTrips[i] = fromTrips[connection];
+            canBoard[i] = boards[connection];
+            canAlight[i] = alights[connection];
+        }
+    }
+
+    private int stopIndex(List<String> stops, String stopId) {
+        Integer index = stopIndexes.get(stopId);
+        if (index == null) {
+            index = stops.size();
+            stops.add(stopId);
+            stopIndexes.put(stopId, index);
+        }
+        return index;
+    }
+
+    private static int departureTime(StopTime stopTime) {
+        int time = stopTime.getDepartureSeconds();
+        return time == ServiceTime.NONE ? stopTime.getArrivalSeconds() : time;
+    }
+
+    private static int arrivalTime(StopTime stopTime) {
+        int time = stopTime.getArrivalSeconds();
+        return time == ServiceTime.NONE ? stopTime.getDepartureSeconds() : time;
+    }
+
+    /**
+     * Finds the journey that arrives first at a stop
+     *
+     * @param fromStopId stop to leave from
+     * @param toStopId stop to arrive at
+     * @param time earliest departure time, in seconds since the start of the service day
+     * @param minTransferTime seconds needed to change from one trip to another at a stop
+     * @return the legs of the journey in the order they are ridden, or an empty list if the
+     * stops are the same or no trip reaches the destination
+     * @throws IllegalArgumentException if minTransferTime is negative
+     */
+    public List<Leg> plan(String fromStopId, String toStopId, int time, int minTransferTime) {
+        return plan(fromStopId, toStopId, time, minTransferTime, null);
+    }
+
+    /**
+     * Finds the journey that arrives first at a stop using only the trips that run
+     *
+     * @param fromStopId stop to leave from
+     * @param toStopId stop to arrive at
+     * @param time earliest departure time, in seconds since the start of the service day
+     * @param minTransferTime seconds needed to change from one trip to another at a stop
+     * @param running trips that run on the service day, tested with an offset of 0, or null
+     *                for every trip
+     * @return the legs of the journey in the order they are ridden, or an empty list if the
+     * stops are the same or no trip reaches the destination
+     * @throws IllegalArgumentException if minTransferTime is negative
+     */
+    List<Leg> plan(String fromStopId, String toStopId, int time, int minTransferTime,
+                   DepartureBoard.TripFilter running) {
+        if (minTransferTime < 0) {
+            throw new IllegalArgumentException("minTransferTime may not be negative");
+        }
+        Integer from = stopIndexes.get(fromStopId);
+        Integer to = stopIndexes.get(toStopId);
+        if (from == null || to == null || from.equals(to)) {
+            return Collections.emptyList();
+        }
+
+        // Earliest arrival at each stop, the earliest time a trip can be boarded there,
+        // and the connection that arrives there first
+        int[] arrivals = new int[stopIds.length];
+        int[] ready = new int[stopIds.length];
+        int[] arrivedBy = new int[stopIds.length];
+        Arrays.fill(arrivals, UNREACHED);
+        Arrays.fill(ready, UNREACHED);
+        arrivals[from] = time;
+        ready[from] = time;
+        // Connection each trip was boarded at, -1 if it has not been reached, or NOT_RUNNING
+        int[] boardedAt = new int[tripIds.length];
+        Arrays.fill(boardedAt, -1);
+
+        for (int i = firstDeparture(time); i < departureTimes.length
+                && departureTimes[i] < arrivals[to]; i++) {
+            int trip = connectionTrips[i];
+            if (boardedAt[trip] == NOT_RUNNING) {
+                continue;
+            }
+            if (boardedAt[trip] < 0) {
+                if (!canBoard[i] || ready[departureStops[i]] > departureTimes[i]) {
+                    continue;
+                }
+                // The calendar is checked once per trip, and only for trips that could be boarded
+                if (running != null && !running.test(tripIds[trip], 0)) {
+                    boardedAt[trip] = NOT_RUNNING;
+                    continue;
+                }
+                boardedAt[trip] = i;
+            }
+            int stop = arrivalStops[i];
+            if (canAlight[i] && arrivalTimes[i] < arrivals[stop]) {
+                arrivals[stop] = arrivalTimes[i];
+                ready[stop] = (int) Math.min((long) arrivalTimes[i] + minTransferTime, UNREACHED);
+                arrivedBy[stop] = i;
+            }
+        }
+        if (arrivals[to] == UNREACHED) {
+            return Collections.emptyList();
+        }
+
+        // Walk back from the destination one trip at a time
+        List<Leg> legs = new ArrayList<>();
+        for (int stop = to; stop != from; ) {
+            int last = arrivedBy[stop];
+            int first = boardedAt[connectionTrips[last]];
+            legs.add(new Leg(tripIds[connectionTrips[last]], routeIds[connectionTrips[last]],
+                    stopIds[departureStops[first]], stopIds[stop], departureTimes[first],
+                    arrivalTimes[last]));
+            stop = departureStops[first];
+        }
+        Collections.reverse(legs);
+        return legs;
+    }
+
+    private int firstDeparture(int time) {
+        int low = 0;
+        int high = departureTimes.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (departureTimes[middle] < time) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Gets the number of connections between consecutive timed stops of every trip
+     *
+     * @return the number of connections
+     */
+    public int getConnectionCount() {
+        return departureTimes.length;
+    }
+}
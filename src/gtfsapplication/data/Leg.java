@@ -0,0 +1,95 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+/**
+ * Part of a journey spent on one trip, from boarding to leaving it
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+public class Leg {
+    private final String tripId;
+    private final String routeId;
+    private final String fromStopId;
+    private final String toStopId;
+    private final int departureTime;
+    private final int arrivalTime;
+
+    /**
+     * Creates a leg
+     * @param tripId trip ridden
+     * @param routeId route of the trip, or null if the trip is unknown
+     * @param fromStopId stop where the trip is boarded
+     * @param toStopId stop where the trip is left
+     * @param departureTime departure from the first stop in seconds since the start of the
+     *                      service day
+     * @param arrivalTime arrival at the last stop in seconds since the start of the service day
+     */
+    Leg(String tripId, String routeId, String fromStopId, String toStopId, int departureTime,
+        int arrivalTime) {
+        this.tripId = tripId;
+        this.routeId = routeId;
+        this.fromStopId = fromStopId;
+        this.toStopId = toStopId;
+        this.departureTime = departureTime;
+        this.arrivalTime = arrivalTime;
+    }
+
+    public String getTripId() {
+        return tripId;
+    }
+
+    public String getRouteId() {
+        return routeId;
+    }
+
+    public String getFromStopId() {
+        return fromStopId;
+    }
+
+    public String getToStopId() {
+        return toStopId;
+    }
+
+    public int getDepartureTime() {
+        return departureTime;
+    }
+
+    public int getArrivalTime() {
+        return arrivalTime;
+    }
+
+    @Override
+    public String toString() {
+        return tripId + " (" + routeId + ") from " + fromStopId + " at "
+                + ServiceTime.format(departureTime) + " to " + toStopId + " at "
+                + ServiceTime.format(arrivalTime);
+    }
+}
@@ -0,0 +1,336 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * RFC 4180 tokenizer that reads a UTF-8 file through a memory mapping
+ * <p>
+ * Rows are found directly in the mapped bytes and only the start and end offset of
+ * each value is recorded, so nothing is copied unless a value is requested. Numbers
+ * and times are parsed straight from the mapping. The file is mapped in windows so
+ * files larger than 2 GB can be read; a row that runs past the end of a window is
+ * scanned again from the start of a new window.
+ * <p>
+ * Values are found by the same {@link CsvFieldScanner} as {@link CsvTokenizer}, so they are
+ * trimmed and quoted the same way, and blank lines are skipped.
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+public class MappedCsvReader implements RowReader {
+    private static final int DEFAULT_WINDOW_SIZE = 1 << 26;
+
+    private final FileChannel channel;
+    private final long end;
+    private int windowSize;
+
+    private MappedByteBuffer buffer;
+    private long bufferOffset;
+    private int limit;
+    private int pos;
+
+    private long rowNumber;
+    private int rowStart;
+    private int rowEnd;
+
+    private final CsvFieldScanner fields = new CsvFieldScanner(index -> buffer.get(index));
+    private SymbolTable.Local symbols;
+
+    private char[] chars = new char[64];
+    private byte[] bytes = new byte[64];
+
+    /**
+     * Creates a reader for a whole file
+     *
+     * @param file UTF-8 encoded file to read
+     * @throws IOException if the file cannot be opened
+     */
+    public MappedCsvReader(File file) throws IOException {
+        this(file, 0, file.length());
+    }
+
+    /**
+     * Creates a reader for part of a file
+     *
+     * @param file UTF-8 encoded file to read
+     * @param start offset of the first byte to read, which must be the start of a row
+     * @param end offset after the last byte to read
+     * @throws IOException if the file cannot be opened
+     */
+    public MappedCsvReader(File file, long start, long end) throws IOException {
+        this(file, start, end, DEFAULT_WINDOW_SIZE);
+    }
+
+    MappedCsvReader(File file, long start, long end, int windowSize) throws IOException {
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        this.end = Math.min(end, channel.size());
+        this.windowSize = Math.max(windowSize, 1);
+        this.bufferOffset = start;
+        if (start == 0 && map(0)) {
+            // Skip a UTF-8 byte order mark
+            if (limit >= 3 && (buffer.get(0) & 0xFF) == 0xEF
+                    && (buffer.get(1) & 0xFF) == 0xBB && (buffer.get(2) & 0xFF) == 0xBF) {
+                pos = 3;
+            }
+        }
+    }
+
+    /**
+     * Advances to the next row
+     *
+     * @return true if a row was read, false at the end of the range
+     * @throws IOException if the file cannot be mapped
+     * @throws IllegalArgumentException if the row is not valid CSV
+     */
+    @Override
+    public boolean next() throws IOException {
+        fields.count = 0;
+        while (true) {
+            if (pos == limit && !map(bufferOffset + pos)) {
+                return false;
+            }
+            byte c = buffer.get(pos);
+            if (c != '\n' && c != '\r') {
+                break;
+            }
+            pos++;
+        }
+        rowNumber++;
+        while (!scanRow()) {
+            // The row continues past the window, so map a window that starts with the row
+            long rowOffset = bufferOffset + rowStart;
+            if (rowStart == 0) {
+                windowSize = (int) Math.min(Integer.MAX_VALUE, windowSize * 2L);
+            }
+            map(rowOffset);
+        }
+        return true;
+    }
+
+    /*
+     * Scans the row starting at pos, returning false if the window ends before
+     * the row does and more of the range is left to map.
+     */
+    private boolean scanRow() {
+        rowStart = pos;
+        fields.startRow(pos, rowNumber);
+        while (true) {
+            if (pos == limit) {
+                if (bufferOffset + limit < end) {
+                    return false;
+                }
+                fields.endRow(pos);
+                rowEnd = pos;
+                return true;
+            }
+            if (fields.scan(buffer.get(pos), pos)) {
+                rowEnd = pos++;
+                return true;
+            }
+            pos++;
+        }
+    }
+
+    @Override
+    public void setRowNumber(long rowNumber) {
+        this.rowNumber = rowNumber;
+    }
+
+    @Override
+    public void setSymbols(SymbolTable symbols) {
+        this.symbols = symbols == null ? null : symbols.local();
+    }
+
+    @Override
+    public int size() {
+        return fields.count;
+    }
+
+    @Override
+    public String get(int index) {
+        checkIndex(index);
+        String value = decode(fields.starts[index], fields.ends[index]);
+        return fields.escaped[index] ? value.replace("\"\"", "\"") : value;
+    }
+
+    @Override
+    public String getSymbol(int index) {
+        checkIndex(index);
+        if (symbols == null) {
+            return get(index);
+        }
+        if (fields.escaped[index]) {
+            return symbols.intern(get(index));
+        }
+        for (int i = fields.starts[index]; i < fields.ends[index]; i++) {
+            if (buffer.get(i) < 0) {
+                return symbols.intern(get(index));
+            }
+        }
+        return symbols.intern(buffer, fields.starts[index], fields.ends[index]);
+    }
+
+    @Override
+    public boolean isEmpty(int index) {
+        checkIndex(index);
+        return fields.starts[index] == fields.ends[index];
+    }
+
+    @Override
+    public int getInt(int index) {
+        checkIndex(index);
+        int i = fields.starts[index];
+        int end = fields.ends[index];
+        boolean negative = false;
+        if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+            negative = buffer.get(i) == '-';
+            i++;
+        }
+        if (i == end) {
+            throw new NumberFormatException("For input string: \"" + get(index) + "\"");
+        }
+        long result = 0;
+        for (; i < end; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9 || result > Integer.MAX_VALUE) {
+                throw new NumberFormatException("For input string: \"" + get(index) + "\"");
+            }
+            result = result * 10 + digit;
+        }
+        result = negative ? -result : result;
+        if (result < Integer.MIN_VALUE || result > Integer.MAX_VALUE) {
+            throw new NumberFormatException("For input string: \"" + get(index) + "\"");
+        }
+        return (int) result;
+    }
+
+    @Override
+    public double getDouble(int index) {
+        return Double.parseDouble(get(index));
+    }
+
+    @Override
+    public int getTime(int index) {
+        checkIndex(index);
+        int length = fields.ends[index] - fields.starts[index];
+        if (chars.length < length) {
+            chars = new char[length];
+        }
+        // Times are ASCII, so each byte is copied as a char without decoding
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) (buffer.get(fields.starts[index] + i) & 0xFF);
+        }
+        return ServiceTime.parse(chars, 0, length);
+    }
+
+    @Override
+    public long getRowNumber() {
+        return rowNumber;
+    }
+
+    /**
+     * Gets the offset in the file after the last row read
+     *
+     * @return file offset
+     */
+    long getOffset() {
+        return bufferOffset + pos;
+    }
+
+    /**
+     * Gets the current row exactly as it appeared in the file
+     *
+     * @return the raw row, without its line break
+     */
+    @Override
+    public String line() {
+        return decode(rowStart, rowEnd);
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer = null;
+        channel.close();
+    }
+
+    /*
+     * Maps the window starting at a file offset, returning false if the range
+     * has no bytes left. Offsets of the current row are relative to the old
+     * window, so this is only called before a row is scanned.
+     */
+    private boolean map(long offset) throws IOException {
+        if (offset >= end) {
+            return false;
+        }
+        int size = (int) Math.min(windowSize, end - offset);
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+        bufferOffset = offset;
+        limit = size;
+        pos = 0;
+        return true;
+    }
+
+    /*
+     * Decodes part of the window, building the String from chars directly
+     * when every byte is ASCII.
+     */
+    private String decode(int start, int end) {
+        int length = end - start;
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        for (int i = 0; i < length; i++) {
+            byte b = buffer.get(start + i);
+            if (b < 0) {
+                if (bytes.length < length) {
+                    bytes = new byte[Math.max(length, bytes.length * 2)];
+                }
+                for (int j = 0; j < length; j++) {
+                    bytes[j] = buffer.get(start + j);
+                }
+                return new String(bytes, 0, length, StandardCharsets.UTF_8);
+            }
+            chars[i] = (char) b;
+        }
+        return new String(chars, 0, length);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= fields.count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + fields.count);
+        }
+    }
+}
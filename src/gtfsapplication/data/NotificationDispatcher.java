@@ -0,0 +1,121 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import gtfsapplication.Observer;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Delivers notifications to one observer through its executor, merging everything posted
+ * before the observer gets to run into one delivery
+ * <p>
+ * With an executor that runs tasks on the next frame, such as Platform::runLater, a
+ * burst of imports and edits reaches the observer as one change per frame. An executor
+ * that delays tasks debounces instead. A direct executor delivers every notification
+ * on the thread that posted it, as soon as it is posted.
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+final class NotificationDispatcher implements Runnable {
+    private final Observer observer;
+    private final Executor executor;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    // Keeps deliveries in the order they were taken when the executor runs tasks at once
+    private final Object deliveryLock = new Object();
+    private FeedChange pendingChange;
+    private List<Object> pendingObjects;
+
+    NotificationDispatcher(Observer observer, Executor executor) {
+        this.observer = observer;
+        this.executor = executor;
+    }
+
+    Observer getObserver() {
+        return observer;
+    }
+
+    /**
+     * Posts a change to the feed. Search results posted before it are dropped, since the
+     * change replaces what the observer shows.
+     *
+     * @param change change to deliver
+     */
+    void post(FeedChange change) {
+        synchronized (this) {
+            pendingChange = pendingChange == null ? change : pendingChange.then(change);
+            pendingObjects = null;
+        }
+        schedule();
+    }
+
+    /**
+     * Posts a list of objects to show, replacing any list posted before it that has not
+     * been delivered yet
+     *
+     * @param objects A list of String, Stop, Trip, StopTime or Route objects
+     */
+    void post(List<Object> objects) {
+        synchronized (this) {
+            pendingObjects = objects;
+        }
+        schedule();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this);
+        }
+    }
+
+    @Override
+    public void run() {
+        synchronized (deliveryLock) {
+            // Anything posted from here on needs another run
+            scheduled.set(false);
+            FeedChange change;
+            List<Object> objects;
+            synchronized (this) {
+                change = pendingChange;
+                objects = pendingObjects;
+                pendingChange = null;
+                pendingObjects = null;
+            }
+            if (change != null && !change.isEmpty()) {
+                observer.feedChanged(change);
+            }
+            if (objects != null) {
+                observer.update(objects);
+            }
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Read-only map made of a base map and layers of changes laid over it
+ * <p>
+ * Changing a few keys of a large map copies only the changes, not the base, so the old
+ * and new maps can both be read while they share the base. Each change of the map adds a
+ * layer of changes on top, and a layer is merged with the one under it while it is at
+ * least half that size, as the digits of a binary counter carry. For k changed keys each
+ * key is therefore copied O(log k) times and a lookup probes at most log2(k) + 2 hash
+ * maps. Once the changes grow to a quarter of the base they are merged into a new base,
+ * which costs O(n) once per n / 4 changes.
+ *
+ * @param <K> key type
+ * @param <V> value type, which may not be null
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+final class OverlayMap<K, V> extends AbstractMap<K, V> {
+    private static final Object REMOVED = new Object();
+    private static final int MIN_MERGE_SIZE = 64;
+
+    private final Map<K, V> base;
+    // Newest first, each less than half the size of the layer under it
+    private final List<HashMap<K, Object>> layers;
+    private final int size;
+
+    private OverlayMap(Map<K, V> base, List<HashMap<K, Object>> layers, int size) {
+        this.base = base;
+        this.layers = layers;
+        this.size = size;
+    }
+
+    /**
+     * Creates a map with some keys of another map replaced or removed
+     *
+     * @param map map to change, which is not modified
+     * @param replaced new values by key
+     * @param removed keys to remove
+     * @param <K> key type
+     * @param <V> value type
+     * @return the changed map
+     */
+    static <K, V> Map<K, V> with(Map<K, V> map, Map<K, V> replaced, Set<K> removed) {
+        if (replaced.isEmpty() && removed.isEmpty()) {
+            return map;
+        }
+        Map<K, V> base = map;
+        List<HashMap<K, Object>> older = Collections.emptyList();
+        if (map instanceof OverlayMap) {
+            OverlayMap<K, V> overlay = (OverlayMap<K, V>) map;
+            base = overlay.base;
+            older = overlay.layers;
+        }
+        HashMap<K, Object> layer = new HashMap<>();
+        int size = map.size();
+        for (K key : removed) {
+            if (map.containsKey(key) && !replaced.containsKey(key)) {
+                size--;
+                layer.put(key, REMOVED);
+            }
+        }
+        for (Map.Entry<K, V> entry : replaced.entrySet()) {
+            if (!map.containsKey(entry.getKey())) {
+                size++;
+            }
+            layer.put(entry.getKey(), entry.getValue());
+        }
+
+        int carried = 0;
+        while (carried < older.size() && layer.size() * 2 >= older.get(carried).size()) {
+            HashMap<K, Object> merged = new HashMap<>(older.get(carried));
+            merged.putAll(layer);
+            layer = merged;
+            carried++;
+        }
+        List<HashMap<K, Object>> layers = new ArrayList<>(older.size() - carried + 1);
+        layers.add(layer);
+        layers.addAll(older.subList(carried, older.size()));
+        int changes = 0;
+        for (HashMap<K, Object> each : layers) {
+            changes += each.size();
+        }
+
+        if (changes > Math.max(MIN_MERGE_SIZE, base.size() / 4)) {
+            HashMap<K, V> merged = new HashMap<>(new OverlayMap<>(base, layers, size));
+            return Collections.unmodifiableMap(merged);
+        }
+        return new OverlayMap<>(base, layers, size);
+    }
+
+    /**
+     * Gets the number of layers of changes, which grows with the log of the changes
+     *
+     * @return the number of layers over the base
+     */
+    int getLayerCount() {
+        return layers.size();
+    }
+
+    // The newest change of a key, REMOVED, or null if the key was not changed
+    private Object change(Object key, int layerCount) {
+        for (int i = 0; i < layerCount; i++) {
+            Object value = layers.get(i).get(key);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        Object value = change(key, layers.size());
+        if (value != null) {
+            return value == REMOVED ? null : (V) value;
+        }
+        return base.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        Object value = change(key, layers.size());
+        if (value != null) {
+            return value != REMOVED;
+        }
+        return base.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Iterates over the unchanged entries of the base, then over the entries of each
+     * layer that no newer layer changes
+     */
+    private final class EntryIterator implements Iterator<Entry<K, V>> {
+        private final Iterator<Entry<K, V>> baseEntries = base.entrySet().iterator();
+        private Iterator<Entry<K, Object>> layerEntries;
+        private int layer = -1;
+        private Entry<K, V> next;
+
+        EntryIterator() {
+            advance();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            next = null;
+            while (baseEntries.hasNext()) {
+                Entry<K, V> entry = baseEntries.next();
+                if (change(entry.getKey(), layers.size()) == null) {
+                    next = entry;
+                    return;
+                }
+            }
+            while (true) {
+                while (layerEntries == null || !layerEntries.hasNext()) {
+                    if (++layer >= layers.size()) {
+                        return;
+                    }
+                    layerEntries = layers.get(layer).entrySet().iterator();
+                }
+                Entry<K, Object> entry = layerEntries.next();
+                if (entry.getValue() != REMOVED && change(entry.getKey(), layer) == null) {
+                    next = new SimpleImmutableEntry<>(entry.getKey(), (V) entry.getValue());
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Entry<K, V> entry = next;
+            advance();
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,497 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stop times stored once per trip pattern rather than once per row
+ * <p>
+ * Most trips of a route visit the same stops with the same stop_sequence, headsign,
+ * pickup and drop off values, and many of them also take the same time between stops.
+ * Each distinct list of stops is stored once as a shape, each distinct list of times
+ * relative to the first departure is stored once as a timing, and a trip is stored as its
+ * id, shape, timing and start time. A trip with running times of its own keeps them in a
+ * timing of its own.
+ * <p>
+ * Rows are numbered trip by trip, in the order the trips first appear in the table the
+ * stop times are read from, and each trip's rows are in stop_sequence order. As with
+ * {@link StopTimeTable}, the StopTime objects returned are views over a row, but the table
+ * never changes once it is built, so that every state of a feed can share it: the setters
+ * of a view throw, and edits change a copy of the stop time instead.
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+public class PatternTable extends AbstractList<StopTime> {
+    private final StringDictionary stopIds = new StringDictionary();
+    private final StringDictionary headsigns = new StringDictionary();
+
+    // Trip t holds rows firstRows[t] to firstRows[t + 1] - 1
+    private final int[] firstRows;
+    private final String[] tripIds;
+    private final Shape[] shapes;
+    private final Timing[] timings;
+    private final int[] starts;
+    private final int shapeCount;
+    private final int timingCount;
+
+    /**
+     * Finds the patterns of some stop times
+     *
+     * @param stopTimes stop times in the order their trips should be numbered
+     * @param stopTimesByTrip the same stop times grouped by trip_id, each group sorted
+     *                        by stop_sequence
+     * @throws IllegalArgumentException if a pickup or drop off type is out of range
+     */
+    public PatternTable(Collection<StopTime> stopTimes, Map<String, List<StopTime>> stopTimesByTrip) {
+        Map<String, List<StopTime>> ordered = new LinkedHashMap<>();
+        for (StopTime stopTime : stopTimes) {
+            String tripId = stopTime.getTripId();
+            if (!ordered.containsKey(tripId)) {
+                ordered.put(tripId, stopTimesByTrip.get(tripId));
+            }
+        }
+        int trips = ordered.size();
+        firstRows = new int[trips + 1];
+        tripIds = new String[trips];
+        shapes = new Shape[trips];
+        timings = new Timing[trips];
+        starts = new int[trips];
+
+        Map<Shape, Shape> distinctShapes = new HashMap<>();
+        Map<Timing, Timing> distinctTimings = new HashMap<>();
+        int trip = 0;
+        for (Map.Entry<String, List<StopTime>> entry : ordered.entrySet()) {
+            List<StopTime> rows = entry.getValue();
+            tripIds[trip] = entry.getKey();
+            firstRows[trip + 1] = firstRows[trip] + rows.size();
+            Shape shape = new Shape(rows, stopIds, headsigns);
+            shapes[trip] = distinctShapes.computeIfAbsent(shape, key -> key);
+            starts[trip] = start(rows);
+            Timing timing = new Timing(rows, starts[trip]);
+            timings[trip] = distinctTimings.computeIfAbsent(timing, key -> key);
+            trip++;
+        }
+        shapeCount = distinctShapes.size();
+        timingCount = distinctTimings.size();
+    }
+
+    // The first time of a trip, which its other times are stored relative to
+    private static int start(List<StopTime> rows) {
+        for (StopTime stopTime : rows) {
+            if (stopTime.getDepartureSeconds() != ServiceTime.NONE) {
+                return stopTime.getDepartureSeconds();
+            }
+            if (stopTime.getArrivalSeconds() != ServiceTime.NONE) {
+                return stopTime.getArrivalSeconds();
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public int size() {
+        return firstRows[firstRows.length - 1];
+    }
+
+    /**
+     * Gets a view of a row
+     *
+     * @param row index of the row
+     * @return a stop time backed by the row
+     */
+    @Override
+    public StopTime get(int row) {
+        if (row < 0 || row >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + row + ", Size: " + size());
+        }
+        return new View(row, tripOf(row));
+    }
+
+    private int tripOf(int row) {
+        int low = 0;
+        int high = tripIds.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (firstRows[middle] <= row) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Gets the row a stop time is stored in
+     *
+     * @param stopTime stop time to look up
+     * @return the row, or -1 if the stop time is not a view of this table
+     */
+    int rowOf(StopTime stopTime) {
+        if (stopTime instanceof View && ((View) stopTime).table() == this) {
+            return ((View) stopTime).row;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the shape of the trip whose rows a list holds. Trips that visit the same stops
+     * with the same stop_sequence and other values share one shape.
+     *
+     * @param rows stop times of one trip
+     * @return the shape, or null if the list is not the rows of a trip of a pattern table
+     */
+    static Object shapeOf(List<StopTime> rows) {
+        return rows instanceof PatternTable.TripRows ? ((PatternTable.TripRows) rows).shape()
+                : null;
+    }
+
+    /**
+     * Gets the number of distinct lists of stops
+     *
+     * @return the number of shapes found when the table was built
+     */
+    public int getShapeCount() {
+        return shapeCount;
+    }
+
+    /**
+     * Gets the number of distinct lists of times between stops
+     *
+     * @return the number of timings found when the table was built
+     */
+    public int getTimingCount() {
+        return timingCount;
+    }
+
+    /**
+     * Gets the rows of each trip, which are stored together
+     *
+     * @return stop times for each trip id, each sorted by stop_sequence
+     */
+    Map<String, List<StopTime>> indexByTrip() {
+        Map<String, List<StopTime>> index = new HashMap<>(tripIds.length * 4 / 3 + 1);
+        for (int trip = 0; trip < tripIds.length; trip++) {
+            index.put(tripIds[trip], new TripRows(trip));
+        }
+        return index;
+    }
+
+    /**
+     * Groups the rows by stop_id, with each group sorted by stop_sequence
+     *
+     * @return stop times for each stop id
+     */
+    Map<String, List<StopTime>> indexByStop() {
+        // The rows at a stop are those of every trip whose shape visits it, so each stop
+        // keeps only the positions of the shapes that visit it and the trips of each shape
+        Map<Shape, List<Integer>> tripLists = new LinkedHashMap<>();
+        for (int trip = 0; trip < tripIds.length; trip++) {
+            tripLists.computeIfAbsent(shapes[trip], key -> new ArrayList<>()).add(trip);
+        }
+        Map<Shape, int[]> tripsByShape = new LinkedHashMap<>();
+        for (Map.Entry<Shape, List<Integer>> entry : tripLists.entrySet()) {
+            tripsByShape.put(entry.getKey(),
+                    entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        List<List<Visit>> visitsByStop = new ArrayList<>();
+        for (int code = 0; code < stopIds.size(); code++) {
+            visitsByStop.add(new ArrayList<>());
+        }
+        for (Map.Entry<Shape, int[]> entry : tripsByShape.entrySet()) {
+            Shape shape = entry.getKey();
+            for (int position = 0; position < shape.stops.length; position++) {
+                visitsByStop.get(shape.stops[position]).add(
+                        new Visit(entry.getValue(), position, shape.sequences[position]));
+            }
+        }
+        Map<String, List<StopTime>> index = new HashMap<>(stopIds.size() * 4 / 3 + 1);
+        for (int code = 0; code < stopIds.size(); code++) {
+            List<Visit> visits = visitsByStop.get(code);
+            if (!visits.isEmpty()) {
+                visits.sort((first, second) -> Integer.compare(first.sequence, second.sequence));
+                index.put(stopIds.decode(code), new StopRows(visits));
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Stops, stop_sequence and the other values that are the same for every trip
+     * that shares them
+     */
+    private static final class Shape {
+        private final int[] stops;
+        private final int[] sequences;
+        private final int[] headsigns;
+        private final byte[] pickupTypes;
+        private final byte[] dropOffTypes;
+
+        Shape(List<StopTime> rows, StringDictionary stopIds, StringDictionary headsignIds) {
+            stops = new int[rows.size()];
+            sequences = new int[rows.size()];
+            headsigns = new int[rows.size()];
+            pickupTypes = new byte[rows.size()];
+            dropOffTypes = new byte[rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                StopTime stopTime = rows.get(i);
+                stops[i] = stopIds.encode(stopTime.getStopId());
+                sequences[i] = stopTime.getStopSequence();
+                headsigns[i] = headsignIds.encode(stopTime.getStopHeadsign());
+                pickupTypes[i] = toByte("pickup_type", stopTime.getPickupType());
+                dropOffTypes[i] = toByte("drop_off_type", stopTime.getDropOffType());
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Shape)) {
+                return false;
+            }
+            Shape other = (Shape) o;
+            return Arrays.equals(stops, other.stops) && Arrays.equals(sequences, other.sequences)
+                    && Arrays.equals(headsigns, other.headsigns)
+                    && Arrays.equals(pickupTypes, other.pickupTypes)
+                    && Arrays.equals(dropOffTypes, other.dropOffTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return (Arrays.hashCode(stops) * 31 + Arrays.hashCode(sequences)) * 31
+                    + Arrays.hashCode(headsigns);
+        }
+    }
+
+    /**
+     * Arrival and departure times relative to the start of a trip
+     */
+    private static final class Timing {
+        private final int[] arrivals;
+        private final int[] departures;
+
+        Timing(List<StopTime> rows, int start) {
+            arrivals = new int[rows.size()];
+            departures = new int[rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                arrivals[i] = offset(rows.get(i).getArrivalSeconds(), start);
+                departures[i] = offset(rows.get(i).getDepartureSeconds(), start);
+            }
+        }
+
+        static int offset(int time, int start) {
+            return time == ServiceTime.NONE ? ServiceTime.NONE : time - start;
+        }
+
+        static int time(int offset, int start) {
+            return offset == ServiceTime.NONE ? ServiceTime.NONE : start + offset;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Timing && Arrays.equals(arrivals, ((Timing) o).arrivals)
+                    && Arrays.equals(departures, ((Timing) o).departures);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(arrivals) * 31 + Arrays.hashCode(departures);
+        }
+    }
+
+    private static byte toByte(String field, int value) {
+        if (value < 0 || value > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException(field + " is out of range: " + value);
+        }
+        return (byte) value;
+    }
+
+    /**
+     * Where the trips of one shape visit a stop
+     */
+    private static final class Visit {
+        private final int[] trips;
+        private final int position;
+        private final int sequence;
+
+        Visit(int[] trips, int position, int sequence) {
+            this.trips = trips;
+            this.position = position;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * List of the rows of one trip
+     */
+    private final class TripRows extends AbstractList<StopTime> {
+        private final int trip;
+
+        TripRows(int trip) {
+            this.trip = trip;
+        }
+
+        Shape shape() {
+            return shapes[trip];
+        }
+
+        @Override
+        public StopTime get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+            return new View(firstRows[trip] + index, trip);
+        }
+
+        @Override
+        public int size() {
+            return firstRows[trip + 1] - firstRows[trip];
+        }
+    }
+
+    /**
+     * List of the rows at one stop, made of the trips of each shape that visits it
+     */
+    private final class StopRows extends AbstractList<StopTime> {
+        private final Visit[] visits;
+        // Index in this list of the first row of each visit, followed by the size
+        private final int[] offsets;
+
+        StopRows(List<Visit> visitList) {
+            visits = visitList.toArray(new Visit[0]);
+            offsets = new int[visits.length + 1];
+            for (int i = 0; i < visits.length; i++) {
+                offsets[i + 1] = offsets[i] + visits[i].trips.length;
+            }
+        }
+
+        @Override
+        public StopTime get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+            int low = 0;
+            int high = visits.length - 1;
+            while (low < high) {
+                int middle = (low + high + 1) >>> 1;
+                if (offsets[middle] <= index) {
+                    low = middle;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            int trip = visits[low].trips[index - offsets[low]];
+            return new View(firstRows[trip] + visits[low].position, trip);
+        }
+
+        @Override
+        public int size() {
+            return offsets[visits.length];
+        }
+    }
+
+    /**
+     * Stop time that reads one row of the table
+     */
+    private final class View extends StopTime {
+        private final int row;
+        private final int trip;
+        private final int position;
+
+        View(int row, int trip) {
+            this.row = row;
+            this.trip = trip;
+            position = row - firstRows[trip];
+            publish();
+        }
+
+        @Override
+        public int getArrivalSeconds() {
+            return Timing.time(timings[trip].arrivals[position], starts[trip]);
+        }
+
+        @Override
+        public int getDepartureSeconds() {
+            return Timing.time(timings[trip].departures[position], starts[trip]);
+        }
+
+        @Override
+        public int getDropOffType() {
+            return shapes[trip].dropOffTypes[position];
+        }
+
+        @Override
+        public int getPickupType() {
+            return shapes[trip].pickupTypes[position];
+        }
+
+        @Override
+        public String getStopHeadsign() {
+            return headsigns.decode(shapes[trip].headsigns[position]);
+        }
+
+        @Override
+        public String getStopId() {
+            return stopIds.decode(shapes[trip].stops[position]);
+        }
+
+        @Override
+        public int getStopSequence() {
+            return shapes[trip].sequences[position];
+        }
+
+        @Override
+        public String getTripId() {
+            return tripIds[trip];
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof View && ((View) o).row == row && ((View) o).table() == table();
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(table()) * 31 + row;
+        }
+
+        private PatternTable table() {
+            return PatternTable.this;
+        }
+    }
+}
@@ -0,0 +1,672 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Journeys between two stops that trade arrival time against transfers, found with RAPTOR
+ * <p>
+ * Trips that visit the same timed stops in the same order, without overtaking each other,
+ * are grouped into patterns. Each round k of a query scans the patterns through the stops
+ * improved in round k - 1 and finds the earliest arrival at every stop using at most k trips,
+ * so the rounds give one journey for each number of transfers that arrives sooner than any
+ * journey with fewer. Range queries repeat the rounds for each departure from the first stop
+ * in a window, latest first, keeping the arrivals found for later departures as bounds.
+ * <p>
+ * Patterns, their stops, trips and times are kept in flat arrays of primitives. Within a
+ * round the patterns can be scanned in parallel, each thread writing its own arrivals,
+ * which are merged before the next round.
+ * <p>
+ * Times are seconds since the start of the service day. A query may be limited to the trips
+ * that run on its service day, which are skipped when the earliest trip to board is chosen;
+ * otherwise every trip is assumed to run.
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+public class RaptorRouter {
+    private static final int UNREACHED = Integer.MAX_VALUE;
+    private static final int NO_PICKUP = 1;
+    private static final int NO_DROP_OFF = 1;
+    private static final byte UNKNOWN = 0;
+    private static final byte RUNS = 1;
+    private static final byte DOES_NOT_RUN = 2;
+    // Rounds with fewer patterns to scan are not worth splitting across threads
+    private static final int MIN_PARALLEL_PATTERNS = 256;
+
+    private final HashMap<String, Integer> stopIndexes = new HashMap<>();
+    private final String[] stopIds;
+    private final String[] tripIds;
+    private final String[] routeIds;
+
+    // Pattern p visits patternStops[patternStopStart[p]] to patternStops[patternStopStart[p + 1] - 1]
+    private final int[] patternStopStart;
+    private final int[] patternStops;
+    // and runs trips patternTrips[patternTripStart[p]] onward in order of departure
+    private final int[] patternTripStart;
+    private final int[] patternTrips;
+    // Times of its trip j at its stop i are at patternTimeStart[p] + j * stops + i
+    private final int[] patternTimeStart;
+    private final int[] arrivals;
+    private final int[] departures;
+    private final boolean[] pickups;
+    private final boolean[] dropOffs;
+    // Stop s is visited by stopPatterns[stopPatternStart[s]] onward, at stopPositions
+    private final int[] stopPatternStart;
+    private final int[] stopPatterns;
+    private final int[] stopPositions;
+
+    /**
+     * Groups trips into patterns and lays them out in arrays
+     *
+     * @param stopTimesByTrip stop times of each trip sorted by stop sequence
+     * @param trips trips by trip id, used to find the route of each leg
+     */
+    RaptorRouter(Map<String, List<StopTime>> stopTimesByTrip, Map<String, Trip> trips) {
+        List<String> stops = new ArrayList<>();
+        List<String> tripIdList = new ArrayList<>();
+        Map<String, List<TripTimes>> bySequence = new LinkedHashMap<>();
+        for (Map.Entry<String, List<StopTime>> entry : stopTimesByTrip.entrySet()) {
+            TripTimes times = new TripTimes(tripIdList.size(), entry.getValue(), stops);
+            if (times.stops.length < 2) {
+                continue;
+            }
+            tripIdList.add(entry.getKey());
+            bySequence.computeIfAbsent(Arrays.toString(times.stops), key -> new ArrayList<>())
+                    .add(times);
+        }
+        stopIds = stops.toArray(new String[0]);
+        tripIds = tripIdList.toArray(new String[0]);
+        routeIds = new String[tripIds.length];
+        for (int i = 0; i < tripIds.length; i++) {
+            Trip trip = trips.get(tripIds[i]);
+            routeIds[i] = trip == null ? null : trip.getRouteId();
+        }
+
+        // Trips of a sequence that overtake one another go in separate patterns, so the
+        // trips of every pattern are in order of time at each of its stops
+        List<List<TripTimes>> patterns = new ArrayList<>();
+        for (List<TripTimes> sequence : bySequence.values()) {
+            sequence.sort(Comparator.comparingInt((TripTimes times) -> times.departures[0])
+                    .thenComparingInt(times -> times.trip));
+            int first = patterns.size();
+            for (TripTimes times : sequence) {
+                int pattern = first;
+                while (pattern < patterns.size() && !times.follows(last(patterns.get(pattern)))) {
+                    pattern++;
+                }
+                if (pattern == patterns.size()) {
+                    patterns.add(new ArrayList<>());
+                }
+                patterns.get(pattern).add(times);
+            }
+        }
+
+        int stopCount = 0;
+        int timeCount = 0;
+        for (List<TripTimes> pattern : patterns) {
+            stopCount += pattern.get(0).stops.length;
+            timeCount += pattern.get(0).stops.length * pattern.size();
+        }
+        patternStopStart = new int[patterns.size() + 1];
+        patternStops = new int[stopCount];
+        patternTripStart = new int[patterns.size() + 1];
+        patternTrips = new int[tripIds.length];
+        patternTimeStart = new int[patterns.size()];
+        arrivals = new int[timeCount];
+        departures = new int[timeCount];
+        pickups = new boolean[timeCount];
+        dropOffs = new boolean[timeCount];
+        int[] visits = new int[stopIds.length + 1];
+        int time = 0;
+        for (int p = 0; p < patterns.size(); p++) {
+            List<TripTimes> pattern = patterns.get(p);
+            int[] sequence = pattern.get(0).stops;
+            System.arraycopy(sequence, 0, patternStops, patternStopStart[p], sequence.length);
+            patternStopStart[p + 1] = patternStopStart[p] + sequence.length;
+            patternTimeStart[p] = time;
+            for (int j = 0; j < pattern.size(); j++) {
+                TripTimes times = pattern.get(j);
+                patternTrips[patternTripStart[p] + j] = times.trip;
+                System.arraycopy(times.arrivals, 0, arrivals, time, sequence.length);
+                System.arraycopy(times.departures, 0, departures, time, sequence.length);
+                System.arraycopy(times.pickups, 0, pickups, time, sequence.length);
+                System.arraycopy(times.dropOffs, 0, dropOffs, time, sequence.length);
+                time += sequence.length;
+            }
+            patternTripStart[p + 1] = patternTripStart[p] + pattern.size();
+            for (int stop : sequence) {
+                visits[stop + 1]++;
+            }
+        }
+
+        stopPatternStart = new int[stopIds.length + 1];
+        for (int s = 0; s < stopIds.length; s++) {
+            stopPatternStart[s + 1] = stopPatternStart[s] + visits[s + 1];
+        }
+        stopPatterns = new int[stopCount];
+        stopPositions = new int[stopCount];
+        int[] filled = Arrays.copyOf(stopPatternStart, stopIds.length);
+        for (int p = 0; p < patterns.size(); p++) {
+            for (int i = patternStopStart[p]; i < patternStopStart[p + 1]; i++) {
+                int at = filled[patternStops[i]]++;
+                stopPatterns[at] = p;
+                stopPositions[at] = i - patternStopStart[p];
+            }
+        }
+    }
+
+    private static TripTimes last(List<TripTimes> pattern) {
+        return pattern.get(pattern.size() - 1);
+    }
+
+    /**
+     * Timed stops of one trip, used while patterns are built
+     */
+    private final class TripTimes {
+        private final int trip;
+        private final int[] stops;
+        private final int[] arrivals;
+        private final int[] departures;
+        private final boolean[] pickups;
+        private final boolean[] dropOffs;
+
+        TripTimes(int trip, List<StopTime> stopTimes, List<String> stopList) {
+            this.trip = trip;
+            int size = 0;
+            int[] stopArray = new int[stopTimes.size()];
+            int[] arrivalArray = new int[stopTimes.size()];
+            int[] departureArray = new int[stopTimes.size()];
+            boolean[] pickupArray = new boolean[stopTimes.size()];
+            boolean[] dropOffArray = new boolean[stopTimes.size()];
+            for (StopTime stopTime : stopTimes) {
+                int arrival = stopTime.getArrivalSeconds();
+                int departure = stopTime.getDepartureSeconds();
+                // Stops without times are passed through like the journey planner does
+                if (arrival == ServiceTime.NONE && departure == ServiceTime.NONE) {
+                    continue;
+                }
+                arrivalArray[size] = arrival == ServiceTime.NONE ? departure : arrival;
+                departureArray[size] = Math.max(arrivalArray[size],
+                        departure == ServiceTime.NONE ? arrival : departure);
+                stopArray[size] = stopIndex(stopList, stopTime.getStopId());
+                pickupArray[size] = stopTime.getPickupType() != NO_PICKUP;
+                dropOffArray[size] = stopTime.getDropOffType() != NO_DROP_OFF;
+                size++;
+            }
+            stops = Arrays.copyOf(stopArray, size);
+            arrivals = Arrays.copyOf(arrivalArray, size);
+            departures = Arrays.copyOf(departureArray, size);
+            pickups = Arrays.copyOf(pickupArray, size);
+            dropOffs = Arrays.copyOf(dropOffArray, size);
+        }
+
+        boolean follows(TripTimes other) {
+            for (int i = 0; i < stops.length; i++) {
+                if (arrivals[i] < other.arrivals[i] || departures[i] < other.departures[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private int stopIndex(List<String> stops, String stopId) {
+        Integer index = stopIndexes.get(stopId);
+        if (index == null) {
+            index = stops.size();
+            stops.add(stopId);
+            stopIndexes.put(stopId, index);
+        }
+        return index;
+    }
+
+    /**
+     * Finds the journeys leaving a stop at or after a time that are not beaten by another
+     * journey on both arrival time and transfers
+     *
+     * @param fromStopId stop to leave from
+     * @param toStopId stop to arrive at
+     * @param time earliest departure time, in seconds since the start of the service day
+     * @param maxTransfers most transfers a journey may make
+     * @param minTransferTime seconds needed to change from one trip to another at a stop
+     * @param parallel true to scan the patterns of each round on several threads
+     * @return journeys with the fewest transfers first, or an empty list if the stops are
+     * the same or no trip reaches the destination
+     * @throws IllegalArgumentException if maxTransfers or minTransferTime is negative
+     */
+    public List<Journey> route(String fromStopId, String toStopId, int time, int maxTransfers,
+                               int minTransferTime, boolean parallel) {
+        return route(fromStopId, toStopId, time, time, maxTransfers, minTransferTime, parallel);
+    }
+
+    /**
+     * Finds the journeys leaving a stop within a window that are not beaten by another
+     * journey on departure time, arrival time and transfers
+     *
+     * @param fromStopId stop to leave from
+     * @param toStopId stop to arrive at
+     * @param earliest start of the window, in seconds since the start of the service day
+     * @param latest end of the window, in seconds since the start of the service day
+     * @param maxTransfers most transfers a journey may make
+     * @param minTransferTime seconds needed to change from one trip to another at a stop
+     * @param parallel true to scan the patterns of each round on several threads
+     * @return journeys in order of departure, then transfers, or an empty list if the stops
+     * are the same or no trip reaches the destination
+     * @throws IllegalArgumentException if maxTransfers or minTransferTime is negative, or
+     * latest is before earliest
+     */
+    public List<Journey> route(String fromStopId, String toStopId, int earliest, int latest,
+                               int maxTransfers, int minTransferTime, boolean parallel) {
+        return route(fromStopId, toStopId, earliest, latest, maxTransfers, minTransferTime,
+                parallel, null);
+    }
+
+    /**
+     * Finds the journeys leaving a stop within a window that are not beaten by another
+     * journey on departure time, arrival time and transfers, riding only the trips that run
+     *
+     * @param fromStopId stop to leave from
+     * @param toStopId stop to arrive at
+     * @param earliest start of the window, in seconds since the start of the service day
+     * @param latest end of the window, in seconds since the start of the service day
+     * @param maxTransfers most transfers a journey may make
+     * @param minTransferTime seconds needed to change from one trip to another at a stop
+     * @param parallel true to scan the patterns of each round on several threads
+     * @param running trips that run on the service day, tested with an offset of 0, or null
+     *                for every trip
+     * @return journeys in order of departure, then transfers, or an empty list if the stops
+     * are the same or no trip reaches the destination
+     * @throws IllegalArgumentException if maxTransfers or minTransferTime is negative, or
+     * latest is before earliest
+     */
+    List<Journey> route(String fromStopId, String toStopId, int earliest, int latest,
+                        int maxTransfers, int minTransferTime, boolean parallel,
+                        DepartureBoard.TripFilter running) {
+        if (maxTransfers < 0 || minTransferTime < 0) {
+            throw new IllegalArgumentException("maxTransfers and minTransferTime may not be negative");
+        }
+        if (latest < earliest) {
+            throw new IllegalArgumentException("latest may not be before earliest");
+        }
+        Integer from = stopIndexes.get(fromStopId);
+        Integer to = stopIndexes.get(toStopId);
+        if (from == null || to == null || from.equals(to)) {
+            return Collections.emptyList();
+        }
+
+        Search search = new Search(from, to, maxTransfers + 1, minTransferTime, parallel,
+                running);
+        // A single time is searched as is; a window is searched at each departure within it
+        TreeSet<Integer> times = new TreeSet<>(Collections.reverseOrder());
+        times.add(latest);
+        if (latest > earliest) {
+            for (int v = stopPatternStart[from]; v < stopPatternStart[from + 1]; v++) {
+                int p = stopPatterns[v];
+                int stops = patternStopStart[p + 1] - patternStopStart[p];
+                for (int j = 0; j < patternTripStart[p + 1] - patternTripStart[p]; j++) {
+                    int at = patternTimeStart[p] + j * stops + stopPositions[v];
+                    if (pickups[at] && departures[at] >= earliest && departures[at] < latest
+                            && search.runs(patternTrips[patternTripStart[p] + j])) {
+                        times.add(departures[at]);
+                    }
+                }
+            }
+        }
+
+        List<Journey> found = new ArrayList<>();
+        for (int time : times) {
+            search.run(time, found);
+        }
+        List<Journey> journeys = new ArrayList<>();
+        for (Journey journey : found) {
+            boolean dominated = false;
+            for (Journey other : found) {
+                dominated |= other.dominates(journey);
+            }
+            if (!dominated) {
+                journeys.add(journey);
+            }
+        }
+        journeys.sort(Comparator.comparingInt(Journey::getDepartureTime)
+                .thenComparingInt(Journey::getTransfers));
+        return journeys;
+    }
+
+    /**
+     * Gets the number of patterns the trips were grouped into
+     *
+     * @return the number of patterns
+     */
+    public int getPatternCount() {
+        return patternTimeStart.length;
+    }
+
+    /**
+     * Arrivals at stops and how each was reached, for one round or one thread
+     */
+    private static final class Labels {
+        private final int[] times;
+        private final int[] patterns;
+        private final int[] trips;
+        private final int[] boardings;
+        private final int[] alightings;
+        private int[] touched = new int[16];
+        private int touchedCount;
+
+        Labels(int stops) {
+            times = new int[stops];
+            patterns = new int[stops];
+            trips = new int[stops];
+            boardings = new int[stops];
+            alightings = new int[stops];
+            Arrays.fill(times, UNREACHED);
+            Arrays.fill(patterns, -1);
+        }
+
+        void set(int stop, int time, int pattern, int trip, int boarding, int alighting) {
+            if (times[stop] == UNREACHED) {
+                if (touchedCount == touched.length) {
+                    touched = Arrays.copyOf(touched, touchedCount * 2);
+                }
+                touched[touchedCount++] = stop;
+            }
+            times[stop] = time;
+            patterns[stop] = pattern;
+            trips[stop] = trip;
+            boardings[stop] = boarding;
+            alightings[stop] = alighting;
+        }
+
+        void copy(int stop, Labels other) {
+            times[stop] = other.times[stop];
+            patterns[stop] = other.patterns[stop];
+            trips[stop] = other.trips[stop];
+            boardings[stop] = other.boardings[stop];
+            alightings[stop] = other.alightings[stop];
+        }
+
+        void clear() {
+            for (int i = 0; i < touchedCount; i++) {
+                times[touched[i]] = UNREACHED;
+            }
+            touchedCount = 0;
+        }
+    }
+
+    /**
+     * State of one query, kept across the departure times of a range so the arrivals found
+     * for later departures bound those of earlier ones
+     */
+    private final class Search {
+        private final int from;
+        private final int to;
+        private final int minTransferTime;
+        private final Labels[] rounds;
+        private final Labels[] workers;
+        private final DepartureBoard.TripFilter running;
+        // Whether each trip runs, found the first time it could be boarded; threads that
+        // find the same trip write the same value
+        private final byte[] tripRuns;
+
+        private final int[] firstPositions;
+        private int[] queue = new int[16];
+        private int queueSize;
+        private final boolean[] marked;
+        private int[] markedStops = new int[16];
+        private int markedCount;
+
+        Search(int from, int to, int rounds, int minTransferTime, boolean parallel,
+               DepartureBoard.TripFilter running) {
+            this.from = from;
+            this.to = to;
+            this.minTransferTime = minTransferTime;
+            this.rounds = new Labels[rounds + 1];
+            for (int k = 0; k <= rounds; k++) {
+                this.rounds[k] = new Labels(stopIds.length);
+            }
+            int threads = parallel ? ForkJoinPool.getCommonPoolParallelism() + 1 : 1;
+            workers = new Labels[threads > 1 ? threads : 0];
+            for (int w = 0; w < workers.length; w++) {
+                workers[w] = new Labels(stopIds.length);
+            }
+            firstPositions = new int[patternTimeStart.length];
+            Arrays.fill(firstPositions, -1);
+            marked = new boolean[stopIds.length];
+            this.running = running;
+            tripRuns = running == null ? null : new byte[tripIds.length];
+        }
+
+        boolean runs(int trip) {
+            if (running == null) {
+                return true;
+            }
+            byte runs = tripRuns[trip];
+            if (runs == UNKNOWN) {
+                runs = running.test(tripIds[trip], 0) ? RUNS : DOES_NOT_RUN;
+                tripRuns[trip] = runs;
+            }
+            return runs == RUNS;
+        }
+
+        void run(int time, List<Journey> found) {
+            int[] before = new int[rounds.length];
+            for (int k = 1; k < rounds.length; k++) {
+                before[k] = rounds[k].times[to];
+            }
+            rounds[0].set(from, time, -1, -1, -1, -1);
+            mark(from);
+
+            for (int k = 1; k < rounds.length && markedCount > 0; k++) {
+                Labels previous = rounds[k - 1];
+                Labels current = rounds[k];
+                for (int s = 0; s < stopIds.length; s++) {
+                    if (previous.times[s] < current.times[s]) {
+                        current.copy(s, previous);
+                    }
+                }
+                collectPatterns();
+                if (workers.length > 0 && queueSize >= MIN_PARALLEL_PATTERNS) {
+                    scanParallel(previous, current);
+                } else {
+                    for (int q = 0; q < queueSize; q++) {
+                        scan(queue[q], previous, current, current);
+                    }
+                }
+                for (int q = 0; q < queueSize; q++) {
+                    firstPositions[queue[q]] = -1;
+                }
+                queueSize = 0;
+            }
+            while (markedCount > 0) {
+                marked[markedStops[--markedCount]] = false;
+            }
+
+            // A round that arrives sooner than this search did before, and sooner than the
+            // round before it, found a new journey
+            for (int k = 1; k < rounds.length; k++) {
+                int arrival = rounds[k].times[to];
+                if (arrival < before[k] && arrival < rounds[k - 1].times[to]) {
+                    found.add(journey(k));
+                }
+            }
+        }
+
+        private void mark(int stop) {
+            if (!marked[stop]) {
+                marked[stop] = true;
+                if (markedCount == markedStops.length) {
+                    markedStops = Arrays.copyOf(markedStops, markedCount * 2);
+                }
+                markedStops[markedCount++] = stop;
+            }
+        }
+
+        private void collectPatterns() {
+            for (int m = 0; m < markedCount; m++) {
+                int stop = markedStops[m];
+                marked[stop] = false;
+                for (int v = stopPatternStart[stop]; v < stopPatternStart[stop + 1]; v++) {
+                    int p = stopPatterns[v];
+                    if (firstPositions[p] < 0) {
+                        if (queueSize == queue.length) {
+                            queue = Arrays.copyOf(queue, queueSize * 2);
+                        }
+                        queue[queueSize++] = p;
+                        firstPositions[p] = stopPositions[v];
+                    } else {
+                        firstPositions[p] = Math.min(firstPositions[p], stopPositions[v]);
+                    }
+                }
+            }
+            markedCount = 0;
+        }
+
+        private void scanParallel(Labels previous, Labels current) {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            for (int w = 1; w < workers.length; w++) {
+                int worker = w;
+                tasks.add(ForkJoinPool.commonPool().submit(
+                        () -> scanShare(worker, previous, current)));
+            }
+            scanShare(0, previous, current);
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+            // Threads are merged in order, so the result does not depend on their timing
+            for (Labels worker : workers) {
+                for (int i = 0; i < worker.touchedCount; i++) {
+                    int stop = worker.touched[i];
+                    int time = worker.times[stop];
+                    if (time < current.times[stop] && time < current.times[to]) {
+                        current.copy(stop, worker);
+                        mark(stop);
+                    }
+                }
+                worker.clear();
+            }
+        }
+
+        private void scanShare(int worker, Labels previous, Labels current) {
+            for (int q = worker; q < queueSize; q += workers.length) {
+                scan(queue[q], previous, current, workers[worker]);
+            }
+        }
+
+        /**
+         * Rides the earliest trip of a pattern that can be boarded at each of its stops from
+         * the first marked one, improving the arrivals at the stops after it. Arrivals are
+         * kept only if they beat this round's arrival at the stop and at the destination;
+         * bounds from other rounds would drop journeys that arrive later with fewer trips.
+         */
+        private void scan(int p, Labels previous, Labels current, Labels out) {
+            int first = patternStopStart[p];
+            int length = patternStopStart[p + 1] - first;
+            int tripCount = patternTripStart[p + 1] - patternTripStart[p];
+            int base = patternTimeStart[p];
+            int trip = -1;
+            int boarding = -1;
+            for (int i = firstPositions[p]; i < length; i++) {
+                int stop = patternStops[first + i];
+                if (trip >= 0) {
+                    int at = base + trip * length + i;
+                    int time = arrivals[at];
+                    if (dropOffs[at] && time < out.times[stop] && time < current.times[stop]
+                            && time < current.times[to]) {
+                        out.set(stop, time, p, trip, boarding, i);
+                        if (out == current) {
+                            mark(stop);
+                        }
+                    }
+                }
+                int arrived = previous.times[stop];
+                if (arrived == UNREACHED || i == length - 1) {
+                    continue;
+                }
+                long ready = stop == from ? arrived : (long) arrived + minTransferTime;
+                if (trip < 0 || ready <= departures[base + trip * length + i]) {
+                    int earlier = earliestTrip(p, length, trip < 0 ? tripCount : trip, i, ready);
+                    if (earlier >= 0) {
+                        trip = earlier;
+                        boarding = i;
+                    }
+                }
+            }
+        }
+
+        private int earliestTrip(int p, int length, int limit, int position, long ready) {
+            int base = patternTimeStart[p];
+            int low = 0;
+            int high = limit;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (departures[base + middle * length + position] < ready) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            while (low < limit && (!pickups[base + low * length + position]
+                    || !runs(patternTrips[patternTripStart[p] + low]))) {
+                low++;
+            }
+            return low < limit ? low : -1;
+        }
+
+        private Journey journey(int round) {
+            List<Leg> legs = new ArrayList<>();
+            int stop = to;
+            for (int k = round; k > 0 && rounds[k].patterns[stop] >= 0; k--) {
+                Labels labels = rounds[k];
+                int p = labels.patterns[stop];
+                int length = patternStopStart[p + 1] - patternStopStart[p];
+                int at = patternTimeStart[p] + labels.trips[stop] * length;
+                int trip = patternTrips[patternTripStart[p] + labels.trips[stop]];
+                int boardStop = patternStops[patternStopStart[p] + labels.boardings[stop]];
+                legs.add(new Leg(tripIds[trip], routeIds[trip], stopIds[boardStop], stopIds[stop],
+                        departures[at + labels.boardings[stop]],
+                        arrivals[at + labels.alightings[stop]]));
+                stop = boardStop;
+            }
+            Collections.reverse(legs);
+            return new Journey(legs);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import gtfsapplication.GTFSException;
+
+/**
+ * Exception thrown when a single row of a GTFS file fails validation
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+public class RejectedRowException extends GTFSException {
+    private final Rejection rejection;
+
+    /**
+     * Creates an exception for a rejected row
+     * @param filename file the row was read from
+     * @param row row that failed validation
+     * @param field field that failed validation, or null if the whole row was invalid
+     * @param reason message describing the problem
+     */
+    public RejectedRowException(String filename, RowCursor row, String field, String reason) {
+        super(filename + "\n" + reason);
+        this.rejection = new Rejection(filename, row.getRowNumber(), field, reason);
+    }
+
+    public Rejection getRejection() {
+        return rejection;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+/**
+ * A row of a GTFS file that was not imported, and the reason why
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+public class Rejection {
+    private final String filename;
+    private final long rowNumber;
+    private final String field;
+    private final String reason;
+
+    /**
+     * Creates a rejection
+     * @param filename file the row was read from
+     * @param rowNumber number of the row in the file, starting at 1 for the header
+     * @param field field that failed validation, or null if the whole row was invalid
+     * @param reason message describing the problem
+     */
+    public Rejection(String filename, long rowNumber, String field, String reason) {
+        this.filename = filename;
+        this.rowNumber = rowNumber;
+        this.field = field;
+        this.reason = reason;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public long getRowNumber() {
+        return rowNumber;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    @Override
+    public String toString() {
+        return filename + " row " + rowNumber + ": " + reason;
+    }
+}
@@ -33,7 +33,6 @@ import javafx.scene.paint.Color;
 
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -88,6 +87,15 @@ public class Route {
         this.textColor = textColor;
     }
 
+    /**
+     * Creates a copy of a route, which edits change in place of the original
+     * @param other route to copy
+     */
+    Route(Route other) {
+        this(other.id, other.shortName, other.longName, other.description, other.type,
+                other.url, other.agencyId, other.color, other.textColor);
+    }
+
     /**
      * Creates a route object from a raw line and list of fields
      * @param fields list of fields retrieved from Route.validateHeader
@@ -95,63 +103,71 @@ public class Route {
      * @throws GTFSException if there is a problem importing the file
      */
     public Route(List<String> fields, String raw) throws GTFSException {
+        this(fields, CsvTokenizer.parseRow(raw));
+    }
+
+    /**
+     * Creates a route object from the current row of a routes.txt file
+     * @param fields list of fields retrieved from Route.validateHeader
+     * @param row row from routes.txt
+     * @throws RejectedRowException if the row is not valid
+     */
+    public Route(List<String> fields, RowCursor row) throws RejectedRowException {
         presentFields = fields;
-        List<String> values = ImportHelper.parseLine(raw);
-        if (fields.size() != values.size()) {
-            throw new GTFSException("routes.txt\n" +
+        if (fields.size() != row.size()) {
+            throw new RejectedRowException("routes.txt", row, null,
                                     "Expected " + fields.size() + " values, " +
-                                    "got " + values.size());
+                                    "got " + row.size());
         }
 
         for (int i = 0; i < fields.size(); i++) {
             String field = fields.get(i);
-            String value = values.get(i);
 
             try {
                 switch (field) {
                     case "route_id":
-                        if (value.length() < 1) {
-                            throw new GTFSException("routes.txt\n" +
+                        if (row.isEmpty(i)) {
+                            throw new RejectedRowException("routes.txt", row, "route_id",
                                                     "route_id is required");
                         }
-                        id = value;
+                        id = row.getSymbol(i);
                         break;
                     case "route_short_name":
-                        shortName = value;
+                        shortName = row.get(i);
                         break;
                     case "route_long_name":
-                        longName = value;
+                        longName = row.get(i);
                         break;
                     case "route_desc":
-                        description = value;
+                        description = row.get(i);
                         break;
                     case "route_type":
-                        type = Integer.parseInt(value);
+                        type = row.getInt(i);
                         break;
                     case "route_url":
-                        if (value.length() != 0) {
-                            url = new URL(value);
+                        if (!row.isEmpty(i)) {
+                            url = new URL(row.get(i));
                         }
                         break;
                     case "route_color":
-                        color = Color.web("#" + value);
+                        color = Color.web("#" + row.get(i));
                         break;
                     case "route_text_color":
-                        if (value.length() != 0) {
-                            textColor = Color.web("#" + value);
+                        if (!row.isEmpty(i)) {
+                            textColor = Color.web("#" + row.get(i));
                         }
                         break;
                 }
             } catch (NumberFormatException ex) {
-                throw new GTFSException("routes.txt\n" +
-                                        field + " needs to be a valid integer. Got: " + value);
+                throw new RejectedRowException("routes.txt", row, field,
+                                        field + " needs to be a valid integer. Got: " + row.get(i));
             } catch (MalformedURLException ex) {
-                throw new GTFSException("routes.txt\n" +
+                throw new RejectedRowException("routes.txt", row, field,
                                         field + " needs to be a valid url or not provided. Got: " +
-                                        value);
+                                        row.get(i));
             } catch (IllegalArgumentException ex) {
-                throw new GTFSException("routes.txt\n" +
-                                        field + " needs to be a valid color. Got: " + value);
+                throw new RejectedRowException("routes.txt", row, field,
+                                        field + " needs to be a valid color. Got: " + row.get(i));
             }
         }
     }
@@ -171,6 +187,14 @@ public class Route {
         );
     }
 
+    /**
+     * Sets the fields written by toString, for routes that were not read from routes.txt
+     * @param fields list of fields retrieved from Route.validateHeader
+     */
+    static void setPresentFields(List<String> fields) {
+        presentFields = fields;
+    }
+
     /**
      * Validates that the line provided matches the fields from the header
      * @param fields list of included fields retrieved from Route.validateHeader
@@ -186,34 +210,20 @@ public class Route {
         }
     }
 
-    private static List<String> parseLine(String line) {
-        List<String> values = new ArrayList<>();
-        char[] chars = line.toCharArray();
-
-        String value = "";
-        boolean quoted = false;
-        for (int i = 0; i <= chars.length; i++) {
-            value += i == chars.length ? "" : chars[i];
-            if (value.length() == 1 && value.equals("\"")) {
-                quoted = true;
-            }
-            if ((!quoted && value.endsWith(",")) ||
-                    (i == chars.length && !quoted)) {
-                final int endSub = i == chars.length ? 0 : 1;
-                values.add(value.substring(0, value.length() - endSub));
-                value = "";
-            }
-            if ((quoted && value.endsWith("\",")) ||
-                    (i == chars.length && quoted && value.endsWith("\""))) {
-                final int endSub = i == chars.length ? 1 : 2;
-                value = value.substring(1);
-                value = value.substring(0, value.length() - endSub);
-                values.add(value);
-                value = "";
-                quoted = false;
-            }
+    /**
+     * Creates a route from the current row of routes.txt, validating it in the same pass
+     * @param fields list of fields retrieved from Route.validateHeader
+     * @param row row from routes.txt
+     * @param report report that a rejected row is added to
+     * @return the route, or null if the row was rejected
+     */
+    public static Route fromRow(List<String> fields, RowCursor row, ImportReport report) {
+        try {
+            return new Route(fields, row);
+        } catch (RejectedRowException ex) {
+            report.reject(ex.getRejection());
+            return null;
         }
-        return values;
     }
 
     public String getAgencyId() {
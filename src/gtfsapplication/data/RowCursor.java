@@ -0,0 +1,106 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+/**
+ * Read-only view of the current row of a GTFS file.
+ * <p>
+ * Implementations reuse their buffers between rows, so values should be
+ * copied out (with {@link #get(int)}) before the cursor is advanced.
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+public interface RowCursor {
+    /**
+     * Gets the number of values in the current row
+     *
+     * @return number of values
+     */
+    int size();
+
+    /**
+     * Gets a value as a String, creating the String only when this is called
+     *
+     * @param index index of the value
+     * @return the value, with surrounding whitespace and quotes removed
+     */
+    String get(int index);
+
+    /**
+     * Gets a value that is likely to repeat on other rows, such as an id or headsign.
+     * When the cursor is reading a feed, every equal value shares one String.
+     *
+     * @param index index of the value
+     * @return the value, with surrounding whitespace and quotes removed
+     */
+    String getSymbol(int index);
+
+    /**
+     * Checks if a value is empty without creating a String
+     *
+     * @param index index of the value
+     * @return true if the value has no characters
+     */
+    boolean isEmpty(int index);
+
+    /**
+     * Parses a value as an integer without creating a String
+     *
+     * @param index index of the value
+     * @return the integer value
+     * @throws NumberFormatException if the value is not a valid integer
+     */
+    int getInt(int index);
+
+    /**
+     * Parses a value as a double
+     *
+     * @param index index of the value
+     * @return the double value
+     * @throws NumberFormatException if the value is not a valid double
+     */
+    double getDouble(int index);
+
+    /**
+     * Parses a value as a GTFS time without creating a String
+     *
+     * @param index index of the value
+     * @return seconds since the start of the service day, or ServiceTime.NONE if empty
+     * @throws IllegalArgumentException if the value is not a valid time
+     */
+    int getTime(int index);
+
+    /**
+     * Gets the number of the current row, starting at 1 for the header
+     *
+     * @return row number
+     */
+    long getRowNumber();
+}
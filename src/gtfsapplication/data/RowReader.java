@@ -0,0 +1,70 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Row cursor that reads a GTFS file from start to end
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+interface RowReader extends RowCursor, Closeable {
+    /**
+     * Advances to the next row
+     *
+     * @return true if a row was read, false at the end of the input
+     * @throws IOException if the input cannot be read
+     * @throws IllegalArgumentException if the row is not valid CSV
+     */
+    boolean next() throws IOException;
+
+    /**
+     * Gets the current row exactly as it appeared in the input
+     *
+     * @return the raw row, without its line break
+     */
+    String line();
+
+    /**
+     * Sets the number of the last row read, for readers that start part way through a file
+     *
+     * @param rowNumber number of rows before the next row
+     */
+    void setRowNumber(long rowNumber);
+
+    /**
+     * Shares the values returned by getSymbol with the rest of a feed
+     *
+     * @param symbols symbol table of the feed
+     */
+    void setSymbols(SymbolTable symbols);
+}
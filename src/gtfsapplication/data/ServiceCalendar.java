@@ -0,0 +1,213 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The dates each service runs on, from calendar.txt and calendar_dates.txt
+ * <p>
+ * Each service_id is compiled into a bitset with one bit per date, counted from the
+ * earliest date in either file, so checking whether a trip runs on a date is a map lookup
+ * and a bit test. Weekdays of calendar.txt are set first, then the dates of
+ * calendar_dates.txt are added or removed.
+ * <p>
+ * A feed without calendars, and a trip without a service_id, are taken to run every day.
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+public class ServiceCalendar {
+    private final List<ServicePeriod> periods;
+    private final List<CalendarDate> dates;
+    // Epoch day of bit 0 of every bitset
+    private final long firstDay;
+    private final Map<String, BitSet> daysByService;
+
+    /**
+     * Compiles the dates of each service
+     *
+     * @param periods rows of calendar.txt
+     * @param dates rows of calendar_dates.txt
+     */
+    ServiceCalendar(List<ServicePeriod> periods, List<CalendarDate> dates) {
+        this.periods = Collections.unmodifiableList(periods);
+        this.dates = Collections.unmodifiableList(dates);
+        long first = Long.MAX_VALUE;
+        for (ServicePeriod period : periods) {
+            first = Math.min(first, period.getStartDate().toEpochDay());
+        }
+        for (CalendarDate date : dates) {
+            first = Math.min(first, date.getDate().toEpochDay());
+        }
+        firstDay = first;
+
+        Map<String, BitSet> map = new HashMap<>();
+        for (ServicePeriod period : periods) {
+            BitSet days = map.computeIfAbsent(period.getServiceId(), key -> new BitSet());
+            long start = period.getStartDate().toEpochDay();
+            long end = period.getEndDate().toEpochDay();
+            int startDay = period.getStartDate().getDayOfWeek().getValue();
+            for (DayOfWeek day : DayOfWeek.values()) {
+                if (period.runsOn(day)) {
+                    for (long date = start + Math.floorMod(day.getValue() - startDay, 7);
+                         date <= end; date += 7) {
+                        days.set((int) (date - firstDay));
+                    }
+                }
+            }
+        }
+        for (CalendarDate date : dates) {
+            BitSet days = map.computeIfAbsent(date.getServiceId(), key -> new BitSet());
+            days.set((int) (date.getDate().toEpochDay() - firstDay),
+                    date.getExceptionType() == CalendarDate.ADDED);
+        }
+        daysByService = map;
+    }
+
+    /**
+     * Checks if there are no services, in which case every trip runs every day
+     *
+     * @return true if neither calendar file has any rows
+     */
+    public boolean isEmpty() {
+        return daysByService.isEmpty();
+    }
+
+    /**
+     * Gets the ids of every service
+     *
+     * @return service ids from either file
+     */
+    public Set<String> getServiceIds() {
+        return Collections.unmodifiableSet(daysByService.keySet());
+    }
+
+    /**
+     * Checks if a service runs on a date
+     *
+     * @param serviceId service to check
+     * @param date service date
+     * @return true if the service runs on the date
+     */
+    public boolean isActive(String serviceId, LocalDate date) {
+        return isActive(serviceId, date.toEpochDay());
+    }
+
+    /**
+     * Checks if a service runs on a date
+     *
+     * @param serviceId service to check
+     * @param epochDay service date, as days since 1970-01-01
+     * @return true if the service runs on the date
+     */
+    boolean isActive(String serviceId, long epochDay) {
+        long index = epochDay - firstDay;
+        if (index < 0 || index > Integer.MAX_VALUE) {
+            return false;
+        }
+        BitSet days = daysByService.get(serviceId);
+        return days != null && days.get((int) index);
+    }
+
+    /**
+     * Checks if a trip runs on a service date
+     *
+     * @param trip trip to check, or null for a trip that was not imported
+     * @param date service date
+     * @return true if the trip runs on the date, or if it cannot be known
+     */
+    public boolean isRunning(Trip trip, LocalDate date) {
+        return isRunning(trip, date.toEpochDay());
+    }
+
+    /**
+     * Checks if a trip runs on a service date
+     *
+     * @param trip trip to check, or null for a trip that was not imported
+     * @param epochDay service date, as days since 1970-01-01
+     * @return true if the trip runs on the date, or if it cannot be known
+     */
+    boolean isRunning(Trip trip, long epochDay) {
+        return daysByService.isEmpty() || trip == null || trip.getServiceId() == null
+                || isActive(trip.getServiceId(), epochDay);
+    }
+
+    List<ServicePeriod> getPeriods() {
+        return periods;
+    }
+
+    List<CalendarDate> getDates() {
+        return dates;
+    }
+
+    /**
+     * Parses a GTFS date
+     *
+     * @param value date as YYYYMMDD
+     * @return the date
+     * @throws IllegalArgumentException if the value is not a valid date
+     */
+    public static LocalDate parseDate(String value) {
+        if (value.length() != 8) {
+            throw new IllegalArgumentException("Expected YYYYMMDD: " + value);
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) < '0' || value.charAt(i) > '9') {
+                throw new IllegalArgumentException("Expected YYYYMMDD: " + value);
+            }
+        }
+        try {
+            return LocalDate.of(Integer.parseInt(value.substring(0, 4)),
+                    Integer.parseInt(value.substring(4, 6)),
+                    Integer.parseInt(value.substring(6)));
+        } catch (DateTimeException ex) {
+            throw new IllegalArgumentException("Not a date: " + value, ex);
+        }
+    }
+
+    /**
+     * Formats a date as GTFS writes it
+     *
+     * @param date date to format
+     * @return the date as YYYYMMDD
+     */
+    public static String formatDate(LocalDate date) {
+        return String.format("%04d%02d%02d",
+                date.getYear(), date.getMonthValue(), date.getDayOfMonth());
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import gtfsapplication.GTFSException;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The weekdays a service runs between two dates, from one row of calendar.txt
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+public class ServicePeriod {
+    private static final String[] DAY_FIELDS = {
+            "monday", "tuesday", "wednesday", "thursday", "friday", "saturday", "sunday"
+    };
+    private static String[] requiredFields = {
+            "service_id",
+            "monday",
+            "tuesday",
+            "wednesday",
+            "thursday",
+            "friday",
+            "saturday",
+            "sunday",
+            "start_date",
+            "end_date"
+    };
+
+    private String serviceId;
+    // Bit 0 is Monday and bit 6 is Sunday
+    private int days;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    /**
+     * Constructor for a ServicePeriod that already exists
+     * @param serviceId identifies the service
+     * @param days weekdays the service runs on
+     * @param startDate first date of the period
+     * @param endDate last date of the period
+     */
+    public ServicePeriod(String serviceId, List<DayOfWeek> days, LocalDate startDate,
+                         LocalDate endDate) {
+        this.serviceId = serviceId;
+        for (DayOfWeek day : days) {
+            this.days |= 1 << (day.getValue() - 1);
+        }
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    /**
+     * Creates a service period from the current row of a calendar.txt file
+     * @param fields list of fields retrieved from ServicePeriod.validateHeader
+     * @param row row from calendar.txt
+     * @throws RejectedRowException if the row is not valid
+     */
+    public ServicePeriod(List<String> fields, RowCursor row) throws RejectedRowException {
+        if (fields.size() != row.size()) {
+            throw new RejectedRowException("calendar.txt", row, null,
+                    "Expected " + fields.size() + " values, " +
+                    "got " + row.size());
+        }
+
+        for (int i = 0; i < fields.size(); i++) {
+            String field = fields.get(i);
+
+            try {
+                switch (field) {
+                    case "service_id":
+                        if (row.isEmpty(i)) {
+                            throw new RejectedRowException("calendar.txt", row, "service_id",
+                                    "service_id is required");
+                        }
+                        serviceId = row.getSymbol(i);
+                        break;
+                    case "start_date":
+                        startDate = ServiceCalendar.parseDate(row.get(i));
+                        break;
+                    case "end_date":
+                        endDate = ServiceCalendar.parseDate(row.get(i));
+                        break;
+                    default:
+                        int day = Arrays.asList(DAY_FIELDS).indexOf(field);
+                        int value = row.getInt(i);
+                        if (value != 0 && value != 1) {
+                            throw new NumberFormatException();
+                        }
+                        days |= value << day;
+                        break;
+                }
+            } catch (NumberFormatException ex) {
+                throw new RejectedRowException("calendar.txt", row, field,
+                        field + " needs to be 0 or 1. Got: " + row.get(i));
+            } catch (IllegalArgumentException ex) {
+                throw new RejectedRowException("calendar.txt", row, field,
+                        field + " needs to be a date as YYYYMMDD. Got: " + row.get(i));
+            }
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new RejectedRowException("calendar.txt", row, "end_date",
+                    "end_date is before start_date");
+        }
+    }
+
+    /**
+     * Validates that the format of a header is valid
+     * @param header the header to validate
+     * @return the variables included in the header
+     * @throws GTFSException if the error occurs while reading the first line
+     */
+    public static List<String> validateHeader(String header) throws GTFSException {
+        return ImportHelper.validateHeader(
+                "calendar.txt",
+                Arrays.asList(requiredFields),
+                Collections.<String>emptyList(),
+                header
+        );
+    }
+
+    /**
+     * Creates a service period from the current row of calendar.txt, validating it in
+     * the same pass
+     * @param fields list of fields retrieved from ServicePeriod.validateHeader
+     * @param row row from calendar.txt
+     * @param report report that a rejected row is added to
+     * @return the service period, or null if the row was rejected
+     */
+    public static ServicePeriod fromRow(List<String> fields, RowCursor row,
+                                        ImportReport report) {
+        try {
+            return new ServicePeriod(fields, row);
+        } catch (RejectedRowException ex) {
+            report.reject(ex.getRejection());
+            return null;
+        }
+    }
+
+    /**
+     * Gets the header of the calendar.txt files that toString writes rows of
+     * @return the header
+     */
+    static String header() {
+        return String.join(",", requiredFields);
+    }
+
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    /**
+     * Checks if the service runs on a weekday, on the dates of the period
+     * @param day day of the week
+     * @return true if the service runs on the day
+     */
+    public boolean runsOn(DayOfWeek day) {
+        return (days & 1 << (day.getValue() - 1)) != 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(serviceId);
+        for (int day = 0; day < DAY_FIELDS.length; day++) {
+            builder.append(',').append(days >> day & 1);
+        }
+        return builder.append(',').append(ServiceCalendar.formatDate(startDate))
+                .append(',').append(ServiceCalendar.formatDate(endDate)).toString();
+    }
+}
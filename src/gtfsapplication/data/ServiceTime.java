@@ -0,0 +1,146 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+/**
+ * Conversions between GTFS time strings and seconds since the start of the service day
+ * <p>
+ * GTFS times are measured from noon minus 12 hours and may go past 24:00:00 for
+ * trips that finish after midnight, so they are kept as plain seconds rather than
+ * as LocalTime values.
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+public final class ServiceTime {
+    /**
+     * Value used when a time is not provided
+     */
+    public static final int NONE = -1;
+
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final int SECONDS_PER_HOUR = 3600;
+
+    private ServiceTime() {
+    }
+
+    /**
+     * Parses a time in H:MM:SS format; H:MM and a bare hour count are also accepted
+     *
+     * @param time time to parse, hours may be 24 or more
+     * @return seconds since the start of the service day, or NONE if time is null or empty
+     * @throws IllegalArgumentException if the time is not valid
+     */
+    public static int parse(String time) {
+        if (time == null || time.trim().isEmpty()) {
+            return NONE;
+        }
+        return parse(time.trim().toCharArray(), 0, time.trim().length());
+    }
+
+    /**
+     * Parses a time in H:MM:SS format from part of a character array;
+     * H:MM and a bare hour count are also accepted
+     *
+     * @param chars characters containing the time
+     * @param start index of the first character
+     * @param end index after the last character
+     * @return seconds since the start of the service day, or NONE if the range is empty
+     * @throws IllegalArgumentException if the time is not valid
+     */
+    static int parse(char[] chars, int start, int end) {
+        if (start == end) {
+            return NONE;
+        }
+        int seconds = 0;
+        int part = 0;
+        int parts = 0;
+        int digits = 0;
+        for (int i = start; i <= end; i++) {
+            if (i == end || chars[i] == ':') {
+                boolean hours = parts == 0;
+                if (digits == 0 || (!hours && (digits != 2 || part >= SECONDS_PER_MINUTE))
+                        || part > 9999) {
+                    throw invalid(chars, start, end);
+                }
+                seconds = seconds * SECONDS_PER_MINUTE + part;
+                parts++;
+                part = 0;
+                digits = 0;
+            } else if (chars[i] >= '0' && chars[i] <= '9' && digits < 5) {
+                part = part * 10 + (chars[i] - '0');
+                digits++;
+            } else {
+                throw invalid(chars, start, end);
+            }
+        }
+        if (parts == 1) {
+            return seconds * SECONDS_PER_HOUR;
+        } else if (parts == 2) {
+            return seconds * SECONDS_PER_MINUTE;
+        } else if (parts == 3) {
+            return seconds;
+        }
+        throw invalid(chars, start, end);
+    }
+
+    /**
+     * Formats seconds since the start of the service day as HH:MM:SS
+     *
+     * @param seconds seconds to format
+     * @return the formatted time, or an empty String for NONE
+     */
+    public static String format(int seconds) {
+        if (seconds == NONE) {
+            return "";
+        }
+        int hours = seconds / SECONDS_PER_HOUR;
+        int minutes = seconds / SECONDS_PER_MINUTE % SECONDS_PER_MINUTE;
+        int secs = seconds % SECONDS_PER_MINUTE;
+        char[] chars = new char[hours > 99 ? 9 : 8];
+        int i = 0;
+        if (hours > 99) {
+            chars[i++] = (char) ('0' + hours / 100 % 10);
+        }
+        chars[i++] = (char) ('0' + hours / 10 % 10);
+        chars[i++] = (char) ('0' + hours % 10);
+        chars[i++] = ':';
+        chars[i++] = (char) ('0' + minutes / 10);
+        chars[i++] = (char) ('0' + minutes % 10);
+        chars[i++] = ':';
+        chars[i++] = (char) ('0' + secs / 10);
+        chars[i] = (char) ('0' + secs % 10);
+        return new String(chars);
+    }
+
+    private static IllegalArgumentException invalid(char[] chars, int start, int end) {
+        return new IllegalArgumentException(
+                new String(chars, start, end - start) + " is not a valid time.");
+    }
+}
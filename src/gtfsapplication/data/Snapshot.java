@@ -0,0 +1,558 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import gtfsapplication.GTFSException;
+import javafx.scene.paint.Color;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Everything stored in a GTFS object, in a form that can be written to a binary file
+ * <p>
+ * Every distinct String is written once to a string table and referred to by its index
+ * everywhere else, stop times are written as columns, and the indexes are written as
+ * row numbers so they do not need to be rebuilt. Files are read through a memory
+ * mapping with bulk copies into primitive arrays, so loading a snapshot is mostly
+ * limited by how fast the objects can be allocated.
+ * <p>
+ * Layout, with every number big-endian:
+ * <pre>
+ * int magic, int version
+ * int string count, then for each string: int byte length, UTF-8 bytes
+ * 4 header string codes (routes, stops, trips, stop_times), double mean lat, double mean lon
+ * routes, stops, trips: int count, then the fields of each object
+ * stop times: StopTimeTable columns
+ * stop times by stop, by trip, trips by route: int key count, key codes and group sizes, rows
+ * calendar.txt, calendar_dates.txt: int count, then the fields of each row, with dates
+ * written as int days since 1970-01-01
+ * </pre>
+ * A String code of -1 is null. The version is increased whenever the layout changes,
+ * and snapshots written with another version are refused rather than converted.
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+class Snapshot {
+    private static final int MAGIC = 0x47544653; // "GTFS"
+    static final int VERSION = 2;
+    // Fewest bytes each row takes, which limits the counts an undamaged file can hold
+    private static final int ROUTE_BYTES = 7 * Integer.BYTES + 2;
+    private static final int STOP_BYTES = 3 * Integer.BYTES + 2 * Double.BYTES;
+    private static final int TRIP_BYTES = 7 * Integer.BYTES;
+    private static final int PERIOD_BYTES = 4 * Integer.BYTES;
+    private static final int DATE_BYTES = 3 * Integer.BYTES;
+
+    String routesHeader;
+    String stopsHeader;
+    String tripsHeader;
+    String stopTimesHeader;
+    double meanLatitude;
+    double meanLongitude;
+    List<Route> routes = new ArrayList<>();
+    List<Stop> stops = new ArrayList<>();
+    List<Trip> trips = new ArrayList<>();
+    List<StopTime> stopTimes = new ArrayList<>();
+    Map<String, List<StopTime>> stopTimesByStop = new HashMap<>();
+    Map<String, List<StopTime>> stopTimesByTrip = new HashMap<>();
+    Map<String, List<Trip>> tripsByRoute = new HashMap<>();
+    List<ServicePeriod> servicePeriods = new ArrayList<>();
+    List<CalendarDate> calendarDates = new ArrayList<>();
+
+    /**
+     * Writes the snapshot to a file
+     *
+     * @param file file to write, replacing it if it exists
+     * @throws IOException if the file cannot be written
+     */
+    void write(File file) throws IOException {
+        StopTimeTable table;
+        ToIntFunction<StopTime> rowOf;
+        if (stopTimes instanceof StopTimeTable) {
+            table = (StopTimeTable) stopTimes;
+            rowOf = table::rowOf;
+        } else {
+            table = new StopTimeTable();
+            table.addAll(stopTimes);
+            if (stopTimes instanceof PatternTable) {
+                // Copied row by row, so rows keep their numbers
+                rowOf = ((PatternTable) stopTimes)::rowOf;
+            } else {
+                // Views of the same row are equal, so the indexes find rows by equality
+                Map<StopTime, Integer> rows = new HashMap<>(stopTimes.size() * 4 / 3 + 1);
+                for (StopTime stopTime : stopTimes) {
+                    rows.put(stopTime, rows.size());
+                }
+                rowOf = rows::get;
+            }
+        }
+        StringDictionary strings = collectStrings(table);
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(strings.size());
+            for (int code = 0; code < strings.size(); code++) {
+                byte[] bytes = strings.decode(code).getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            out.writeInt(strings.find(routesHeader));
+            out.writeInt(strings.find(stopsHeader));
+            out.writeInt(strings.find(tripsHeader));
+            out.writeInt(strings.find(stopTimesHeader));
+            out.writeDouble(meanLatitude);
+            out.writeDouble(meanLongitude);
+
+            out.writeInt(routes.size());
+            for (Route route : routes) {
+                out.writeInt(strings.find(route.getId()));
+                out.writeInt(strings.find(route.getShortName()));
+                out.writeInt(strings.find(route.getLongName()));
+                out.writeInt(strings.find(route.getDescription()));
+                out.writeInt(route.getType());
+                out.writeInt(strings.find(route.getUrl() == null ? null : route.getUrl().toString()));
+                out.writeInt(strings.find(route.getAgencyId()));
+                writeColor(out, route.getColor());
+                writeColor(out, route.getTextColor());
+            }
+            out.writeInt(stops.size());
+            for (Stop stop : stops) {
+                out.writeInt(strings.find(stop.getId()));
+                out.writeInt(strings.find(stop.getName()));
+                out.writeInt(strings.find(stop.getDescription()));
+                out.writeDouble(stop.getLatitude());
+                out.writeDouble(stop.getLongitude());
+            }
+            Map<Trip, Integer> tripRows = new IdentityHashMap<>();
+            out.writeInt(trips.size());
+            for (Trip trip : trips) {
+                tripRows.put(trip, tripRows.size());
+                out.writeInt(strings.find(trip.getBlockID()));
+                out.writeInt(trip.getDirectionId());
+                out.writeInt(strings.find(trip.getHeadSign()));
+                out.writeInt(strings.find(trip.getServiceId()));
+                out.writeInt(strings.find(trip.getId()));
+                out.writeInt(strings.find(trip.getRouteId()));
+                out.writeInt(strings.find(trip.getShapeId()));
+            }
+            table.write(out, strings);
+
+            writeStopTimeIndex(out, strings, stopTimesByStop, rowOf);
+            writeStopTimeIndex(out, strings, stopTimesByTrip, rowOf);
+            writeIndex(out, strings, tripsByRoute, tripRows);
+
+            out.writeInt(servicePeriods.size());
+            for (ServicePeriod period : servicePeriods) {
+                out.writeInt(strings.find(period.getServiceId()));
+                int days = 0;
+                for (DayOfWeek day : DayOfWeek.values()) {
+                    days |= period.runsOn(day) ? 1 << (day.getValue() - 1) : 0;
+                }
+                out.writeInt(days);
+                out.writeInt((int) period.getStartDate().toEpochDay());
+                out.writeInt((int) period.getEndDate().toEpochDay());
+            }
+            out.writeInt(calendarDates.size());
+            for (CalendarDate date : calendarDates) {
+                out.writeInt(strings.find(date.getServiceId()));
+                out.writeInt((int) date.getDate().toEpochDay());
+                out.writeInt(date.getExceptionType());
+            }
+        }
+    }
+
+    /**
+     * Reads a snapshot from a file
+     *
+     * @param file file to read
+     * @param columnar true to store stop times by trip pattern in a PatternTable, false for
+     *                 StopTime objects
+     * @param symbols symbol table to share the Strings read with, or null
+     * @return the snapshot
+     * @throws IOException if the file cannot be read
+     * @throws GTFSException if the file is not a snapshot or was written by another version
+     */
+    static Snapshot read(File file, boolean columnar, SymbolTable symbols)
+            throws IOException, GTFSException {
+        ByteBuffer in;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new GTFSException(file.getName() + " is larger than 2 GB.");
+            }
+            in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            if (in.remaining() < 2 * Integer.BYTES || in.getInt() != MAGIC) {
+                throw new GTFSException(file.getName() + " is not a GTFS snapshot.");
+            }
+            int version = in.getInt();
+            if (version != VERSION) {
+                throw new GTFSException(file.getName() + " was saved as snapshot version "
+                        + version + ", but only version " + VERSION + " can be loaded.");
+            }
+            return new Snapshot().read(in, columnar, symbols);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException
+                | IllegalArgumentException | DateTimeException ex) {
+            throw new GTFSException(file.getName() + " is damaged and cannot be loaded.");
+        }
+    }
+
+    private Snapshot read(ByteBuffer in, boolean columnar, SymbolTable symbols) {
+        String[] strings = new String[count(in, Integer.BYTES)];
+        byte[] bytes = new byte[64];
+        for (int code = 0; code < strings.length; code++) {
+            int length = count(in, 1);
+            if (bytes.length < length) {
+                bytes = new byte[Math.max(length, bytes.length * 2)];
+            }
+            in.get(bytes, 0, length);
+            String value = new String(bytes, 0, length, StandardCharsets.UTF_8);
+            strings[code] = symbols == null ? value : symbols.intern(value);
+        }
+        routesHeader = string(in, strings);
+        stopsHeader = string(in, strings);
+        tripsHeader = string(in, strings);
+        stopTimesHeader = string(in, strings);
+        meanLatitude = in.getDouble();
+        meanLongitude = in.getDouble();
+
+        int count = count(in, ROUTE_BYTES);
+        routes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String id = string(in, strings);
+            String shortName = string(in, strings);
+            String longName = string(in, strings);
+            String description = string(in, strings);
+            int type = in.getInt();
+            URL url = url(string(in, strings));
+            String agencyId = string(in, strings);
+            Color color = readColor(in);
+            Color textColor = readColor(in);
+            routes.add(new Route(id, shortName, longName, description, type, url, agencyId,
+                    color, textColor));
+        }
+        count = count(in, STOP_BYTES);
+        stops = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String id = string(in, strings);
+            String name = string(in, strings);
+            String description = string(in, strings);
+            double latitude = in.getDouble();
+            double longitude = in.getDouble();
+            stops.add(new Stop(description, id, latitude, longitude, name));
+        }
+        count = count(in, TRIP_BYTES);
+        trips = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String blockId = string(in, strings);
+            int directionId = in.getInt();
+            String headSign = string(in, strings);
+            String serviceId = string(in, strings);
+            String id = string(in, strings);
+            String routeId = string(in, strings);
+            String shapeId = string(in, strings);
+            trips.add(new Trip(blockId, directionId, headSign, serviceId, id, routeId, shapeId));
+        }
+
+        StopTimeTable table = new StopTimeTable();
+        table.read(in, strings);
+        if (columnar) {
+            // Stored by pattern as imported stop times are, which indexes the stops again
+            skipStopTimeIndex(in);
+            PatternTable patterns = new PatternTable(table,
+                    readStopTimeIndex(in, strings, table, null));
+            stopTimes = patterns;
+            stopTimesByStop = patterns.indexByStop();
+            stopTimesByTrip = patterns.indexByTrip();
+        } else {
+            stopTimes = new ArrayList<>(table.size());
+            for (StopTime row : table) {
+                StopTime stopTime = new StopTime();
+                stopTime.setTripId(row.getTripId());
+                stopTime.setArrivalSeconds(row.getArrivalSeconds());
+                stopTime.setDepartureSeconds(row.getDepartureSeconds());
+                stopTime.setStopId(row.getStopId());
+                stopTime.setStopSequence(row.getStopSequence());
+                stopTime.setStopHeadsign(row.getStopHeadsign());
+                stopTime.setPickupType(row.getPickupType());
+                stopTime.setDropOffType(row.getDropOffType());
+                stopTime.publish();
+                stopTimes.add(stopTime);
+            }
+            stopTimesByStop = readStopTimeIndex(in, strings, null, stopTimes);
+            stopTimesByTrip = readStopTimeIndex(in, strings, null, stopTimes);
+        }
+        tripsByRoute = readIndex(in, strings, trips);
+
+        count = count(in, PERIOD_BYTES);
+        servicePeriods = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String serviceId = string(in, strings);
+            int days = in.getInt();
+            List<DayOfWeek> weekdays = new ArrayList<>();
+            for (DayOfWeek day : DayOfWeek.values()) {
+                if ((days & 1 << (day.getValue() - 1)) != 0) {
+                    weekdays.add(day);
+                }
+            }
+            LocalDate startDate = LocalDate.ofEpochDay(in.getInt());
+            LocalDate endDate = LocalDate.ofEpochDay(in.getInt());
+            servicePeriods.add(new ServicePeriod(serviceId, weekdays, startDate, endDate));
+        }
+        count = count(in, DATE_BYTES);
+        calendarDates = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String serviceId = string(in, strings);
+            LocalDate date = LocalDate.ofEpochDay(in.getInt());
+            calendarDates.add(new CalendarDate(serviceId, date, in.getInt()));
+        }
+        return this;
+    }
+
+    private StringDictionary collectStrings(StopTimeTable table) {
+        StringDictionary strings = new StringDictionary();
+        strings.encode(routesHeader);
+        strings.encode(stopsHeader);
+        strings.encode(tripsHeader);
+        strings.encode(stopTimesHeader);
+        for (Route route : routes) {
+            strings.encode(route.getId());
+            strings.encode(route.getShortName());
+            strings.encode(route.getLongName());
+            strings.encode(route.getDescription());
+            strings.encode(route.getUrl() == null ? null : route.getUrl().toString());
+            strings.encode(route.getAgencyId());
+        }
+        for (Stop stop : stops) {
+            strings.encode(stop.getId());
+            strings.encode(stop.getName());
+            strings.encode(stop.getDescription());
+        }
+        for (Trip trip : trips) {
+            strings.encode(trip.getBlockID());
+            strings.encode(trip.getHeadSign());
+            strings.encode(trip.getServiceId());
+            strings.encode(trip.getId());
+            strings.encode(trip.getRouteId());
+            strings.encode(trip.getShapeId());
+        }
+        table.addStrings(strings);
+        for (String key : stopTimesByStop.keySet()) {
+            strings.encode(key);
+        }
+        for (String key : stopTimesByTrip.keySet()) {
+            strings.encode(key);
+        }
+        for (String key : tripsByRoute.keySet()) {
+            strings.encode(key);
+        }
+        for (ServicePeriod period : servicePeriods) {
+            strings.encode(period.getServiceId());
+        }
+        for (CalendarDate date : calendarDates) {
+            strings.encode(date.getServiceId());
+        }
+        return strings;
+    }
+
+    private static void writeStopTimeIndex(DataOutputStream out, StringDictionary strings,
+                                           Map<String, List<StopTime>> index,
+                                           ToIntFunction<StopTime> rowOf) throws IOException {
+        writeGroups(out, strings, index);
+        for (List<StopTime> group : index.values()) {
+            for (StopTime stopTime : group) {
+                out.writeInt(rowOf.applyAsInt(stopTime));
+            }
+        }
+    }
+
+    private static void writeIndex(DataOutputStream out, StringDictionary strings,
+                                   Map<String, List<Trip>> index, Map<Trip, Integer> rows)
+            throws IOException {
+        writeGroups(out, strings, index);
+        for (List<Trip> group : index.values()) {
+            for (Trip trip : group) {
+                out.writeInt(rows.get(trip));
+            }
+        }
+    }
+
+    private static void writeGroups(DataOutputStream out, StringDictionary strings,
+                                    Map<String, ? extends List<?>> index) throws IOException {
+        out.writeInt(index.size());
+        for (Map.Entry<String, ? extends List<?>> entry : index.entrySet()) {
+            out.writeInt(strings.find(entry.getKey()));
+            out.writeInt(entry.getValue().size());
+        }
+    }
+
+    private static Map<String, List<StopTime>> readStopTimeIndex(
+            ByteBuffer in, String[] strings, StopTimeTable table, List<StopTime> stopTimes) {
+        String[] keys = new String[count(in, 2 * Integer.BYTES)];
+        int[] offsets = readGroups(in, strings, keys);
+        int[] rows = new int[offsets[keys.length]];
+        in.asIntBuffer().get(rows);
+        in.position(in.position() + rows.length * Integer.BYTES);
+        int size = table != null ? table.size() : stopTimes.size();
+        for (int row : rows) {
+            if (row < 0 || row >= size) {
+                throw new IllegalArgumentException("Stop time row " + row + " does not exist");
+            }
+        }
+        if (table != null) {
+            return table.index(keys, offsets, rows);
+        }
+        Map<String, List<StopTime>> index = new HashMap<>(keys.length * 4 / 3 + 1);
+        for (int key = 0; key < keys.length; key++) {
+            List<StopTime> group = new ArrayList<>(offsets[key + 1] - offsets[key]);
+            for (int i = offsets[key]; i < offsets[key + 1]; i++) {
+                group.add(stopTimes.get(rows[i]));
+            }
+            index.put(keys[key], group);
+        }
+        return index;
+    }
+
+    private static void skipStopTimeIndex(ByteBuffer in) {
+        int keys = count(in, 2 * Integer.BYTES);
+        long rows = 0;
+        for (int key = 0; key < keys; key++) {
+            in.getInt();
+            rows += count(in, 0);
+        }
+        if (rows > in.remaining() / Integer.BYTES) {
+            throw new IllegalArgumentException(rows + " rows do not fit in the file");
+        }
+        in.position(in.position() + (int) rows * Integer.BYTES);
+    }
+
+    private static Map<String, List<Trip>> readIndex(ByteBuffer in, String[] strings,
+                                                     List<Trip> trips) {
+        String[] keys = new String[count(in, 2 * Integer.BYTES)];
+        int[] offsets = readGroups(in, strings, keys);
+        Map<String, List<Trip>> index = new HashMap<>(keys.length * 4 / 3 + 1);
+        for (int key = 0; key < keys.length; key++) {
+            List<Trip> group = new ArrayList<>(offsets[key + 1] - offsets[key]);
+            for (int i = offsets[key]; i < offsets[key + 1]; i++) {
+                group.add(trips.get(in.getInt()));
+            }
+            index.put(keys[key], group);
+        }
+        return index;
+    }
+
+    /*
+     * Reads the key and size of each group, returning where each group starts
+     * followed by the total size, which is checked against the row numbers left to read
+     */
+    private static int[] readGroups(ByteBuffer in, String[] strings, String[] keys) {
+        int[] offsets = new int[keys.length + 1];
+        for (int key = 0; key < keys.length; key++) {
+            keys[key] = string(in, strings);
+            offsets[key + 1] = offsets[key] + count(in, 0);
+            if (offsets[key + 1] < offsets[key]) {
+                throw new IllegalArgumentException("The groups hold more than 2^31 rows");
+            }
+        }
+        if (offsets[keys.length] > in.remaining() / Integer.BYTES) {
+            throw new IllegalArgumentException(offsets[keys.length]
+                    + " rows do not fit in the file");
+        }
+        return offsets;
+    }
+
+    /**
+     * Reads a count, refusing a damaged one before anything is allocated for it
+     *
+     * @param in buffer to read from
+     * @param bytesEach fewest bytes each row takes, or 0 to only check the sign
+     * @return the count
+     * @throws IllegalArgumentException if the count cannot be right
+     */
+    static int count(ByteBuffer in, int bytesEach) {
+        int count = in.getInt();
+        if (count < 0 || bytesEach > 0 && count > in.remaining() / bytesEach) {
+            throw new IllegalArgumentException("A count of " + count + " does not fit in "
+                    + in.remaining() + " bytes");
+        }
+        return count;
+    }
+
+    private static String string(ByteBuffer in, String[] strings) {
+        int code = in.getInt();
+        return code == StringDictionary.NULL ? null : strings[code];
+    }
+
+    private static URL url(String url) {
+        try {
+            return url == null ? null : new URL(url);
+        } catch (MalformedURLException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+
+    private static void writeColor(DataOutputStream out, Color color) throws IOException {
+        out.writeBoolean(color != null);
+        if (color != null) {
+            out.writeDouble(color.getRed());
+            out.writeDouble(color.getGreen());
+            out.writeDouble(color.getBlue());
+            out.writeDouble(color.getOpacity());
+        }
+    }
+
+    private static Color readColor(ByteBuffer in) {
+        if (in.get() == 0) {
+            return null;
+        }
+        return new Color(in.getDouble(), in.getDouble(), in.getDouble(), in.getDouble());
+    }
+}
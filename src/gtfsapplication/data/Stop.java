@@ -33,6 +33,7 @@ import gtfsapplication.GTFSException;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Data implementation for Stop
@@ -75,6 +76,15 @@ public class Stop {
 
     }
 
+    /**
+     * Creates a copy of a stop, which edits change in place of the original
+     * @param other stop to copy
+     */
+    Stop(Stop other) {
+        this(other.description, other.id, other.latitude, other.longitude, other.name);
+        presentFields = other.presentFields;
+    }
+
     /**
      * Creates a stop object from a raw line and list of fields
      * @param fields list of fields retrieved from Stop.validateHeader
@@ -82,48 +92,58 @@ public class Stop {
      * @throws GTFSException if there is a problem importing the file
      */
     public Stop(List<String> fields, String raw) throws GTFSException {
+        this(fields, CsvTokenizer.parseRow(raw));
+    }
+
+    /**
+     * Creates a stop object from the current row of a stops.txt file
+     * @param fields list of fields retrieved from Stop.validateHeader
+     * @param row row from stops.txt
+     * @throws RejectedRowException if the row is not valid
+     */
+    public Stop(List<String> fields, RowCursor row) throws RejectedRowException {
         presentFields = fields;
-        List<String> values = ImportHelper.parseLine(raw);
-        if (fields.size() != values.size()) {
-            throw new GTFSException("stops.txt\n" +
+        if (fields.size() != row.size()) {
+            throw new RejectedRowException("stops.txt", row, null,
                                     "Expected " + fields.size() + " values, " +
-                                    "got " + values.size());
+                                    "got " + row.size());
         }
 
         for (int i = 0; i < fields.size(); i++) {
             String field = fields.get(i);
-            String value = values.get(i);
 
             try {
                 switch (field) {
                     case "stop_id":
-                        if (value.length() == 0) {
-                            throw new GTFSException("stops.txt\nstop_id is required");
+                        if (row.isEmpty(i)) {
+                            throw new RejectedRowException("stops.txt", row, "stop_id",
+                                    "stop_id is required");
                         }
-                        id = value;
+                        id = row.getSymbol(i);
                         break;
                     case "stop_name":
-                        if (value.length() == 0) {
-                            throw new GTFSException("stops.txt\nstop_name is required");
+                        if (row.isEmpty(i)) {
+                            throw new RejectedRowException("stops.txt", row, "stop_name",
+                                    "stop_name is required");
                         }
-                        name = value;
+                        name = row.get(i);
                         break;
                     case "stop_lon":
-                        longitude = Double.parseDouble(value);
+                        longitude = row.getDouble(i);
                         break;
                     case "stop_lat":
-                        latitude = Double.parseDouble(value);
+                        latitude = row.getDouble(i);
                         break;
                     case "stop_desc":
-                        description = value;
+                        description = row.get(i);
                         break;
                 }
             } catch (NumberFormatException ex) {
-                throw new GTFSException("stops.txt\n" +
-                                        field + " needs to be a valid integer. Got: " + value);
+                throw new RejectedRowException("stops.txt", row, field,
+                                        field + " needs to be a valid integer. Got: " + row.get(i));
             } catch (IllegalArgumentException ex) {
-                throw new GTFSException("stops.txt\n" +
-                                        field + " needs to be a valid color. Got: " + value);
+                throw new RejectedRowException("stops.txt", row, field,
+                                        field + " needs to be a valid color. Got: " + row.get(i));
             }
         }
     }
@@ -158,6 +178,22 @@ public class Stop {
         }
     }
 
+    /**
+     * Creates a stop from the current row of stops.txt, validating it in the same pass
+     * @param fields list of fields retrieved from Stop.validateHeader
+     * @param row row from stops.txt
+     * @param report report that a rejected row is added to
+     * @return the stop, or null if the row was rejected
+     */
+    public static Stop fromRow(List<String> fields, RowCursor row, ImportReport report) {
+        try {
+            return new Stop(fields, row);
+        } catch (RejectedRowException ex) {
+            report.reject(ex.getRejection());
+            return null;
+        }
+    }
+
     public String getDescription() {
         return description;
     }
@@ -198,6 +234,23 @@ public class Stop {
         this.name = name;
     }
 
+    /**
+     * Gets the header of the stops.txt rows that toRow writes
+     * @return the header
+     */
+    static String header() {
+        return "stop_id,stop_name,stop_desc,stop_lat,stop_lon";
+    }
+
+    /**
+     * Writes the stop as a row of stops.txt, leaving missing values empty
+     * @return the row
+     */
+    String toRow() {
+        return id + "," + Objects.toString(name, "") + "," + Objects.toString(description, "")
+                + "," + latitude + "," + longitude;
+    }
+
     @Override
     public String toString() {
         return this.id + "," + this.name + "," + this.description + "," + this.latitude
@@ -0,0 +1,426 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Stops bucketed by position into a grid of roughly square cells, for finding the stops
+ * nearest to a point or within a distance of it without looking at every stop
+ * <p>
+ * The cell size is chosen when the index is built so that a cell holds a few stops on
+ * average, and a query only reads the cells around the point. Each cell keeps the id and
+ * position each stop had when it was indexed, so moving a stop rewrites only its old and
+ * new cells, and the index it was moved in stays as it was.
+ * <p>
+ * Distances are in meters on a flat projection at the latitude of the query point, which
+ * is accurate to well under a percent across a city.
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+public class StopIndex {
+    private static final double METERS_PER_DEGREE = 6371008.8 * Math.PI / 180;
+    private static final int STOPS_PER_CELL = 4;
+    private static final double MIN_CELL_DEGREES = 0.0005;
+    private static final double MAX_CELL_DEGREES = 1;
+
+    // Cells are cellDegrees of latitude high and cellDegrees / longitudeScale of longitude wide
+    private final double cellDegrees;
+    private final double longitudeScale;
+    private final Map<Long, Cell> cells;
+    private final Map<String, Long> cellsByStop;
+    private final int minRow;
+    private final int maxRow;
+    private final int minColumn;
+    private final int maxColumn;
+
+    /**
+     * Indexes stops
+     *
+     * @param stops stops to index
+     */
+    StopIndex(Collection<Stop> stops) {
+        double south = Double.POSITIVE_INFINITY;
+        double north = Double.NEGATIVE_INFINITY;
+        double west = Double.POSITIVE_INFINITY;
+        double east = Double.NEGATIVE_INFINITY;
+        for (Stop stop : stops) {
+            south = Math.min(south, stop.getLatitude());
+            north = Math.max(north, stop.getLatitude());
+            west = Math.min(west, stop.getLongitude());
+            east = Math.max(east, stop.getLongitude());
+        }
+        longitudeScale = stops.isEmpty() ? 1
+                : Math.max(0.01, Math.cos(Math.toRadians((south + north) / 2)));
+        double area = stops.isEmpty() ? 0
+                : (north - south) * (east - west) * longitudeScale;
+        cellDegrees = Math.min(MAX_CELL_DEGREES, Math.max(MIN_CELL_DEGREES,
+                Math.sqrt(area * STOPS_PER_CELL / Math.max(1, stops.size()))));
+
+        Map<Long, List<Stop>> byCell = new HashMap<>();
+        for (Stop stop : stops) {
+            byCell.computeIfAbsent(cell(stop.getLatitude(), stop.getLongitude()),
+                    key -> new ArrayList<>()).add(stop);
+        }
+        HashMap<Long, Cell> cellMap = new HashMap<>();
+        HashMap<String, Long> stopMap = new HashMap<>();
+        for (Map.Entry<Long, List<Stop>> entry : byCell.entrySet()) {
+            cellMap.put(entry.getKey(), new Cell(entry.getValue()));
+            for (Stop stop : entry.getValue()) {
+                stopMap.put(stop.getId(), entry.getKey());
+            }
+        }
+        cells = cellMap;
+        cellsByStop = stopMap;
+        int[] bounds = bounds(cells.keySet(), null);
+        minRow = bounds[0];
+        maxRow = bounds[1];
+        minColumn = bounds[2];
+        maxColumn = bounds[3];
+    }
+
+    private StopIndex(StopIndex base, Map<Long, Cell> cells, Map<String, Long> cellsByStop,
+                      int[] bounds) {
+        cellDegrees = base.cellDegrees;
+        longitudeScale = base.longitudeScale;
+        this.cells = cells;
+        this.cellsByStop = cellsByStop;
+        minRow = bounds[0];
+        maxRow = bounds[1];
+        minColumn = bounds[2];
+        maxColumn = bounds[3];
+    }
+
+    /**
+     * Creates an index with some stops moved, added or removed and the rest shared with
+     * this index
+     *
+     * @param stopIds ids of the stops that moved, were renamed to or from, or were removed
+     * @param stops stops by stop id after the change
+     * @return the new index
+     */
+    StopIndex update(Set<String> stopIds, Map<String, Stop> stops) {
+        if (stopIds.isEmpty()) {
+            return this;
+        }
+        Map<Long, List<Stop>> added = new HashMap<>();
+        Map<Long, Set<String>> removed = new HashMap<>();
+        Map<String, Long> replacedStops = new HashMap<>();
+        Set<String> removedStops = new HashSet<>();
+        for (String stopId : stopIds) {
+            Long oldCell = cellsByStop.get(stopId);
+            if (oldCell != null) {
+                removed.computeIfAbsent(oldCell, key -> new HashSet<>()).add(stopId);
+                removedStops.add(stopId);
+            }
+            Stop stop = stops.get(stopId);
+            if (stop != null) {
+                long newCell = cell(stop.getLatitude(), stop.getLongitude());
+                added.computeIfAbsent(newCell, key -> new ArrayList<>()).add(stop);
+                replacedStops.put(stopId, newCell);
+            }
+        }
+
+        Map<Long, Cell> replacedCells = new HashMap<>();
+        Set<Long> removedCells = new HashSet<>();
+        Set<Long> changedCells = new HashSet<>(removed.keySet());
+        changedCells.addAll(added.keySet());
+        for (Long key : changedCells) {
+            Cell cell = cells.get(key);
+            Cell changed = (cell == null ? Cell.EMPTY : cell).with(
+                    removed.getOrDefault(key, Collections.emptySet()),
+                    added.getOrDefault(key, Collections.emptyList()));
+            if (changed.ids.length > 0) {
+                replacedCells.put(key, changed);
+            } else {
+                removedCells.add(key);
+            }
+        }
+        return new StopIndex(this, OverlayMap.with(cells, replacedCells, removedCells),
+                OverlayMap.with(cellsByStop, replacedStops, removedStops),
+                bounds(replacedCells.keySet(), this));
+    }
+
+    private static int[] bounds(Collection<Long> keys, StopIndex base) {
+        int[] bounds = base == null
+                ? new int[] {Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE}
+                : new int[] {base.minRow, base.maxRow, base.minColumn, base.maxColumn};
+        // Bounds only grow, so they may take in cells that have since been emptied
+        for (long key : keys) {
+            bounds[0] = Math.min(bounds[0], row(key));
+            bounds[1] = Math.max(bounds[1], row(key));
+            bounds[2] = Math.min(bounds[2], column(key));
+            bounds[3] = Math.max(bounds[3], column(key));
+        }
+        return bounds;
+    }
+
+    private long cell(double latitude, double longitude) {
+        return key((int) Math.floor(latitude / cellDegrees),
+                (int) Math.floor(longitude * longitudeScale / cellDegrees));
+    }
+
+    private static long key(int row, int column) {
+        return ((long) row << 32) | (column & 0xFFFFFFFFL);
+    }
+
+    private static int row(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int column(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Gets the stops nearest to a point
+     *
+     * @param latitude latitude of the point
+     * @param longitude longitude of the point
+     * @param count maximum number of stops to return
+     * @return up to count stops, nearest first
+     */
+    public List<Stop> getNearest(double latitude, double longitude, int count) {
+        if (count <= 0 || cells.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Search search = new Search(latitude, longitude);
+        // Farthest of the nearest stops found so far is at the head
+        PriorityQueue<Found> nearest = new PriorityQueue<>(
+                (first, second) -> Double.compare(second.distance, first.distance));
+        long center = cell(latitude, longitude);
+        int row = row(center);
+        int column = column(center);
+        int first = Math.max(0, Math.max(Math.max(minRow - row, row - maxRow),
+                Math.max(minColumn - column, column - maxColumn)));
+        int last = Math.max(Math.max(row - minRow, maxRow - row),
+                Math.max(column - minColumn, maxColumn - column));
+        // Every cell r rings out is at least (r - 1) cells away from the point
+        double ringMeters = cellDegrees * METERS_PER_DEGREE
+                * Math.min(1, search.scale / longitudeScale);
+        for (int ring = first; ring <= last; ring++) {
+            if (nearest.size() == count && nearest.peek().distance <= (ring - 1) * ringMeters) {
+                break;
+            }
+            for (int r = Math.max(row - ring, minRow); r <= Math.min(row + ring, maxRow); r++) {
+                boolean edge = r == row - ring || r == row + ring;
+                int step = edge ? 1 : 2 * ring;
+                for (int c = column - ring; c <= column + ring; c += Math.max(1, step)) {
+                    if (c >= minColumn && c <= maxColumn) {
+                        search.collect(cells.get(key(r, c)), nearest, count);
+                    }
+                }
+            }
+        }
+        List<Stop> result = new ArrayList<>(nearest.size());
+        while (!nearest.isEmpty()) {
+            result.add(nearest.poll().stop);
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * Gets the stops within a distance of a point
+     *
+     * @param latitude latitude of the point
+     * @param longitude longitude of the point
+     * @param meters greatest distance from the point
+     * @return the stops, nearest first
+     */
+    public List<Stop> getWithin(double latitude, double longitude, double meters) {
+        if (!(meters >= 0) || cells.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Search search = new Search(latitude, longitude);
+        List<Found> found = new ArrayList<>();
+        double latitudeSpan = meters / METERS_PER_DEGREE;
+        double longitudeSpan = latitudeSpan / search.scale;
+        long southWest = cell(latitude - latitudeSpan, longitude - longitudeSpan);
+        long northEast = cell(latitude + latitudeSpan, longitude + longitudeSpan);
+        int fromRow = Math.max(row(southWest), minRow);
+        int toRow = Math.min(row(northEast), maxRow);
+        int fromColumn = Math.max(column(southWest), minColumn);
+        int toColumn = Math.min(column(northEast), maxColumn);
+        if ((long) (toRow - fromRow + 1) * (toColumn - fromColumn + 1) > cells.size()) {
+            for (Cell cell : cells.values()) {
+                search.collect(cell, found, meters);
+            }
+        } else {
+            for (int r = fromRow; r <= toRow; r++) {
+                for (int c = fromColumn; c <= toColumn; c++) {
+                    search.collect(cells.get(key(r, c)), found, meters);
+                }
+            }
+        }
+        found.sort((first, second) -> Double.compare(first.distance, second.distance));
+        List<Stop> result = new ArrayList<>(found.size());
+        for (Found stop : found) {
+            result.add(stop.stop);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of stops indexed
+     *
+     * @return the number of stops
+     */
+    public int size() {
+        return cellsByStop.size();
+    }
+
+    /**
+     * Measures distances from one point
+     */
+    private static final class Search {
+        private final double latitude;
+        private final double longitude;
+        private final double scale;
+
+        Search(double latitude, double longitude) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            scale = Math.max(0.01, Math.cos(Math.toRadians(latitude)));
+        }
+
+        double distance(double toLatitude, double toLongitude) {
+            double north = toLatitude - latitude;
+            double east = (toLongitude - longitude) * scale;
+            return Math.sqrt(north * north + east * east) * METERS_PER_DEGREE;
+        }
+
+        void collect(Cell cell, PriorityQueue<Found> nearest, int count) {
+            if (cell == null) {
+                return;
+            }
+            for (int i = 0; i < cell.ids.length; i++) {
+                double distance = distance(cell.latitudes[i], cell.longitudes[i]);
+                if (nearest.size() < count) {
+                    nearest.add(new Found(cell.stops[i], distance));
+                } else if (distance < nearest.peek().distance) {
+                    nearest.poll();
+                    nearest.add(new Found(cell.stops[i], distance));
+                }
+            }
+        }
+
+        void collect(Cell cell, List<Found> found, double meters) {
+            if (cell == null) {
+                return;
+            }
+            for (int i = 0; i < cell.ids.length; i++) {
+                double distance = distance(cell.latitudes[i], cell.longitudes[i]);
+                if (distance <= meters) {
+                    found.add(new Found(cell.stops[i], distance));
+                }
+            }
+        }
+    }
+
+    /**
+     * A stop and its distance from the point searched
+     */
+    private static final class Found {
+        private final Stop stop;
+        private final double distance;
+
+        Found(Stop stop, double distance) {
+            this.stop = stop;
+            this.distance = distance;
+        }
+    }
+
+    /**
+     * The stops in one cell, with the ids and positions they had when they were indexed
+     */
+    private static final class Cell {
+        private static final Cell EMPTY = new Cell(Collections.emptyList());
+
+        private final Stop[] stops;
+        private final String[] ids;
+        private final double[] latitudes;
+        private final double[] longitudes;
+
+        Cell(List<Stop> stops) {
+            this.stops = stops.toArray(new Stop[0]);
+            ids = new String[this.stops.length];
+            latitudes = new double[this.stops.length];
+            longitudes = new double[this.stops.length];
+            for (int i = 0; i < this.stops.length; i++) {
+                ids[i] = this.stops[i].getId();
+                latitudes[i] = this.stops[i].getLatitude();
+                longitudes[i] = this.stops[i].getLongitude();
+            }
+        }
+
+        private Cell(Stop[] stops, String[] ids, double[] latitudes, double[] longitudes) {
+            this.stops = stops;
+            this.ids = ids;
+            this.latitudes = latitudes;
+            this.longitudes = longitudes;
+        }
+
+        Cell with(Set<String> removed, List<Stop> added) {
+            Stop[] newStops = new Stop[ids.length + added.size()];
+            String[] newIds = new String[newStops.length];
+            double[] newLatitudes = new double[newStops.length];
+            double[] newLongitudes = new double[newStops.length];
+            int size = 0;
+            for (int i = 0; i < ids.length; i++) {
+                if (!removed.contains(ids[i])) {
+                    newStops[size] = stops[i];
+                    newIds[size] = ids[i];
+                    newLatitudes[size] = latitudes[i];
+                    newLongitudes[size] = longitudes[i];
+                    size++;
+                }
+            }
+            for (Stop stop : added) {
+                newStops[size] = stop;
+                newIds[size] = stop.getId();
+                newLatitudes[size] = stop.getLatitude();
+                newLongitudes[size] = stop.getLongitude();
+                size++;
+            }
+            return new Cell(Arrays.copyOf(newStops, size), Arrays.copyOf(newIds, size),
+                    Arrays.copyOf(newLatitudes, size), Arrays.copyOf(newLongitudes, size));
+        }
+    }
+}
@@ -33,22 +33,29 @@ import gtfsapplication.GTFSException;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Data implementation for StopTime
+ * <p>
+ * Stop times that GTFS returns belong to a published feed and cannot be changed, whichever
+ * way the feed stores them; their setters throw UnsupportedOperationException. To change
+ * one, use GTFS.edit, which sets the new values on a copy and publishes it in place of
+ * the original.
  *
  * @author Luke Miller, Kenneth McDonough
  * @version 10/11/2020
  */
 public class StopTime {
     private String tripId;
-    private String arrivalTime;
-    private String departureTime;
+    private int arrivalTime = ServiceTime.NONE;
+    private int departureTime = ServiceTime.NONE;
     private int dropOffType;
     private int pickupType;
     private String stopHeadsign;
     private String stopId;
     private int stopSequence;
+    private boolean published;
 
     private List<String> presentFields;
     private static String[] requiredFields = {
@@ -68,7 +75,10 @@ public class StopTime {
      * Constructor for a StopTime that already exists.
      * @param tripId identifies a trip
      * @param arrivalTime arrival time at a specific stop for a specific trip on a route
+     *                    (HH:MM:SS, may pass 24:00:00; empty if not provided)
      * @param departureTime departure time at a specific stop for a specific trip on a route
+     *                      (HH:MM:SS, may pass 24:00:00; empty if not provided)
+     * @throws IllegalArgumentException if a time is not valid
      * @param stopId identifies the serviced stop
      * @param stopSequence order of stops for a particular trip
      * @param stopHeadsign text that appears on signage identifying the trip's destination to riders
@@ -77,8 +87,8 @@ public class StopTime {
      */
     public StopTime(String tripId, String arrivalTime, String departureTime, String stopId,
                     int stopSequence, String stopHeadsign, int pickupType, int dropOffType) {
-        this.arrivalTime = arrivalTime;
-        this.departureTime = departureTime;
+        this.arrivalTime = ServiceTime.parse(arrivalTime);
+        this.departureTime = ServiceTime.parse(departureTime);
         this.dropOffType = dropOffType;
         this.pickupType = pickupType;
         this.stopHeadsign = stopHeadsign;
@@ -87,6 +97,44 @@ public class StopTime {
         this.tripId = tripId;
     }
 
+    /**
+     * Creates an empty stop time whose fields are set one at a time, or the row view of
+     * a table
+     */
+    StopTime() {
+    }
+
+    /**
+     * Creates a copy of a stop time, which edits change in place of the original. The copy
+     * is a plain stop time even if the original is a row of a table.
+     * @param other stop time to copy
+     */
+    StopTime(StopTime other) {
+        tripId = other.getTripId();
+        arrivalTime = other.getArrivalSeconds();
+        departureTime = other.getDepartureSeconds();
+        dropOffType = other.getDropOffType();
+        pickupType = other.getPickupType();
+        stopHeadsign = other.getStopHeadsign();
+        stopId = other.getStopId();
+        stopSequence = other.getStopSequence();
+        presentFields = other.presentFields;
+    }
+
+    /**
+     * Stops the stop time from being changed, once it is part of a feed that may be read
+     */
+    void publish() {
+        published = true;
+    }
+
+    private void checkEditable() {
+        if (published) {
+            throw new UnsupportedOperationException(
+                    "Stop times of a feed cannot be changed; edit the feed through GTFS.edit");
+        }
+    }
+
     /**
      * Creates a stop times object from a raw line and list of fields
      * @param fields list of fields retrieved from StopTime.validateHeader
@@ -95,62 +143,72 @@ public class StopTime {
      * @author Luke Miller, Kenneth McDonough
      */
     public StopTime(List<String> fields, String raw) throws GTFSException {
+        this(fields, CsvTokenizer.parseRow(raw));
+    }
+
+    /**
+     * Creates a stop times object from the current row of a stop_times.txt file
+     * @param fields list of fields retrieved from StopTime.validateHeader
+     * @param row row from stop_times.txt
+     * @throws RejectedRowException if the row is not valid
+     */
+    public StopTime(List<String> fields, RowCursor row) throws RejectedRowException {
         presentFields = fields;
-        List<String> values = ImportHelper.parseLine(raw);
-        if (fields.size() != values.size()) {
-            throw new GTFSException("stop_times.txt\n" +
+        if (fields.size() != row.size()) {
+            throw new RejectedRowException("stop_times.txt", row, null,
                                     "Expected " + fields.size() + " values, " +
-                                    "got " + values.size());
+                                    "got " + row.size());
         }
 
         for (int i = 0; i < fields.size(); i++) {
             String field = fields.get(i);
-            String value = values.get(i);
 
             try {
                 switch (field) {
                     case "trip_id":
-                        if (value.length() == 0) {
-                            throw new GTFSException("stop_times.txt\ntrip_id is required");
+                        if (row.isEmpty(i)) {
+                            throw new RejectedRowException("stop_times.txt", row, "trip_id",
+                                    "trip_id is required");
                         }
-                        tripId = value;
+                        tripId = row.getSymbol(i);
                         break;
                     case "stop_id":
-                        if (value.length() == 0) {
-                            throw new GTFSException("stop_times.txt\nstop_id is required");
+                        if (row.isEmpty(i)) {
+                            throw new RejectedRowException("stop_times.txt", row, "stop_id",
+                                    "stop_id is required");
                         }
-                        stopId = value;
+                        stopId = row.getSymbol(i);
                         break;
                     case "stop_sequence":
-                        stopSequence = Integer.parseInt(value);
+                        stopSequence = row.getInt(i);
                         break;
                     case "stop_headsign":
-                        stopHeadsign = value;
+                        stopHeadsign = row.getSymbol(i);
                         break;
                     case "pickup_type":
-                        if (!value.isEmpty()) {
-                            pickupType = Integer.parseInt(value);
+                        if (!row.isEmpty(i)) {
+                            pickupType = row.getInt(i);
                         }
                         break;
                     case "drop_off_type":
-                        if (!value.isEmpty()) {
-                            dropOffType = Integer.parseInt(value); 
+                        if (!row.isEmpty(i)) {
+                            dropOffType = row.getInt(i);
                         }
                         break;
                     case "arrival_time":
-                        arrivalTime = value;
+                        arrivalTime = row.getTime(i);
                         break;
                     case "departure_time":
-                        departureTime = value;
+                        departureTime = row.getTime(i);
                         break;
 
                 }
             } catch (NumberFormatException ex) {
-                throw new GTFSException("stop_times.txt\n" +
-                                        field + " needs to be a valid integer. Got: " + value);
+                throw new RejectedRowException("stop_times.txt", row, field,
+                                        field + " needs to be a valid integer. Got: " + row.get(i));
             } catch (IllegalArgumentException ex) {
-                throw new GTFSException("stop_times.txt\n" +
-                                        field + " needs to be a valid color. Got: " + value);
+                throw new RejectedRowException("stop_times.txt", row, field,
+                                        field + " needs to be a valid time. Got: " + row.get(i));
             }
         }
     }
@@ -188,19 +246,79 @@ public class StopTime {
         }
     }
 
+    /**
+     * Creates a stop time from the current row of stop_times.txt, validating it in the same pass
+     * @param fields list of fields retrieved from StopTime.validateHeader
+     * @param row row from stop_times.txt
+     * @param report report that a rejected row is added to
+     * @return the stop time, or null if the row was rejected
+     */
+    public static StopTime fromRow(List<String> fields, RowCursor row, ImportReport report) {
+        try {
+            return new StopTime(fields, row);
+        } catch (RejectedRowException ex) {
+            report.reject(ex.getRejection());
+            return null;
+        }
+    }
+
+    /**
+     * Gets the arrival time
+     * @return arrival time in HH:MM:SS format, or an empty String if not provided
+     */
     public String getArrivalTime() {
-        return arrivalTime;
+        return ServiceTime.format(getArrivalSeconds());
     }
 
+    /**
+     * Sets the arrival time
+     * @param arrivalTime arrival time in HH:MM:SS format, may pass 24:00:00
+     * @throws IllegalArgumentException if the time is not valid
+     */
     public void setArrivalTime(String arrivalTime) {
+        setArrivalSeconds(ServiceTime.parse(arrivalTime));
+    }
+
+    /**
+     * Gets the arrival time
+     * @return seconds since the start of the service day, or ServiceTime.NONE
+     */
+    public int getArrivalSeconds() {
+        return arrivalTime;
+    }
+
+    public void setArrivalSeconds(int arrivalTime) {
+        checkEditable();
         this.arrivalTime = arrivalTime;
     }
 
+    /**
+     * Gets the departure time
+     * @return departure time in HH:MM:SS format, or an empty String if not provided
+     */
     public String getDepartureTime() {
-        return departureTime;
+        return ServiceTime.format(getDepartureSeconds());
     }
 
+    /**
+     * Sets the departure time
+     * @param departureTime departure time in HH:MM:SS format, may pass 24:00:00
+     * @throws IllegalArgumentException if the time is not valid
+     */
     public void setDepartureTime(String departureTime) {
+        setDepartureSeconds(ServiceTime.parse(departureTime));
+    }
+
+    /**
+     * Gets the departure time
+     * @return seconds since the start of the service day, or ServiceTime.NONE
+     */
+    public int getDepartureSeconds() {
+        return departureTime;
+    }
+
+    public void setDepartureSeconds(int departureTime) {
+        checkEditable();
         this.departureTime = departureTime;
     }
 
@@ -209,6 +327,7 @@ public class StopTime {
     }
 
     public void setDropOffType(int dropOffType) {
+        checkEditable();
         this.dropOffType = dropOffType;
     }
 
@@ -217,6 +336,7 @@ public class StopTime {
     }
 
     public void setPickupType(int pickupType) {
+        checkEditable();
         this.pickupType = pickupType;
     }
 
@@ -225,6 +345,7 @@ public class StopTime {
     }
 
     public void setStopHeadsign(String stopHeadsign) {
+        checkEditable();
         this.stopHeadsign = stopHeadsign;
     }
 
@@ -233,6 +354,7 @@ public class StopTime {
     }
 
     public void setStopId(String stopId) {
+        checkEditable();
         this.stopId = stopId;
     }
 
@@ -241,6 +363,7 @@ public class StopTime {
     }
 
     public void setStopSequence(int stopSequence) {
+        checkEditable();
         this.stopSequence = stopSequence;
     }
 
@@ -249,12 +372,33 @@ public class StopTime {
     }
 
     public void setTripId(String tripId) {
+        checkEditable();
         this.tripId = tripId;
     }
 
+    /**
+     * Gets the header of the stop_times.txt rows that toRow writes
+     * @return the header
+     */
+    static String header() {
+        return "trip_id,arrival_time,departure_time,stop_id,stop_sequence,stop_headsign,"
+                + "pickup_type,drop_off_type";
+    }
+
+    /**
+     * Writes the stop time as a row of stop_times.txt, leaving missing values empty
+     * @return the row
+     */
+    String toRow() {
+        return getTripId() + "," + getArrivalTime() + "," + getDepartureTime() + "," + getStopId()
+                + "," + getStopSequence() + "," + Objects.toString(getStopHeadsign(), "") + ","
+                + getPickupType() + "," + getDropOffType();
+    }
+
     @Override
     public String toString() {
-        return tripId + "," + arrivalTime + "," + departureTime + "," + stopId
-                + "," + stopSequence + "," + stopHeadsign + "," + pickupType + "," + dropOffType;
+        return getTripId() + "," + getArrivalTime() + "," + getDepartureTime() + "," + getStopId()
+                + "," + getStopSequence() + "," + getStopHeadsign() + "," + getPickupType()
+                + "," + getDropOffType();
     }
 }
@@ -0,0 +1,480 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column oriented storage for stop times
+ * <p>
+ * Each column is a primitive array: trip, stop and headsign values are stored as
+ * dictionary codes and times as seconds since the start of the service day. The
+ * StopTime objects returned by {@link #get(int)} are lightweight views over one
+ * row that are created on demand; their setters write through to the table.
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+public class StopTimeTable extends AbstractList<StopTime> {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final StringDictionary tripIds = new StringDictionary();
+    private final StringDictionary stopIds = new StringDictionary();
+    private final StringDictionary headsigns = new StringDictionary();
+
+    private int size;
+    private int[] trips;
+    private int[] stops;
+    private int[] arrivals;
+    private int[] departures;
+    private int[] sequences;
+    private int[] headsignCodes;
+    private byte[] pickupTypes;
+    private byte[] dropOffTypes;
+
+    /**
+     * Creates an empty table
+     */
+    public StopTimeTable() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets a view of a row
+     *
+     * @param row index of the row
+     * @return a stop time backed by the row
+     */
+    @Override
+    public StopTime get(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Index: " + row + ", Size: " + size);
+        }
+        return new View(row);
+    }
+
+    /**
+     * Copies a stop time into a new row
+     *
+     * @param stopTime stop time to add
+     * @return true
+     * @throws IllegalArgumentException if a pickup or drop off type is out of range
+     */
+    @Override
+    public boolean add(StopTime stopTime) {
+        byte pickupType = toByte("pickup_type", stopTime.getPickupType());
+        byte dropOffType = toByte("drop_off_type", stopTime.getDropOffType());
+        if (size == trips.length) {
+            grow(size + (size >> 1));
+        }
+        trips[size] = tripIds.encode(stopTime.getTripId());
+        stops[size] = stopIds.encode(stopTime.getStopId());
+        arrivals[size] = stopTime.getArrivalSeconds();
+        departures[size] = stopTime.getDepartureSeconds();
+        sequences[size] = stopTime.getStopSequence();
+        headsignCodes[size] = headsigns.encode(stopTime.getStopHeadsign());
+        pickupTypes[size] = pickupType;
+        dropOffTypes[size] = dropOffType;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Copies stop times into new rows
+     * <p>
+     * Rows of another table are copied column by column, translating its dictionary
+     * codes once per distinct value rather than once per row.
+     *
+     * @param stopTimes stop times to add
+     * @return true if any rows were added
+     * @throws IllegalArgumentException if a pickup or drop off type is out of range
+     */
+    @Override
+    public boolean addAll(Collection<? extends StopTime> stopTimes) {
+        if (!(stopTimes instanceof StopTimeTable)) {
+            return super.addAll(stopTimes);
+        }
+        StopTimeTable other = (StopTimeTable) stopTimes;
+        int count = other.size;
+        if (count == 0) {
+            return false;
+        }
+        if (size + count > trips.length) {
+            grow(Math.max(size + count, size + (size >> 1)));
+        }
+        int[] tripCodes = translate(other.tripIds, tripIds);
+        int[] stopCodes = translate(other.stopIds, stopIds);
+        int[] headsignCodeMap = translate(other.headsigns, headsigns);
+        for (int row = 0; row < count; row++) {
+            trips[size + row] = tripCodes[other.trips[row]];
+            stops[size + row] = stopCodes[other.stops[row]];
+            int headsign = other.headsignCodes[row];
+            headsignCodes[size + row] = headsign == StringDictionary.NULL
+                    ? StringDictionary.NULL : headsignCodeMap[headsign];
+        }
+        System.arraycopy(other.arrivals, 0, arrivals, size, count);
+        System.arraycopy(other.departures, 0, departures, size, count);
+        System.arraycopy(other.sequences, 0, sequences, size, count);
+        System.arraycopy(other.pickupTypes, 0, pickupTypes, size, count);
+        System.arraycopy(other.dropOffTypes, 0, dropOffTypes, size, count);
+        size += count;
+        modCount++;
+        return true;
+    }
+
+    private static int[] translate(StringDictionary from, StringDictionary to) {
+        int[] codes = new int[from.size()];
+        for (int code = 0; code < codes.length; code++) {
+            codes[code] = to.encode(from.decode(code));
+        }
+        return codes;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        tripIds.clear();
+        stopIds.clear();
+        headsigns.clear();
+        allocate(INITIAL_CAPACITY);
+        modCount++;
+    }
+
+    /**
+     * Groups the rows by trip_id, with each group sorted by stop_sequence
+     *
+     * @return stop times for each trip id
+     */
+    Map<String, List<StopTime>> indexByTrip() {
+        return index(trips, tripIds);
+    }
+
+    /**
+     * Groups the rows by stop_id, with each group sorted by stop_sequence
+     *
+     * @return stop times for each stop id
+     */
+    Map<String, List<StopTime>> indexByStop() {
+        return index(stops, stopIds);
+    }
+
+    /*
+     * Counting sort of the rows by dictionary code, then each group is sorted by
+     * stop_sequence. All groups share one row array so the index costs 4 bytes
+     * per row plus one small list object per key.
+     */
+    private Map<String, List<StopTime>> index(int[] codes, StringDictionary dictionary) {
+        int keys = dictionary.size();
+        int[] offsets = new int[keys + 1];
+        for (int row = 0; row < size; row++) {
+            offsets[codes[row] + 1]++;
+        }
+        for (int key = 0; key < keys; key++) {
+            offsets[key + 1] += offsets[key];
+        }
+        long[] sorted = new long[size];
+        int[] next = Arrays.copyOf(offsets, keys);
+        for (int row = 0; row < size; row++) {
+            sorted[next[codes[row]]++] = ((long) sequences[row] << 32) | row;
+        }
+        int[] rows = new int[size];
+        Map<String, List<StopTime>> index = new HashMap<>(keys * 4 / 3 + 1);
+        for (int key = 0; key < keys; key++) {
+            int from = offsets[key];
+            int to = offsets[key + 1];
+            if (from == to) {
+                continue;
+            }
+            Arrays.sort(sorted, from, to);
+            for (int i = from; i < to; i++) {
+                rows[i] = (int) sorted[i];
+            }
+            index.put(dictionary.decode(key), new RowList(rows, from, to));
+        }
+        return index;
+    }
+
+    /**
+     * Gets the row a stop time is stored in
+     *
+     * @param stopTime stop time to look up
+     * @return the row, or -1 if the stop time is not a view of this table
+     */
+    int rowOf(StopTime stopTime) {
+        if (stopTime instanceof View && ((View) stopTime).table() == this) {
+            return ((View) stopTime).row;
+        }
+        return -1;
+    }
+
+    /**
+     * Creates an index from rows that have already been grouped and sorted
+     *
+     * @param keys key of each group
+     * @param offsets index in rows where each group starts, followed by the length of rows
+     * @param rows row numbers, grouped by key
+     * @return stop times for each key
+     */
+    Map<String, List<StopTime>> index(String[] keys, int[] offsets, int[] rows) {
+        Map<String, List<StopTime>> index = new HashMap<>(keys.length * 4 / 3 + 1);
+        for (int key = 0; key < keys.length; key++) {
+            index.put(keys[key], new RowList(rows, offsets[key], offsets[key + 1]));
+        }
+        return index;
+    }
+
+    /**
+     * Writes the columns, with trip, stop and headsign values written as codes of a shared
+     * string table
+     *
+     * @param out stream to write to
+     * @param strings string table that every value of this table has been added to
+     * @throws IOException if the stream cannot be written
+     */
+    void write(DataOutputStream out, StringDictionary strings) throws IOException {
+        out.writeInt(size);
+        writeCodes(out, trips, translate(tripIds, strings));
+        writeCodes(out, stops, translate(stopIds, strings));
+        writeCodes(out, headsignCodes, translate(headsigns, strings));
+        writeInts(out, arrivals);
+        writeInts(out, departures);
+        writeInts(out, sequences);
+        out.write(pickupTypes, 0, size);
+        out.write(dropOffTypes, 0, size);
+    }
+
+    /**
+     * Adds every trip, stop and headsign value of this table to a string table
+     *
+     * @param strings string table to add to
+     */
+    void addStrings(StringDictionary strings) {
+        translate(tripIds, strings);
+        translate(stopIds, strings);
+        translate(headsigns, strings);
+    }
+
+    /**
+     * Appends rows written by {@link #write(DataOutputStream, StringDictionary)}
+     *
+     * @param in buffer positioned at the start of the columns
+     * @param strings the string table that was written with the columns
+     * @throws IllegalArgumentException if the row count is damaged
+     */
+    void read(ByteBuffer in, String[] strings) {
+        // Six int columns and two byte columns
+        int count = Snapshot.count(in, 6 * Integer.BYTES + 2);
+        if (size + count > trips.length) {
+            grow(Math.max(size + count, size + (size >> 1)));
+        }
+        readCodes(in, trips, count, tripIds, strings);
+        readCodes(in, stops, count, stopIds, strings);
+        readCodes(in, headsignCodes, count, headsigns, strings);
+        readInts(in, arrivals, count);
+        readInts(in, departures, count);
+        readInts(in, sequences, count);
+        in.get(pickupTypes, size, count);
+        in.get(dropOffTypes, size, count);
+        size += count;
+        modCount++;
+    }
+
+    private void writeCodes(DataOutputStream out, int[] codes, int[] translation)
+            throws IOException {
+        for (int row = 0; row < size; row++) {
+            int code = codes[row];
+            out.writeInt(code == StringDictionary.NULL ? code : translation[code]);
+        }
+    }
+
+    private void writeInts(DataOutputStream out, int[] values) throws IOException {
+        for (int row = 0; row < size; row++) {
+            out.writeInt(values[row]);
+        }
+    }
+
+    private void readCodes(ByteBuffer in, int[] codes, int count, StringDictionary dictionary,
+                           String[] strings) {
+        readInts(in, codes, count);
+        // Translate each string table code once, the first time it is seen
+        int[] translation = new int[strings.length];
+        Arrays.fill(translation, StringDictionary.NULL);
+        for (int row = size; row < size + count; row++) {
+            int code = codes[row];
+            if (code != StringDictionary.NULL) {
+                if (translation[code] == StringDictionary.NULL) {
+                    translation[code] = dictionary.encode(strings[code]);
+                }
+                codes[row] = translation[code];
+            }
+        }
+    }
+
+    private void readInts(ByteBuffer in, int[] values, int count) {
+        in.asIntBuffer().get(values, size, count);
+        in.position(in.position() + count * Integer.BYTES);
+    }
+
+    private void allocate(int capacity) {
+        trips = new int[capacity];
+        stops = new int[capacity];
+        arrivals = new int[capacity];
+        departures = new int[capacity];
+        sequences = new int[capacity];
+        headsignCodes = new int[capacity];
+        pickupTypes = new byte[capacity];
+        dropOffTypes = new byte[capacity];
+    }
+
+    private void grow(int capacity) {
+        trips = Arrays.copyOf(trips, capacity);
+        stops = Arrays.copyOf(stops, capacity);
+        arrivals = Arrays.copyOf(arrivals, capacity);
+        departures = Arrays.copyOf(departures, capacity);
+        sequences = Arrays.copyOf(sequences, capacity);
+        headsignCodes = Arrays.copyOf(headsignCodes, capacity);
+        pickupTypes = Arrays.copyOf(pickupTypes, capacity);
+        dropOffTypes = Arrays.copyOf(dropOffTypes, capacity);
+    }
+
+    private static byte toByte(String field, int value) {
+        if (value < 0 || value > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException(field + " is out of range: " + value);
+        }
+        return (byte) value;
+    }
+
+    /**
+     * List of stop times for a range of a shared row array
+     */
+    private final class RowList extends AbstractList<StopTime> {
+        private final int[] rows;
+        private final int from;
+        private final int to;
+
+        RowList(int[] rows, int from, int to) {
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public StopTime get(int index) {
+            if (index < 0 || index >= to - from) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+            return new View(rows[from + index]);
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+
+    /**
+     * Stop time that reads one row of the table
+     */
+    private final class View extends StopTime {
+        private final int row;
+
+        View(int row) {
+            this.row = row;
+            publish();
+        }
+
+        @Override
+        public int getArrivalSeconds() {
+            return arrivals[row];
+        }
+
+        @Override
+        public int getDepartureSeconds() {
+            return departures[row];
+        }
+
+        @Override
+        public int getDropOffType() {
+            return dropOffTypes[row];
+        }
+
+        @Override
+        public int getPickupType() {
+            return pickupTypes[row];
+        }
+
+        @Override
+        public String getStopHeadsign() {
+            return headsigns.decode(headsignCodes[row]);
+        }
+
+        @Override
+        public String getStopId() {
+            return stopIds.decode(stops[row]);
+        }
+
+        @Override
+        public int getStopSequence() {
+            return sequences[row];
+        }
+
+        @Override
+        public String getTripId() {
+            return tripIds.decode(trips[row]);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof View && ((View) o).row == row && ((View) o).table() == table();
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(table()) * 31 + row;
+        }
+
+        private StopTimeTable table() {
+            return StopTimeTable.this;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Assigns dense int codes to Strings so that each distinct value is stored once
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+class StringDictionary {
+    /**
+     * Code used for a null value
+     */
+    static final int NULL = -1;
+
+    private final HashMap<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * Gets the code for a value, adding the value if it is new
+     *
+     * @param value value to encode
+     * @return the code, or NULL if value is null
+     */
+    int encode(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    /**
+     * Gets the code for a value without adding it
+     *
+     * @param value value to look up
+     * @return the code, or NULL if the value has never been encoded
+     */
+    int find(String value) {
+        Integer code = value == null ? null : codes.get(value);
+        return code == null ? NULL : code;
+    }
+
+    /**
+     * Gets the value for a code
+     *
+     * @param code code to decode
+     * @return the value, or null for NULL
+     */
+    String decode(int code) {
+        return code == NULL ? null : values.get(code);
+    }
+
+    /**
+     * Gets the number of distinct values
+     *
+     * @return number of values
+     */
+    int size() {
+        return values.size();
+    }
+
+    /**
+     * Removes all values
+     */
+    void clear() {
+        codes.clear();
+        values.clear();
+    }
+}
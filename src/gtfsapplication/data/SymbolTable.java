@@ -0,0 +1,260 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shares one String for each distinct id or headsign in a feed
+ * <p>
+ * Values such as service ids, trip ids and stop ids repeat on thousands of rows.
+ * Readers look values up through a {@link Local} cache, which compares the characters
+ * still in the read buffer against values it has seen, so a repeated value creates no
+ * String at all. New values are added to this table, which is shared by every reader
+ * of the feed and can be used from several threads.
+ * <p>
+ * Each import reads into a table of its own. An import that replaces part of the feed
+ * looks values up in the table of the feed it builds on first, without adding to it,
+ * and its new values are merged into that table when the import is published.
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+class SymbolTable {
+    private final ConcurrentHashMap<String, String> symbols = new ConcurrentHashMap<>();
+    private final SymbolTable parent;
+
+    /**
+     * Creates an empty table
+     */
+    SymbolTable() {
+        this(null);
+    }
+
+    /**
+     * Creates an empty table that shares the values of another table
+     *
+     * @param parent table whose values are returned before this table's, which this
+     *               table never changes, or null
+     */
+    SymbolTable(SymbolTable parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Gets the shared String equal to a value, adding the value if it is new
+     *
+     * @param value value to look up
+     * @return the shared String, or null if value is null
+     */
+    String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String shared = parent == null ? null : parent.symbols.get(value);
+        if (shared != null) {
+            return shared;
+        }
+        String symbol = symbols.putIfAbsent(value, value);
+        return symbol == null ? value : symbol;
+    }
+
+    /**
+     * Gets the number of distinct values
+     *
+     * @return number of values
+     */
+    int size() {
+        return symbols.size();
+    }
+
+    /**
+     * Adds the values of another table that this table does not have yet
+     *
+     * @param other table to take the values of
+     */
+    void merge(SymbolTable other) {
+        for (String value : other.symbols.keySet()) {
+            symbols.putIfAbsent(value, value);
+        }
+    }
+
+    /**
+     * Creates a cache for one reader
+     *
+     * @return a new cache backed by this table
+     */
+    Local local() {
+        return new Local(this);
+    }
+
+    /**
+     * Cache of a symbol table used by one reader on one thread
+     * <p>
+     * An open addressing hash table of the Strings the reader has returned, looked up
+     * with the same hash as String.hashCode so that no String is needed to search it.
+     */
+    static final class Local {
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private final SymbolTable table;
+        private String[] values = new String[INITIAL_CAPACITY];
+        private int[] hashes = new int[INITIAL_CAPACITY];
+        private int size;
+
+        private Local(SymbolTable table) {
+            this.table = table;
+        }
+
+        /**
+         * Gets the shared String for part of a character array
+         *
+         * @param chars characters containing the value
+         * @param start index of the first character
+         * @param end index after the last character
+         * @return the shared String
+         */
+        String intern(char[] chars, int start, int end) {
+            int hash = 0;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + chars[i];
+            }
+            int slot = slot(hash);
+            for (String value = values[slot]; value != null; value = values[slot]) {
+                if (hashes[slot] == hash && matches(value, chars, start, end)) {
+                    return value;
+                }
+                slot = (slot + 1) & (values.length - 1);
+            }
+            return add(slot, hash, table.intern(new String(chars, start, end - start)));
+        }
+
+        /**
+         * Gets the shared String for part of a buffer of ASCII bytes
+         *
+         * @param bytes buffer containing the value, which must be ASCII
+         * @param start index of the first byte
+         * @param end index after the last byte
+         * @return the shared String
+         */
+        String intern(ByteBuffer bytes, int start, int end) {
+            int hash = 0;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + bytes.get(i);
+            }
+            int slot = slot(hash);
+            for (String value = values[slot]; value != null; value = values[slot]) {
+                if (hashes[slot] == hash && matches(value, bytes, start, end)) {
+                    return value;
+                }
+                slot = (slot + 1) & (values.length - 1);
+            }
+            char[] chars = new char[end - start];
+            for (int i = start; i < end; i++) {
+                chars[i - start] = (char) bytes.get(i);
+            }
+            return add(slot, hash, table.intern(new String(chars)));
+        }
+
+        /**
+         * Gets the shared String for a value that has already been created
+         *
+         * @param value value to look up
+         * @return the shared String
+         */
+        String intern(String value) {
+            int hash = value.hashCode();
+            int slot = slot(hash);
+            for (String existing = values[slot]; existing != null; existing = values[slot]) {
+                if (hashes[slot] == hash && existing.equals(value)) {
+                    return existing;
+                }
+                slot = (slot + 1) & (values.length - 1);
+            }
+            return add(slot, hash, table.intern(value));
+        }
+
+        private String add(int slot, int hash, String value) {
+            values[slot] = value;
+            hashes[slot] = hash;
+            size++;
+            if (size * 2 > values.length) {
+                rehash();
+            }
+            return value;
+        }
+
+        private void rehash() {
+            String[] oldValues = values;
+            int[] oldHashes = hashes;
+            values = new String[oldValues.length * 2];
+            hashes = new int[oldValues.length * 2];
+            for (int i = 0; i < oldValues.length; i++) {
+                if (oldValues[i] != null) {
+                    int slot = slot(oldHashes[i]);
+                    while (values[slot] != null) {
+                        slot = (slot + 1) & (values.length - 1);
+                    }
+                    values[slot] = oldValues[i];
+                    hashes[slot] = oldHashes[i];
+                }
+            }
+        }
+
+        private int slot(int hash) {
+            // Spread the high bits, since String hashes of similar ids differ mostly in the low bits
+            return (hash ^ (hash >>> 16)) & (values.length - 1);
+        }
+
+        private static boolean matches(String value, char[] chars, int start, int end) {
+            if (value.length() != end - start) {
+                return false;
+            }
+            for (int i = start; i < end; i++) {
+                if (value.charAt(i - start) != chars[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean matches(String value, ByteBuffer bytes, int start, int end) {
+            if (value.length() != end - start) {
+                return false;
+            }
+            for (int i = start; i < end; i++) {
+                if (value.charAt(i - start) != bytes.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
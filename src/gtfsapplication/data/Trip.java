@@ -32,6 +32,7 @@ package gtfsapplication.data;
 import gtfsapplication.GTFSException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Data implementation for Trip
@@ -78,6 +79,15 @@ public class Trip {
         this.shapeId = shapeId;
     }
 
+    /**
+     * Creates a copy of a trip, which edits change in place of the original
+     * @param other trip to copy
+     */
+    Trip(Trip other) {
+        this(other.blockID, other.directionId, other.headSign, other.serviceId, other.tripId,
+                other.routeId, other.shapeId);
+    }
+
     /**
      * Creates a trip object from a raw line and list of fields
      * @param fields list of fields retrieved from Route.validateHeader
@@ -85,56 +95,64 @@ public class Trip {
      * @throws GTFSException if there is a problem importing the file
      */
     public Trip(List<String> fields, String raw) throws GTFSException {
-        List<String> values = ImportHelper.parseLine(raw);
-        if (fields.size() != values.size()) {
-            throw new GTFSException("trips.txt\n" +
+        this(fields, CsvTokenizer.parseRow(raw));
+    }
+
+    /**
+     * Creates a trip object from the current row of a trips.txt file
+     * @param fields list of fields retrieved from Trip.validateHeader
+     * @param row row from trips.txt
+     * @throws RejectedRowException if the row is not valid
+     */
+    public Trip(List<String> fields, RowCursor row) throws RejectedRowException {
+        if (fields.size() != row.size()) {
+            throw new RejectedRowException("trips.txt", row, null,
                     "Expected " + fields.size() + " values, " +
-                    "got " + values.size());
+                    "got " + row.size());
         }
 
         for (int i = 0; i < fields.size(); i++) {
             String field = fields.get(i);
-            String value = values.get(i);
 
             try {
                 switch (field) {
                     case "route_id":
-                        if (value.isEmpty()) {
-                            throw new GTFSException("trips.txt\n" +
+                        if (row.isEmpty(i)) {
+                            throw new RejectedRowException("trips.txt", row, "route_id",
                                     "route_id is required");
                         }
-                        routeId = value;
+                        routeId = row.getSymbol(i);
                         break;
                     case "service_id":
-                        serviceId = value;
+                        serviceId = row.getSymbol(i);
                         break;
                     case "trip_id":
-                        if (value.isEmpty()) {
-                            throw new GTFSException("trips.txt\n" +
+                        if (row.isEmpty(i)) {
+                            throw new RejectedRowException("trips.txt", row, "trip_id",
                                     "trip_id is required");
                         }
-                        tripId = value;
+                        tripId = row.getSymbol(i);
                         break;
                     case "trip_headsign":
-                        headSign = value;
+                        headSign = row.getSymbol(i);
                         break;
                     case "direction_id":
-                        if(!value.isEmpty()){
-                            directionId = Integer.parseInt(value);
+                        if(!row.isEmpty(i)){
+                            directionId = row.getInt(i);
                         }
                         break;
                     case "block_id":
-                        blockID = value;
+                        blockID = row.getSymbol(i);
                         break;
                     case "shape_id":
-                        shapeId = value;
+                        shapeId = row.getSymbol(i);
                         break;
                 }
             } catch (NumberFormatException ex) {
-                throw new GTFSException("trips.txt\n" +
-                        field + " needs to be an integer. Got: " + value);
+                throw new RejectedRowException("trips.txt", row, field,
+                        field + " needs to be an integer. Got: " + row.get(i));
             } catch (IllegalArgumentException ex) {
-                throw new GTFSException("trips.txt\n" +
+                throw new RejectedRowException("trips.txt", row, field,
                         field + " is required.");
             }
         }
@@ -170,6 +188,22 @@ public class Trip {
         }
     }
 
+    /**
+     * Creates a trip from the current row of trips.txt, validating it in the same pass
+     * @param fields list of fields retrieved from Trip.validateHeader
+     * @param row row from trips.txt
+     * @param report report that a rejected row is added to
+     * @return the trip, or null if the row was rejected
+     */
+    public static Trip fromRow(List<String> fields, RowCursor row, ImportReport report) {
+        try {
+            return new Trip(fields, row);
+        } catch (RejectedRowException ex) {
+            report.reject(ex.getRejection());
+            return null;
+        }
+    }
+
     public String getServiceId(){
         return this.serviceId;
     }
@@ -238,6 +272,24 @@ public class Trip {
         this.shapeId = shapeId;
     }
 
+    /**
+     * Gets the header of the trips.txt rows that toRow writes
+     * @return the header
+     */
+    static String header() {
+        return "route_id,service_id,trip_id,trip_headsign,direction_id,block_id,shape_id";
+    }
+
+    /**
+     * Writes the trip as a row of trips.txt, leaving missing values empty
+     * @return the row
+     */
+    String toRow() {
+        return routeId + "," + Objects.toString(serviceId, "") + "," + tripId + ","
+                + Objects.toString(headSign, "") + "," + directionId + ","
+                + Objects.toString(blockID, "") + "," + Objects.toString(shapeId, "");
+    }
+
     @Override
     public String toString(){
         return this.routeId + ","
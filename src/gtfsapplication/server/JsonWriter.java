@@ -0,0 +1,191 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.server;
+
+/**
+ * Builds a JSON document in a StringBuilder
+ * <p>
+ * Commas are inserted automatically. Names must only be written inside objects,
+ * and values inside arrays or after a name.
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+class JsonWriter {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final StringBuilder json = new StringBuilder(256);
+    private boolean first = true;
+
+    /**
+     * Starts an object
+     *
+     * @return this writer
+     */
+    JsonWriter beginObject() {
+        separate();
+        json.append('{');
+        first = true;
+        return this;
+    }
+
+    /**
+     * Ends the current object
+     *
+     * @return this writer
+     */
+    JsonWriter endObject() {
+        json.append('}');
+        first = false;
+        return this;
+    }
+
+    /**
+     * Starts an array
+     *
+     * @return this writer
+     */
+    JsonWriter beginArray() {
+        separate();
+        json.append('[');
+        first = true;
+        return this;
+    }
+
+    /**
+     * Ends the current array
+     *
+     * @return this writer
+     */
+    JsonWriter endArray() {
+        json.append(']');
+        first = false;
+        return this;
+    }
+
+    /**
+     * Writes the name of the next value in an object
+     *
+     * @param name member name
+     * @return this writer
+     */
+    JsonWriter name(String name) {
+        separate();
+        quote(name);
+        json.append(':');
+        first = true;
+        return this;
+    }
+
+    /**
+     * Writes a string, or null
+     *
+     * @param value value to write
+     * @return this writer
+     */
+    JsonWriter value(String value) {
+        separate();
+        if (value == null) {
+            json.append("null");
+        } else {
+            quote(value);
+        }
+        first = false;
+        return this;
+    }
+
+    /**
+     * Writes a whole number
+     *
+     * @param value value to write
+     * @return this writer
+     */
+    JsonWriter value(long value) {
+        separate();
+        json.append(value);
+        first = false;
+        return this;
+    }
+
+    /**
+     * Writes true or false
+     *
+     * @param value value to write
+     * @return this writer
+     */
+    JsonWriter value(boolean value) {
+        separate();
+        json.append(value);
+        first = false;
+        return this;
+    }
+
+    /**
+     * Writes a number, or null if it is not finite
+     *
+     * @param value value to write
+     * @return this writer
+     */
+    JsonWriter value(double value) {
+        separate();
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            json.append("null");
+        } else {
+            json.append(value);
+        }
+        first = false;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return json.toString();
+    }
+
+    private void separate() {
+        if (!first) {
+            json.append(',');
+        }
+    }
+
+    private void quote(String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,527 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import gtfsapplication.GTFSException;
+import gtfsapplication.data.Departure;
+import gtfsapplication.data.GTFS;
+import gtfsapplication.data.Leg;
+import gtfsapplication.data.Route;
+import gtfsapplication.data.ServiceCalendar;
+import gtfsapplication.data.ServiceTime;
+import gtfsapplication.data.Stop;
+import gtfsapplication.data.StopTime;
+import gtfsapplication.data.Trip;
+import javafx.scene.paint.Color;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves stop, route, trip and departure queries on a loaded feed as JSON over HTTP,
+ * without the JavaFX window
+ * <p>
+ * Endpoints, all answering GET:
+ * <ul>
+ *     <li>/stops/{id}: the stop, the routes that visit it and the next trip of each</li>
+ *     <li>/routes/{id}: the route, its stops and the trips still to run today</li>
+ *     <li>/trips/{id}: the trip and its stop times</li>
+ *     <li>/departures?stop={id}[&amp;route={id}][&amp;date=YYYYMMDD][&amp;time=HH:MM:SS][&amp;count=n]:
+ *     the next departures from a stop of the trips running on a date, optionally on one
+ *     route</li>
+ *     <li>/nearby?lat={degrees}&amp;lon={degrees}[&amp;count=n][&amp;radius=meters]:
+ *     the stops nearest to a point, only those within the radius if one is given</li>
+ *     <li>/journeys?from={id}&amp;to={id}[&amp;date=YYYYMMDD][&amp;time=HH:MM:SS][&amp;transfer=seconds]:
+ *     the legs of the journey that arrives first on the trips running on a date, changing
+ *     trips as needed</li>
+ *     <li>/health: the number of routes and which other tables are loaded</li>
+ * </ul>
+ * Requests are answered concurrently by a fixed pool of threads without locking. The feed
+ * may be imported again while the server runs; each request answers all of its queries from
+ * one view of the feed, so it sees either the old or the new feed and never parts of both.
+ * <p>
+ * Usage: {@code java gtfsapplication.server.QueryServer <feed directory or zip> [port] [threads]}
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+public class QueryServer {
+    private static final int DEFAULT_PORT = 8080;
+    private static final int DEFAULT_COUNT = 10;
+    private static final int MAX_COUNT = 1000;
+    private static final int BACKLOG = 1024;
+    private static final int DEFAULT_TRANSFER_TIME = 120;
+
+    static {
+        // Without TCP_NODELAY small responses on kept-alive connections wait about 40 ms
+        // for the client's delayed acknowledgement. Read once when the first server is created.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final GTFS gtfs;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Creates a server for a loaded feed
+     *
+     * @param gtfs feed to serve
+     * @param port port to listen on, or 0 for any free port
+     * @param threads number of threads answering requests
+     * @throws IOException if the port cannot be bound
+     */
+    public QueryServer(GTFS gtfs, int port, int threads) throws IOException {
+        this.gtfs = gtfs;
+        // Build the departure board now so that no request has to
+        gtfs.getDepartureBoard();
+        server = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+        executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "query-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        server.setExecutor(executor);
+        server.createContext("/stops/", handler(this::stop));
+        server.createContext("/routes/", handler(this::route));
+        server.createContext("/trips/", handler(this::trip));
+        server.createContext("/departures", handler(this::departures));
+        server.createContext("/nearby", handler(this::nearby));
+        server.createContext("/journeys", handler(this::journeys));
+        server.createContext("/health", handler(this::health));
+        server.createContext("/", handler(exchange -> {
+            throw new QueryException(404, "Unknown path " + exchange.getRequestURI().getPath());
+        }));
+    }
+
+    /**
+     * Starts answering requests
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops answering requests, waiting up to a second for requests in progress
+     */
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the port the server listens on
+     *
+     * @return the port, which was chosen by the system if 0 was given
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private String stop(HttpExchange exchange) throws QueryException {
+        GTFS feed = gtfs.getView();
+        Stop stop = feed.getStop(pathId(exchange, "/stops/"));
+        if (stop == null) {
+            throw new QueryException(404, "No stop " + pathId(exchange, "/stops/"));
+        }
+        JsonWriter json = new JsonWriter().beginObject().name("stop");
+        writeStop(json, stop);
+        json.name("routes").beginArray();
+        for (Route route : feed.getRoutesContainingStop(stop)) {
+            writeRoute(json, route);
+        }
+        json.endArray().name("upcomingTrips").beginArray();
+        for (Trip trip : feed.getUpcomingTrips(stop)) {
+            writeTrip(json, trip);
+        }
+        return json.endArray().endObject().toString();
+    }
+
+    private String route(HttpExchange exchange) throws QueryException {
+        GTFS feed = gtfs.getView();
+        Route route = feed.getRoute(pathId(exchange, "/routes/"));
+        if (route == null) {
+            throw new QueryException(404, "No route " + pathId(exchange, "/routes/"));
+        }
+        JsonWriter json = new JsonWriter().beginObject().name("route");
+        writeRoute(json, route);
+        json.name("stops").beginArray();
+        for (Stop stop : feed.getStopsOnRoute(route)) {
+            writeStop(json, stop);
+        }
+        json.endArray().name("futureTrips").beginArray();
+        for (Trip trip : feed.getFutureTripsOnRoute(route)) {
+            writeTrip(json, trip);
+        }
+        return json.endArray().endObject().toString();
+    }
+
+    private String trip(HttpExchange exchange) throws QueryException {
+        GTFS feed = gtfs.getView();
+        Trip trip = feed.getTrip(pathId(exchange, "/trips/"));
+        if (trip == null) {
+            throw new QueryException(404, "No trip " + pathId(exchange, "/trips/"));
+        }
+        JsonWriter json = new JsonWriter().beginObject().name("trip");
+        writeTrip(json, trip);
+        json.name("stopTimes").beginArray();
+        for (StopTime stopTime : feed.getStopTimesOnTrip(trip)) {
+            json.beginObject()
+                    .name("stopId").value(stopTime.getStopId())
+                    .name("stopSequence").value(stopTime.getStopSequence())
+                    .name("arrivalTime").value(stopTime.getArrivalTime())
+                    .name("departureTime").value(stopTime.getDepartureTime())
+                    .endObject();
+        }
+        return json.endArray().endObject().toString();
+    }
+
+    private String departures(HttpExchange exchange) throws QueryException {
+        GTFS feed = gtfs.getView();
+        Map<String, String> query = query(exchange);
+        Stop stop = requiredStop(feed, query, "stop");
+        Route route = null;
+        if (query.containsKey("route")) {
+            route = feed.getRoute(query.get("route"));
+            if (route == null) {
+                throw new QueryException(404, "No route " + query.get("route"));
+            }
+        }
+        LocalDate date;
+        int time;
+        int count;
+        try {
+            date = query.containsKey("date") ? ServiceCalendar.parseDate(query.get("date"))
+                    : LocalDate.now();
+            time = query.containsKey("time") ? ServiceTime.parse(query.get("time"))
+                    : LocalTime.now().toSecondOfDay();
+            count = query.containsKey("count") ? Integer.parseInt(query.get("count"))
+                    : DEFAULT_COUNT;
+        } catch (IllegalArgumentException e) {
+            throw new QueryException(400, e.getMessage());
+        }
+        if (count < 1 || count > MAX_COUNT) {
+            throw new QueryException(400, "count must be from 1 to " + MAX_COUNT);
+        }
+        JsonWriter json = new JsonWriter().beginObject()
+                .name("stopId").value(stop.getId())
+                .name("date").value(ServiceCalendar.formatDate(date))
+                .name("time").value(ServiceTime.format(time))
+                .name("departures").beginArray();
+        for (Departure departure : feed.getNextDepartures(stop, route, date, time, count)) {
+            json.beginObject()
+                    .name("tripId").value(departure.getTripId())
+                    .name("routeId").value(departure.getRouteId())
+                    .name("time").value(ServiceTime.format(departure.getClockTime()))
+                    .name("serviceDayOffset").value(departure.getServiceDayOffset())
+                    .endObject();
+        }
+        return json.endArray().endObject().toString();
+    }
+
+    private String nearby(HttpExchange exchange) throws QueryException {
+        GTFS feed = gtfs.getView();
+        Map<String, String> query = query(exchange);
+        if (!query.containsKey("lat") || !query.containsKey("lon")) {
+            throw new QueryException(400, "The lat and lon parameters are required");
+        }
+        double latitude;
+        double longitude;
+        double radius;
+        int count;
+        try {
+            latitude = Double.parseDouble(query.get("lat"));
+            longitude = Double.parseDouble(query.get("lon"));
+            radius = query.containsKey("radius") ? Double.parseDouble(query.get("radius")) : -1;
+            count = query.containsKey("count") ? Integer.parseInt(query.get("count"))
+                    : DEFAULT_COUNT;
+        } catch (NumberFormatException e) {
+            throw new QueryException(400, e.getMessage());
+        }
+        // Written so that NaN fails each check as well
+        if (!(latitude >= -90 && latitude <= 90)) {
+            throw new QueryException(400, "lat must be from -90 to 90");
+        }
+        if (!(longitude >= -180 && longitude <= 180)) {
+            throw new QueryException(400, "lon must be from -180 to 180");
+        }
+        if (count < 1 || count > MAX_COUNT) {
+            throw new QueryException(400, "count must be from 1 to " + MAX_COUNT);
+        }
+        if (query.containsKey("radius") && !(radius >= 0 && radius < Double.POSITIVE_INFINITY)) {
+            throw new QueryException(400, "radius must be a finite number that is not negative");
+        }
+        List<Stop> stops = query.containsKey("radius")
+                ? feed.getStopsWithin(latitude, longitude, radius)
+                : feed.getNearestStops(latitude, longitude, count);
+        JsonWriter json = new JsonWriter().beginObject().name("stops").beginArray();
+        for (Stop stop : stops.subList(0, Math.min(count, stops.size()))) {
+            writeStop(json, stop);
+        }
+        return json.endArray().endObject().toString();
+    }
+
+    private String journeys(HttpExchange exchange) throws QueryException {
+        GTFS feed = gtfs.getView();
+        Map<String, String> query = query(exchange);
+        Stop from = requiredStop(feed, query, "from");
+        Stop to = requiredStop(feed, query, "to");
+        LocalDate date;
+        int time;
+        int transfer;
+        try {
+            date = query.containsKey("date") ? ServiceCalendar.parseDate(query.get("date"))
+                    : LocalDate.now();
+            time = query.containsKey("time") ? ServiceTime.parse(query.get("time"))
+                    : LocalTime.now().toSecondOfDay();
+            transfer = query.containsKey("transfer") ? Integer.parseInt(query.get("transfer"))
+                    : DEFAULT_TRANSFER_TIME;
+        } catch (IllegalArgumentException e) {
+            throw new QueryException(400, e.getMessage());
+        }
+        if (transfer < 0) {
+            throw new QueryException(400, "transfer may not be negative");
+        }
+        JsonWriter json = new JsonWriter().beginObject()
+                .name("from").value(from.getId())
+                .name("to").value(to.getId())
+                .name("date").value(ServiceCalendar.formatDate(date))
+                .name("time").value(ServiceTime.format(time))
+                .name("legs").beginArray();
+        for (Leg leg : feed.planJourney(from, to, date, time, transfer)) {
+            json.beginObject()
+                    .name("tripId").value(leg.getTripId())
+                    .name("routeId").value(leg.getRouteId())
+                    .name("from").value(leg.getFromStopId())
+                    .name("departure").value(ServiceTime.format(leg.getDepartureTime()))
+                    .name("to").value(leg.getToStopId())
+                    .name("arrival").value(ServiceTime.format(leg.getArrivalTime()))
+                    .endObject();
+        }
+        return json.endArray().endObject().toString();
+    }
+
+    private Stop requiredStop(GTFS feed, Map<String, String> query, String parameter)
+            throws QueryException {
+        String stopId = query.get(parameter);
+        if (stopId == null) {
+            throw new QueryException(400, "The " + parameter + " parameter is required");
+        }
+        Stop stop = feed.getStop(stopId);
+        if (stop == null) {
+            throw new QueryException(404, "No stop " + stopId);
+        }
+        return stop;
+    }
+
+    private String health(HttpExchange exchange) {
+        GTFS feed = gtfs.getView();
+        return new JsonWriter().beginObject()
+                .name("routes").value(feed.getRoutes().size())
+                .name("hasStops").value(feed.hasStops())
+                .name("hasTrips").value(feed.hasTrips())
+                .name("hasStopTimes").value(feed.hasStopTimes())
+                .endObject().toString();
+    }
+
+    private static void writeStop(JsonWriter json, Stop stop) {
+        json.beginObject()
+                .name("id").value(stop.getId())
+                .name("name").value(stop.getName())
+                .name("description").value(stop.getDescription())
+                .name("latitude").value(stop.getLatitude())
+                .name("longitude").value(stop.getLongitude())
+                .endObject();
+    }
+
+    private static void writeRoute(JsonWriter json, Route route) {
+        json.beginObject()
+                .name("id").value(route.getId())
+                .name("shortName").value(route.getShortName())
+                .name("longName").value(route.getLongName())
+                .name("type").value(route.getType())
+                .name("color").value(hex(route.getColor()))
+                .endObject();
+    }
+
+    private static void writeTrip(JsonWriter json, Trip trip) {
+        json.beginObject()
+                .name("id").value(trip.getId())
+                .name("routeId").value(trip.getRouteId())
+                .name("serviceId").value(trip.getServiceId())
+                .name("headsign").value(trip.getHeadSign())
+                .name("directionId").value(trip.getDirectionId())
+                .endObject();
+    }
+
+    private static String hex(Color color) {
+        if (color == null) {
+            return null;
+        }
+        return String.format(Locale.ROOT, "%02X%02X%02X", Math.round(color.getRed() * 255),
+                Math.round(color.getGreen() * 255), Math.round(color.getBlue() * 255));
+    }
+
+    private static String pathId(HttpExchange exchange, String prefix) throws QueryException {
+        String id = decode(exchange.getRequestURI().getRawPath().substring(prefix.length()));
+        if (id.isEmpty() || id.indexOf('/') >= 0) {
+            throw new QueryException(404, "Unknown path " + exchange.getRequestURI().getPath());
+        }
+        return id;
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) throws QueryException {
+        Map<String, String> parameters = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query != null) {
+            for (String parameter : query.split("&")) {
+                int equals = parameter.indexOf('=');
+                if (equals > 0) {
+                    parameters.put(decode(parameter.substring(0, equals)),
+                            decode(parameter.substring(equals + 1)));
+                }
+            }
+        }
+        return parameters;
+    }
+
+    private static String decode(String value) throws QueryException {
+        try {
+            return URLDecoder.decode(value, "UTF-8");
+        } catch (IllegalArgumentException | UnsupportedEncodingException e) {
+            throw new QueryException(400, "Invalid escape in " + value);
+        }
+    }
+
+    private static HttpHandler handler(Query query) {
+        return exchange -> {
+            int status = 200;
+            String body;
+            try {
+                if (!exchange.getRequestMethod().equals("GET")) {
+                    throw new QueryException(405, "Only GET is supported");
+                }
+                body = query.answer(exchange);
+            } catch (QueryException e) {
+                status = e.status;
+                body = new JsonWriter().beginObject()
+                        .name("error").value(e.getMessage()).endObject().toString();
+            } catch (RuntimeException e) {
+                status = 500;
+                body = new JsonWriter().beginObject()
+                        .name("error").value(String.valueOf(e)).endObject().toString();
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        };
+    }
+
+    /**
+     * Answers one kind of request
+     */
+    private interface Query {
+        String answer(HttpExchange exchange) throws QueryException;
+    }
+
+    /**
+     * A request that cannot be answered, with the HTTP status to send
+     */
+    private static class QueryException extends Exception {
+        private final int status;
+
+        QueryException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    /**
+     * Loads a feed and serves it until the process is stopped
+     *
+     * @param args feed directory or zip archive, optionally followed by the port and the
+     *             number of threads
+     * @throws GTFSException if the feed cannot be imported
+     * @throws IOException if the port cannot be bound
+     */
+    public static void main(String[] args) throws GTFSException, IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: QueryServer <feed directory or zip> [port] [threads]");
+            System.exit(2);
+        }
+        File feed = new File(args[0]);
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PORT;
+        int threads = args.length > 2 ? Integer.parseInt(args[2])
+                : 2 * Runtime.getRuntime().availableProcessors();
+        GTFS gtfs = new GTFS();
+        long start = System.nanoTime();
+        if (feed.isDirectory()) {
+            gtfs.importFeed(feed);
+        } else {
+            gtfs.importFile(feed);
+        }
+        QueryServer server = new QueryServer(gtfs, port, threads);
+        server.start();
+        System.out.printf("loaded %s in %.1f s, listening on port %d with %d threads%n",
+                feed.getName(), (System.nanoTime() - start) / 1e9, server.getPort(), threads);
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication;
+
+import gtfsapplication.data.Stop;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the projection, culling and clustering of stops drawn on the map
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+class StopLayerTest {
+
+    private static Stop stop(String id, double latitude, double longitude) {
+        return new Stop("", id, latitude, longitude, id);
+    }
+
+    private static int total(List<StopLayer.Cluster> clusters) {
+        return clusters.stream().mapToInt(StopLayer.Cluster::getSize).sum();
+    }
+
+    /**
+     * Tests that the projection puts the origin in the middle and north at the top
+     */
+    @Test
+    void project() {
+        assertEquals(0.5, MapViewport.projectX(0), 1e-12);
+        assertEquals(0.5, MapViewport.projectY(0), 1e-12);
+        assertEquals(1, MapViewport.projectX(180), 1e-12);
+        assertTrue(MapViewport.projectY(43) < MapViewport.projectY(42));
+        assertEquals(0, MapViewport.projectY(90), 1e-9);
+    }
+
+    /**
+     * Tests that fitting shows every stop inside the margin
+     */
+    @Test
+    void fit_showsAllStops() {
+        StopLayer layer = new StopLayer(Arrays.asList(stop("A", 43.0, -88.0),
+                stop("B", 43.1, -87.9), stop("C", 43.05, -87.95)));
+        MapViewport viewport = new MapViewport(500, 400);
+        viewport.fit(layer, 20);
+        for (StopLayer.Cluster cluster : layer.cluster(viewport, 1)) {
+            assertTrue(cluster.getX() >= 19.999 && cluster.getX() <= 480.001);
+            assertTrue(cluster.getY() >= 19.999 && cluster.getY() <= 380.001);
+        }
+        assertEquals(3, layer.cluster(viewport, 1).size());
+    }
+
+    /**
+     * Tests that a single stop is shown in the middle at street level
+     */
+    @Test
+    void fit_singleStop() {
+        StopLayer layer = new StopLayer(Collections.singletonList(stop("A", 43.0, -88.0)));
+        MapViewport viewport = new MapViewport(500, 400);
+        viewport.fit(layer, 20);
+        List<StopLayer.Cluster> clusters = layer.cluster(viewport, 10);
+        assertEquals(1, clusters.size());
+        assertEquals(250, clusters.get(0).getX(), 1e-6);
+        assertEquals(200, clusters.get(0).getY(), 1e-6);
+        assertTrue(viewport.getScale() > 256 * 1000);
+    }
+
+    /**
+     * Tests that zooming keeps the point under the mouse in place and panning moves it
+     */
+    @Test
+    void zoomAndPan() {
+        StopLayer layer = new StopLayer(Arrays.asList(stop("A", 43.0, -88.0),
+                stop("B", 43.1, -87.9)));
+        MapViewport viewport = new MapViewport(500, 400);
+        viewport.fit(layer, 20);
+        StopLayer.Cluster before = layer.cluster(viewport, 1).get(0);
+        viewport.zoom(2, before.getX(), before.getY());
+        StopLayer.Cluster after = layer.cluster(viewport, 1).get(0);
+        assertEquals(before.getX(), after.getX(), 1e-6);
+        assertEquals(before.getY(), after.getY(), 1e-6);
+
+        viewport.pan(10, -5);
+        StopLayer.Cluster moved = layer.cluster(viewport, 1).get(0);
+        assertEquals(after.getX() + 10, moved.getX(), 1e-6);
+        assertEquals(after.getY() - 5, moved.getY(), 1e-6);
+    }
+
+    /**
+     * Tests that stops close together are merged, that zooming in splits them, and that
+     * stops off the map are left out
+     */
+    @Test
+    void cluster_mergesAndCulls() {
+        List<Stop> stops = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 5000; i++) {
+            stops.add(stop("S" + i, 43.04 + random.nextGaussian() * 0.05,
+                    -87.91 + random.nextGaussian() * 0.05));
+        }
+        StopLayer layer = new StopLayer(stops);
+        MapViewport viewport = new MapViewport(600, 600);
+        viewport.fit(layer, 10);
+        List<StopLayer.Cluster> clusters = layer.cluster(viewport, 14);
+        assertEquals(5000, total(clusters));
+        // At most one cluster per cell of the map
+        assertTrue(clusters.size() <= (600 / 14 + 3) * (600 / 14 + 3));
+        assertTrue(clusters.size() < 5000);
+
+        viewport.zoom(64, 300, 300);
+        List<StopLayer.Cluster> zoomed = layer.cluster(viewport, 14);
+        assertTrue(total(zoomed) < 5000);
+        for (StopLayer.Cluster cluster : zoomed) {
+            assertTrue(cluster.getX() > -28 && cluster.getX() < 628);
+            assertTrue(cluster.getY() > -28 && cluster.getY() < 628);
+        }
+        double singles = zoomed.stream().filter(cluster -> cluster.getSize() == 1).count();
+        assertTrue(singles / zoomed.size() > 0.5);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the CSV tokenizer
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+class CsvTokenizerTest {
+
+    /**
+     * Tests that quoted values may contain commas and doubled quotes
+     */
+    @Test
+    void parseRow_quotedValues() {
+        CsvTokenizer row = CsvTokenizer.parseRow("30X,\"Some thing, you know\",\"say \"\"hi\"\"\"");
+        assertEquals(Arrays.asList("30X", "Some thing, you know", "say \"hi\""), row.toList());
+    }
+
+    /**
+     * Tests that a trailing comma produces an empty last value
+     */
+    @Test
+    void parseRow_trailingEmptyValue() {
+        CsvTokenizer row = CsvTokenizer.parseRow("21736564_2535,09:08:00,,6292,");
+        assertEquals(5, row.size());
+        assertTrue(row.isEmpty(2));
+        assertTrue(row.isEmpty(4));
+    }
+
+    /**
+     * Tests that values are trimmed and a blank line has no values
+     */
+    @Test
+    void parseRow_trimAndBlank() {
+        assertEquals(Arrays.asList("a", "b"), CsvTokenizer.parseRow(" a , \"b\" ").toList());
+        assertEquals(0, CsvTokenizer.parseRow("").size());
+    }
+
+    /**
+     * Tests that an unclosed quote is rejected
+     */
+    @Test
+    void parseRow_unclosedQuote() {
+        assertThrows(IllegalArgumentException.class, () -> CsvTokenizer.parseRow("a,\"b"));
+    }
+
+    /**
+     * Tests that integers are parsed directly from the buffer
+     */
+    @Test
+    void getInt_parsesAndRejects() {
+        CsvTokenizer row = CsvTokenizer.parseRow("42,-7,3a,,99999999999");
+        assertEquals(42, row.getInt(0));
+        assertEquals(-7, row.getInt(1));
+        assertThrows(NumberFormatException.class, () -> row.getInt(2));
+        assertThrows(NumberFormatException.class, () -> row.getInt(3));
+        assertThrows(NumberFormatException.class, () -> row.getInt(4));
+    }
+
+    /**
+     * Tests reading several rows with CRLF endings, blank lines, a byte order mark and a
+     * line break inside a quoted value, using a buffer smaller than a row
+     */
+    @Test
+    void next_multipleRowsSmallBuffer() throws IOException {
+        String text = "\uFEFFstop_id,stop_name\r\n1801,\"S92 &\nORCHARD\"\r\n\r\n1802,CHERRY\n";
+        try (CsvTokenizer reader = new CsvTokenizer(new StringReader(text), 4)) {
+            assertTrue(reader.next());
+            assertEquals("stop_id,stop_name", reader.line());
+            assertTrue(reader.next());
+            assertEquals(Arrays.asList("1801", "S92 &\nORCHARD"), reader.toList());
+            assertTrue(reader.next());
+            assertEquals(Arrays.asList("1802", "CHERRY"), reader.toList());
+            assertEquals(3, reader.getRowNumber());
+            assertFalse(reader.next());
+        }
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import gtfsapplication.GTFSException;
+import gtfsapplication.Observer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that observers are notified once per burst of changes with only what changed
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+class FeedChangeTest {
+
+    File directory;
+    List<Runnable> frames = new ArrayList<>();
+    List<FeedChange> changes = new ArrayList<>();
+    List<List<Object>> updates = new ArrayList<>();
+    Observer observer = new Observer() {
+        @Override
+        public void update(List<Object> objects) {
+            updates.add(objects);
+        }
+
+        @Override
+        public void feedChanged(FeedChange change) {
+            changes.add(change);
+        }
+    };
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("gtfs").toFile();
+        write("routes.txt",
+                "route_id,route_long_name,route_color",
+                "R1,Red Line,FF0000",
+                "R2,Blue Line,FF0000");
+        write("stops.txt",
+                "stop_id,stop_name,stop_lat,stop_lon",
+                "S1,First,43.0,-87.9",
+                "S2,Second,43.1,-87.9");
+        write("trips.txt",
+                "route_id,service_id,trip_id",
+                "R1,WK,T1");
+        write("stop_times.txt",
+                "trip_id,arrival_time,departure_time,stop_id,stop_sequence",
+                "T1,08:00:00,08:00:00,S1,1",
+                "T1,08:10:00,08:10:00,S2,2");
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (File file : directory.listFiles()) {
+            file.delete();
+        }
+        directory.delete();
+    }
+
+    private void write(String name, String... lines) throws IOException {
+        Files.write(new File(directory, name).toPath(), Arrays.asList(lines),
+                StandardCharsets.UTF_8);
+    }
+
+    private void runFrames() {
+        List<Runnable> pending = new ArrayList<>(frames);
+        frames.clear();
+        pending.forEach(Runnable::run);
+    }
+
+    private static List<String> ids(List<Route> routes) {
+        return routes.stream().map(Route::getId).sorted().collect(Collectors.toList());
+    }
+
+    /**
+     * Tests that importing four files one at a time notifies the observer once with
+     * every route added
+     */
+    @Test
+    void importFile_coalescedIntoOneChange() throws GTFSException {
+        GTFS gtfs = new GTFS();
+        gtfs.addObserver(observer, frames::add);
+        for (String name : new String[] {"routes.txt", "stops.txt", "trips.txt",
+                "stop_times.txt"}) {
+            gtfs.importFile(new File(directory, name));
+        }
+        assertEquals(1, frames.size());
+        runFrames();
+        assertEquals(1, changes.size());
+        assertTrue(updates.isEmpty());
+        FeedChange change = changes.get(0);
+        assertEquals(Arrays.asList("R1", "R2"), ids(change.getAddedRoutes()));
+        assertTrue(change.getChangedRoutes().isEmpty());
+        assertTrue(change.getRemovedRouteIds().isEmpty());
+        assertTrue(change.isStopPositionsChanged());
+        assertEquals(2, change.getRoutes().size());
+    }
+
+    /**
+     * Tests that a route added and removed before the observer runs is not reported, and
+     * that one added and then replaced is still reported as added
+     */
+    @Test
+    void importFile_mergedChanges() throws GTFSException, IOException {
+        GTFS gtfs = new GTFS();
+        gtfs.addObserver(observer, frames::add);
+        gtfs.importFile(new File(directory, "routes.txt"));
+        write("routes.txt",
+                "route_id,route_long_name,route_color",
+                "R2,Blue Line,FF0000",
+                "R3,Green Line,FF0000");
+        gtfs.importFile(new File(directory, "routes.txt"));
+        runFrames();
+        assertEquals(1, changes.size());
+        assertEquals(Arrays.asList("R2", "R3"), ids(changes.get(0).getAddedRoutes()));
+        assertTrue(changes.get(0).getRemovedRouteIds().isEmpty());
+        assertFalse(changes.get(0).isStopPositionsChanged());
+
+        write("routes.txt",
+                "route_id,route_long_name,route_color",
+                "R3,Green Line,FF0000",
+                "R4,Yellow Line,FF0000");
+        gtfs.importFile(new File(directory, "routes.txt"));
+        runFrames();
+        assertEquals(2, changes.size());
+        FeedChange change = changes.get(1);
+        assertEquals(Collections.singletonList("R4"), ids(change.getAddedRoutes()));
+        assertEquals(Collections.singletonList("R3"), ids(change.getChangedRoutes()));
+        assertEquals(Collections.singleton("R2"), change.getRemovedRouteIds());
+    }
+
+    /**
+     * Tests that an edit reports only the routes it touched, with a renamed route removed
+     * under its old id and added under its new one
+     */
+    @Test
+    void edit_onlyChangedRoutes() throws GTFSException {
+        GTFS gtfs = new GTFS();
+        gtfs.importFeed(directory);
+        gtfs.addObserver(observer);
+        updates.clear();
+        gtfs.edit(edit -> {
+            edit.updateRoute(gtfs.getRoute("R1"), changed -> changed.setId("R9"));
+            edit.updateRoute(gtfs.getRoute("R2"), changed -> changed.setLongName("Navy Line"));
+        });
+        assertEquals(1, changes.size());
+        FeedChange change = changes.get(0);
+        assertEquals(Collections.singletonList("R9"), ids(change.getAddedRoutes()));
+        assertEquals(Collections.singletonList("R2"), ids(change.getChangedRoutes()));
+        assertEquals(Collections.singleton("R1"), change.getRemovedRouteIds());
+        assertFalse(change.isStopPositionsChanged());
+        // The trips of R1 moved to R9
+        assertTrue(change.isStopsOrTripsChanged());
+
+        gtfs.edit(edit -> edit.updateStop(gtfs.getStop("S1"),
+                changed -> changed.setLatitude(44)));
+        assertTrue(changes.get(1).isStopPositionsChanged());
+        assertTrue(changes.get(1).getAddedRoutes().isEmpty());
+
+        gtfs.edit(edit -> { });
+        assertEquals(2, changes.size());
+        assertTrue(updates.isEmpty());
+    }
+
+    /**
+     * Tests that search results waiting to be shown are dropped when the feed changes
+     * after them, and shown after the change when they come later
+     */
+    @Test
+    void notifyObservers_orderedWithChanges() throws GTFSException {
+        GTFS gtfs = new GTFS();
+        gtfs.importFeed(directory);
+        gtfs.addObserver(observer, frames::add);
+        runFrames();
+        updates.clear();
+
+        gtfs.searchByRoute(gtfs.getRoute("R1"));
+        gtfs.edit(edit -> edit.updateRoute(gtfs.getRoute("R1"),
+                changed -> changed.setLongName("Rose Line")));
+        runFrames();
+        assertEquals(1, changes.size());
+        assertTrue(updates.isEmpty());
+
+        gtfs.edit(edit -> edit.updateRoute(gtfs.getRoute("R2"),
+                changed -> changed.setLongName("Sky Line")));
+        gtfs.searchByRoute(gtfs.getRoute("R2"));
+        runFrames();
+        assertEquals(2, changes.size());
+        assertEquals(1, updates.size());
+        assertSame(gtfs.getRoute("R2"), updates.get(0).get(0));
+    }
+
+    /**
+     * Tests that a removed observer is not notified
+     */
+    @Test
+    void deleteObserver() throws GTFSException {
+        GTFS gtfs = new GTFS();
+        gtfs.addObserver(observer);
+        gtfs.deleteObserver(observer);
+        gtfs.importFeed(directory);
+        assertTrue(changes.isEmpty());
+        assertTrue(updates.isEmpty());
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import gtfsapplication.GTFSException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that edits keep the maps and indexes of a feed up to date
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+class FeedEditTest {
+
+    File directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("gtfs").toFile();
+        write("routes.txt",
+                "route_id,route_long_name,route_color",
+                "R1,Red Line,FF0000",
+                "R2,Blue Line,0000FF");
+        write("stops.txt",
+                "stop_id,stop_name,stop_lat,stop_lon",
+                "S1,First,43.0,-87.9",
+                "S2,Second,43.1,-87.9",
+                "S3,Third,43.2,-87.9");
+        write("trips.txt",
+                "route_id,service_id,trip_id",
+                "R1,WK,T1",
+                "R1,WK,T2",
+                "R2,WK,T3");
+        write("stop_times.txt",
+                "trip_id,arrival_time,departure_time,stop_id,stop_sequence",
+                "T1,08:00:00,08:00:00,S1,1",
+                "T1,08:10:00,08:10:00,S2,2",
+                "T2,09:00:00,09:00:00,S1,1",
+                "T2,09:10:00,09:10:00,S2,2",
+                "T3,10:00:00,10:00:00,S3,1",
+                "T3,10:10:00,10:10:00,S2,2");
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (File file : directory.listFiles()) {
+            file.delete();
+        }
+        directory.delete();
+    }
+
+    private void write(String name, String... lines) throws IOException {
+        Files.write(new File(directory, name).toPath(), Arrays.asList(lines),
+                StandardCharsets.UTF_8);
+    }
+
+    private GTFS load(boolean columnar) throws GTFSException {
+        GTFS gtfs = new GTFS(columnar);
+        gtfs.importFeed(directory);
+        // Build the departures first so that the edit has to update them
+        gtfs.getDepartureBoard();
+        return gtfs;
+    }
+
+    private static List<String> departures(GTFS gtfs, String stopId) {
+        return gtfs.getNextDepartures(gtfs.getStop(stopId), null, 0, 10).stream()
+                .map(Departure::getTripId).collect(Collectors.toList());
+    }
+
+    /**
+     * Tests that renaming a trip moves it and its stop times to the new id
+     */
+    @Test
+    void updateTrip_rename() throws GTFSException {
+        GTFS gtfs = load(false);
+        Trip trip = gtfs.getTrip("T1");
+        Trip[] renamed = new Trip[1];
+        gtfs.edit(edit -> renamed[0] = edit.updateTrip(trip, changed -> changed.setId("T9")));
+
+        assertNull(gtfs.getTrip("T1"));
+        assertSame(renamed[0], gtfs.getTrip("T9"));
+        assertEquals("T1", trip.getId());
+        assertEquals("T9", gtfs.getStopTime("S1", "T9").getTripId());
+        assertEquals(2, gtfs.getStopTimesOnTrip(renamed[0]).size());
+        assertEquals(Arrays.asList("T9", "T2"), departures(gtfs, "S1"));
+        assertEquals(Arrays.asList(renamed[0], gtfs.getTrip("T2")),
+                gtfs.getDepartureBoard().getNextDepartures("S2", "R1", 0, 2).stream()
+                        .map(departure -> gtfs.getTrip(departure.getTripId()))
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * Tests that moving a stop time to another stop and sequence moves it in every index,
+     * with stop times in columns and as objects
+     */
+    @Test
+    void updateStopTime_move() throws GTFSException {
+        for (boolean columnar : new boolean[] {false, true}) {
+            GTFS gtfs = load(columnar);
+            StopTime stopTime = gtfs.getStopTime("S1", "T1");
+            gtfs.edit(edit -> edit.updateStopTime(stopTime, changed -> {
+                changed.setStopId("S3");
+                changed.setStopSequence(3);
+                changed.setDepartureSeconds(8 * 3600 + 1200);
+            }));
+
+            assertNull(gtfs.getStopTime("S1", "T1"));
+            List<StopTime> onTrip = gtfs.getStopTimesOnTrip(gtfs.getTrip("T1"));
+            assertEquals(Arrays.asList("S2", "S3"), onTrip.stream()
+                    .map(StopTime::getStopId).collect(Collectors.toList()));
+            assertEquals(Arrays.asList("T2"), departures(gtfs, "S1"));
+            assertEquals(Arrays.asList("T1", "T3"), departures(gtfs, "S3"));
+            assertTrue(gtfs.getRoutesContainingStop(gtfs.getStop("S3"))
+                    .contains(gtfs.getRoute("R1")));
+        }
+    }
+
+    /**
+     * Tests that edits change copies, so a view taken before them still sees the old
+     * objects, with stop times in columns and as objects
+     */
+    @Test
+    void edit_leavesOldStateUnchanged() throws GTFSException {
+        for (boolean columnar : new boolean[] {false, true}) {
+            GTFS gtfs = load(columnar);
+            GTFS before = gtfs.getView();
+            Stop stop = gtfs.getStop("S2");
+            gtfs.edit(edit -> {
+                edit.updateStop(stop, changed -> {
+                    changed.setId("S9");
+                    changed.setName("Ninth");
+                });
+                edit.updateRoute(gtfs.getRoute("R1"), changed -> changed.setId("R9"));
+            });
+
+            assertEquals("S2", stop.getId());
+            assertEquals("Second", before.getStop("S2").getName());
+            assertEquals("S2", before.getStopTime("S2", "T1").getStopId());
+            assertEquals("R1", before.getTrip("T1").getRouteId());
+            assertEquals("Ninth", gtfs.getStop("S9").getName());
+            assertEquals("S9", gtfs.getStopTime("S9", "T1").getStopId());
+            assertEquals("R9", gtfs.getTrip("T1").getRouteId());
+            assertEquals(Arrays.asList("S1", "S9"), gtfs.getStopsOnRoute(gtfs.getRoute("R9"))
+                    .stream().map(Stop::getId).collect(Collectors.toList()));
+            assertSame(gtfs.getStop("S9"), gtfs.getNearestStops(43.1, -87.9, 1).get(0));
+        }
+    }
+
+    /**
+     * Tests that nothing is published when an edit throws
+     */
+    @Test
+    void edit_throwsPublishesNothing() throws GTFSException {
+        GTFS gtfs = load(false);
+        Stop stop = gtfs.getStop("S1");
+        assertThrows(IllegalStateException.class, () -> gtfs.edit(edit -> {
+            edit.updateStop(stop, changed -> changed.setName("Main St"));
+            throw new IllegalStateException();
+        }));
+        assertSame(stop, gtfs.getStop("S1"));
+        assertEquals("First", stop.getName());
+    }
+
+    /**
+     * Tests that observers are notified once for all the edits of a transaction
+     */
+    @Test
+    void edit_notifiesOnce() throws GTFSException {
+        GTFS gtfs = load(false);
+        AtomicInteger updates = new AtomicInteger();
+        gtfs.addObserver(objects -> updates.incrementAndGet());
+        updates.set(0);
+        gtfs.edit(edit -> {
+            edit.updateStop(gtfs.getStop("S1"), changed -> changed.setName("Main St"));
+            edit.updateRoute(gtfs.getRoute("R2"), changed -> changed.setShortName("B"));
+            edit.updateTrip(gtfs.getTrip("T3"), changed -> changed.setHeadSign("North"));
+        });
+        assertEquals(1, updates.get());
+        assertEquals("Main St", gtfs.getStop("S1").getName());
+    }
+
+    /**
+     * Tests that the journey planners are kept by edits that change nothing they are built
+     * from and built again by edits that do, and that moving a stop moves the centre
+     */
+    @Test
+    void edit_keepsPlannersUnlessRoutingChanges() throws GTFSException {
+        GTFS gtfs = load(false);
+        JourneyPlanner planner = gtfs.getJourneyPlanner();
+        RaptorRouter router = gtfs.getRaptorRouter();
+        double latitude = gtfs.getMeanLatitude();
+        gtfs.edit(edit -> {
+            edit.updateTrip(gtfs.getTrip("T3"), changed -> changed.setHeadSign("North"));
+            edit.updateStop(gtfs.getStop("S1"), changed -> changed.setLatitude(43.3));
+            edit.updateStopTime(gtfs.getStopTime("S1", "T1"),
+                    changed -> changed.setStopHeadsign("Downtown"));
+        });
+        assertSame(planner, gtfs.getJourneyPlanner());
+        assertSame(router, gtfs.getRaptorRouter());
+        assertEquals(latitude + 0.1, gtfs.getMeanLatitude(), 1e-9);
+
+        gtfs.edit(edit -> edit.updateStopTime(gtfs.getStopTime("S2", "T1"),
+                changed -> changed.setArrivalSeconds(8 * 3600 + 900)));
+        assertNotSame(planner, gtfs.getJourneyPlanner());
+        assertNotSame(router, gtfs.getRaptorRouter());
+    }
+
+    /**
+     * Tests that an id already used by another trip is rejected and the trip keeps its id
+     */
+    @Test
+    void updateTrip_duplicateId() throws GTFSException {
+        GTFS gtfs = load(false);
+        Trip trip = gtfs.getTrip("T1");
+        assertThrows(IllegalArgumentException.class, () -> gtfs.edit(
+                edit -> edit.updateTrip(trip, changed -> changed.setId("T2"))));
+        assertEquals("T1", trip.getId());
+        assertSame(trip, gtfs.getTrip("T1"));
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import gtfsapplication.GTFSException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the synthetic feed generator
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+class FeedGeneratorTest {
+
+    File first;
+    File second;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        first = Files.createTempDirectory("generated").toFile();
+        second = Files.createTempDirectory("generated").toFile();
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (File directory : Arrays.asList(first, second)) {
+            File[] files = directory.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    file.delete();
+                }
+            }
+            directory.delete();
+        }
+    }
+
+    private static FeedGenerator generator(long seed) {
+        FeedGenerator generator = new FeedGenerator(seed);
+        generator.setRoutes(6);
+        generator.setStopsPerRoute(8);
+        generator.setTripsPerDay(5);
+        generator.setServices(2);
+        return generator;
+    }
+
+    /**
+     * Tests that the same seed writes the same feed and a different seed does not
+     */
+    @Test
+    void write_deterministic() throws IOException {
+        generator(7).write(first);
+        generator(7).write(second);
+        for (String filename : new String[] {"agency.txt", "calendar.txt", "routes.txt",
+                "stops.txt", "trips.txt", "stop_times.txt"}) {
+            assertArrayEquals(Files.readAllBytes(new File(first, filename).toPath()),
+                    Files.readAllBytes(new File(second, filename).toPath()), filename);
+        }
+        generator(8).write(second);
+        assertFalse(Arrays.equals(Files.readAllBytes(new File(first, "stop_times.txt").toPath()),
+                Files.readAllBytes(new File(second, "stop_times.txt").toPath())));
+    }
+
+    /**
+     * Tests that a generated feed imports without rejected rows and has the expected size
+     */
+    @Test
+    void write_importable() throws IOException, GTFSException {
+        FeedGenerator generator = generator(7);
+        generator.write(first);
+        GTFS gtfs = new GTFS();
+        gtfs.importFeed(first);
+
+        assertFalse(gtfs.getImportReport().hasRejections());
+        assertEquals(6, gtfs.getRoutes().size());
+        assertEquals(generator.getTripCount(),
+                gtfs.getImportReport().getAcceptedCount("trips.txt"));
+        assertEquals(generator.getStopTimeCount(),
+                gtfs.getImportReport().getAcceptedCount("stop_times.txt"));
+        assertEquals(generator.getStopCount(),
+                gtfs.getImportReport().getAcceptedCount("stops.txt"));
+        Route route = gtfs.getRoute("R0");
+        assertFalse(gtfs.getStopsOnRoute(route).isEmpty());
+        assertTrue(gtfs.getRoutesContainingStop(gtfs.getStopsOnRoute(route).get(0))
+                .contains(route));
+    }
+}
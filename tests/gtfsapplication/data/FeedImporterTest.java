@@ -0,0 +1,201 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import gtfsapplication.GTFSException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that reading a file in ranges gives the same rows as reading it in order
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+class FeedImporterTest {
+
+    ForkJoinPool pool;
+    File file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        pool = new ForkJoinPool(4);
+        file = File.createTempFile("stop_times", ".txt");
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+        file.delete();
+    }
+
+    private void writeStopTimes(String headsign) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("trip_id,arrival_time,departure_time,stop_id,stop_sequence,stop_headsign");
+        for (int i = 0; i < 200; i++) {
+            String time = String.format("%02d:%02d:00", 6 + i / 60, i % 60);
+            String sequence = i == 57 || i == 158 ? "x" : String.valueOf(i);
+            lines.add("T" + i % 7 + "," + time + "," + time + ",S" + i % 13 + "," + sequence
+                    + "," + (i % 10 == 0 ? headsign : ""));
+        }
+        Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+    }
+
+    private FeedImporter.Table<StopTime> read(long chunkBytes, Supplier<List<StopTime>> factory)
+            throws GTFSException {
+        FeedImporter importer = new FeedImporter(pool, new SymbolTable(), chunkBytes);
+        return FeedImporter.join(importer.submit(FeedImporter.Source.of(file), "stop_times.txt",
+                StopTime::validateHeader, StopTime::fromRow, factory));
+    }
+
+    private static List<String> rows(FeedImporter.Table<StopTime> table) {
+        List<String> rows = new ArrayList<>();
+        for (List<StopTime> part : table.getParts()) {
+            for (StopTime stopTime : part) {
+                rows.add(stopTime.toString());
+            }
+        }
+        return rows;
+    }
+
+    private static List<Long> rejectedRows(FeedImporter.Table<StopTime> table) {
+        List<Long> rows = new ArrayList<>();
+        for (Rejection rejection : table.getReport().getRejections("stop_times.txt")) {
+            rows.add(rejection.getRowNumber());
+        }
+        return rows;
+    }
+
+    /**
+     * Tests that rows and rejected row numbers are the same when the file is split
+     */
+    @Test
+    void chunks_matchSequentialRead() throws IOException, GTFSException {
+        writeStopTimes("\"Downtown, Main St\"");
+        FeedImporter.Table<StopTime> sequential = read(Long.MAX_VALUE, ArrayList::new);
+        FeedImporter.Table<StopTime> chunked = read(256, ArrayList::new);
+
+        assertEquals(1, sequential.getParts().size());
+        assertTrue(chunked.getParts().size() > 1);
+        assertEquals(198, rows(sequential).size());
+        assertEquals(rows(sequential), rows(chunked));
+        assertEquals(2, chunked.getReport().getRejectedCount("stop_times.txt"));
+        assertEquals(198, chunked.getReport().getAcceptedCount("stop_times.txt"));
+        // Header is row 1, so data row i is row i + 2
+        assertEquals(Arrays.asList(59L, 160L), rejectedRows(chunked));
+    }
+
+    /**
+     * Tests that a quoted line break on a range boundary falls back to reading in order
+     */
+    @Test
+    void chunks_quotedLineBreak() throws IOException, GTFSException {
+        writeStopTimes("\"Downtown\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\nMain St\"");
+        FeedImporter.Table<StopTime> sequential = read(Long.MAX_VALUE, ArrayList::new);
+        FeedImporter.Table<StopTime> chunked = read(16, ArrayList::new);
+
+        assertEquals(rows(sequential), rows(chunked));
+        assertEquals(rejectedRows(sequential), rejectedRows(chunked));
+    }
+
+    /**
+     * Tests that ranges read into tables can be appended to another table
+     */
+    @Test
+    void chunks_columnar() throws IOException, GTFSException {
+        writeStopTimes("\"Downtown, Main St\"");
+        FeedImporter.Table<StopTime> sequential = read(Long.MAX_VALUE, ArrayList::new);
+        FeedImporter.Table<StopTime> chunked = read(256, StopTimeTable::new);
+
+        StopTimeTable table = new StopTimeTable();
+        for (List<StopTime> part : chunked.getParts()) {
+            table.addAll(part);
+        }
+        List<String> rows = new ArrayList<>();
+        for (StopTime stopTime : table) {
+            rows.add(stopTime.toString());
+        }
+        assertEquals(rows(sequential), rows);
+    }
+
+    /**
+     * Tests that every byte and row of a split file is counted once
+     */
+    @Test
+    void progress_countsBytesAndRows() throws IOException, GTFSException {
+        writeStopTimes("\"Downtown, Main St\"");
+        ImportProgress progress = new ImportProgress();
+        FeedImporter importer = new FeedImporter(pool, new SymbolTable(), 256, progress);
+        FeedImporter.Table<StopTime> table = FeedImporter.join(importer.submit(
+                FeedImporter.Source.of(file), "stop_times.txt",
+                StopTime::validateHeader, StopTime::fromRow, ArrayList::new));
+
+        assertTrue(table.getParts().size() > 1);
+        assertEquals(file.length(), progress.getTotalBytes());
+        assertEquals(file.length(), progress.getBytesRead());
+        assertEquals(200, progress.getRowsRead());
+        assertEquals(1.0, progress.getFraction());
+    }
+
+    /**
+     * Tests that a cancelled import stops after a batch of rows
+     */
+    @Test
+    void progress_cancelled() throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("trip_id,arrival_time,departure_time,stop_id,stop_sequence");
+        for (int i = 0; i < 10000; i++) {
+            lines.add("T1,06:00:00,06:00:00,S1," + i);
+        }
+        Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+        ImportProgress progress = new ImportProgress();
+        progress.cancel();
+        FeedImporter importer = new FeedImporter(pool, new SymbolTable(), Long.MAX_VALUE,
+                progress);
+        FeedImporter.TableTask<StopTime> task = importer.submit(FeedImporter.Source.of(file),
+                "stop_times.txt", StopTime::validateHeader, StopTime::fromRow, ArrayList::new);
+
+        GTFSException ex = assertThrows(GTFSException.class, () -> FeedImporter.join(task));
+        assertEquals("The import was cancelled.", ex.getMessage());
+        assertTrue(progress.getRowsRead() < 10000);
+    }
+}
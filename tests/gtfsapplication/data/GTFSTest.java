@@ -0,0 +1,493 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import gtfsapplication.GTFSException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for importing and querying a small feed
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+class GTFSTest {
+
+    GTFS gtfs;
+    File directory;
+
+    @BeforeEach
+    void setUp() throws IOException, GTFSException {
+        gtfs = new GTFS();
+        directory = Files.createTempDirectory("gtfs").toFile();
+        importFeed(gtfs);
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (File file : directory.listFiles()) {
+            file.delete();
+        }
+        directory.delete();
+        gtfs = null;
+    }
+
+    private void importFeed(GTFS target) throws IOException, GTFSException {
+        importFile(target, "routes.txt",
+                "route_id,route_long_name,route_color",
+                "R1,Red Line,FF0000",
+                "R2,Blue Line,0000FF");
+        importFile(target, "stops.txt",
+                "stop_id,stop_name,stop_lat,stop_lon",
+                "S1,First,43.0,-87.9",
+                "S2,Second,43.1,-87.9",
+                "S3,Third,43.2,-87.9");
+        importFile(target, "trips.txt",
+                "route_id,service_id,trip_id",
+                "R1,WK,T1",
+                "R1,WK,T2",
+                "R2,WK,T3",
+                "R2,WK,T4");
+        importFile(target, "stop_times.txt",
+                "trip_id,arrival_time,departure_time,stop_id,stop_sequence",
+                "T1,08:10:00,08:10:00,S2,2",
+                "T1,08:00:00,08:00:00,S1,1",
+                "T2,09:00:00,09:00:00,S1,1",
+                "T2,09:10:00,09:10:00,S2,2",
+                "T3,10:00:00,10:00:00,S3,1",
+                "T3,10:10:00,10:10:00,S2,2",
+                "T4,24:30:00,24:30:00,S3,1");
+    }
+
+    private void importFile(GTFS target, String name, String... lines)
+            throws IOException, GTFSException {
+        File file = new File(directory, name);
+        Files.write(file.toPath(), Arrays.asList(lines), StandardCharsets.UTF_8);
+        target.importFile(file);
+    }
+
+    private static List<String> stopIds(List<Stop> stops) {
+        return stops.stream().map(Stop::getId).collect(Collectors.toList());
+    }
+
+    /**
+     * Tests that stops on a route come from every trip on the route, in stop_sequence order
+     */
+    @Test
+    void getStopsOnRoute_usesTripIndex() {
+        assertEquals(Arrays.asList("S1", "S2"), stopIds(gtfs.getStopsOnRoute(gtfs.getRoute("R1"))));
+        assertEquals(Arrays.asList("S3", "S2"), stopIds(gtfs.getStopsOnRoute(gtfs.getRoute("R2"))));
+    }
+
+    /**
+     * Tests that every route serving a stop is found once
+     */
+    @Test
+    void getRoutesContainingStop_usesStopIndex() {
+        List<Route> routes = gtfs.getRoutesContainingStop(gtfs.getStop("S2"));
+        assertEquals(2, routes.size());
+        assertTrue(routes.contains(gtfs.getRoute("R1")));
+        assertTrue(routes.contains(gtfs.getRoute("R2")));
+    }
+
+    /**
+     * Tests looking up a single stop time
+     */
+    @Test
+    void getStopTime_found() {
+        assertEquals("09:10:00", gtfs.getStopTime("S2", "T2").getArrivalTime());
+        assertNull(gtfs.getStopTime("S3", "T2"));
+    }
+
+    /**
+     * Tests that the indexes are rebuilt when a table is imported again
+     */
+    @Test
+    void importFile_rebuildsIndexes() throws IOException, GTFSException {
+        importFile(gtfs, "stop_times.txt",
+                "trip_id,arrival_time,departure_time,stop_id,stop_sequence",
+                "T1,08:00:00,08:00:00,S3,1");
+        assertEquals(Arrays.asList("S3"), stopIds(gtfs.getStopsOnRoute(gtfs.getRoute("R1"))));
+        assertTrue(gtfs.getStopsOnRoute(gtfs.getRoute("R2")).isEmpty());
+    }
+
+    /**
+     * Tests that a view keeps answering from the feed it was taken from after an import
+     */
+    @Test
+    void getView_unchangedByImport() throws IOException, GTFSException {
+        GTFS view = gtfs.getView();
+        importFile(gtfs, "stop_times.txt",
+                "trip_id,arrival_time,departure_time,stop_id,stop_sequence",
+                "T1,08:00:00,08:00:00,S3,1");
+        assertEquals(Arrays.asList("S1", "S2"), stopIds(view.getStopsOnRoute(view.getRoute("R1"))));
+        assertEquals(Arrays.asList("S3"), stopIds(gtfs.getStopsOnRoute(gtfs.getRoute("R1"))));
+    }
+
+    /**
+     * Tests that queries give the same results when stop times are stored in columns,
+     * and that an edit of a row replaces it without changing the table
+     */
+    @Test
+    void columnarStopTimes_sameResults() throws IOException, GTFSException {
+        GTFS columnar = new GTFS(true);
+        importFeed(columnar);
+        assertEquals(stopIds(gtfs.getStopsOnRoute(gtfs.getRoute("R2"))),
+                stopIds(columnar.getStopsOnRoute(columnar.getRoute("R2"))));
+        assertEquals(2, columnar.getRoutesContainingStop(columnar.getStop("S2")).size());
+
+        StopTime stopTime = columnar.getStopTime("S2", "T2");
+        assertEquals("T2,09:10:00,09:10:00,S2,2,null,0,0", stopTime.toString());
+        columnar.edit(edit -> edit.updateStopTime(stopTime,
+                changed -> changed.setArrivalTime("25:01:00")));
+        assertEquals("25:01:00", columnar.getStopTime("S2", "T2").getArrivalTime());
+        assertEquals("09:10:00", stopTime.getArrivalTime());
+    }
+
+    /**
+     * Tests that stop times of a feed cannot be changed in either store, and that the copy
+     * an edit changes cannot be changed once it is published
+     */
+    @Test
+    void getStopTime_readOnlyInBothStores() throws IOException, GTFSException {
+        for (boolean columnar : new boolean[] {false, true}) {
+            GTFS feed = new GTFS(columnar);
+            importFeed(feed);
+            StopTime stopTime = feed.getStopTime("S2", "T2");
+            assertThrows(UnsupportedOperationException.class,
+                    () -> stopTime.setArrivalTime("09:11:00"));
+            assertThrows(UnsupportedOperationException.class,
+                    () -> feed.getStopTimesOnTrip(feed.getTrip("T1")).get(0).setStopId("S3"));
+            StopTime[] edited = new StopTime[1];
+            feed.edit(edit -> edited[0] = edit.updateStopTime(stopTime,
+                    changed -> changed.setArrivalTime("09:11:00")));
+            assertEquals("09:11:00", feed.getStopTime("S2", "T2").getArrivalTime());
+            assertThrows(UnsupportedOperationException.class,
+                    () -> edited[0].setArrivalTime("09:12:00"));
+        }
+    }
+
+    /**
+     * Tests that departures after midnight from the previous service day come first,
+     * and that departures can be filtered by route
+     */
+    @Test
+    void getNextDepartures_overnightAndRoute() {
+        List<Departure> departures = gtfs.getNextDepartures(gtfs.getStop("S3"), null, 600, 2);
+        assertEquals(2, departures.size());
+        assertEquals("T4", departures.get(0).getTripId());
+        assertEquals(-1, departures.get(0).getServiceDayOffset());
+        assertEquals(1800, departures.get(0).getClockTime());
+        assertEquals("T3", departures.get(1).getTripId());
+
+        departures = gtfs.getNextDepartures(gtfs.getStop("S1"), gtfs.getRoute("R1"),
+                8 * 3600 + 1, 5);
+        assertEquals(1, departures.size());
+        assertEquals("T2", departures.get(0).getTripId());
+        assertTrue(gtfs.getNextDepartures(gtfs.getStop("S1"), gtfs.getRoute("R2"), 0, 5)
+                .isEmpty());
+    }
+
+    /**
+     * Tests that importing a whole directory at once gives the same results as one file at a time
+     */
+    @Test
+    void importFeed_directory() throws GTFSException {
+        GTFS feed = new GTFS(true);
+        feed.importFeed(directory);
+        assertEquals(gtfs.getRoutes().size(), feed.getRoutes().size());
+        assertEquals(Arrays.asList("S1", "S2"), stopIds(feed.getStopsOnRoute(feed.getRoute("R1"))));
+        assertEquals("T3", feed.getNextDepartures(feed.getStop("S3"), feed.getRoute("R2"), 3600, 1)
+                .get(0).getTripId());
+        assertEquals(gtfs.getImportReport().getAcceptedCount("stop_times.txt"),
+                feed.getImportReport().getAcceptedCount("stop_times.txt"));
+    }
+
+    /**
+     * Tests that a zip archive with the files in a folder imports the same feed
+     */
+    @Test
+    void importZip_nestedFolder() throws IOException, GTFSException {
+        File zip = new File(directory, "feed.zip");
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(zip))) {
+            for (String name : Arrays.asList("routes.txt", "stops.txt", "trips.txt", "stop_times.txt")) {
+                out.putNextEntry(new ZipEntry("feed/" + name));
+                out.write(Files.readAllBytes(new File(directory, name).toPath()));
+                out.closeEntry();
+            }
+        }
+        GTFS feed = new GTFS();
+        feed.importFile(zip);
+        assertEquals(Arrays.asList("S3", "S2"), stopIds(feed.getStopsOnRoute(feed.getRoute("R2"))));
+        assertEquals("09:10:00", feed.getStopTime("S2", "T2").getArrivalTime());
+        assertEquals(gtfs.getImportReport().getAcceptedCount("trips.txt"),
+                feed.getImportReport().getAcceptedCount("trips.txt"));
+    }
+
+    /**
+     * Tests that a cancelled import replaces nothing, and that progress counts every row
+     * of an import that finishes
+     */
+    @Test
+    void importFiles_progressAndCancel() throws GTFSException {
+        List<File> files = Arrays.asList(new File(directory, "routes.txt"),
+                new File(directory, "stop_times.txt"));
+        GTFS feed = new GTFS();
+        ImportProgress cancelled = new ImportProgress();
+        cancelled.cancel();
+        GTFSException ex = assertThrows(GTFSException.class,
+                () -> feed.importFiles(files, cancelled));
+        assertEquals("The import was cancelled.", ex.getMessage());
+        assertFalse(feed.hasRoutes());
+        assertFalse(feed.hasStopTimes());
+
+        List<Long> rows = new CopyOnWriteArrayList<>();
+        ImportProgress progress = new ImportProgress(p -> rows.add(p.getRowsRead()));
+        feed.importFiles(files, progress);
+        assertTrue(feed.hasRoutes());
+        assertEquals(9, progress.getRowsRead());
+        assertEquals(progress.getTotalBytes(), progress.getBytesRead());
+        assertTrue(rows.contains(9L));
+    }
+
+    /**
+     * Tests that each import returns a read-only report of its own files, while the feed
+     * keeps the most recent report of every file
+     */
+    @Test
+    void importFiles_reportOfItsOwnFiles() throws IOException, GTFSException {
+        File stops = new File(directory, "stops.txt");
+        Files.write(stops.toPath(), Arrays.asList("stop_id,stop_name,stop_lat,stop_lon",
+                "S1,First,43.0,-87.9", "S2,Second,north,-87.9"), StandardCharsets.UTF_8);
+        GTFS feed = new GTFS();
+        ImportReport stopReport = feed.importFiles(Collections.singletonList(stops),
+                new ImportProgress());
+        ImportReport routeReport = feed.importFiles(
+                Collections.singletonList(new File(directory, "routes.txt")),
+                new ImportProgress());
+
+        assertEquals(1, stopReport.getRejectedCount("stops.txt"));
+        assertEquals(0, stopReport.getAcceptedCount("routes.txt"));
+        assertEquals(2, routeReport.getAcceptedCount("routes.txt"));
+        assertFalse(routeReport.hasRejections());
+        assertEquals(1, feed.getImportReport().getRejectedCount("stops.txt"));
+        assertEquals(2, feed.getImportReport().getAcceptedCount("routes.txt"));
+        assertThrows(UnsupportedOperationException.class, () -> stopReport.start("stops.txt"));
+    }
+
+    /**
+     * Tests that a file that is not a zip archive is reported
+     */
+    @Test
+    void importZip_notZip() throws IOException {
+        File zip = new File(directory, "feed.zip");
+        Files.write(zip.toPath(), Arrays.asList("not a zip"), StandardCharsets.UTF_8);
+        GTFSException ex = assertThrows(GTFSException.class, () -> gtfs.importZip(zip));
+        assertEquals("feed.zip is not a valid zip file.", ex.getMessage());
+    }
+
+    /**
+     * Tests that a snapshot loads the same tables and indexes in both stop time layouts
+     */
+    @Test
+    void snapshot_roundTrip() throws GTFSException {
+        File snapshot = new File(directory, "feed.gtfsbin");
+        gtfs.saveSnapshot(snapshot);
+        for (boolean columnar : new boolean[] {false, true}) {
+            GTFS loaded = new GTFS(columnar);
+            loaded.loadSnapshot(snapshot);
+            assertEquals(gtfs.getRoute("R1").toString(), loaded.getRoute("R1").toString());
+            assertEquals(gtfs.getStop("S2").toString(), loaded.getStop("S2").toString());
+            assertEquals(gtfs.getTrip("T3").toString(), loaded.getTrip("T3").toString());
+            assertEquals(gtfs.getStopTime("S2", "T2").toString(),
+                    loaded.getStopTime("S2", "T2").toString());
+            assertEquals(Arrays.asList("S1", "S2"),
+                    stopIds(loaded.getStopsOnRoute(loaded.getRoute("R1"))));
+            assertEquals(2, loaded.getRoutesContainingStop(loaded.getStop("S2")).size());
+            assertEquals("T4", loaded.getNextDepartures(loaded.getStop("S3"), null, 600, 1)
+                    .get(0).getTripId());
+        }
+    }
+
+    /**
+     * Tests that a feed with stop times in columns saves and loads, before and after an
+     * edit, and is stored by pattern again when loaded
+     */
+    @Test
+    void snapshot_columnarRoundTrip() throws IOException, GTFSException {
+        GTFS columnar = new GTFS(true);
+        importFeed(columnar);
+        File snapshot = new File(directory, "columnar.gtfsbin");
+        for (int pass = 0; pass < 2; pass++) {
+            columnar.saveSnapshot(snapshot);
+            for (boolean loadColumnar : new boolean[] {false, true}) {
+                GTFS loaded = new GTFS(loadColumnar);
+                loaded.loadSnapshot(snapshot);
+                assertEquals(columnar.getStopTime("S2", "T2").toString(),
+                        loaded.getStopTime("S2", "T2").toString());
+                assertEquals(Arrays.asList("S1", "S2"),
+                        stopIds(loaded.getStopsOnRoute(loaded.getRoute("R1"))));
+                assertEquals("T4", loaded.getNextDepartures(loaded.getStop("S3"), null, 600, 1)
+                        .get(0).getTripId());
+                assertThrows(UnsupportedOperationException.class,
+                        () -> loaded.getStopTime("S2", "T2").setStopSequence(5));
+            }
+            StopTime stopTime = columnar.getStopTime("S2", "T2");
+            columnar.edit(edit -> edit.updateStopTime(stopTime,
+                    changed -> changed.setArrivalTime("09:12:00")));
+        }
+        GTFS loaded = new GTFS(true);
+        loaded.loadSnapshot(snapshot);
+        assertEquals("09:12:00", loaded.getStopTime("S2", "T2").getArrivalTime());
+    }
+
+    /**
+     * Tests that a file that is not a snapshot is refused
+     */
+    @Test
+    void loadSnapshot_notSnapshot() {
+        File file = new File(directory, "routes.txt");
+        GTFSException ex = assertThrows(GTFSException.class, () -> gtfs.loadSnapshot(file));
+        assertEquals("routes.txt is not a GTFS snapshot.", ex.getMessage());
+        assertNotNull(gtfs.getRoute("R1"));
+    }
+
+    /**
+     * Tests that a snapshot with a damaged string or route count is refused before
+     * anything is allocated for it, and the feed is kept
+     */
+    @Test
+    void loadSnapshot_damagedCount() throws IOException, GTFSException {
+        File snapshot = new File(directory, "feed.gtfsbin");
+        gtfs.saveSnapshot(snapshot);
+        byte[] saved = Files.readAllBytes(snapshot.toPath());
+        ByteBuffer buffer = ByteBuffer.wrap(saved);
+        // After the magic number and version
+        int stringCount = 8;
+        int position = stringCount + 4;
+        for (int i = buffer.getInt(stringCount); i > 0; i--) {
+            position += 4 + buffer.getInt(position);
+        }
+        // After the four header codes and the centre
+        int routeCount = position + 4 * 4 + 2 * 8;
+        int[][] damages = {{stringCount, Integer.MAX_VALUE}, {stringCount, -1},
+                {routeCount, Integer.MAX_VALUE}, {routeCount, -1}};
+        for (int[] damage : damages) {
+            byte[] bytes = saved.clone();
+            ByteBuffer.wrap(bytes).putInt(damage[0], damage[1]);
+            Files.write(snapshot.toPath(), bytes);
+            GTFSException ex = assertThrows(GTFSException.class,
+                    () -> gtfs.loadSnapshot(snapshot));
+            assertEquals("feed.gtfsbin is damaged and cannot be loaded.", ex.getMessage());
+            assertNotNull(gtfs.getRoute("R1"));
+        }
+    }
+
+    /**
+     * Tests that an id read from different files is one shared String
+     */
+    @Test
+    void importFile_sharesIds() {
+        Trip trip = gtfs.getTrip("T1");
+        assertSame(gtfs.getRoute("R1").getId(), trip.getRouteId());
+        assertSame(trip.getId(), gtfs.getStopTime("S1", "T1").getTripId());
+        assertSame(trip.getServiceId(), gtfs.getTrip("T3").getServiceId());
+        assertSame(gtfs.getStop("S2").getId(), gtfs.getStopTime("S2", "T3").getStopId());
+    }
+
+    /**
+     * Tests that queries running during imports see either the old or the new feed,
+     * never a feed that is partly replaced
+     */
+    @Test
+    void importFile_readersSeeWholeFeed() throws IOException, GTFSException, InterruptedException {
+        File first = new File(directory, "first");
+        File second = new File(directory, "second");
+        assertTrue(first.mkdir() && second.mkdir());
+        // Rows of a trip with no route make each import take long enough to overlap the reader
+        List<String> firstRows = new ArrayList<>(Arrays.asList(
+                "trip_id,arrival_time,departure_time,stop_id,stop_sequence",
+                "T1,08:00:00,08:00:00,S1,1",
+                "T1,08:10:00,08:10:00,S2,2"));
+        List<String> secondRows = new ArrayList<>(Arrays.asList(
+                "trip_id,arrival_time,departure_time,stop_id,stop_sequence",
+                "T1,08:00:00,08:00:00,S3,1"));
+        for (int i = 0; i < 20000; i++) {
+            firstRows.add("TX" + i + ",07:00:00,07:00:00,S" + (1 + i % 3) + ",1");
+            secondRows.add("TX" + i + ",07:00:00,07:00:00,S" + (1 + i % 3) + ",1");
+        }
+        Files.write(new File(first, "stop_times.txt").toPath(), firstRows, StandardCharsets.UTF_8);
+        Files.write(new File(second, "stop_times.txt").toPath(), secondRows,
+                StandardCharsets.UTF_8);
+        Route route = gtfs.getRoute("R1");
+        AtomicBoolean done = new AtomicBoolean();
+        List<List<String>> unexpected = new CopyOnWriteArrayList<>();
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                List<String> stops = stopIds(gtfs.getStopsOnRoute(route));
+                if (!stops.equals(Arrays.asList("S1", "S2")) && !stops.equals(Arrays.asList("S3"))) {
+                    unexpected.add(stops);
+                }
+            }
+        });
+        gtfs.importFeed(first);
+        reader.start();
+        for (int i = 0; i < 50; i++) {
+            gtfs.importFeed(i % 2 == 0 ? second : first);
+        }
+        done.set(true);
+        reader.join();
+        assertEquals(Arrays.asList(), unexpected);
+        assertEquals(Arrays.asList("S1", "S2"), stopIds(gtfs.getStopsOnRoute(route)));
+        for (File dir : Arrays.asList(first, second)) {
+            new File(dir, "stop_times.txt").delete();
+            dir.delete();
+        }
+    }
+}
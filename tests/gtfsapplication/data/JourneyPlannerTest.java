@@ -0,0 +1,155 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import gtfsapplication.GTFSException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for earliest arrival journeys
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+class JourneyPlannerTest {
+
+    File directory;
+    GTFS gtfs;
+
+    @BeforeEach
+    void setUp() throws IOException, GTFSException {
+        directory = Files.createTempDirectory("gtfs").toFile();
+        write("routes.txt",
+                "route_id,route_long_name,route_color",
+                "R1,Red Line,FF0000",
+                "R2,Blue Line,0000FF",
+                "R3,Slow Line,00FF00");
+        write("stops.txt",
+                "stop_id,stop_name,stop_lat,stop_lon",
+                "S1,First,43.0,-87.9",
+                "S2,Second,43.1,-87.9",
+                "S3,Third,43.2,-87.9",
+                "S4,Fourth,43.3,-87.9");
+        write("trips.txt",
+                "route_id,service_id,trip_id",
+                "R1,WK,RED",
+                "R2,WK,BLUE_EARLY",
+                "R2,WK,BLUE_LATE",
+                "R3,WK,SLOW");
+        write("stop_times.txt",
+                "trip_id,arrival_time,departure_time,stop_id,stop_sequence,pickup_type,drop_off_type",
+                "RED,08:00:00,08:00:00,S1,1,0,0",
+                "RED,08:10:00,08:10:00,S2,2,0,0",
+                "BLUE_EARLY,08:11:00,08:11:00,S2,1,0,0",
+                "BLUE_EARLY,,,S4,2,0,0",
+                "BLUE_EARLY,08:20:00,08:20:00,S3,3,0,0",
+                "BLUE_LATE,08:20:00,08:20:00,S2,1,0,0",
+                "BLUE_LATE,08:30:00,08:30:00,S3,2,0,0",
+                "SLOW,08:00:00,08:00:00,S1,1,0,0",
+                "SLOW,08:30:00,08:30:00,S4,2,0,1",
+                "SLOW,08:45:00,08:45:00,S3,3,0,0");
+        gtfs = new GTFS();
+        gtfs.importFeed(directory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (File file : directory.listFiles()) {
+            file.delete();
+        }
+        directory.delete();
+    }
+
+    private void write(String name, String... lines) throws IOException {
+        Files.write(new File(directory, name).toPath(), Arrays.asList(lines),
+                StandardCharsets.UTF_8);
+    }
+
+    private List<Leg> plan(String from, String to, String time, int transfer) {
+        return gtfs.planJourney(gtfs.getStop(from), gtfs.getStop(to),
+                ServiceTime.parse(time), transfer);
+    }
+
+    /**
+     * Tests that a transfer is made when it arrives sooner than staying on one trip
+     */
+    @Test
+    void plan_transfer() {
+        List<Leg> legs = plan("S1", "S3", "07:55:00", 0);
+        assertEquals(2, legs.size());
+        assertEquals("RED", legs.get(0).getTripId());
+        assertEquals("S1", legs.get(0).getFromStopId());
+        assertEquals("S2", legs.get(0).getToStopId());
+        assertEquals(ServiceTime.parse("08:00:00"), legs.get(0).getDepartureTime());
+        assertEquals("BLUE_EARLY", legs.get(1).getTripId());
+        assertEquals("R2", legs.get(1).getRouteId());
+        assertEquals("S3", legs.get(1).getToStopId());
+        assertEquals(ServiceTime.parse("08:20:00"), legs.get(1).getArrivalTime());
+    }
+
+    /**
+     * Tests that the minimum transfer time rules out a connection that leaves too soon
+     */
+    @Test
+    void plan_minTransferTime() {
+        List<Leg> legs = plan("S1", "S3", "07:55:00", 120);
+        assertEquals(2, legs.size());
+        assertEquals("BLUE_LATE", legs.get(1).getTripId());
+        assertEquals(ServiceTime.parse("08:30:00"), legs.get(1).getArrivalTime());
+
+        legs = plan("S1", "S3", "07:55:00", 1200);
+        assertEquals(1, legs.size());
+        assertEquals("SLOW", legs.get(0).getTripId());
+    }
+
+    /**
+     * Tests stops without times, stops without drop off, and stops that cannot be reached
+     */
+    @Test
+    void plan_unreachable() {
+        // BLUE_EARLY passes S4 without a time and SLOW does not drop off there
+        assertTrue(plan("S1", "S4", "07:55:00", 0).isEmpty());
+        assertTrue(plan("S1", "S3", "08:01:00", 0).isEmpty());
+        assertTrue(plan("S3", "S1", "00:00:00", 0).isEmpty());
+        assertTrue(plan("S1", "S1", "00:00:00", 0).isEmpty());
+        assertEquals(1, plan("S2", "S3", "08:00:00", 0).size());
+        assertEquals(5, gtfs.getJourneyPlanner().getConnectionCount());
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the memory-mapped reader tokenizes files the same way as CsvTokenizer
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+class MappedCsvReaderTest {
+    private static final String CONTENT = "\uFEFFtrip_id,arrival_time,stop_headsign\r\n"
+            + "T1, 08:00:00 ,\"Main St, \"\"North\"\"\"\r\n"
+            + "\r\n"
+            + "T2,25:10:00,Caf\u00e9 \u00dcnter\n"
+            + "T3,9:05,\"Two\nlines\"\n"
+            + "T4,,";
+
+    File file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = File.createTempFile("mapped", ".txt");
+        Files.write(file.toPath(), CONTENT.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    void tearDown() {
+        file.delete();
+    }
+
+    private static List<List<String>> rows(CsvTokenizer reader) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        while (reader.next()) {
+            rows.add(reader.toList());
+        }
+        return rows;
+    }
+
+    private static List<List<String>> rows(MappedCsvReader reader) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        while (reader.next()) {
+            List<String> row = new ArrayList<>();
+            for (int i = 0; i < reader.size(); i++) {
+                row.add(reader.get(i));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * Tests that rows match CsvTokenizer, including when rows cross a mapped window
+     */
+    @Test
+    void next_matchesCsvTokenizer() throws IOException {
+        List<List<String>> expected = rows(new CsvTokenizer(new StringReader(CONTENT)));
+        try (MappedCsvReader reader = new MappedCsvReader(file)) {
+            assertEquals(expected, rows(reader));
+        }
+        try (MappedCsvReader reader = new MappedCsvReader(file, 0, file.length(), 4)) {
+            assertEquals(expected, rows(reader));
+        }
+    }
+
+    /**
+     * Tests that quoted, escaped and CRLF rows, and rows that are not valid CSV, are read
+     * the same way by both readers
+     */
+    @Test
+    void next_parity() throws IOException {
+        String[] inputs = {
+            "a,\"b,c\",d\r\ne,f\r\n",
+            "\"say \"\"hi\"\"\",\"\"\"\"\r\n\r\n\r\nx",
+            " \" padded \" , plain ,\r\n\"multi\r\nline\",\"\"\r\n",
+            ",,\r\n\"a\"\"\"\r\n",
+            "ok\r\n\"open,never closed\r\n",
+            "ok\r\n\"closed\"x,y\r\n"
+        };
+        for (String input : inputs) {
+            Files.write(file.toPath(), input.getBytes(StandardCharsets.UTF_8));
+            List<List<String>> expected = new ArrayList<>();
+            String expectedError = null;
+            try (CsvTokenizer tokenizer = new CsvTokenizer(new StringReader(input))) {
+                while (tokenizer.next()) {
+                    expected.add(tokenizer.toList());
+                }
+            } catch (IllegalArgumentException ex) {
+                expectedError = ex.getMessage();
+            }
+            for (int window : new int[] {3, 1 << 16}) {
+                List<List<String>> actual = new ArrayList<>();
+                String error = null;
+                try (MappedCsvReader reader = new MappedCsvReader(file, 0, file.length(),
+                        window)) {
+                    while (reader.next()) {
+                        List<String> row = new ArrayList<>();
+                        for (int i = 0; i < reader.size(); i++) {
+                            row.add(reader.get(i));
+                        }
+                        actual.add(row);
+                    }
+                } catch (IllegalArgumentException ex) {
+                    error = ex.getMessage();
+                }
+                assertEquals(expected, actual, input);
+                assertEquals(expectedError, error, input);
+            }
+        }
+    }
+
+    /**
+     * Tests that numbers and times are parsed from the mapped bytes
+     */
+    @Test
+    void getTime_parsedFromBuffer() throws IOException {
+        try (MappedCsvReader reader = new MappedCsvReader(file, 0, file.length(), 8)) {
+            assertTrue(reader.next());
+            assertEquals("trip_id,arrival_time,stop_headsign", reader.line());
+            assertTrue(reader.next());
+            assertEquals(8 * 3600, reader.getTime(1));
+            assertTrue(reader.next());
+            assertEquals(3, reader.getRowNumber());
+            assertEquals(25 * 3600 + 600, reader.getTime(1));
+            assertTrue(reader.next());
+            assertEquals(9 * 3600 + 300, reader.getTime(1));
+            assertTrue(reader.next());
+            assertEquals(ServiceTime.NONE, reader.getTime(1));
+            assertFalse(reader.next());
+        }
+    }
+
+    /**
+     * Tests that a quoted value still open at the end of the range is rejected
+     */
+    @Test
+    void next_unclosedQuoteAtEndOfRange() throws IOException {
+        long end = CONTENT.getBytes(StandardCharsets.UTF_8).length - "lines\"\nT4,,".length();
+        try (MappedCsvReader reader = new MappedCsvReader(file, 0, end)) {
+            assertThrows(IllegalArgumentException.class, () -> {
+                while (reader.next()) {
+                    reader.size();
+                }
+            });
+        }
+    }
+}
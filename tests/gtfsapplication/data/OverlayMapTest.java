@@ -0,0 +1,123 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for maps of changes laid over a shared base
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+class OverlayMapTest {
+
+    /**
+     * Tests that replaced, added and removed keys are seen without changing the base
+     */
+    @Test
+    void with_changesWithoutCopying() {
+        Map<String, Integer> base = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            base.put("K" + i, i);
+        }
+        Map<String, Integer> first = OverlayMap.with(base,
+                Collections.singletonMap("K1", -1), Collections.singleton("K2"));
+        Map<String, Integer> second = OverlayMap.with(first,
+                Collections.singletonMap("NEW", 5), Collections.singleton("K1"));
+
+        assertEquals(1000, base.size());
+        assertEquals(Integer.valueOf(1), base.get("K1"));
+        assertEquals(999, first.size());
+        assertEquals(Integer.valueOf(-1), first.get("K1"));
+        assertFalse(first.containsKey("K2"));
+        assertEquals(999, second.size());
+        assertNull(second.get("K1"));
+        assertEquals(Integer.valueOf(5), second.get("NEW"));
+        assertEquals(second.size(), second.entrySet().stream().count());
+        assertEquals(new TreeMap<>(second).keySet(), second.keySet().stream()
+                .collect(java.util.stream.Collectors.toCollection(java.util.TreeSet::new)));
+    }
+
+    /**
+     * Tests that changes are merged into a new base once there are many of them
+     */
+    @Test
+    void with_mergesLargeChanges() {
+        Map<String, Integer> map = new HashMap<>();
+        for (int i = 0; i < 65; i++) {
+            assertTrue(map.isEmpty() || map instanceof OverlayMap);
+            map = OverlayMap.with(map, Collections.singletonMap("K" + i, i),
+                    Collections.emptySet());
+        }
+        assertFalse(map instanceof OverlayMap);
+        assertEquals(65, map.size());
+        for (int i = 0; i < 65; i++) {
+            assertEquals(Integer.valueOf(i), map.get("K" + i));
+        }
+    }
+
+    /**
+     * Tests that one change at a time keeps few layers and the same entries as a copied map
+     */
+    @Test
+    void with_layersStayLogarithmic() {
+        Map<String, Integer> base = new HashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            base.put("K" + i, i);
+        }
+        Map<String, Integer> expected = new HashMap<>(base);
+        Map<String, Integer> map = base;
+        Random random = new Random(1);
+        for (int i = 1; i <= 2000; i++) {
+            String key = "K" + random.nextInt(101000);
+            if (random.nextInt(4) == 0) {
+                map = OverlayMap.with(map, Collections.emptyMap(), Collections.singleton(key));
+                expected.remove(key);
+            } else {
+                map = OverlayMap.with(map, Collections.singletonMap(key, -i),
+                        Collections.emptySet());
+                expected.put(key, -i);
+            }
+            assertTrue(((OverlayMap<String, Integer>) map).getLayerCount()
+                    <= 32 - Integer.numberOfLeadingZeros(i) + 1);
+        }
+        assertEquals(expected, map);
+        assertEquals(expected.size(), map.entrySet().stream().count());
+        assertEquals(100000, base.size());
+    }
+}
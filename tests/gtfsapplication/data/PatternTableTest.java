@@ -0,0 +1,140 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for stop times stored by trip pattern
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+class PatternTableTest {
+
+    List<StopTime> stopTimes;
+    PatternTable table;
+
+    @BeforeEach
+    void setUp() {
+        stopTimes = new ArrayList<>();
+        // T1 and T2 run the same stops ten minutes apart, T3 takes longer between them,
+        // and T4 skips a stop
+        addTrip("T1", "08:00:00", "08:05:00", "08:12:00");
+        addTrip("T2", "08:10:00", "08:15:00", "08:22:00");
+        addTrip("T3", "08:20:00", "08:27:00", "08:40:00");
+        stopTimes.add(new StopTime("T4", "09:00:00", "09:00:00", "S1", 1, null, 0, 0));
+        stopTimes.add(new StopTime("T4", "09:20:00", "09:20:00", "S3", 3, null, 0, 1));
+        table = new PatternTable(stopTimes, byTrip(stopTimes));
+    }
+
+    private void addTrip(String tripId, String... times) {
+        // Written last stop first, as feeds sometimes are
+        for (int i = times.length - 1; i >= 0; i--) {
+            stopTimes.add(new StopTime(tripId, times[i], times[i], "S" + (i + 1), i + 1,
+                    null, 0, i == times.length - 1 ? 1 : 0));
+        }
+    }
+
+    private static Map<String, List<StopTime>> byTrip(List<StopTime> stopTimes) {
+        Map<String, List<StopTime>> byTrip = new LinkedHashMap<>();
+        for (StopTime stopTime : stopTimes) {
+            byTrip.computeIfAbsent(stopTime.getTripId(), key -> new ArrayList<>()).add(stopTime);
+        }
+        for (List<StopTime> trip : byTrip.values()) {
+            trip.sort((first, second) -> Integer.compare(first.getStopSequence(),
+                    second.getStopSequence()));
+        }
+        return byTrip;
+    }
+
+    private static List<String> strings(List<StopTime> stopTimes) {
+        return stopTimes.stream().map(StopTime::toString).collect(Collectors.toList());
+    }
+
+    /**
+     * Tests that trips with the same stops share a shape and trips with the same running
+     * times share a timing, while every row reads back as it was written
+     */
+    @Test
+    void patternTable_sharesPatterns() {
+        assertEquals(2, table.getShapeCount());
+        assertEquals(3, table.getTimingCount());
+        assertEquals(stopTimes.size(), table.size());
+
+        List<String> expected = new ArrayList<>();
+        for (List<StopTime> trip : byTrip(stopTimes).values()) {
+            expected.addAll(strings(trip));
+        }
+        assertEquals(expected, strings(table));
+        assertEquals(strings(byTrip(stopTimes).get("T3")), strings(table.indexByTrip().get("T3")));
+
+        List<StopTime> atS3 = table.indexByStop().get("S3");
+        assertEquals(Arrays.asList("T1", "T2", "T3", "T4"), atS3.stream()
+                .map(StopTime::getTripId).collect(Collectors.toList()));
+        assertEquals("08:40:00", atS3.get(2).getArrivalTime());
+        assertEquals(2, table.indexByStop().get("S2").get(0).getStopSequence());
+    }
+
+    /**
+     * Tests that the rows of trips with the same stops give the same shape, and other lists none
+     */
+    @Test
+    void shapeOf_sharedByTripsOfAPattern() {
+        Map<String, List<StopTime>> trips = table.indexByTrip();
+        assertNotNull(PatternTable.shapeOf(trips.get("T1")));
+        assertSame(PatternTable.shapeOf(trips.get("T1")), PatternTable.shapeOf(trips.get("T3")));
+        assertNotSame(PatternTable.shapeOf(trips.get("T1")), PatternTable.shapeOf(trips.get("T4")));
+        assertNull(PatternTable.shapeOf(byTrip(stopTimes).get("T1")));
+    }
+
+    /**
+     * Tests that rows cannot be changed through their views, so states can share the table
+     */
+    @Test
+    void view_readOnly() {
+        StopTime stopTime = table.indexByTrip().get("T1").get(1);
+        assertThrows(UnsupportedOperationException.class, () -> stopTime.setStopId("S9"));
+        assertThrows(UnsupportedOperationException.class,
+                () -> stopTime.setArrivalTime("08:06:00"));
+        assertThrows(UnsupportedOperationException.class, () -> stopTime.setTripId("T7"));
+        assertEquals("T1,08:05:00,08:05:00,S2,2,null,0,0", table.get(1).toString());
+        assertEquals(stopTime, table.get(1));
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import gtfsapplication.GTFSException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for journeys that trade arrival time against transfers
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+class RaptorRouterTest {
+
+    File directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("gtfs").toFile();
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (File file : directory.listFiles()) {
+            file.delete();
+        }
+        directory.delete();
+    }
+
+    private void write(String name, String... lines) throws IOException {
+        Files.write(new File(directory, name).toPath(), Arrays.asList(lines),
+                StandardCharsets.UTF_8);
+    }
+
+    private GTFS loadSmallFeed() throws IOException, GTFSException {
+        write("routes.txt",
+                "route_id,route_long_name,route_color",
+                "R1,Red Line,FF0000",
+                "R2,Blue Line,0000FF",
+                "R3,Slow Line,00FF00");
+        write("stops.txt",
+                "stop_id,stop_name,stop_lat,stop_lon",
+                "S1,First,43.0,-87.9",
+                "S2,Second,43.1,-87.9",
+                "S3,Third,43.2,-87.9");
+        write("trips.txt",
+                "route_id,service_id,trip_id",
+                "R1,WK,RED",
+                "R2,WK,BLUE_EARLY",
+                "R2,WK,BLUE_LATE",
+                "R3,WK,SLOW");
+        write("stop_times.txt",
+                "trip_id,arrival_time,departure_time,stop_id,stop_sequence",
+                "RED,08:00:00,08:00:00,S1,1",
+                "RED,08:10:00,08:10:00,S2,2",
+                "BLUE_EARLY,08:11:00,08:11:00,S2,1",
+                "BLUE_EARLY,08:20:00,08:20:00,S3,2",
+                "BLUE_LATE,08:20:00,08:20:00,S2,1",
+                "BLUE_LATE,08:30:00,08:30:00,S3,2",
+                "SLOW,08:00:00,08:00:00,S1,1",
+                "SLOW,08:45:00,08:45:00,S3,2");
+        GTFS gtfs = new GTFS();
+        gtfs.importFeed(directory);
+        return gtfs;
+    }
+
+    private static String describe(List<Journey> journeys) {
+        StringBuilder builder = new StringBuilder();
+        for (Journey journey : journeys) {
+            for (Leg leg : journey.getLegs()) {
+                builder.append(leg.getTripId()).append(' ');
+            }
+            builder.append(ServiceTime.format(journey.getArrivalTime())).append("; ");
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Tests that a slower journey without transfers is kept beside a faster one with a transfer
+     */
+    @Test
+    void route_paretoSet() throws IOException, GTFSException {
+        RaptorRouter router = loadSmallFeed().getRaptorRouter();
+        int time = ServiceTime.parse("07:55:00");
+        assertEquals("SLOW 08:45:00; RED BLUE_EARLY 08:20:00; ",
+                describe(router.route("S1", "S3", time, 3, 0, false)));
+        assertEquals("SLOW 08:45:00; RED BLUE_LATE 08:30:00; ",
+                describe(router.route("S1", "S3", time, 3, 120, false)));
+        assertEquals("SLOW 08:45:00; ", describe(router.route("S1", "S3", time, 0, 0, false)));
+        assertEquals(1, router.route("S1", "S3", time, 3, 0, false).get(1).getTransfers());
+        assertTrue(router.route("S3", "S1", time, 3, 0, false).isEmpty());
+        assertEquals(3, router.getPatternCount());
+    }
+
+    /**
+     * Tests that a range query returns the best journey for each departure in the window
+     */
+    @Test
+    void route_range() throws IOException, GTFSException {
+        RaptorRouter router = loadSmallFeed().getRaptorRouter();
+        assertEquals("BLUE_EARLY 08:20:00; BLUE_LATE 08:30:00; ", describe(router.route("S2", "S3",
+                ServiceTime.parse("08:00:00"), ServiceTime.parse("08:20:00"), 3, 0, false)));
+        assertEquals("SLOW 08:45:00; RED BLUE_EARLY 08:20:00; ", describe(router.route("S1", "S3",
+                ServiceTime.parse("07:00:00"), ServiceTime.parse("08:00:00"), 3, 0, false)));
+    }
+
+    /**
+     * Tests that a range query keeps an early journey without transfers when a later
+     * departure with a transfer arrives sooner
+     */
+    @Test
+    void route_rangeKeepsFewerTransfers() throws IOException, GTFSException {
+        write("routes.txt",
+                "route_id,route_long_name,route_color",
+                "R1,Red Line,FF0000");
+        write("stops.txt",
+                "stop_id,stop_name,stop_lat,stop_lon",
+                "A,First,43.0,-87.9",
+                "S,Second,43.1,-87.9",
+                "T,Third,43.2,-87.9");
+        write("trips.txt",
+                "route_id,service_id,trip_id",
+                "R1,WK,Z",
+                "R1,WK,X",
+                "R1,WK,Y");
+        write("stop_times.txt",
+                "trip_id,arrival_time,departure_time,stop_id,stop_sequence",
+                "Z,08:00:00,08:00:00,A,1",
+                "Z,08:50:00,08:50:00,T,2",
+                "X,08:30:00,08:30:00,A,1",
+                "X,08:35:00,08:35:00,S,2",
+                "Y,08:40:00,08:40:00,S,1",
+                "Y,08:45:00,08:45:00,T,2");
+        GTFS gtfs = new GTFS();
+        gtfs.importFeed(directory);
+        RaptorRouter router = gtfs.getRaptorRouter();
+        int earliest = ServiceTime.parse("08:00:00");
+        assertEquals("Z 08:50:00; X Y 08:45:00; ",
+                describe(router.route("A", "T", earliest, 3, 0, false)));
+        for (boolean parallel : new boolean[] {false, true}) {
+            assertEquals("Z 08:50:00; X Y 08:45:00; ", describe(router.route("A", "T",
+                    earliest, ServiceTime.parse("08:30:00"), 3, 0, parallel)));
+        }
+    }
+
+    /**
+     * Tests on a generated feed that the earliest arrival matches the journey planner and
+     * that scanning in parallel finds the same journeys
+     */
+    @Test
+    void route_matchesJourneyPlanner() throws IOException, GTFSException {
+        FeedGenerator generator = new FeedGenerator(11);
+        generator.setRoutes(150);
+        generator.setStopsPerRoute(10);
+        generator.setTripsPerDay(6);
+        generator.setServices(1);
+        generator.write(directory);
+        GTFS gtfs = new GTFS();
+        gtfs.importFeed(directory);
+        List<Stop> stops = new ArrayList<>();
+        for (Route route : gtfs.getRoutes()) {
+            stops.addAll(gtfs.getStopsOnRoute(route));
+        }
+
+        Random random = new Random(5);
+        int compared = 0;
+        for (int i = 0; i < 50; i++) {
+            Stop from = stops.get(random.nextInt(stops.size()));
+            Stop to = stops.get(random.nextInt(stops.size()));
+            int time = 6 * 3600 + random.nextInt(6 * 3600);
+            List<Leg> legs = gtfs.planJourney(from, to, time, 60);
+            List<Journey> journeys = gtfs.getRaptorRouter().route(from.getId(), to.getId(),
+                    time, 20, 60, false);
+            assertEquals(describe(journeys), describe(gtfs.getRaptorRouter().route(
+                    from.getId(), to.getId(), time, 20, 60, true)));
+            assertEquals(legs.isEmpty(), journeys.isEmpty());
+            if (!legs.isEmpty()) {
+                assertEquals(legs.get(legs.size() - 1).getArrivalTime(), journeys.stream()
+                        .mapToInt(Journey::getArrivalTime).min().getAsInt());
+                compared++;
+            }
+        }
+        assertTrue(compared > 10);
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import gtfsapplication.GTFSException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for importing calendars and filtering trips by the dates they run
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+class ServiceCalendarTest {
+    // A Monday
+    private static final LocalDate MONDAY = LocalDate.of(2026, 10, 19);
+
+    GTFS gtfs;
+    File directory;
+
+    @BeforeEach
+    void setUp() throws IOException, GTFSException {
+        gtfs = new GTFS();
+        directory = Files.createTempDirectory("gtfs").toFile();
+        write("routes.txt",
+                "route_id,route_long_name,route_color",
+                "R1,Red Line,FF0000");
+        write("stops.txt",
+                "stop_id,stop_name,stop_lat,stop_lon",
+                "S1,First,43.0,-87.9",
+                "S2,Second,43.1,-87.9");
+        write("trips.txt",
+                "route_id,service_id,trip_id",
+                "R1,WK,T1",
+                "R1,SA,T2",
+                "R1,WK,T3");
+        write("stop_times.txt",
+                "trip_id,arrival_time,departure_time,stop_id,stop_sequence",
+                "T1,08:00:00,08:00:00,S1,1",
+                "T1,08:10:00,08:10:00,S2,2",
+                "T2,09:00:00,09:00:00,S1,1",
+                "T2,09:10:00,09:10:00,S2,2",
+                "T3,24:30:00,24:30:00,S1,1");
+        write("calendar.txt",
+                "service_id,monday,tuesday,wednesday,thursday,friday,saturday,sunday,"
+                        + "start_date,end_date",
+                "WK,1,1,1,1,1,0,0,20260101,20261231",
+                "SA,0,0,0,0,0,1,0,20260101,20261231");
+        write("calendar_dates.txt",
+                "service_id,date,exception_type",
+                "WK,20261020,2",
+                "SA,20261019,1");
+        gtfs.importFeed(directory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (File file : directory.listFiles()) {
+            file.delete();
+        }
+        directory.delete();
+        gtfs = null;
+    }
+
+    private void write(String name, String... lines) throws IOException {
+        Files.write(new File(directory, name).toPath(), Arrays.asList(lines),
+                StandardCharsets.UTF_8);
+    }
+
+    private static List<String> tripIds(List<Departure> departures) {
+        return departures.stream().map(Departure::getTripId).collect(Collectors.toList());
+    }
+
+    /**
+     * Tests that weekdays run between the start and end dates, and that dates of
+     * calendar_dates.txt are added and removed
+     */
+    @Test
+    void isActive_periodAndExceptions() {
+        ServiceCalendar calendar = gtfs.getServiceCalendar();
+        assertTrue(calendar.isActive("WK", MONDAY));
+        assertFalse(calendar.isActive("WK", MONDAY.plusDays(1)));
+        assertTrue(calendar.isActive("WK", MONDAY.plusDays(2)));
+        assertFalse(calendar.isActive("WK", MONDAY.minusDays(2)));
+        assertTrue(calendar.isActive("SA", MONDAY.minusDays(2)));
+        assertTrue(calendar.isActive("SA", MONDAY));
+        assertFalse(calendar.isActive("WK", LocalDate.of(2027, 1, 4)));
+        assertFalse(calendar.isActive("WK", LocalDate.of(2025, 12, 31)));
+        assertFalse(calendar.isActive("SU", MONDAY));
+        assertTrue(calendar.isRunning(new Trip(null, 0, null, null, "T9", "R1", null),
+                MONDAY.plusDays(1)));
+    }
+
+    /**
+     * Tests that departures skip trips that do not run, including trips of the previous
+     * service day that leave after midnight
+     */
+    @Test
+    void getNextDepartures_skipsInactiveTrips() {
+        Stop stop = gtfs.getStop("S1");
+        assertEquals(Arrays.asList("T1", "T2", "T3"),
+                tripIds(gtfs.getNextDepartures(stop, null, MONDAY, 0, 5)));
+        // Tuesday is removed from WK, so only Monday's trip after midnight is left
+        assertEquals(Arrays.asList("T3"),
+                tripIds(gtfs.getNextDepartures(stop, null, MONDAY.plusDays(1), 0, 5)));
+        assertEquals(-1, gtfs.getNextDepartures(stop, null, MONDAY.plusDays(1), 0, 5)
+                .get(0).getServiceDayOffset());
+        // Friday's trip after midnight leaves on Saturday morning
+        assertEquals(Arrays.asList("T3", "T2"),
+                tripIds(gtfs.getNextDepartures(stop, null, MONDAY.minusDays(2), 0, 5)));
+        assertTrue(gtfs.getNextDepartures(stop, null, MONDAY.minusDays(1), 0, 5).isEmpty());
+        assertEquals(4, gtfs.getNextDepartures(stop, null, 0, 5).size());
+    }
+
+    /**
+     * Tests that both journey planners board only the trips that run on the date
+     */
+    @Test
+    void planJourney_ridesRunningTrips() {
+        Stop from = gtfs.getStop("S1");
+        Stop to = gtfs.getStop("S2");
+        int time = ServiceTime.parse("07:00:00");
+        int latest = ServiceTime.parse("10:00:00");
+        assertEquals("T1", gtfs.planJourney(from, to, time, 0).get(0).getTripId());
+        assertEquals("T1", gtfs.planJourney(from, to, MONDAY, time, 0).get(0).getTripId());
+        assertEquals("T2", gtfs.planJourney(from, to, MONDAY.minusDays(2), time, 0)
+                .get(0).getTripId());
+        assertTrue(gtfs.planJourney(from, to, MONDAY.plusDays(1), time, 0).isEmpty());
+
+        assertEquals(2, gtfs.planJourneys(from, to, MONDAY, time, latest, 0, 0).size());
+        List<Journey> saturday = gtfs.planJourneys(from, to, MONDAY.minusDays(2), time, latest,
+                0, 0);
+        assertEquals(1, saturday.size());
+        assertEquals("T2", saturday.get(0).getLegs().get(0).getTripId());
+        assertTrue(gtfs.planJourneys(from, to, MONDAY.plusDays(1), time, latest, 0, 0)
+                .isEmpty());
+    }
+
+    /**
+     * Tests that an exported feed keeps its calendar, so weekday trips still do not run
+     * at the weekend once it is imported again
+     */
+    @Test
+    void export_keepsCalendar() throws IOException, GTFSException {
+        File exported = Files.createTempDirectory("export").toFile();
+        try {
+            gtfs.export(exported);
+            GTFS imported = new GTFS();
+            imported.importFeed(exported);
+            Stop stop = imported.getStop("S1");
+            assertTrue(imported.getNextDepartures(stop, null, MONDAY.minusDays(1), 0, 5)
+                    .isEmpty());
+            assertEquals(Arrays.asList("T3"),
+                    tripIds(imported.getNextDepartures(stop, null, MONDAY.plusDays(1), 0, 5)));
+            assertEquals(Arrays.asList("T1", "T2", "T3"),
+                    tripIds(imported.getNextDepartures(stop, null, MONDAY, 0, 5)));
+        } finally {
+            for (File file : exported.listFiles()) {
+                file.delete();
+            }
+            exported.delete();
+        }
+    }
+
+    /**
+     * Tests that importing one calendar file keeps the rows of the other
+     */
+    @Test
+    void importFile_replacesOneFile() throws IOException, GTFSException {
+        write("calendar_dates.txt",
+                "service_id,date,exception_type",
+                "WK,20261019,2");
+        gtfs.importFile(new File(directory, "calendar_dates.txt"));
+        ServiceCalendar calendar = gtfs.getServiceCalendar();
+        assertFalse(calendar.isActive("WK", MONDAY));
+        assertTrue(calendar.isActive("WK", MONDAY.plusDays(1)));
+        assertFalse(calendar.isActive("SA", MONDAY));
+    }
+
+    /**
+     * Tests that rows with invalid dates or flags are rejected
+     */
+    @Test
+    void importFile_rejectsInvalidRows() throws IOException, GTFSException {
+        write("calendar.txt",
+                "service_id,monday,tuesday,wednesday,thursday,friday,saturday,sunday,"
+                        + "start_date,end_date",
+                "WK,1,1,1,1,1,0,0,20260101,20261231",
+                "A,1,1,1,1,1,0,0,2026-01-01,20261231",
+                "B,2,1,1,1,1,0,0,20260101,20261231",
+                "C,1,1,1,1,1,0,0,20261231,20260101",
+                "D,1,1,1,1,1,0,0,20260230,20261231");
+        gtfs.importFile(new File(directory, "calendar.txt"));
+        assertEquals(1, gtfs.getImportReport().getAcceptedCount("calendar.txt"));
+        assertEquals(4, gtfs.getImportReport().getRejectedCount("calendar.txt"));
+        assertEquals("WK,1,1,1,1,1,0,0,20260101,20261231",
+                new ServicePeriod(Arrays.asList("service_id", "monday", "tuesday",
+                        "wednesday", "thursday", "friday", "saturday", "sunday",
+                        "start_date", "end_date"),
+                        CsvTokenizer.parseRow("WK,1,1,1,1,1,0,0,20260101,20261231"))
+                        .toString());
+    }
+
+    /**
+     * Tests that a snapshot keeps the calendar
+     */
+    @Test
+    void snapshot_keepsCalendar() throws GTFSException {
+        File snapshot = new File(directory, "feed.gtfsbin");
+        gtfs.saveSnapshot(snapshot);
+        GTFS loaded = new GTFS(true);
+        loaded.loadSnapshot(snapshot);
+        assertEquals(Arrays.asList("T3"), tripIds(loaded.getNextDepartures(
+                loaded.getStop("S1"), null, MONDAY.plusDays(1), 0, 5)));
+        assertTrue(loaded.getServiceCalendar().isActive("SA", MONDAY));
+    }
+}
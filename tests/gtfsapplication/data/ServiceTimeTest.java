@@ -0,0 +1,78 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for converting GTFS times
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+class ServiceTimeTest {
+
+    /**
+     * Tests parsing times, including times after midnight of the service day
+     */
+    @Test
+    void parse_validTimes() {
+        assertEquals(8 * 3600 + 5 * 60 + 9, ServiceTime.parse("08:05:09"));
+        assertEquals(8 * 3600 + 5 * 60 + 9, ServiceTime.parse("8:05:09"));
+        assertEquals(25 * 3600 + 30 * 60, ServiceTime.parse("25:30:00"));
+        assertEquals(10 * 3600 + 15 * 60, ServiceTime.parse("10:15"));
+        assertEquals(0, ServiceTime.parse("0"));
+        assertEquals(ServiceTime.NONE, ServiceTime.parse(""));
+        assertEquals(ServiceTime.NONE, ServiceTime.parse(null));
+    }
+
+    /**
+     * Tests that malformed times are rejected
+     */
+    @Test
+    void parse_invalidTimes() {
+        assertThrows(IllegalArgumentException.class, () -> ServiceTime.parse("8:5:09"));
+        assertThrows(IllegalArgumentException.class, () -> ServiceTime.parse("08:60:00"));
+        assertThrows(IllegalArgumentException.class, () -> ServiceTime.parse("08:00:00:00"));
+        assertThrows(IllegalArgumentException.class, () -> ServiceTime.parse("8:"));
+        assertThrows(IllegalArgumentException.class, () -> ServiceTime.parse("ab:cd"));
+    }
+
+    /**
+     * Tests that formatting gives back the GTFS format
+     */
+    @Test
+    void format_roundTrip() {
+        assertEquals("08:05:09", ServiceTime.format(ServiceTime.parse("8:05:09")));
+        assertEquals("25:30:00", ServiceTime.format(ServiceTime.parse("25:30:00")));
+        assertEquals("", ServiceTime.format(ServiceTime.NONE));
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import gtfsapplication.GTFSException;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for nearest stop and radius queries
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+class StopIndexTest {
+
+    private static double distance(Stop stop, double latitude, double longitude) {
+        double north = stop.getLatitude() - latitude;
+        double east = (stop.getLongitude() - longitude) * Math.cos(Math.toRadians(latitude));
+        return Math.sqrt(north * north + east * east) * 6371008.8 * Math.PI / 180;
+    }
+
+    private static List<String> ids(List<Stop> stops) {
+        return stops.stream().map(Stop::getId).collect(Collectors.toList());
+    }
+
+    /**
+     * Tests the index against a scan of every stop, for points inside and outside the feed
+     */
+    @Test
+    void getNearest_matchesScan() {
+        Random random = new Random(19);
+        List<Stop> stops = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            // Clustered like a city: dense in the middle, sparse at the edges
+            double spread = random.nextBoolean() ? 0.02 : 0.2;
+            stops.add(new Stop("", "S" + i, 43.04 + random.nextGaussian() * spread,
+                    -87.91 + random.nextGaussian() * spread, "Stop " + i));
+        }
+        StopIndex index = new StopIndex(stops);
+        assertEquals(2000, index.size());
+
+        for (int i = 0; i < 100; i++) {
+            double latitude = 43.04 + (random.nextDouble() - 0.5) * (i < 90 ? 0.5 : 20);
+            double longitude = -87.91 + (random.nextDouble() - 0.5) * (i < 90 ? 0.5 : 20);
+            List<Stop> sorted = new ArrayList<>(stops);
+            sorted.sort(Comparator.comparingDouble(stop -> distance(stop, latitude, longitude)));
+
+            assertEquals(ids(sorted.subList(0, 7)), ids(index.getNearest(latitude, longitude, 7)));
+            double meters = 500 + random.nextInt(3000);
+            List<Stop> within = sorted.stream()
+                    .filter(stop -> distance(stop, latitude, longitude) <= meters)
+                    .collect(Collectors.toList());
+            assertEquals(ids(within), ids(index.getWithin(latitude, longitude, meters)));
+        }
+        assertEquals(2000, index.getNearest(0, 0, 5000).size());
+        assertTrue(index.getNearest(43, -87, 0).isEmpty());
+        assertTrue(new StopIndex(Collections.emptyList()).getNearest(43, -87, 3).isEmpty());
+    }
+
+    /**
+     * Tests that moving and renaming a stop through an edit updates the index, leaving the
+     * index of the feed before the edit as it was
+     */
+    @Test
+    void edit_movesStop() throws IOException, GTFSException {
+        File directory = Files.createTempDirectory("gtfs").toFile();
+        try {
+            Files.write(new File(directory, "stops.txt").toPath(), Arrays.asList(
+                    "stop_id,stop_name,stop_lat,stop_lon",
+                    "S1,First,43.00,-87.90",
+                    "S2,Second,43.01,-87.90",
+                    "S3,Third,43.02,-87.90"), StandardCharsets.UTF_8);
+            GTFS gtfs = new GTFS();
+            gtfs.importFeed(directory);
+            StopIndex before = gtfs.getStopIndex();
+            assertEquals(Arrays.asList("S1", "S2"), ids(gtfs.getNearestStops(43.001, -87.9, 2)));
+
+            Stop stop = gtfs.getStop("S3");
+            gtfs.edit(edit -> edit.updateStop(stop, changed -> {
+                changed.setId("S9");
+                changed.setLatitude(43.0);
+                changed.setLongitude(-87.8995);
+            }));
+            assertEquals(Arrays.asList("S1", "S9"), ids(gtfs.getNearestStops(43.001, -87.9, 2)));
+            assertEquals(Arrays.asList("S1", "S9"), ids(gtfs.getStopsWithin(43.0, -87.9, 100)));
+            assertEquals(3, gtfs.getStopIndex().size());
+            assertEquals(Arrays.asList("S1", "S2"), ids(before.getNearest(43.001, -87.9, 2)));
+        } finally {
+            for (File file : directory.listFiles()) {
+                file.delete();
+            }
+            directory.delete();
+        }
+    }
+}
@@ -130,4 +130,24 @@ class StopTest {
         String emptyLine = "";
         assertFalse(Stop.validateLine(validHeader, emptyLine));
     }
-}
\ No newline at end of file
+
+    /**
+     * Test that fromRow builds a stop from a valid row and reports the field of an invalid row
+     */
+    @Test
+    void fromRow_rejectionReported() {
+        List<String> validHeader = Arrays.asList("stop_id", "stop_name", "stop_desc",
+                "stop_lat", "stop_lon");
+        ImportReport report = new ImportReport();
+
+        Stop stop = Stop.fromRow(validHeader,
+                CsvTokenizer.parseRow("1801,S92 & ORCHARD #1801,,43.0138967,-88.0272162"), report);
+        assertEquals("1801", stop.getId());
+        assertNull(Stop.fromRow(validHeader,
+                CsvTokenizer.parseRow("1802,CHERRY,,north,-88.0272162"), report));
+
+        List<Rejection> rejections = report.getRejections("stops.txt");
+        assertEquals(1, rejections.size());
+        assertEquals("stop_lat", rejections.get(0).getField());
+    }
+}
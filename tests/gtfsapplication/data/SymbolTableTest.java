@@ -0,0 +1,101 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the symbol table and its per-reader caches
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+class SymbolTableTest {
+
+    /**
+     * Tests that characters, bytes and Strings with equal values share one String
+     */
+    @Test
+    void intern_sharedAcrossCaches() {
+        SymbolTable table = new SymbolTable();
+        SymbolTable.Local first = table.local();
+        SymbolTable.Local second = table.local();
+        char[] chars = "x17-SEP_SUNx".toCharArray();
+        ByteBuffer bytes = ByteBuffer.wrap("17-SEP_SUN".getBytes(StandardCharsets.US_ASCII));
+
+        String symbol = first.intern(chars, 1, 11);
+        assertEquals("17-SEP_SUN", symbol);
+        assertSame(symbol, first.intern(chars, 1, 11));
+        assertSame(symbol, second.intern(bytes, 0, 10));
+        assertSame(symbol, second.intern(new String("17-SEP_SUN")));
+        assertSame(symbol, table.intern("17-SEP_SUN"));
+        assertEquals(1, table.size());
+    }
+
+    /**
+     * Tests that a cache keeps every value when it grows
+     */
+    @Test
+    void intern_grows() {
+        SymbolTable table = new SymbolTable();
+        SymbolTable.Local local = table.local();
+        String[] symbols = new String[5000];
+        for (int i = 0; i < symbols.length; i++) {
+            symbols[i] = local.intern(("T" + i).toCharArray(), 0, ("T" + i).length());
+        }
+        for (int i = 0; i < symbols.length; i++) {
+            assertSame(symbols[i], local.intern("T" + i));
+        }
+        assertEquals(symbols.length, table.size());
+    }
+
+    /**
+     * Tests that a table returns the values of its parent without adding to it, and that
+     * its own values are shared once they are merged into the parent
+     */
+    @Test
+    void intern_parentAndMerge() {
+        SymbolTable feed = new SymbolTable();
+        String stop = feed.intern(new String("S1"));
+        SymbolTable partial = new SymbolTable(feed);
+        assertSame(stop, partial.local().intern("S1".toCharArray(), 0, 2));
+        String trip = partial.intern(new String("T1"));
+        assertEquals(1, feed.size());
+        assertEquals(1, partial.size());
+
+        feed.merge(partial);
+        assertSame(trip, feed.intern(new String("T1")));
+        assertEquals(2, feed.size());
+    }
+}
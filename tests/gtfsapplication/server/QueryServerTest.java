@@ -0,0 +1,169 @@
+/*
+ * Course: SE 2030
+ * Fall 2020
+ * GTFS Application
+ * Name: SE 2030 011 Team C
+ * Created: 10/18/2026
+ * MIT License
+ *
+ * Copyright (c) 2020 Team C (Kenneth McDonough, William Lauer, Thy Lee, Luke Miller)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package gtfsapplication.server;
+
+import gtfsapplication.GTFSException;
+import gtfsapplication.data.FeedGenerator;
+import gtfsapplication.data.GTFS;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the HTTP query server
+ *
+ * @author SE 2030 011 Team C
+ * @version 10/18/2026
+ */
+class QueryServerTest {
+
+    File feed;
+    QueryServer server;
+
+    @BeforeEach
+    void setUp() throws IOException, GTFSException {
+        feed = Files.createTempDirectory("feed").toFile();
+        FeedGenerator generator = new FeedGenerator(3);
+        generator.setRoutes(4);
+        generator.setStopsPerRoute(5);
+        generator.setTripsPerDay(3);
+        generator.setServices(1);
+        generator.write(feed);
+        GTFS gtfs = new GTFS();
+        gtfs.importFeed(feed);
+        server = new QueryServer(gtfs, 0, 2);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+        File[] files = feed.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        feed.delete();
+    }
+
+    private String get(String path, int expectedStatus) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection)
+                new URL("http://localhost:" + server.getPort() + path).openConnection();
+        assertEquals(expectedStatus, connection.getResponseCode());
+        assertTrue(connection.getContentType().startsWith("application/json"));
+        try (InputStream in = expectedStatus == 200 ? connection.getInputStream()
+                : connection.getErrorStream()) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            for (int read = in.read(buffer); read > 0; read = in.read(buffer)) {
+                bytes.write(buffer, 0, read);
+            }
+            return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Tests that a trip is returned with its stop times in order
+     */
+    @Test
+    void trip() throws IOException {
+        String json = get("/trips/R0_WEEKDAY_0_0", 200);
+        assertTrue(json.startsWith("{\"trip\":{\"id\":\"R0_WEEKDAY_0_0\",\"routeId\":\"R0\""));
+        assertTrue(json.contains("\"stopSequence\":1,"));
+        assertTrue(json.indexOf("\"stopSequence\":1,") < json.indexOf("\"stopSequence\":5,"));
+    }
+
+    /**
+     * Tests that departures from a stop are limited to the count asked for, and to the
+     * trips running on the date
+     */
+    @Test
+    void departures() throws IOException {
+        String trip = get("/trips/R0_WEEKDAY_0_0", 200);
+        int start = trip.indexOf("\"stopId\":\"") + "\"stopId\":\"".length();
+        String stopId = trip.substring(start, trip.indexOf('"', start));
+
+        String json = get("/departures?stop=" + stopId
+                + "&route=R0&date=20261019&time=00:00:00&count=2", 200);
+        assertTrue(json.startsWith("{\"stopId\":\"" + stopId
+                + "\",\"date\":\"20261019\",\"time\":\"00:00:00\""));
+        assertTrue(json.contains("\"tripId\":\"R0_WEEKDAY_0_0\""));
+        assertEquals(2, json.split("\"tripId\"").length - 1);
+        // Only weekday service was written
+        json = get("/departures?stop=" + stopId + "&date=20261018&time=00:00:00", 200);
+        assertFalse(json.contains("\"tripId\""));
+        assertTrue(get("/stops/" + stopId, 200).contains("{\"id\":\"R0\""));
+        assertTrue(get("/routes/R0", 200).contains("{\"id\":\"" + stopId + "\""));
+    }
+
+    /**
+     * Tests that unknown ids, bad parameters and other methods are errors
+     */
+    @Test
+    void errors() throws IOException {
+        assertEquals("{\"error\":\"No stop nope\"}", get("/stops/nope", 404));
+        assertEquals("{\"error\":\"The stop parameter is required\"}", get("/departures", 400));
+        get("/departures?stop=S0&count=0", 400);
+        get("/departures?stop=S0&time=noon", 400);
+        get("/departures?stop=S0&date=2026-10-19", 400);
+        assertEquals("{\"error\":\"The to parameter is required\"}", get("/journeys?from=S0", 400));
+        get("/journeys?from=S0&to=S1&transfer=-1", 400);
+        get("/journeys?from=S0&to=S1&date=2026-10-19", 400);
+        assertTrue(get("/journeys?from=S0&to=S1&date=20261019&time=00:00:00", 200)
+                .startsWith("{\"from\":\"S0\",\"to\":\"S1\",\"date\":\"20261019\""));
+        get("/nearby?lat=43", 400);
+        get("/nearby?lat=NaN&lon=-87.9", 400);
+        get("/nearby?lat=43&lon=Infinity", 400);
+        get("/nearby?lat=91&lon=-87.9", 400);
+        get("/nearby?lat=43&lon=-180.5", 400);
+        get("/nearby?lat=43&lon=-87.9&radius=-1", 400);
+        get("/nearby?lat=43&lon=-87.9&radius=Infinity", 400);
+        get("/nearby?lat=43&lon=-87.9&count=-1", 400);
+        get("/nearby?lat=43&lon=-87.9&count=0", 400);
+        assertTrue(get("/nearby?lat=43&lon=-87.9&count=3", 200).startsWith("{\"stops\":[{\"id\":"));
+        get("/elsewhere", 404);
+
+        HttpURLConnection connection = (HttpURLConnection)
+                new URL("http://localhost:" + server.getPort() + "/health").openConnection();
+        connection.setRequestMethod("DELETE");
+        assertEquals(405, connection.getResponseCode());
+    }
+}